@@ -5,7 +5,9 @@ import lombok.RequiredArgsConstructor;
 import org.kafka.examsystem.auth.handler.OAuth2AuthenticationSuccessHandler;
 import org.kafka.examsystem.auth.jwt.AuthEntryPointJwt;
 import org.kafka.examsystem.auth.jwt.JwtAuthenticationFilter;
+import org.kafka.examsystem.auth.ratelimit.RateLimitFilter;
 import org.kafka.examsystem.auth.service.CustomOAuth2UserService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -16,6 +18,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -30,6 +33,7 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final AuthenticationProvider authenticationProvider;
     private final AuthEntryPointJwt unauthorizedHandler;
     private final CustomOAuth2UserService customOAuth2UserService; // Bağımlılık eklendi
@@ -62,6 +66,7 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Oturum yönetimini durumsuz (stateless) yap (JWT için gerekli)
                 .authenticationProvider(authenticationProvider) // Geleneksel kimlik doğrulama sağlayıcısını ayarla
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class) // JWT filtresini standart kullanıcı adı/şifre filtresinden önce ekle
+                .addFilterBefore(rateLimitFilter, AuthorizationFilter.class) // İstek sınırı, kullanıcı JWT filtresinde belirlendikten sonra uygulanır
                 .oauth2Login(oauth2 -> oauth2
                         .userInfoEndpoint(userInfo -> userInfo
                                 .userService(customOAuth2UserService) // Bu satır sizin CustomOAuth2UserService'inizi kullanmalı
@@ -75,6 +80,18 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * İstek sınırı filtresi yalnızca güvenlik zincirinde çalışmalıdır. Bean olarak tanımlandığı için Spring Boot onu
+     * servlet filtresi olarak da kaydeder; o kopya kullanıcı henüz belirlenmeden çalışıp tüm istekleri IP'ye göre
+     * sınırlardı.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     // CORS konfigürasyonu için Bean
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
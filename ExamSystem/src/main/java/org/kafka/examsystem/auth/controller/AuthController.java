@@ -1,11 +1,11 @@
 package org.kafka.examsystem.auth.controller;
 
 import org.kafka.examsystem.auth.dto.*;
+import org.kafka.examsystem.auth.principal.AuthenticatedUser;
 import org.kafka.examsystem.auth.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.kafka.examsystem.common.util.AuthUtil;
-import org.kafka.examsystem.user.model.User;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -41,6 +41,26 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Oturum kapatma endpoint'i.
+     * Kullanıcının yenileme tokenı silinir ve elindeki tüm erişim tokenları iptal edilir.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout() {
+        authService.logout(AuthUtil.getCurrentUserId());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Oturum açmış kullanıcının şifresini değiştirme endpoint'i.
+     * Başarılı olursa kullanıcının tüm oturumları kapatılır; yeni şifreyle tekrar giriş yapılmalıdır.
+     */
+    @PostMapping("/change-password")
+    public ResponseEntity<Void> changePassword(@Valid @RequestBody ChangePasswordRequest changePasswordRequest) {
+        authService.changePassword(AuthUtil.getCurrentUserId(), changePasswordRequest);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Veli ve Çocuk Kayıt endpoint'i.
      * İsteği AuthService'e delege eder.
@@ -81,11 +101,12 @@ public class AuthController {
         Map<String, Object> userInfo = new HashMap<>();
 
         // AuthUtil metodlarını kullanarak bilgileri al
-        User currentUser = AuthUtil.getCurrentUser();
+        AuthenticatedUser currentUser = AuthUtil.getCurrentUser();
         if (currentUser != null) {
             userInfo.put("currentUserId", AuthUtil.getCurrentUserId());
             userInfo.put("currentUserEmail", AuthUtil.getCurrentUserEmail());
             userInfo.put("currentUserRole", AuthUtil.getCurrentUserRole());
+            userInfo.put("currentProfileId", AuthUtil.getCurrentProfileId());
             userInfo.put("hasRole_ADMIN", AuthUtil.hasRole("ROLE_ADMIN"));
             userInfo.put("hasRole_TEACHER", AuthUtil.hasRole("ROLE_TEACHER"));
             userInfo.put("hasRole_PARENT", AuthUtil.hasRole("ROLE_PARENT"));
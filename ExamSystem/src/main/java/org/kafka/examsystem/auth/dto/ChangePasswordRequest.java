@@ -0,0 +1,22 @@
+package org.kafka.examsystem.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Oturum açmış kullanıcının şifresini değiştirmesi için istek gövdesi DTO'su.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangePasswordRequest {
+    @NotBlank(message = "Mevcut şifre boş bırakılamaz.")
+    private String currentPassword;
+
+    @NotBlank(message = "Yeni şifre boş bırakılamaz.")
+    @Size(min = 6, max = 20, message = "Yeni şifre 6 ile 20 karakter arasında olmalıdır.")
+    private String newPassword;
+}
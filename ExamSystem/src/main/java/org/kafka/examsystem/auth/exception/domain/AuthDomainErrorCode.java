@@ -7,7 +7,9 @@ import org.springframework.http.HttpStatus;
 @Getter
 public enum AuthDomainErrorCode implements BaseErrorCode {
 
-    ROLE_NOT_FOUND("AUTH-DOMAIN-001", "Belirtilen rol bulunamadı. Sistem yöneticisiyle iletişime geçin.", HttpStatus.INTERNAL_SERVER_ERROR);
+    ROLE_NOT_FOUND("AUTH-DOMAIN-001", "Belirtilen rol bulunamadı. Sistem yöneticisiyle iletişime geçin.", HttpStatus.INTERNAL_SERVER_ERROR),
+    RATE_LIMIT_EXCEEDED("AUTH-DOMAIN-002", "Çok fazla istek gönderildi, lütfen biraz sonra tekrar deneyin.", HttpStatus.TOO_MANY_REQUESTS),
+    LOGIN_TEMPORARILY_LOCKED("AUTH-DOMAIN-003", "Çok fazla başarısız giriş denemesi yapıldı, lütfen daha sonra tekrar deneyin.", HttpStatus.TOO_MANY_REQUESTS);
 
     private final String code;
     private final String message;
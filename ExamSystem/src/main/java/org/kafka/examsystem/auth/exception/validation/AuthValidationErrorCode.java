@@ -11,7 +11,8 @@ public enum AuthValidationErrorCode implements BaseErrorCode {
     EMAIL_ALREADY_IN_USE("AUTH-VALID-001", "E-posta adresi zaten kullanımda.", HttpStatus.BAD_REQUEST),
     INVALID_REFRESH_TOKEN("AUTH-VALID-002", "Geçersiz veya bulunamayan yenileme tokenı.", HttpStatus.FORBIDDEN),
     REFRESH_TOKEN_EXPIRED("AUTH-VALID-003", "Yenileme tokenının süresi dolmuş. Lütfen tekrar giriş yapın.", HttpStatus.FORBIDDEN),
-    USER_NOT_REGISTERED_WITH_GOOGLE_EMAIL("AUTH-VALID-004", "Bu e-posta adresiyle sistemde kayıtlı bir kullanıcı bulunamadı. Lütfen önce kayıt olun.", HttpStatus.UNAUTHORIZED);
+    USER_NOT_REGISTERED_WITH_GOOGLE_EMAIL("AUTH-VALID-004", "Bu e-posta adresiyle sistemde kayıtlı bir kullanıcı bulunamadı. Lütfen önce kayıt olun.", HttpStatus.UNAUTHORIZED),
+    INVALID_CURRENT_PASSWORD("AUTH-VALID-005", "Mevcut şifre hatalı.", HttpStatus.BAD_REQUEST);
 
     private final String code;
     private final String message;
@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +25,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
 
+    @Value("${application.security.jwt.stateless-principal:true}")
+    private boolean statelessPrincipal; // true ise principal, token claim'lerinden DB'ye gidilmeden oluşturulur
+
     /**
      * Her istek için bir kez çalışan filtre.
      * Gelen isteğin JWT tokenını kontrol eder ve kullanıcıyı doğrular.
@@ -35,7 +40,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Yetkilendirme başlığı yoksa veya "Bearer " ile başlamıyorsa, filtre zincirinde devam et
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -45,13 +49,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // JWT token'ı "Bearer " kısmından sonra çıkar
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt); // Token'dan kullanıcı e-postasını çıkar
 
-        // Kullanıcı e-postası varsa ve henüz kimlik doğrulaması yapılmamışsa
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail); // Kullanıcı detaylarını yükle
-            // Token geçerliyse, kimlik doğrulama token'ı oluştur ve güvenlik bağlamını güncelle
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+        // Token tek seferde doğrulanır ve ayrıştırılır (imza, süre ve subject tek geçişte kontrol edilir)
+        Optional<VerifiedToken> verifiedToken = jwtService.verify(jwt);
+
+        // Token geçerliyse, iptal edilmemişse ve henüz kimlik doğrulaması yapılmamışsa
+        if (verifiedToken.isPresent() && verifiedToken.get().subject() != null
+                && !jwtService.isRevoked(verifiedToken.get())
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            resolvePrincipal(verifiedToken.get()).ifPresent(userDetails -> {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null, // Şifre kimlik doğrulandıktan sonra null olarak ayarlanır
@@ -61,8 +67,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            });
         }
         filterChain.doFilter(request, response); // Filtre zincirinde sonraki filtreye geç
     }
-}
\ No newline at end of file
+
+    /**
+     * Token'dan principal oluşturur. Stateless mod açıksa principal veritabanına gidilmeden claim'lerden kurulur;
+     * rol taşımayan token için boş döner ve istek kimliksiz devam eder. Stateless mod kapalıysa kullanıcı
+     * veritabanından yüklenir.
+     */
+    private Optional<UserDetails> resolvePrincipal(VerifiedToken token) {
+        if (statelessPrincipal) {
+            return jwtService.toPrincipal(token).map(UserDetails.class::cast);
+        }
+        return Optional.of(this.userDetailsService.loadUserByUsername(token.subject()));
+    }
+}
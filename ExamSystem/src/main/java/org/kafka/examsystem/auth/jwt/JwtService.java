@@ -1,48 +1,106 @@
 package org.kafka.examsystem.auth.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.auth.principal.AuthenticatedUser;
+import org.kafka.examsystem.auth.service.SecurityVersionService;
+import org.kafka.examsystem.auth.service.UserProfileResolver;
+import org.kafka.examsystem.user.model.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    // Stateless principal için token'a gömülen claim adları
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_PROFILE_ID = "pid";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+
+    private final UserProfileResolver userProfileResolver;
+    private final SecurityVersionService securityVersionService;
+
     @Value("${application.security.jwt.secret-key}")
     private String secretKey; // JWT imzalama için kullanılan gizli anahtar
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration; // JWT'nin geçerlilik süresi (milisaniye)
+    @Value("${application.security.jwt.verification-cache.max-size:10000}")
+    private int verificationCacheMaxSize; // Doğrulanmış token önbelleğinin en fazla kayıt sayısı (0 = kapalı)
+
+    private Key signInKey; // Base64 anahtar bir kez çözülür ve yeniden kullanılır
+    private JwtParser jwtParser; // Thread-safe parser bir kez oluşturulur
+    private JwtVerificationCache verificationCache;
 
     /**
-     * Verilen JWT token'ından kullanıcı adını (subject) çıkarır.
+     * İmzalama anahtarını, parser'ı ve doğrulama önbelleğini uygulama başlangıcında bir kez hazırlar.
      */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    @PostConstruct
+    void init() {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.verificationCache = new JwtVerificationCache(verificationCacheMaxSize);
     }
 
     /**
-     * Belirli bir claim'i JWT token'ından çıkarır.
+     * Token'ı tek seferde doğrular ve ayrıştırır.
+     * Daha önce doğrulanmış ve süresi dolmamış token'lar önbellekten döner, imza tekrar hesaplanmaz.
+     *
+     * @param token Doğrulanacak JWT.
+     * @return İmzası geçerli ve süresi dolmamışsa VerifiedToken, aksi halde boş Optional.
      */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public Optional<VerifiedToken> verify(String token) {
+        Instant now = Instant.now();
+        VerifiedToken cached = verificationCache.get(token, now);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            VerifiedToken verified = parse(token);
+            if (verified.isExpired(now)) {
+                return Optional.empty();
+            }
+            verificationCache.put(token, verified, now);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty(); // İmza hatalı, süresi dolmuş veya bozuk token
+        }
     }
 
     /**
      * Kullanıcı detaylarına göre yeni bir JWT token oluşturur.
+     * Kullanıcı bir User entity'si ise kullanıcı ID'si, rol, profil ID'si ve güvenlik sürümü de token'a gömülür;
+     * böylece sonraki isteklerde principal veritabanına gidilmeden oluşturulabilir.
      */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user) {
+            String role = user.getRole() != null ? user.getRole().getName() : null;
+            Long profileId = userProfileResolver.resolveProfileId(user.getId(), role);
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_ROLE, role);
+            if (profileId != null) {
+                claims.put(CLAIM_PROFILE_ID, profileId);
+            }
+            claims.put(CLAIM_SECURITY_VERSION, securityVersionService.currentVersion(user.getId()));
+        }
+        return generateToken(claims, userDetails);
     }
 
     /**
@@ -58,52 +116,47 @@ public class JwtService {
                 .setSubject(userDetails.getUsername()) // Token'ın konusu (genellikle kullanıcı e-postası)
                 .setIssuedAt(new Date(System.currentTimeMillis())) // Token'ın oluşturulma zamanı
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration)) // Token'ın bitiş zamanı
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256) // İmzalama anahtarı ve algoritması (HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256) // İmzalama anahtarı ve algoritması (HS256)
                 .compact(); // Token'ı sıkıştır ve string olarak döndür
     }
 
     /**
-     * Bir JWT token'ının geçerliliğini kontrol eder.
-     * Kullanıcı adı eşleşmeli ve token'ın süresi dolmamış olmalı.
+     * Doğrulanmış token'ın güvenlik sürümünün hâlâ geçerli olup olmadığını kontrol eder.
+     * Kullanıcının sürümü token üretildikten sonra artırıldıysa (örn. rol değişikliği) token iptal edilmiş sayılır.
+     * Kullanıcı ID'si veya sürüm taşımayan eski biçimdeki token'lar da iptal edilmiş sayılır; bu token'larla
+     * açılmış oturumlar yeniden giriş gerektirir.
      */
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public boolean isRevoked(VerifiedToken token) {
+        return !securityVersionService.isCurrent(token.longClaim(CLAIM_USER_ID), token.intClaim(CLAIM_SECURITY_VERSION));
     }
 
     /**
-     * Bir JWT token'ının süresinin dolup dolmadığını kontrol eder.
+     * Doğrulanmış token claim'lerinden veritabanına gitmeden hafif bir principal oluşturur.
+     * Rol taşımayan token'lar için boş döner.
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Optional<AuthenticatedUser> toPrincipal(VerifiedToken token) {
+        Long userId = token.longClaim(CLAIM_USER_ID);
+        String role = token.claim(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new AuthenticatedUser(userId, token.subject(), role, token.longClaim(CLAIM_PROFILE_ID)));
     }
 
     /**
-     * Bir JWT token'ından bitiş zamanını çıkarır.
+     * Token'ın imzasını doğrular ve önbelleği kullanmadan VerifiedToken'a dönüştürür.
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    VerifiedToken parse(String token) {
+        return VerifiedToken.from(extractAllClaims(token));
     }
 
     /**
      * Bir JWT token'ındaki tüm claim'leri çıkarır.
-     * Bu, token'ın imzasını doğrular ve içindeki verileri ayrıştırır.
+     * Bu, token'ın imzasını önceden oluşturulmuş parser ile doğrular ve içindeki verileri ayrıştırır.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
-
-    /**
-     * JWT imzalama için kullanılan gizli anahtarı döndürür.
-     * Anahtar base64 olarak kodlanmış string'den türetilir.
-     */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-}
\ No newline at end of file
+}
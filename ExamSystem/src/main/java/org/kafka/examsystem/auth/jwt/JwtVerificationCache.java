@@ -0,0 +1,85 @@
+package org.kafka.examsystem.auth.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Doğrulanmış JWT'ler için sınırlı boyutlu ve bitiş zamanına duyarlı önbellek.
+ * Anahtar olarak token'ın kendisi değil SHA-256 özeti kullanılır; böylece ham token'lar bellekte tutulmaz
+ * ve anahtar boyutu sabit kalır. Süresi dolan girdiler okuma sırasında ve kapasite dolduğunda temizlenir.
+ */
+class JwtVerificationCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algoritması bulunamadı.", e);
+        }
+    });
+
+    private final int maxSize;
+    private final Map<ByteBuffer, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    JwtVerificationCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Token için önbellekte geçerli bir kayıt varsa döndürür, yoksa null döner.
+     * Süresi dolmuş kayıtlar bulunduğu anda önbellekten silinir.
+     */
+    VerifiedToken get(String token, Instant now) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        ByteBuffer key = digest(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached != null && cached.isExpired(now)) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Doğrulanmış token'ı önbelleğe ekler. Kapasite dolmuşsa önce süresi dolanlar,
+     * yine yer açılmazsa rastgele girdiler çıkarılır.
+     */
+    void put(String token, VerifiedToken verifiedToken, Instant now) {
+        if (maxSize <= 0 || verifiedToken.isExpired(now)) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(digest(token), verifiedToken);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private void evict(Instant now) {
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        Iterator<ByteBuffer> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+}
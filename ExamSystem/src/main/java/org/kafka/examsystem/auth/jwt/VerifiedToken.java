@@ -0,0 +1,65 @@
+package org.kafka.examsystem.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * İmzası doğrulanmış ve bir kez ayrıştırılmış JWT'nin değiştirilemez temsili.
+ * Filtre ve servisler token'ı tekrar tekrar ayrıştırmak yerine bu nesne üzerinden claim'lere erişir.
+ *
+ * @param subject   Token'ın konusu (kullanıcı e-postası).
+ * @param issuedAt  Token'ın oluşturulma zamanı.
+ * @param expiresAt Token'ın bitiş zamanı.
+ * @param claims    Token'daki tüm claim'lerin salt okunur kopyası.
+ */
+public record VerifiedToken(String subject, Instant issuedAt, Instant expiresAt, Map<String, Object> claims) {
+
+    /**
+     * jjwt'nin döndürdüğü Claims nesnesinden değiştirilemez bir VerifiedToken oluşturur.
+     */
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                Collections.unmodifiableMap(new HashMap<>(claims))
+        );
+    }
+
+    /**
+     * Token'ın verilen ana göre süresinin dolup dolmadığını kontrol eder.
+     * Bitiş zamanı olmayan token'lar süresi dolmuş kabul edilmez.
+     */
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Belirli bir claim'i istenen tipte döndürür. Claim yoksa veya tipi uyuşmuyorsa null döner.
+     */
+    public <T> T claim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    /**
+     * Sayısal bir claim'i Long olarak döndürür. JSON ayrıştırıcı küçük sayıları Integer olarak verdiği için
+     * tip dönüşümü burada yapılır.
+     */
+    public Long longClaim(String name) {
+        Number value = claim(name, Number.class);
+        return value != null ? value.longValue() : null;
+    }
+
+    /**
+     * Sayısal bir claim'i Integer olarak döndürür.
+     */
+    public Integer intClaim(String name) {
+        Number value = claim(name, Number.class);
+        return value != null ? value.intValue() : null;
+    }
+}
@@ -0,0 +1,56 @@
+package org.kafka.examsystem.auth.principal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.kafka.examsystem.user.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Güvenlik bağlamında tutulan hafif, değiştirilemez kullanıcı temsili (principal).
+ * Doğrulanmış JWT claim'lerinden veritabanına gitmeden oluşturulur; yönetilen bir User entity'si değildir.
+ * profileId, rolüne göre öğrencinin, öğretmenin veya velinin profil ID'sidir (ADMIN için null).
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String role;
+    private final Long profileId;
+
+    /**
+     * Yönetilen User entity'sinden principal oluşturur (örneğin giriş isteği sırasında).
+     * Profil ID'si bilinmiyorsa null verilebilir.
+     */
+    public static AuthenticatedUser from(User user, Long profileId) {
+        String role = user.getRole() != null ? user.getRole().getName() : null;
+        return new AuthenticatedUser(user.getId(), user.getEmail(), role, profileId);
+    }
+
+    public boolean hasRole(String roleName) {
+        return role != null && role.equals(roleName);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role != null ? Collections.singletonList(new SimpleGrantedAuthority(role)) : Collections.emptyList();
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // Token tabanlı principal şifre taşımaz
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -0,0 +1,125 @@
+package org.kafka.examsystem.auth.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.kafka.examsystem.auth.exception.domain.AuthDomainErrorCode;
+import org.kafka.examsystem.common.exception.dto.ErrorResponse;
+import org.kafka.examsystem.common.ratelimit.RateLimitDecision;
+import org.kafka.examsystem.common.ratelimit.RateLimitPolicy;
+import org.kafka.examsystem.common.ratelimit.RateLimiter;
+import org.kafka.examsystem.common.util.AuthUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * API isteklerini istemci başına sınırlayan filtre. Güvenlik zincirinde JWT filtresinden sonra çalışır; kimliği
+ * doğrulanmış istekler kullanıcı ID'sine, diğerleri (giriş, kayıt, token yenileme) IP adresine göre sınırlanır.
+ * Böylece bir kullanıcının döngüye giren istemcisi veya bir IP'den gelen şifre denemeleri diğer kullanıcıları
+ * etkilemez.
+ *
+ * Uç nokta grupları için ayrı politikalar kullanılır:
+ * <ul>
+ *     <li>{@code POST /api/auth/login}: IP başına; aynı NAT arkasındaki bir sınıfın aynı anda giriş yapabileceği
+ *     kadar geniş. Tek hesaba yapılan şifre denemelerini {@code LoginAttemptGuard} hesap başına durdurur.</li>
+ *     <li>Diğer {@code /api/auth/**} uç noktaları: IP başına</li>
+ *     <li>{@code /api/student-answers/**}: kullanıcı başına, sınav sırasındaki sık cevap kayıtlarına göre</li>
+ *     <li>Diğer {@code /api/**} uç noktaları: kullanıcı başına</li>
+ * </ul>
+ * Sınırlanan yanıtlar kalan kotayı {@code RateLimit-*} başlıklarıyla bildirir; sınırı aşan istek 429 ve
+ * {@code Retry-After} ile reddedilir.
+ *
+ * IP adresi {@link HttpServletRequest#getRemoteAddr()} ile alınır; uygulama bir ters vekil sunucunun arkasındaysa
+ * gerçek istemci adresi için {@code server.forward-headers-strategy} yapılandırılmalıdır. Sınırlar uygulama örneği
+ * başınadır.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final String AUTH_PATH = "/api/auth/";
+    private static final String ANSWERS_PATH = "/api/student-answers";
+    private static final String API_PATH = "/api/";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final RateLimitPolicy loginPolicy;
+    private final RateLimitPolicy authPolicy;
+    private final RateLimitPolicy answersPolicy;
+    private final RateLimitPolicy apiPolicy;
+
+    public RateLimitFilter(
+            RateLimiter rateLimiter,
+            ObjectMapper objectMapper,
+            @Value("${application.security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${application.security.rate-limit.login.permits-per-second:1}") double loginPermitsPerSecond,
+            @Value("${application.security.rate-limit.login.burst:60}") int loginBurst,
+            @Value("${application.security.rate-limit.auth.permits-per-second:0.5}") double authPermitsPerSecond,
+            @Value("${application.security.rate-limit.auth.burst:30}") int authBurst,
+            @Value("${application.security.rate-limit.answers.permits-per-second:10}") double answersPermitsPerSecond,
+            @Value("${application.security.rate-limit.answers.burst:30}") int answersBurst,
+            @Value("${application.security.rate-limit.api.permits-per-second:30}") double apiPermitsPerSecond,
+            @Value("${application.security.rate-limit.api.burst:60}") int apiBurst
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.loginPolicy = new RateLimitPolicy("login", loginPermitsPerSecond, loginBurst);
+        this.authPolicy = new RateLimitPolicy("auth", authPermitsPerSecond, authBurst);
+        this.answersPolicy = new RateLimitPolicy("answers", answersPermitsPerSecond, answersBurst);
+        this.apiPolicy = new RateLimitPolicy("api", apiPermitsPerSecond, apiBurst);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || "OPTIONS".equals(request.getMethod()) || !path(request).startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String path = path(request);
+        RateLimitPolicy policy;
+        String key;
+        if (path.startsWith(AUTH_PATH)) {
+            policy = path.equals(LOGIN_PATH) ? loginPolicy : authPolicy;
+            key = "ip:" + request.getRemoteAddr();
+        } else {
+            policy = path.startsWith(ANSWERS_PATH) ? answersPolicy : apiPolicy;
+            Long userId = AuthUtil.getCurrentUserId();
+            key = userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr();
+        }
+
+        RateLimitDecision decision = rateLimiter.tryAcquire(policy, key);
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AuthDomainErrorCode errorCode = AuthDomainErrorCode.RATE_LIMIT_EXCEEDED;
+        response.setStatus(errorCode.getStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(errorCode.getCode(), errorCode.getMessage()));
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
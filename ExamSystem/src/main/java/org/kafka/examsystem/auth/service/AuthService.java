@@ -1,6 +1,7 @@
 package org.kafka.examsystem.auth.service;
 
 import org.kafka.examsystem.auth.dto.AuthResponse;
+import org.kafka.examsystem.auth.dto.ChangePasswordRequest;
 import org.kafka.examsystem.auth.dto.LoginRequest;
 import org.kafka.examsystem.auth.dto.RegisterParentRequest;
 import org.kafka.examsystem.auth.dto.RegisterTeacherRequest;
@@ -20,8 +21,10 @@ import org.kafka.examsystem.user.model.Role;
 import org.kafka.examsystem.user.model.User;
 import org.kafka.examsystem.user.repository.RoleRepository;
 import org.kafka.examsystem.user.repository.UserRepository;
+import org.kafka.examsystem.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -46,6 +49,8 @@ public class AuthService {
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
     private final RefreshTokenService refreshTokenService;
+    private final LoginAttemptGuard loginAttemptGuard;
+    private final UserService userService;
 
     /**
      * Kullanıcı girişi işlemini gerçekleştirir ve başarılı olursa JWT token ile birlikte
@@ -54,11 +59,22 @@ public class AuthService {
      * @param loginRequest Kullanıcının giriş bilgileri (e-posta, şifre).
      * @return JWT token, refresh token, e-posta ve rolü içeren AuthResponse DTO'su.
      * @throws org.springframework.security.core.AuthenticationException Kimlik doğrulama başarısız olursa.
+     * @throws AuthDomainException Hesap çok fazla başarısız deneme nedeniyle geçici olarak kilitliyse.
      */
     public AuthResponse loginUser(LoginRequest loginRequest) {
+        // Kilitli hesap için şifre doğrulaması yapılmaz
+        loginAttemptGuard.checkAllowed(loginRequest.getEmail());
+
         // Kimlik doğrulama yöneticisini kullanarak kimlik doğrulama işlemi
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+        } catch (BadCredentialsException e) {
+            loginAttemptGuard.recordFailure(loginRequest.getEmail());
+            throw e;
+        }
+        loginAttemptGuard.recordSuccess(loginRequest.getEmail());
 
         // Başarılı kimlik doğrulamasından sonra güvenlik bağlamını güncelle
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -96,6 +112,35 @@ public class AuthService {
         return new AuthResponse(newAccessToken, refreshToken.getToken(), user.getEmail(), user.getRole().getName());
     }
 
+    /**
+     * Kullanıcının oturumlarını kapatır: yenileme tokenı silinir ve güvenlik sürümü artırılarak elindeki
+     * erişim tokenları iptal edilir.
+     *
+     * @param userId Oturumu kapatılacak kullanıcının ID'si.
+     */
+    public void logout(Long userId) {
+        refreshTokenService.deleteByUserId(userId);
+    }
+
+    /**
+     * Kullanıcının şifresini değiştirir ve tüm oturumlarını kapatır.
+     * Şifre ve güvenlik sürümü aynı transaction'da güncellenir; eski şifreyle alınmış tokenlar bir daha kabul edilmez.
+     *
+     * @param userId Şifresi değiştirilecek kullanıcının ID'si.
+     * @param changePasswordRequest Mevcut ve yeni şifre.
+     * @throws AuthValidationException Mevcut şifre hatalıysa.
+     */
+    @Transactional
+    public void changePassword(Long userId, ChangePasswordRequest changePasswordRequest) {
+        User user = userService.getUserById(userId);
+        if (user.getPassword() == null
+                || !passwordEncoder.matches(changePasswordRequest.getCurrentPassword(), user.getPassword())) {
+            throw new AuthValidationException(AuthValidationErrorCode.INVALID_CURRENT_PASSWORD);
+        }
+        user.setPassword(passwordEncoder.encode(changePasswordRequest.getNewPassword()));
+        userRepository.save(user);
+        refreshTokenService.deleteByUserId(userId);
+    }
 
     /**
      * Yeni bir veli ve ona bağlı bir öğrenci kaydı oluşturur.
@@ -0,0 +1,113 @@
+package org.kafka.examsystem.auth.service;
+
+import org.kafka.examsystem.auth.exception.domain.AuthDomainErrorCode;
+import org.kafka.examsystem.auth.exception.domain.AuthDomainException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hesap başına başarısız giriş denemelerini sayan ve sınırı aşan hesabı bir süre kilitleyen koruma.
+ * IP başına istek sınırı tek adresten gelen denemeleri yavaşlatır; bu koruma ise çok sayıda adresten aynı hesaba
+ * yapılan şifre denemelerini durdurur. Kilit süresince şifre doğrulaması (BCrypt) hiç yapılmaz.
+ *
+ * Bir saldırgan bilerek yanlış şifre deneyip bir hesabı kilit süresi boyunca kilitleyebilir; kilit kısa tutulur ve
+ * başarılı giriş sayacı sıfırlar. Kayıtlar bellekte, uygulama örneği başına tutulur; süresi dolanlar periyodik
+ * olarak silinir ve kayıt sayısı üst sınıra ulaştığında yeni hesaplar sayılmaz.
+ */
+@Component
+public class LoginAttemptGuard {
+
+    private final int maxFailures;
+    private final long lockDurationNanos;
+    private final int maxEntries;
+
+    private final Map<String, Attempts> attempts = new ConcurrentHashMap<>(); // E-posta -> başarısız denemeler
+
+    public LoginAttemptGuard(
+            @Value("${application.security.login-attempts.max-failures:5}") int maxFailures,
+            @Value("${application.security.login-attempts.lock-duration-ms:900000}") long lockDurationMillis,
+            @Value("${application.security.login-attempts.max-entries:100000}") int maxEntries
+    ) {
+        this.maxFailures = maxFailures;
+        this.lockDurationNanos = TimeUnit.MILLISECONDS.toNanos(lockDurationMillis);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Hesap kilitliyse giriş denemesini şifre doğrulanmadan reddeder.
+     *
+     * @throws AuthDomainException Hesap çok fazla başarısız deneme nedeniyle geçici olarak kilitliyse.
+     */
+    public void checkAllowed(String email) {
+        Attempts entry = attempts.get(key(email));
+        if (entry != null && entry.isLocked(System.nanoTime())) {
+            throw new AuthDomainException(AuthDomainErrorCode.LOGIN_TEMPORARILY_LOCKED);
+        }
+    }
+
+    public void recordFailure(String email) {
+        String key = key(email);
+        if (attempts.size() >= maxEntries && !attempts.containsKey(key)) {
+            removeExpired();
+            if (attempts.size() >= maxEntries) {
+                return;
+            }
+        }
+        attempts.computeIfAbsent(key, k -> new Attempts()).recordFailure(System.nanoTime(), maxFailures, lockDurationNanos);
+    }
+
+    public void recordSuccess(String email) {
+        attempts.remove(key(email));
+    }
+
+    /**
+     * Kilidi ve deneme penceresi dolan kayıtları siler.
+     */
+    @Scheduled(fixedDelayString = "${application.security.login-attempts.sweep-interval-ms:60000}")
+    public void removeExpired() {
+        long now = System.nanoTime();
+        attempts.values().removeIf(entry -> entry.isExpired(now, lockDurationNanos));
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Bir hesabın başarısız denemeleri. Sayaç, son başarısız denemeden kilit süresi kadar sonra sıfırlanır.
+     */
+    private static final class Attempts {
+
+        private int failures;
+        private long lastFailureNanos;
+        private long lockedUntilNanos;
+        private boolean locked;
+
+        synchronized void recordFailure(long now, int maxFailures, long lockDurationNanos) {
+            if (now - lastFailureNanos > lockDurationNanos) {
+                failures = 0;
+            }
+            failures++;
+            lastFailureNanos = now;
+            if (failures >= maxFailures) {
+                locked = true;
+                lockedUntilNanos = now + lockDurationNanos;
+                failures = 0;
+            }
+        }
+
+        synchronized boolean isLocked(long now) {
+            return locked && now - lockedUntilNanos < 0;
+        }
+
+        synchronized boolean isExpired(long now, long lockDurationNanos) {
+            return !isLocked(now) && now - lastFailureNanos > lockDurationNanos;
+        }
+    }
+}
@@ -22,6 +22,7 @@ public class RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
+    private final SecurityVersionService securityVersionService;
 
     /**
      * Verilen kullanıcı için yeni bir refresh token oluşturur veya mevcutsa günceller.
@@ -82,10 +83,12 @@ public class RefreshTokenService {
 
     /**
      * Kullanıcıya ait refresh tokenı siler (örneğin logout sırasında).
+     * Güvenlik sürümü de artırılır; böylece kullanıcının elindeki erişim tokenları da geçersiz olur.
      * @param userId Refresh tokenı silinecek kullanıcı.
      */
     @Transactional
     public void deleteByUserId(Long userId) {
         userRepository.findById(userId).ifPresent(user -> refreshTokenRepository.deleteByUser(user));
+        securityVersionService.bump(userId);
     }
 }
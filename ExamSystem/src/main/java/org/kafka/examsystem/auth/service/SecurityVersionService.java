@@ -0,0 +1,102 @@
+package org.kafka.examsystem.auth.service;
+
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kullanıcı başına güvenlik sürümünü yöneten servis.
+ * Token üretilirken mevcut sürüm token'a yazılır; rol değişikliği, şifre değişikliği veya oturum kapatma gibi
+ * durumlarda sürüm artırılır ve daha eski sürümle üretilmiş token'lar reddedilir.
+ *
+ * Sürüm {@code users.security_version} sütununda tutulur; uygulama yeniden başladığında iptal edilen token'lar
+ * yeniden geçerli olmaz. Her istekte veritabanına gidilmemesi için sürümler bellekte kısa süre önbelleğe alınır.
+ * Sürümü artıran uygulama örneği kendi kaydını commit sonrasında siler; diğer örnekler yeni sürümü en geç
+ * {@code cache-ttl-ms} sonra görür.
+ */
+@Service
+public class SecurityVersionService {
+
+    private final UserRepository userRepository;
+    private final long cacheTtlNanos;
+
+    private final Map<Long, CachedVersion> versions = new ConcurrentHashMap<>(); // Kullanıcı ID -> sürüm
+
+    public SecurityVersionService(
+            UserRepository userRepository,
+            @Value("${application.security.security-version.cache-ttl-ms:30000}") long cacheTtlMillis
+    ) {
+        this.userRepository = userRepository;
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMillis);
+    }
+
+    /**
+     * Kullanıcının mevcut güvenlik sürümünü döndürür. Hiç artırılmamışsa 0'dır.
+     * Kullanıcı bulunamazsa -1 döner; bu durumda hiçbir token geçerli sayılmaz.
+     */
+    public int currentVersion(Long userId) {
+        long now = System.nanoTime();
+        CachedVersion cached = versions.get(userId);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.version();
+        }
+        int version = userRepository.findSecurityVersionById(userId).orElse(-1);
+        versions.put(userId, new CachedVersion(version, now + cacheTtlNanos));
+        return version;
+    }
+
+    /**
+     * Kullanıcının güvenlik sürümünü artırır; bu andan önce üretilmiş tüm token'lar geçersiz olur.
+     * Çağıranın transaction'ına katılır; önbellekteki kayıt hemen ve commit sonrasında tekrar silinir, böylece
+     * commit'ten önce okunan eski sürüm önbellekte kalmaz.
+     */
+    @Transactional
+    public void bump(Long userId) {
+        userRepository.incrementSecurityVersion(userId);
+        versions.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versions.remove(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Token'daki sürümün hâlâ geçerli olup olmadığını kontrol eder.
+     * Kullanıcı ID'si veya sürüm taşımayan token'lar iptal edilip edilmedikleri bilinemediği için reddedilir.
+     */
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        int current = currentVersion(userId);
+        return current >= 0 && tokenVersion >= current;
+    }
+
+    /**
+     * Süresi dolan önbellek kayıtlarını siler.
+     */
+    @Scheduled(fixedDelayString = "${application.security.security-version.sweep-interval-ms:60000}")
+    public void removeExpired() {
+        long now = System.nanoTime();
+        versions.values().removeIf(cached -> cached.isExpired(now));
+    }
+
+    private record CachedVersion(int version, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
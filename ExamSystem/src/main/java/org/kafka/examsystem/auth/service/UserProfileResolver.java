@@ -0,0 +1,41 @@
+package org.kafka.examsystem.auth.service;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.parent.repository.ParentRepository;
+import org.kafka.examsystem.student.repository.StudentRepository;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Kullanıcının rolüne karşılık gelen profil kaydının (öğrenci, öğretmen veya veli) ID'sini çözen servis.
+ * Token üretimi sırasında profil ID'sini claim olarak gömmek için kullanılır.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserProfileResolver {
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final ParentRepository parentRepository;
+
+    /**
+     * Verilen kullanıcı ve rol için profil ID'sini döndürür.
+     *
+     * @param userId Kullanıcı ID'si.
+     * @param roleName Kullanıcının rol adı (örn. "ROLE_STUDENT").
+     * @return Profil ID'si; ADMIN için veya profil bulunamazsa null.
+     */
+    @Transactional(readOnly = true)
+    public Long resolveProfileId(Long userId, String roleName) {
+        if (userId == null || roleName == null) {
+            return null;
+        }
+        return switch (roleName) {
+            case "ROLE_STUDENT" -> studentRepository.findIdByUserId(userId).orElse(null);
+            case "ROLE_TEACHER" -> teacherRepository.findIdByUserId(userId).orElse(null);
+            case "ROLE_PARENT" -> parentRepository.findIdByUserId(userId).orElse(null);
+            default -> null;
+        };
+    }
+}
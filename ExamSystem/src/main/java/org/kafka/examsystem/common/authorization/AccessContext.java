@@ -0,0 +1,156 @@
+package org.kafka.examsystem.common.authorization;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.auth.principal.AuthenticatedUser;
+import org.kafka.examsystem.auth.service.UserProfileResolver;
+import org.kafka.examsystem.common.util.AuthUtil;
+import org.kafka.examsystem.parent.exception.domain.ParentDomainErrorCode;
+import org.kafka.examsystem.parent.exception.domain.ParentDomainException;
+import org.kafka.examsystem.student.exception.domain.StudentDomainErrorCode;
+import org.kafka.examsystem.student.exception.domain.StudentDomainException;
+import org.kafka.examsystem.student.repository.StudentRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * İstek süresince geçerli olan erişim bağlamı.
+ * Mevcut kullanıcının ID'si, rolü, rolüne karşılık gelen profil ID'si (öğrenci/öğretmen/veli) ve
+ * velinin çocuklarının öğrenci ID'leri ilk kullanımda bir kez çözülür ve aynı istek içinde tekrar kullanılır.
+ * Profil ID'si normalde token'dan gelir; token taşımıyorsa tek bir sorgu ile çözülür.
+ * Servisler kullanıcıyı her seferinde yeniden sorgulamak yerine bu bağlamı kullanır.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class AccessContext {
+
+    private static final String ROLE_ADMIN = "ROLE_ADMIN";
+    private static final String ROLE_TEACHER = "ROLE_TEACHER";
+    private static final String ROLE_STUDENT = "ROLE_STUDENT";
+    private static final String ROLE_PARENT = "ROLE_PARENT";
+
+    private final UserProfileResolver userProfileResolver;
+    private final StudentRepository studentRepository;
+
+    private boolean loaded;
+    private Long userId;
+    private String role;
+    private Long profileId;
+    private List<Long> childStudentIds; // Sadece veli için, ilk ihtiyaçta yüklenir
+
+    /**
+     * Mevcut kullanıcının ID'sini döndürür. Kimlik doğrulanmamışsa null döner.
+     */
+    public Long getUserId() {
+        load();
+        return userId;
+    }
+
+    public String getRole() {
+        load();
+        return role;
+    }
+
+    public boolean hasRole(String roleName) {
+        load();
+        return role != null && role.equals(roleName);
+    }
+
+    public boolean isAdmin() {
+        return hasRole(ROLE_ADMIN);
+    }
+
+    public boolean isTeacher() {
+        return hasRole(ROLE_TEACHER);
+    }
+
+    public boolean isStudent() {
+        return hasRole(ROLE_STUDENT);
+    }
+
+    public boolean isParent() {
+        return hasRole(ROLE_PARENT);
+    }
+
+    /**
+     * Kullanıcı öğrenciyse öğrenci profil ID'sini, değilse veya profil yoksa null döndürür.
+     */
+    public Long getStudentId() {
+        return isStudent() ? profileId : null;
+    }
+
+    /**
+     * Kullanıcı öğretmense öğretmen profil ID'sini, değilse veya profil yoksa null döndürür.
+     */
+    public Long getTeacherId() {
+        return isTeacher() ? profileId : null;
+    }
+
+    /**
+     * Kullanıcı veliyse veli profil ID'sini, değilse veya profil yoksa null döndürür.
+     */
+    public Long getParentId() {
+        return isParent() ? profileId : null;
+    }
+
+    /**
+     * Öğrenci profil ID'sini döndürür.
+     *
+     * @throws StudentDomainException Kullanıcı öğrenci değilse veya öğrenci profili yoksa.
+     */
+    public Long requireStudentId() {
+        Long studentId = getStudentId();
+        if (studentId == null) {
+            throw new StudentDomainException(StudentDomainErrorCode.STUDENT_NOT_FOUND);
+        }
+        return studentId;
+    }
+
+    /**
+     * Veli profil ID'sini döndürür.
+     *
+     * @throws ParentDomainException Kullanıcı veli değilse veya veli profili yoksa.
+     */
+    public Long requireParentId() {
+        Long parentId = getParentId();
+        if (parentId == null) {
+            throw new ParentDomainException(ParentDomainErrorCode.PARENT_NOT_FOUND);
+        }
+        return parentId;
+    }
+
+    /**
+     * Velinin çocuklarının öğrenci ID'lerini döndürür. Kullanıcı veli değilse boş liste döner.
+     * Liste istek içinde ilk çağrıda tek sorgu ile yüklenir.
+     */
+    public List<Long> getChildStudentIds() {
+        if (childStudentIds == null) {
+            Long parentId = getParentId();
+            childStudentIds = parentId != null
+                    ? Collections.unmodifiableList(studentRepository.findIdsByParentId(parentId))
+                    : Collections.emptyList();
+        }
+        return childStudentIds;
+    }
+
+    /**
+     * Bağlamı güvenlik bağlamındaki principal'dan bir kez doldurur.
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        AuthenticatedUser user = AuthUtil.getCurrentUser();
+        if (user != null) {
+            this.userId = user.getId();
+            this.role = user.getRole();
+            this.profileId = user.getProfileId() != null
+                    ? user.getProfileId()
+                    : userProfileResolver.resolveProfileId(userId, role); // Eski biçimdeki token: profil ID'sini sorgula
+        }
+        this.loaded = true;
+    }
+}
@@ -0,0 +1,197 @@
+package org.kafka.examsystem.common.authorization;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kafka.examsystem.course.event.CourseDeletedEvent;
+import org.kafka.examsystem.course_student.event.CourseEnrollmentChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Kurs üyelik kararlarını (kullanıcı, kurs) → izin/ret olarak bellekte tutan sınırlı önbellek.
+ * Öğrenci için kursa kayıtlı olup olmadığı, veli için çocuğunun kursa kayıtlı olup olmadığı burada saklanır;
+ * böylece cevap verme ve sınav gönderme gibi sıcak yollarda aynı exists sorgusu tekrar çalışmaz.
+ *
+ * Önbellek, kayıt ekleme/çıkarma ve kurs silme olaylarıyla transaction commit edildikten sonra geçersiz kılınır.
+ * Her geçersiz kılmada artan bir sayaç tutulur; karar hesaplanırken sayaç değiştiyse sonuç önbelleğe yazılmaz,
+ * böylece commit ile eşzamanlı okunan eski bir karar önbellekte kalamaz. Kararlar birincil veritabanından okunmalıdır;
+ * gecikmeli bir replikadan okunan karar geçersiz kılmadan sonra da eski olabilir.
+ *
+ * Geçersiz kılma yalnızca değişikliği yapan uygulama örneğinde çalışır. Diğer örneklerdeki kararlar en geç
+ * {@code ttl-ms} süresi sonunda düşer ve yeniden okunur; kaydı silinen bir öğrencinin başka bir örnekteki erişimi
+ * bu süre kadar devam edebilir.
+ */
+@Component
+public class CourseAccessDecisionCache {
+
+    private final Map<Key, Decision> decisions = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final int maxSize;
+    private final long ttlNanos;
+
+    public CourseAccessDecisionCache(
+            @Value("${application.authorization.decision-cache.max-size:50000}") int maxSize,
+            @Value("${application.authorization.decision-cache.ttl-ms:300000}") long ttlMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        FunctionCounter.builder("authorization.decision.cache", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Önbellekten karşılanan kurs erişim kararları")
+                .register(meterRegistry);
+        FunctionCounter.builder("authorization.decision.cache", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Veritabanından hesaplanan kurs erişim kararları")
+                .register(meterRegistry);
+        Gauge.builder("authorization.decision.cache.size", decisions, Map::size)
+                .description("Önbellekteki kurs erişim kararı sayısı")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Kullanıcının kursa erişim kararını önbellekten döndürür; yoksa verilen sorgu ile hesaplayıp önbelleğe yazar.
+     *
+     * @param userId   Kullanıcı ID'si.
+     * @param courseId Kurs ID'si.
+     * @param loader   Karar önbellekte yoksa çalıştırılacak veritabanı kontrolü.
+     * @return Erişim kararı.
+     */
+    public boolean getOrCompute(Long userId, Long courseId, BooleanSupplier loader) {
+        return getOrCompute(userId, courseId, loader, true);
+    }
+
+    /**
+     * Kullanıcının kursa erişim kararını önbellekten döndürür; yoksa verilen sorgu ile hesaplar.
+     *
+     * @param userId   Kullanıcı ID'si.
+     * @param courseId Kurs ID'si.
+     * @param loader   Karar önbellekte yoksa çalıştırılacak veritabanı kontrolü.
+     * @param store    Hesaplanan karar önbelleğe yazılsın mı; replikadan okunmuş olabilecek kararlar yazılmamalıdır.
+     * @return Erişim kararı.
+     */
+    public boolean getOrCompute(Long userId, Long courseId, BooleanSupplier loader, boolean store) {
+        Key key = new Key(userId, courseId);
+        Decision cached = decisions.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(System.nanoTime())) {
+                hits.increment();
+                return cached.allowed();
+            }
+            decisions.remove(key, cached);
+        }
+        misses.increment();
+        long epoch = invalidations.get();
+        boolean decision = loader.getAsBoolean();
+        if (store && maxSize > 0 && invalidations.get() == epoch) {
+            evictIfFull();
+            decisions.put(key, new Decision(decision, System.nanoTime() + ttlNanos));
+        }
+        return decision;
+    }
+
+    /**
+     * Bir kursa kayıtlı kullanıcıların izin kararlarını toplu olarak önbelleğe yazar (örneğin sınav başlarken).
+     * Kayıtlar yüklenirken bir geçersiz kılma olduysa hiçbir karar yazılmaz.
+     *
+     * @param courseId Kurs ID'si.
+     * @param loader   Kursa kayıtlı kullanıcıların ID'lerini getiren veritabanı sorgusu.
+     * @return Önbelleğe yazılan karar sayısı.
+     */
+    public int preload(Long courseId, Supplier<? extends Collection<Long>> loader) {
+        long epoch = invalidations.get();
+        Collection<Long> userIds = loader.get();
+        if (maxSize <= 0 || invalidations.get() != epoch) {
+            return 0;
+        }
+        int written = 0;
+        long expiresAtNanos = System.nanoTime() + ttlNanos;
+        for (Long userId : userIds) {
+            evictIfFull();
+            decisions.put(new Key(userId, courseId), new Decision(true, expiresAtNanos));
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Belirli kullanıcıların belirli bir kursa ait kararlarını geçersiz kılar.
+     */
+    public void invalidate(Long courseId, Iterable<Long> userIds) {
+        invalidations.incrementAndGet();
+        for (Long userId : userIds) {
+            decisions.remove(new Key(userId, courseId));
+        }
+    }
+
+    /**
+     * Bir kursa ait tüm kararları geçersiz kılar.
+     */
+    public void invalidateCourse(Long courseId) {
+        invalidations.incrementAndGet();
+        decisions.keySet().removeIf(key -> key.courseId().equals(courseId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnrollmentChanged(CourseEnrollmentChangedEvent event) {
+        invalidate(event.courseId(), event.affectedUserIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseDeleted(CourseDeletedEvent event) {
+        invalidateCourse(event.courseId());
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return decisions.size();
+    }
+
+    /**
+     * Önbellek doluysa önce süresi dolan, sonra rastgele kayıtları çıkarır.
+     */
+    private void evictIfFull() {
+        if (decisions.size() < maxSize) {
+            return;
+        }
+        long now = System.nanoTime();
+        decisions.values().removeIf(decision -> decision.isExpired(now));
+        Iterator<Key> iterator = decisions.keySet().iterator();
+        while (decisions.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Key(Long userId, Long courseId) {
+    }
+
+    private record Decision(boolean allowed, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -1,28 +1,40 @@
 package org.kafka.examsystem.common.authorization;
 
-import lombok.RequiredArgsConstructor;
-import org.kafka.examsystem.common.util.AuthUtil;
 import org.kafka.examsystem.course.model.Course;
 import org.kafka.examsystem.course_student.repository.CourseStudentRepository;
-import org.kafka.examsystem.course_student.service.CourseEnrollmentService;
 import org.kafka.examsystem.parent.exception.domain.ParentDomainErrorCode;
 import org.kafka.examsystem.parent.exception.domain.ParentDomainException;
-import org.kafka.examsystem.parent.model.Parent;
-import org.kafka.examsystem.parent.service.ParentService;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.BooleanSupplier;
 
 /**
  * Kurslarla ilgili yetkilendirme kontrollerini yöneten servis.
  * Bu servis, bir kullanıcının belirli bir kursa veya onunla ilgili verilere erişim yetkisini kontrol eder.
+ *
+ * Önbelleğe yazılacak üyelik kararları her zaman birincil veritabanından okunur. Salt okunur transaction'lar
+ * replikaya gittiğinden, kayıt değişikliğinden hemen sonra gecikmeli bir replikadan okunan eski karar geçersiz
+ * kılmanın ardından yeniden önbelleğe yazılabilirdi. Bu yüzden karar metotları kendi salt okunur transaction'ını
+ * açmaz ve karar çağıranın bağlantısında okunur; ikinci bir bağlantı alınmaz. Çağıran salt okunur bir transaction
+ * içindeyse bağlantısı replikada olabileceğinden okunan karar önbelleğe yazılmaz.
  */
 @Service
-@RequiredArgsConstructor
 public class CourseAuthorizationService {
 
-    private final ParentService parentService;
-    // private final CourseEnrollmentService courseEnrollmentService;
+    private final AccessContext accessContext; // Rol ve profil ID'leri istek başına bir kez çözülür
     private final CourseStudentRepository courseStudentRepository;
+    private final CourseAccessDecisionCache decisionCache; // (kullanıcı, kurs) üyelik kararları
+
+    public CourseAuthorizationService(
+            AccessContext accessContext,
+            CourseStudentRepository courseStudentRepository,
+            CourseAccessDecisionCache decisionCache
+    ) {
+        this.accessContext = accessContext;
+        this.courseStudentRepository = courseStudentRepository;
+        this.decisionCache = decisionCache;
+    }
 
     /**
      * Kullanıcının belirli bir kursun öğrencilerini görme yetkisine sahip olup olmadığını kontrol eder.
@@ -36,14 +48,13 @@ public class CourseAuthorizationService {
      * @param currentUserId Mevcut kullanıcının ID'si.
      * @return Kullanıcının yetkisi varsa true, aksi takdirde false.
      */
-    @Transactional(readOnly = true)
     public boolean canViewCourseStudents(Course course, Long currentUserId) {
         if (currentUserId == null) {
             return false;
         }
 
         // 1. ADMIN rol kontrolü
-        if (AuthUtil.hasRole("ROLE_ADMIN")) {
+        if (accessContext.isAdmin()) {
             return true;
         }
 
@@ -54,19 +65,18 @@ public class CourseAuthorizationService {
         }
 
         // 3. Kursa kayıtlı öğrencilerden herhangi birinin velisi olma kontrolü
-        if (AuthUtil.hasRole("ROLE_PARENT")) {
-            try {
-                Parent currentParent = parentService.getParentByUserId(currentUserId);
-                courseStudentRepository.existsByCourseIdAndStudentParent(course.getId(), currentParent);
-                // return courseEnrollmentService.isParentOfEnrolledStudent(course.getId(), currentParent);
-            } catch (ParentDomainException e) { // TODO: throw new AccessDeniedException fırlatılabilirdi. 403 olarak işlenirdi.
+        if (accessContext.isParent()) {
+            Long parentId = accessContext.getParentId();
+            if (parentId == null) { // TODO: throw new AccessDeniedException fırlatılabilirdi. 403 olarak işlenirdi.
                 throw new ParentDomainException(ParentDomainErrorCode.UNAUTHORIZED_PARENT_ACCESS);
             }
+            return decide(currentUserId, course.getId(),
+                    () -> courseStudentRepository.existsByCourseIdAndStudentParentId(course.getId(), parentId));
         }
 
         // 4. Kursa kayıtlı öğrenci olma kontrolü
-        if (AuthUtil.hasRole("ROLE_STUDENT")) {
-            return courseStudentRepository.existsByCourseIdAndStudentUserId(course.getId(), currentUserId);
+        if (accessContext.isStudent()) {
+            return isStudentEnrolled(course.getId(), currentUserId);
         }
 
         return false;
@@ -86,7 +96,7 @@ public class CourseAuthorizationService {
         if (currentUserId == null) {
             return false;
         }
-        boolean isAdmin = AuthUtil.hasRole("ROLE_ADMIN");
+        boolean isAdmin = accessContext.isAdmin();
         boolean isTeacherOfCourse = course.getTeacher() != null && course.getTeacher().getUser() != null &&
                 course.getTeacher().getUser().getId().equals(currentUserId);
         return isAdmin || isTeacherOfCourse;
@@ -103,14 +113,13 @@ public class CourseAuthorizationService {
      * @param currentUserId Mevcut kullanıcının ID'si.
      * @return Kullanıcının yetkisi varsa true, aksi takdirde false.
      */
-    @Transactional(readOnly = true)
     public boolean canViewCourseContent(Course course, Long currentUserId) {
         if (currentUserId == null) {
             return false;
         }
 
         // 1. ADMIN rol kontrolü
-        if (AuthUtil.hasRole("ROLE_ADMIN")) {
+        if (accessContext.isAdmin()) {
             return true;
         }
 
@@ -121,11 +130,52 @@ public class CourseAuthorizationService {
         }
 
         // 3. Kursa kayıtlı öğrenci olma kontrolü
-        if (AuthUtil.hasRole("ROLE_STUDENT")) {
-            return courseStudentRepository.existsByCourseIdAndStudentUserId(course.getId(), currentUserId);
-            // return courseEnrollmentService.isStudentEnrolledInCourse(course.getId(), currentUserId);
+        if (accessContext.isStudent()) {
+            return isStudentEnrolled(course.getId(), currentUserId);
         }
 
         return false;
     }
+
+    /**
+     * Öğrenci kullanıcısının kursa kayıtlı olup olmadığını kontrol eder.
+     * Karar önbellekteyse veritabanına gidilmez; kayıt değişikliklerinde önbellek olaylarla geçersiz kılınır.
+     * Önbellekte yoksa karar çağıranın bağlantısında okunur (bkz. sınıf açıklaması).
+     *
+     * @param courseId Kursun ID'si.
+     * @param studentUserId Öğrenci kullanıcısının ID'si.
+     * @return Kayıtlıysa true, değilse false.
+     */
+    public boolean isStudentEnrolled(Long courseId, Long studentUserId) {
+        return decide(studentUserId, courseId,
+                () -> courseStudentRepository.existsByCourseIdAndStudentUserId(courseId, studentUserId));
+    }
+
+    /**
+     * Kursa kayıtlı tüm öğrencilerin kayıt kararlarını tek sorguyla önbelleğe alır.
+     * Sınav başlarken öğrencilerin ilk isteklerinde tek tek exists sorgusu çalışmasın diye kullanılır.
+     * Salt okunur bir transaction içinden çağrılırsa replikadan okunabileceği için hiçbir şey yüklenmez.
+     *
+     * @param courseId Kursun ID'si.
+     * @return Önbelleğe alınan öğrenci sayısı.
+     */
+    public int preloadEnrolledStudents(Long courseId) {
+        if (inReadOnlyTransaction()) {
+            return 0;
+        }
+        return decisionCache.preload(courseId, () -> courseStudentRepository.findStudentUserIdsByCourseId(courseId));
+    }
+
+    /**
+     * Kararı önbellekten döndürür; yoksa çağıranın bağlantısında okur. Transaction dışındaki ve salt okunur olmayan
+     * transaction'lardaki sorgular birincil veritabanına gider ve sonuç önbelleğe yazılır.
+     */
+    private boolean decide(Long userId, Long courseId, BooleanSupplier query) {
+        return decisionCache.getOrCompute(userId, courseId, query, !inReadOnlyTransaction());
+    }
+
+    private static boolean inReadOnlyTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
 }
@@ -0,0 +1,13 @@
+package org.kafka.examsystem.common.cache;
+
+import java.io.Serializable;
+
+/**
+ * İkinci seviye önbellekte tutulan bir entity'nin değiştiğini veya silindiğini bildiren mesaj.
+ * Diğer uygulama düğümlerine iletilir; alan düğüm entity'nin önbellekteki kopyasını ve sorgu önbelleğini temizler.
+ *
+ * @param entityName Entity'nin tam sınıf adı.
+ * @param id         Entity ID'si.
+ */
+public record EntityCacheInvalidation(String entityName, Serializable id) implements Serializable {
+}
@@ -0,0 +1,15 @@
+package org.kafka.examsystem.common.cache;
+
+/**
+ * İkinci seviye önbellek geçersiz kılma mesajlarını diğer uygulama düğümlerine ileten isteğe bağlı genişleme noktası.
+ * Uygulama tek düğümde çalışırken bu arayüzün bir bean'i tanımlanmaz ve mesaj üretilmez.
+ * Birden çok düğümde çalışırken bir mesajlaşma altyapısı (ör. PostgreSQL LISTEN/NOTIFY, Redis pub/sub) üzerinden
+ * uygulanır; karşı düğümde alınan mesajlar {@link SecondLevelCacheInvalidator#evict(EntityCacheInvalidation)} ile işlenir.
+ */
+public interface EntityCacheInvalidationPublisher {
+
+    /**
+     * Değişikliği diğer düğümlere yayınlar. Transaction commit edildikten sonra çağrılır.
+     */
+    void publish(EntityCacheInvalidation invalidation);
+}
@@ -0,0 +1,27 @@
+package org.kafka.examsystem.common.cache;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.spi.CachingProvider;
+
+/**
+ * Her SessionFactory için ayrı bir JCache CacheManager kullanan bölge fabrikası.
+ *
+ * JCache sağlayıcıları CacheManager'ı yapılandırma URI'si ve sınıf yükleyiciye göre paylaştırır. Aynı JVM'de birden
+ * fazla SessionFactory açıldığında (örneğin farklı veritabanlarına bağlanan test context'leri) bölgeler ortak olur ve
+ * bir veritabanının kayıtları diğerinde okunabilir; kapanan bir SessionFactory ortak CacheManager'ı da kapatır.
+ * Fabrikaya özel bir sınıf yükleyici döndürmek sağlayıcının her fabrika için yeni bir CacheManager oluşturmasını sağlar.
+ */
+public class IsolatedJCacheRegionFactory extends JCacheRegionFactory {
+
+    private volatile ClassLoader classLoader;
+
+    @Override
+    protected ClassLoader getClassLoader(CachingProvider cachingProvider) {
+        if (classLoader == null) {
+            classLoader = new ClassLoader(super.getClassLoader(cachingProvider)) {
+            };
+        }
+        return classLoader;
+    }
+}
@@ -0,0 +1,97 @@
+package org.kafka.examsystem.common.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+
+/**
+ * Hibernate ikinci seviye önbelleğinin düğümler arası geçersiz kılınmasını yöneten bileşen.
+ *
+ * Aynı düğümde yapılan güncellemeler önbelleği Hibernate tarafından zaten günceller. Bir
+ * {@link EntityCacheInvalidationPublisher} bean'i tanımlıysa, önbellekteki bir entity güncellendiğinde veya silindiğinde
+ * transaction commit edildikten sonra diğer düğümlere mesaj gönderilir. Diğer düğümlerden gelen mesajlar
+ * {@link #evict(EntityCacheInvalidation)} ile uygulanır.
+ *
+ * JPQL toplu UPDATE/DELETE sorguları entity olayı üretmez; Hibernate bu sorgularda yalnızca yerel düğümdeki
+ * ilgili bölgenin tamamını temizler. Diğer düğümlerde bu değişiklikler bölgenin TTL süresi kadar görünmeyebilir.
+ */
+@Component
+public class SecondLevelCacheInvalidator implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheInvalidator.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final EntityCacheInvalidationPublisher publisher;
+
+    public SecondLevelCacheInvalidator(
+            EntityManagerFactory entityManagerFactory,
+            ObjectProvider<EntityCacheInvalidationPublisher> publisherProvider
+    ) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.publisher = publisherProvider.getIfAvailable();
+        if (publisher != null) {
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+            registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        }
+    }
+
+    /**
+     * Başka bir düğümden gelen geçersiz kılma mesajını uygular.
+     * Entity'nin önbellekteki kopyası silinir; sorgu önbelleğindeki sonuçlar bu entity'yi içerebileceğinden
+     * sorgu bölgeleri de temizlenir.
+     */
+    public void evict(EntityCacheInvalidation invalidation) {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(invalidation.entityName(), invalidation.id());
+        cache.evictQueryRegions();
+        logger.debug("Önbellekten çıkarıldı: {}#{}", invalidation.entityName(), invalidation.id());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Commit edilmeyen değişiklik diğer düğümlere bildirilmez
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Commit edilmeyen değişiklik diğer düğümlere bildirilmez
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        try {
+            publisher.publish(new EntityCacheInvalidation(persister.getEntityName(), (Serializable) id));
+        } catch (RuntimeException e) {
+            // Transaction zaten commit edildi; diğer düğümlerdeki kopya en geç TTL dolunca yenilenir
+            logger.warn("Önbellek geçersiz kılma mesajı gönderilemedi: {}#{}", persister.getEntityName(), id, e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.kafka.examsystem.common.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Okuma replikası yapılandırması. {@code application.datasource.replica.urls} tanımlıysa etkinleşir;
+ * tanımlı değilse Spring Boot'un tek veri kaynağı kullanılır.
+ *
+ * Uygulamanın kullandığı veri kaynağı bir {@link LazyConnectionDataSourceProxy}'dir. Fiziksel bağlantı ilk SQL
+ * ifadesine kadar alınmaz; bu sırada transaction yöneticisi salt okunur transaction'larda bağlantıyı salt okunur
+ * işaretlemiş olur ve bağlantı {@link ReplicaRoutingDataSource}'tan alınır. Diğer tüm bağlantılar (yazmalar,
+ * transaction dışı okumalar, Flyway) birincil veritabanına gider.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "application.datasource.replica.urls")
+public class ReadReplicaDataSourceConfiguration {
+
+    /**
+     * {@code spring.datasource.*} ayarlarıyla oluşturulan birincil bağlantı havuzu.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Her replika için birincil havuzun ayarlarıyla ayrı bir havuz oluşturur. Replika havuzları uygulama başlarken
+     * replikaya ulaşamasa da açılır; bağlantı bekleme süresi kısa tutulur, böylece erişilemeyen bir replika okumaları
+     * bekletmeden birincil veritabanına düşürür.
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${application.datasource.replica.urls}") List<String> urls,
+            @Value("${application.datasource.replica.username:}") String username,
+            @Value("${application.datasource.replica.password:}") String password,
+            @Value("${application.datasource.replica.max-lag-ms:5000}") long maxLagMillis,
+            @Value("${application.datasource.replica.connection-timeout-ms:1000}") long connectionTimeoutMillis,
+            @Value("${application.datasource.replica.lag-query:}") String lagQuery,
+            MeterRegistry meterRegistry
+    ) {
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(urls.get(i).strip());
+            if (!username.isEmpty()) {
+                config.setUsername(username);
+                config.setPassword(password);
+            }
+            config.setPoolName("replica-" + (i + 1));
+            config.setReadOnly(true);
+            config.setConnectionTimeout(connectionTimeoutMillis);
+            config.setInitializationFailTimeout(-1);
+            config.setMetricRegistry(null);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicaPools.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaPools, maxLagMillis,
+                lagQuery.isBlank() ? ReplicaRoutingDataSource.DEFAULT_LAG_QUERY : lagQuery, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
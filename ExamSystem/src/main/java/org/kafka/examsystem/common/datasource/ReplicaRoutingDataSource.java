@@ -0,0 +1,174 @@
+package org.kafka.examsystem.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Salt okunur transaction'ların bağlantılarını okuma replikalarına dağıtan veri kaynağı.
+ *
+ * Replikalar sırayla (round-robin) kullanılır. Her replikanın gecikmesi periyodik olarak ölçülür; gecikmesi
+ * {@code maxLagMillis} değerini aşan veya ulaşılamayan replika, bir sonraki başarılı ölçüme kadar kullanılmaz.
+ * Kullanılabilir replika yoksa ya da replikadan bağlantı alınamazsa bağlantı birincil veritabanından verilir.
+ * Uygulama başladığında ilk ölçüm yapılana kadar tüm okumalar birincil veritabanına gider.
+ *
+ * Kabul edilen gecikme kadar eski veri okunabilir: bir isteğin yazdığı veriyi hemen ardından okuması gereken
+ * akışlar salt okunur olmayan bir transaction içinde okumalıdır.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * PostgreSQL replikasının gecikmesi (ms). Replika tüm WAL kayıtlarını uyguladıysa (veya birincil ise) 0 döner;
+     * aksi halde son uygulanan transaction'ın üzerinden geçen süre döner.
+     */
+    public static final String DEFAULT_LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT), 0) END";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryFallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<HikariDataSource> replicaPools,
+            long maxLagMillis,
+            String lagQuery,
+            MeterRegistry meterRegistry
+    ) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.maxLagMillis = maxLagMillis;
+        this.lagQuery = lagQuery;
+
+        for (Replica replica : replicas) {
+            FunctionCounter.builder("datasource.read.connections", replica.routed, LongAdder::sum)
+                    .tag("pool", replica.name())
+                    .description("Salt okunur transaction'lara verilen bağlantılar")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMillis < 0 ? Double.NaN : r.lagMillis)
+                    .tag("pool", replica.name())
+                    .baseUnit("milliseconds")
+                    .description("Replikanın son ölçülen gecikmesi")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("pool", replica.name())
+                    .description("Replika okumalar için kullanılabiliyorsa 1")
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("datasource.read.connections", primaryFallbacks, LongAdder::sum)
+                .tag("pool", "primary")
+                .description("Kullanılabilir replika olmadığı için birincil veritabanından verilen salt okunur bağlantılar")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, size));
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.getConnection();
+                replica.routed.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markUnavailable(e);
+            }
+        }
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replika bağlantıları havuz kimlik bilgileriyle açılır");
+    }
+
+    /**
+     * Her replikanın gecikmesini ölçer ve kullanılabilirlik durumunu günceller.
+     */
+    @Scheduled(fixedDelayString = "${application.datasource.replica.lag-check-interval-ms:1000}")
+    public void refreshReplicaState() {
+        replicas.forEach(this::refresh);
+    }
+
+    private void refresh(Replica replica) {
+        try (Connection connection = replica.pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                resultSet.next();
+                replica.lagMillis = resultSet.getLong(1);
+            }
+        } catch (SQLException e) {
+            replica.lagMillis = -1;
+            replica.markUnavailable(e);
+            return;
+        }
+
+        boolean available = replica.lagMillis <= maxLagMillis;
+        if (available != replica.available) {
+            if (available) {
+                logger.info("Replika {} yeniden okumalara açıldı (gecikme {} ms)", replica.name(), replica.lagMillis);
+            } else {
+                logger.warn("Replika {} okumalardan çıkarıldı: gecikme {} ms, sınır {} ms",
+                        replica.name(), replica.lagMillis, maxLagMillis);
+            }
+            replica.available = available;
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private final LongAdder routed = new LongAdder();
+        private volatile boolean available;
+        private volatile long lagMillis = -1;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private String name() {
+            return pool.getPoolName();
+        }
+
+        private void markUnavailable(SQLException cause) {
+            if (available) {
+                logger.warn("Replika {} okumalardan çıkarıldı: {}", name(), cause.getMessage());
+            }
+            available = false;
+        }
+    }
+}
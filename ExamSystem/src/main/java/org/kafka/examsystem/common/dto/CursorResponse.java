@@ -0,0 +1,71 @@
+package org.kafka.examsystem.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.kafka.examsystem.common.pagination.KeysetCursor;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * İmleç (keyset) tabanlı sayfalı yanıtlar için genel DTO sınıfı.
+ * PageResponse'tan farklı olarak toplam eleman/sayfa sayısı içermez; bu sayede sayım sorgusu çalışmaz.
+ * Sonraki sayfa, {@code nextCursor} değeri {@code cursor} parametresi olarak gönderilerek istenir.
+ *
+ * @param <T> Sayfanın içerdiği elemanların tipi.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorResponse<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content; // Sayfanın içeriği (DTO listesi)
+    private int size; // Sayfa başına eleman sayısı
+    private boolean hasNext; // Sonraki sayfa var mı?
+    private String nextCursor; // Sonraki sayfanın imleci (son sayfada null)
+
+    /**
+     * İstenen sayfa boyutunu 1 ile {@link #MAX_SIZE} arasına sınırlar.
+     */
+    public static int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Sorgu sınırı: sonraki sayfanın varlığını sayım yapmadan anlamak için bir fazla satır okunur.
+     */
+    public static Limit limitFor(int size) {
+        return Limit.of(size + 1);
+    }
+
+    /**
+     * {@link #limitFor(int)} ile okunmuş satırlardan CursorResponse oluşturur.
+     *
+     * @param rows     Sorgudan dönen satırlar (en fazla size + 1 adet).
+     * @param size     Sayfa boyutu.
+     * @param mapper   Satırları DTO listesine dönüştüren fonksiyon.
+     * @param cursorOf Bir satırın imlecini üreten fonksiyon.
+     * @param <T>      İçerik listesinin tipi.
+     * @param <U>      Satırların tipi.
+     * @return CursorResponse nesnesi.
+     */
+    public static <T, U> CursorResponse<T> fromRows(List<U> rows, int size,
+                                                    Function<List<U>, List<T>> mapper,
+                                                    Function<U, KeysetCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<U> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(size - 1)).encode() : null;
+        return new CursorResponse<>(mapper.apply(pageRows), size, hasNext, nextCursor);
+    }
+
+    /**
+     * Boş bir son sayfa oluşturur.
+     */
+    public static <T> CursorResponse<T> empty(int size) {
+        return new CursorResponse<>(List.of(), size, false, null);
+    }
+}
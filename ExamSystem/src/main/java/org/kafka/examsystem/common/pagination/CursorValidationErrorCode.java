@@ -0,0 +1,22 @@
+package org.kafka.examsystem.common.pagination;
+
+import lombok.Getter;
+import org.kafka.examsystem.common.exception.base.BaseErrorCode;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public enum CursorValidationErrorCode implements BaseErrorCode {
+
+    INVALID_CURSOR("CURSOR-VALID-001", "Sayfalama imleci geçersiz.", HttpStatus.BAD_REQUEST);
+
+    private final String code;
+    private final String message;
+    private final HttpStatus status;
+
+    CursorValidationErrorCode(String code, String message, HttpStatus status) {
+        this.code = code;
+        this.message = message;
+        this.status = status;
+    }
+
+}
@@ -0,0 +1,9 @@
+package org.kafka.examsystem.common.pagination;
+
+import org.kafka.examsystem.common.exception.base.BaseValidationException;
+
+public class CursorValidationException extends BaseValidationException {
+    public CursorValidationException(CursorValidationErrorCode errorCode) {
+        super(errorCode);
+    }
+}
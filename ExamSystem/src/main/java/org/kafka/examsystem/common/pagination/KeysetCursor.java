@@ -0,0 +1,56 @@
+package org.kafka.examsystem.common.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * İmleç (keyset) tabanlı sayfalamada bir sonraki sayfanın nereden başlayacağını belirten konum.
+ * Son satırın sıralama anahtarı ve ID'sinden oluşur; istemciye opak bir metin olarak verilir.
+ * Sonraki sayfa OFFSET yerine {@code (anahtar, id) > (imleç anahtarı, imleç id)} koşuluyla okunur,
+ * böylece sorgu indeks üzerinden doğrudan konuma atlar ve toplam sayım yapılmaz.
+ *
+ * @param sortKey Sıralama anahtarının değeri (yalnızca ID'ye göre sıralanan listelerde boş).
+ * @param id      Son satırın ID'si; eşit anahtarlı satırlar arasında sırayı belirler.
+ */
+public record KeysetCursor(String sortKey, long id) {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Yalnızca ID'ye göre sıralanan listeler için imleç oluşturur.
+     */
+    public static KeysetCursor ofId(long id) {
+        return new KeysetCursor("", id);
+    }
+
+    /**
+     * İmleci istemciye verilecek opak metne dönüştürür.
+     */
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * İstemciden gelen opak metni imlece çözer.
+     *
+     * @param token İmleç metni; ilk sayfa için null veya boş.
+     * @return Çözülen imleç; ilk sayfa için null.
+     * @throws CursorValidationException İmleç geçersizse.
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new CursorValidationException(CursorValidationErrorCode.INVALID_CURSOR);
+            }
+            return new KeysetCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException e) { // Geçersiz Base64 veya sayı
+            throw new CursorValidationException(CursorValidationErrorCode.INVALID_CURSOR);
+        }
+    }
+}
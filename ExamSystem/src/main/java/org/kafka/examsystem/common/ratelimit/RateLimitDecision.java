@@ -0,0 +1,13 @@
+package org.kafka.examsystem.common.ratelimit;
+
+/**
+ * Bir isteğin istek sınırından geçip geçmediği ve yanıt başlıklarında bildirilecek kota bilgisi.
+ *
+ * @param allowed İstek kabul edildiyse true.
+ * @param limit Kovanın kapasitesi.
+ * @param remaining İstekten sonra kalan izin sayısı.
+ * @param retryAfterSeconds Reddedildiyse bir sonraki iznin üretilmesine kalan süre (saniye), aksi halde 0.
+ * @param resetSeconds Kovanın yeniden dolmasına kalan süre (saniye).
+ */
+public record RateLimitDecision(boolean allowed, int limit, long remaining, long retryAfterSeconds, long resetSeconds) {
+}
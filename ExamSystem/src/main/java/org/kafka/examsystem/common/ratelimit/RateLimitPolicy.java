@@ -0,0 +1,11 @@
+package org.kafka.examsystem.common.ratelimit;
+
+/**
+ * Bir uç nokta grubu için istek sınırı: her anahtar (kullanıcı veya IP) için ayrı bir jeton kovası kullanılır.
+ *
+ * @param name Politika adı; metriklerde ve kova anahtarlarında kullanılır.
+ * @param permitsPerSecond Anahtar başına saniyede izin verilen istek sayısı.
+ * @param burst Anahtar başına art arda izin verilen en fazla istek sayısı.
+ */
+public record RateLimitPolicy(String name, double permitsPerSecond, int burst) {
+}
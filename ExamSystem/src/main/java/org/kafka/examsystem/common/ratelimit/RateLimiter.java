@@ -0,0 +1,116 @@
+package org.kafka.examsystem.common.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Anahtar (kullanıcı veya IP) ve politika başına jeton kovası tutan istek sınırlayıcı.
+ * Kovalar birbirinden bağımsız kilitlenir; farklı istemcilerin istekleri birbirini beklemez.
+ *
+ * Bellek sınırlıdır: belirli süre kullanılmayan kovalar periyodik olarak silinir, kova sayısı üst sınıra ulaştığında
+ * önce boşta kalanlar, yine yer açılmazsa rastgele kovalar çıkarılır. Silinen bir kova bir sonraki istekte dolu
+ * olarak yeniden oluşturulur.
+ */
+@Component
+public class RateLimiter {
+
+    private final int maxBuckets;
+    private final long idleTimeoutNanos;
+
+    private final Map<String, Entry> buckets = new ConcurrentHashMap<>(); // Politika:anahtar -> kova
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimiter(
+            @Value("${application.security.rate-limit.max-buckets:100000}") int maxBuckets,
+            @Value("${application.security.rate-limit.idle-timeout-ms:600000}") long idleTimeoutMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxBuckets = maxBuckets;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+
+        Gauge.builder("rate.limit.buckets", buckets, Map::size)
+                .description("Bellekteki istek sınırı kovası sayısı")
+                .register(meterRegistry);
+        FunctionCounter.builder("rate.limit.rejected", rejected, LongAdder::sum)
+                .description("İstek sınırına takılıp reddedilen istekler")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Anahtarın politika kovasından bir izin almaya çalışır.
+     *
+     * @param policy Uygulanacak politika.
+     * @param key    İstemci anahtarı (örneğin kullanıcı ID'si veya IP adresi).
+     * @return İsteğin kabul edilip edilmediği ve kota bilgisi.
+     */
+    public RateLimitDecision tryAcquire(RateLimitPolicy policy, String key) {
+        String bucketKey = policy.name() + ':' + key;
+        Entry entry = buckets.get(bucketKey);
+        if (entry == null) {
+            if (buckets.size() >= maxBuckets) {
+                evict();
+            }
+            entry = buckets.computeIfAbsent(bucketKey,
+                    k -> new Entry(new TokenBucket(policy.permitsPerSecond(), policy.burst())));
+        }
+        entry.lastAccessNanos = System.nanoTime();
+
+        TokenBucket bucket = entry.bucket;
+        boolean allowed = bucket.tryAcquire();
+        if (!allowed) {
+            rejected.increment();
+        }
+        long retryAfterSeconds = allowed ? 0 : Math.max(1, toSeconds(bucket.nanosUntilNextPermit()));
+        return new RateLimitDecision(allowed, policy.burst(), bucket.availablePermits(), retryAfterSeconds,
+                toSeconds(bucket.nanosUntilFull()));
+    }
+
+    /**
+     * Belirli süre kullanılmayan kovaları siler.
+     */
+    @Scheduled(fixedDelayString = "${application.security.rate-limit.sweep-interval-ms:60000}")
+    public void removeIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(entry -> now - entry.lastAccessNanos > idleTimeoutNanos);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Kova sayısı üst sınırdaysa önce boşta kalan, sonra rastgele kovaları çıkarır.
+     */
+    private void evict() {
+        removeIdleBuckets();
+        Iterator<String> iterator = buckets.keySet().iterator();
+        while (buckets.size() >= maxBuckets && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static long toSeconds(long nanos) {
+        return (long) Math.ceil(nanos / 1_000_000_000d);
+    }
+
+    private static final class Entry {
+
+        private final TokenBucket bucket;
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private Entry(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.kafka.examsystem.common.ratelimit;
+
+/**
+ * Saniyede belirli sayıda izin üreten, en fazla kapasitesi kadar izin biriktiren jeton kovası.
+ * Kova doluyken birikmiş izinler ani bir yükü karşılar; sonrasında izinler üretim hızıyla verilir.
+ * İş parçacığı güvenlidir.
+ */
+public final class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param permitsPerSecond Saniyede üretilen izin sayısı.
+     * @param capacity         Biriktirilebilecek en fazla izin sayısı. Kova dolu başlar.
+     */
+    public TokenBucket(double permitsPerSecond, double capacity) {
+        if (permitsPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("İzin hızı pozitif, kapasite en az 1 olmalıdır");
+        }
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Bir izin almaya çalışır; izin yoksa beklemeden false döner.
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Şu anda alınabilecek tam izin sayısı.
+     */
+    public synchronized long availablePermits() {
+        refill();
+        return (long) tokens;
+    }
+
+    /**
+     * Bir sonraki iznin üretilmesine kalan süre; izin varsa 0.
+     */
+    public synchronized long nanosUntilNextPermit() {
+        refill();
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / permitsPerNano);
+    }
+
+    /**
+     * Kovanın yeniden dolmasına kalan süre; doluysa 0.
+     */
+    public synchronized long nanosUntilFull() {
+        refill();
+        return (long) Math.ceil((capacity - tokens) / permitsPerNano);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+    }
+}
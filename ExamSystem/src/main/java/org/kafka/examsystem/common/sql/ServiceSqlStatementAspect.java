@@ -0,0 +1,54 @@
+package org.kafka.examsystem.common.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Servis metotlarının çalıştırdığı SQL ifadelerini metoda atfeden aspect.
+ *
+ * Bir HTTP isteği içinde çağrılan metotlar isteğin kapsamına yazılır ve bütçe aşımı logunda metot kırılımı olarak
+ * görünür. İstek dışında (zamanlanmış işler, arka plan thread'leri) çağrılan en dıştaki servis metodu kendi kapsamını
+ * açar ve aynı bütçeye göre raporlanır. Transaction commit sırasında yapılan flush'ların da metoda sayılması için
+ * transaction aspect'inden önce çalışır.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "application.sql-monitoring.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ServiceSqlStatementAspect {
+
+    private final SqlStatementBudget budget;
+
+    @Around("within(org.kafka.examsystem..*) && @within(org.springframework.stereotype.Service)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String method = signature.getDeclaringType().getSimpleName() + "." + signature.getName();
+
+        if (SqlStatementRecorder.isActive()) {
+            SqlStatementRecorder.enterMethod(method);
+            try {
+                return joinPoint.proceed();
+            } finally {
+                SqlStatementRecorder.exitMethod();
+            }
+        }
+
+        try (SqlStatementRecorder.Scope scope = SqlStatementRecorder.open()) {
+            SqlStatementRecorder.enterMethod(method);
+            try {
+                return joinPoint.proceed();
+            } finally {
+                SqlStatementRecorder.exitMethod();
+                budget.report("service", method, scope.statistics());
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.kafka.examsystem.common.sql;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Sorgu sonuçlarından (veya ikinci seviye önbellekten) oluşturulan her entity'yi açık ölçüm kapsamına sayan interceptor.
+ * {@code hibernate.session_factory.interceptor} ayarı ile kaydedilir.
+ */
+public class SqlEntityLoadInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        SqlStatementRecorder.entityLoaded();
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package org.kafka.examsystem.common.sql;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * JDBC execute ve batch çağrılarında geçen süreyi açık ölçüm kapsamına yazan session dinleyicisi.
+ * {@code hibernate.session.events.auto} ayarı ile her session için ayrı bir örnek oluşturulur.
+ */
+public class SqlExecutionTimer implements SessionEventListener {
+
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementRecorder.statementExecuted(System.nanoTime() - startedAt);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementRecorder.statementExecuted(System.nanoTime() - startedAt);
+    }
+}
@@ -0,0 +1,90 @@
+package org.kafka.examsystem.common.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kapatılan ölçüm kapsamlarını yapılandırılan ifade bütçesiyle karşılaştırır.
+ * Bütçeyi aşan veya aynı SELECT'i eşik kadar tekrarlayan (olası N+1) kapsamlar, servis metodu kırılımıyla birlikte
+ * uyarı olarak loglanır. Kapsam başına ifade sayısı ve aşım sayıları metrik olarak yayınlanır.
+ */
+@Component
+public class SqlStatementBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementBudget.class);
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final int statementBudget;
+    private final int repeatedSelectThreshold;
+    private final Map<String, DistributionSummary> statementSummaries = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter budgetExceeded;
+    private final Counter repeatedSelects;
+
+    public SqlStatementBudget(
+            @Value("${application.sql-monitoring.statement-budget:20}") int statementBudget,
+            @Value("${application.sql-monitoring.repeated-select-threshold:5}") int repeatedSelectThreshold,
+            MeterRegistry meterRegistry
+    ) {
+        this.statementBudget = statementBudget;
+        this.repeatedSelectThreshold = repeatedSelectThreshold;
+        this.meterRegistry = meterRegistry;
+        this.budgetExceeded = Counter.builder("sql.budget.violations")
+                .tag("reason", "statement-budget")
+                .description("İfade bütçesini aşan istek ve servis çağrıları")
+                .register(meterRegistry);
+        this.repeatedSelects = Counter.builder("sql.budget.violations")
+                .tag("reason", "repeated-select")
+                .description("Aynı SELECT'i tekrarlayan (olası N+1) istek ve servis çağrıları")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Kapsamın ölçümlerini metriklere yazar, bütçe aşıldıysa uyarı loglar.
+     *
+     * @param scope      Kapsam türü ("http" veya "service"), metrik etiketi olarak kullanılır.
+     * @param label      Log satırında gösterilecek ad (istek yolu veya servis metodu).
+     * @param statistics Kapsamın ölçümleri.
+     */
+    public void report(String scope, String label, SqlStatementStatistics statistics) {
+        statementSummaries.computeIfAbsent(scope, tag -> DistributionSummary.builder("sql.statements")
+                        .tag("scope", tag)
+                        .description("Kapsam başına çalıştırılan SQL ifadesi sayısı")
+                        .register(meterRegistry))
+                .record(statistics.statementCount());
+
+        Map<String, Integer> repeated = statistics.repeatedSelects(repeatedSelectThreshold);
+        boolean overBudget = statistics.statementCount() > statementBudget;
+        if (!overBudget && repeated.isEmpty()) {
+            return;
+        }
+        if (overBudget) {
+            budgetExceeded.increment();
+        }
+        if (!repeated.isEmpty()) {
+            repeatedSelects.increment();
+        }
+        if (logger.isWarnEnabled()) {
+            StringBuilder message = new StringBuilder()
+                    .append(label).append(": ").append(statistics)
+                    .append(" (bütçe ").append(statementBudget).append(')');
+            statistics.statementsByMethod().forEach((method, count) ->
+                    message.append("\n  ").append(method).append(": ").append(count).append(" ifade"));
+            repeated.forEach((sql, count) ->
+                    message.append("\n  Olası N+1, ").append(count).append(" kez: ").append(abbreviate(sql)));
+            logger.warn(message.toString());
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,44 @@
+package org.kafka.examsystem.common.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Her HTTP isteğinin çalıştırdığı SQL ifadelerini ölçen filtre.
+ * Güvenlik filtrelerinden önce çalışır; kimlik doğrulama sırasında yapılan sorgular da isteğe sayılır.
+ * Asenkron olarak yazılan yanıt gövdeleri (akış halinde dışa aktarma, SSE) istek thread'i dışında çalıştığından sayılmaz.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "application.sql-monitoring.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlStatementBudget budget;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        try (SqlStatementRecorder.Scope scope = SqlStatementRecorder.open()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                budget.report("http", request.getMethod() + " " + request.getRequestURI(), scope.statistics());
+            }
+        }
+    }
+}
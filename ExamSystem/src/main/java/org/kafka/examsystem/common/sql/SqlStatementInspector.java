@@ -0,0 +1,17 @@
+package org.kafka.examsystem.common.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate'in hazırladığı her SQL ifadesini açık ölçüm kapsamına sayan inspector.
+ * {@code hibernate.session_factory.statement_inspector} ayarı ile kaydedilir; SQL metnini değiştirmez.
+ * JDBC batch'lerinde ifade batch başına bir kez hazırlandığından bir kez sayılır.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementRecorder.statementPrepared(sql);
+        return sql;
+    }
+}
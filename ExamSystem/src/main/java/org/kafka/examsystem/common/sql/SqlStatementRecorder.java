@@ -0,0 +1,113 @@
+package org.kafka.examsystem.common.sql;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Çalışan thread'e bağlı SQL ölçüm kapsamlarını yöneten yardımcı sınıf.
+ *
+ * Hibernate kancaları ({@link SqlStatementInspector}, {@link SqlExecutionTimer}, {@link SqlEntityLoadInterceptor})
+ * her ifadeyi o anda açık olan tüm kapsamlara yazar; kapsam açık değilse hiçbir şey yapmaz. Kapsamlar iç içe
+ * açılabilir: bir HTTP isteği içinde {@link #record(Runnable)} ile ölçülen blok hem kendi kapsamına hem de isteğin
+ * kapsamına sayılır. Kapsamlar açıldıkları sıranın tersine kapatılmalıdır.
+ */
+public final class SqlStatementRecorder {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<String>> METHODS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private SqlStatementRecorder() {
+    }
+
+    /**
+     * Çalışan thread için yeni bir ölçüm kapsamı açar.
+     *
+     * @return try-with-resources ile kapatılması gereken kapsam.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Verilen bloğu yeni bir kapsam içinde çalıştırır ve bloğun çalıştırdığı SQL ifadelerinin özetini döndürür.
+     */
+    public static SqlStatementStatistics record(Runnable action) {
+        try (Scope scope = open()) {
+            action.run();
+            return scope.statistics();
+        }
+    }
+
+    /**
+     * @return Çalışan thread'de açık bir kapsam varsa true.
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Sonraki ifadeleri verilen servis metoduna atfeder. Her çağrı {@link #exitMethod()} ile kapatılmalıdır.
+     */
+    public static void enterMethod(String method) {
+        METHODS.get().push(method);
+    }
+
+    public static void exitMethod() {
+        Deque<String> methods = METHODS.get();
+        methods.poll();
+        if (methods.isEmpty()) {
+            METHODS.remove();
+        }
+    }
+
+    static void statementPrepared(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        String method = METHODS.get().peek();
+        for (; scope != null; scope = scope.parent) {
+            scope.statistics.recordStatement(sql, method);
+        }
+    }
+
+    static void statementExecuted(long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statistics.recordExecution(nanos);
+        }
+    }
+
+    static void entityLoaded() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statistics.recordEntityLoad();
+        }
+    }
+
+    /**
+     * Açık bir ölçüm kapsamı. Kapatıldığında bir önceki kapsam yeniden geçerli olur.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final SqlStatementStatistics statistics = new SqlStatementStatistics();
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public SqlStatementStatistics statistics() {
+            return statistics;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
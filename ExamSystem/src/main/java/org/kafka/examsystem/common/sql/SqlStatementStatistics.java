@@ -0,0 +1,101 @@
+package org.kafka.examsystem.common.sql;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bir kapsam (HTTP isteği, servis metodu veya test bloğu) içinde Hibernate'in çalıştırdığı SQL ifadelerinin özeti.
+ * Tek bir thread tarafından doldurulur; kapsam kapandıktan sonra okunur.
+ *
+ * Aynı SELECT ifadesinin bir kapsam içinde defalarca hazırlanması, ilişkilerin tek tek yüklendiğini (N+1) gösterir.
+ * INSERT/UPDATE/DELETE ifadeleri JDBC batch'leri nedeniyle doğal olarak tekrarlandığından bu kontrole dahil edilmez.
+ */
+public final class SqlStatementStatistics {
+
+    private int statementCount;
+    private long executionNanos;
+    private int loadedEntityCount;
+    private final Map<String, Integer> statementsBySql = new LinkedHashMap<>();
+    private final Map<String, Integer> statementsByMethod = new LinkedHashMap<>();
+
+    void recordStatement(String sql, String method) {
+        statementCount++;
+        statementsBySql.merge(sql.strip(), 1, Integer::sum);
+        if (method != null) {
+            statementsByMethod.merge(method, 1, Integer::sum);
+        }
+    }
+
+    void recordExecution(long nanos) {
+        executionNanos += nanos;
+    }
+
+    void recordEntityLoad() {
+        loadedEntityCount++;
+    }
+
+    /**
+     * @return Hazırlanan SQL ifadesi sayısı.
+     */
+    public int statementCount() {
+        return statementCount;
+    }
+
+    /**
+     * @return Veritabanında geçen toplam çalıştırma süresi (JDBC execute çağrıları).
+     */
+    public Duration executionTime() {
+        return Duration.ofNanos(executionNanos);
+    }
+
+    /**
+     * @return Sorgu sonuçlarından oluşturulan entity sayısı. DTO projeksiyonlarının satırları bu sayıya dahil değildir.
+     */
+    public int loadedEntityCount() {
+        return loadedEntityCount;
+    }
+
+    /**
+     * @return SQL metnine göre ifade sayıları, ilk görülme sırasıyla.
+     */
+    public Map<String, Integer> statementsBySql() {
+        return Collections.unmodifiableMap(statementsBySql);
+    }
+
+    /**
+     * @return İfadeleri hazırlayan en içteki servis metoduna göre ifade sayıları.
+     */
+    public Map<String, Integer> statementsByMethod() {
+        return Collections.unmodifiableMap(statementsByMethod);
+    }
+
+    /**
+     * En az {@code threshold} kez hazırlanan SELECT ifadelerini döndürür (olası N+1 sorguları).
+     *
+     * @param threshold Şüpheli sayılacak en küçük tekrar sayısı.
+     * @return SQL metni → tekrar sayısı.
+     */
+    public Map<String, Integer> repeatedSelects(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statementsBySql.forEach((sql, count) -> {
+            if (count >= threshold && isSelect(sql)) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    private static boolean isSelect(String sql) {
+        String head = sql.length() > 10 ? sql.substring(0, 10) : sql;
+        String normalized = head.toLowerCase(Locale.ROOT);
+        return normalized.startsWith("select") || normalized.startsWith("with");
+    }
+
+    @Override
+    public String toString() {
+        return statementCount + " ifade, " + executionTime().toMillis() + " ms, " + loadedEntityCount + " entity";
+    }
+}
@@ -0,0 +1,97 @@
+package org.kafka.examsystem.common.sse;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sunucudan istemciye olay yayınlayan bir SSE bağlantısı.
+ *
+ * Olaylar zamanlayıcı thread'ini bekletmemek için verilen executor'da yazılır. Yavaş bir istemciye yazma sürerken
+ * gelen olaylar birikmez; yalnızca en son olay saklanır ve yazma bitince o gönderilir. Bu yüzden her olay yayınlanan
+ * durumun tamamını taşımalıdır; ara olayların atlanması bilgi kaybına yol açmamalıdır.
+ */
+public final class CoalescingSseSubscriber {
+
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final Runnable onClose;
+
+    private final AtomicReference<PendingEvent> pendingEvent = new AtomicReference<>();
+    private final AtomicBoolean pendingHeartbeat = new AtomicBoolean();
+    private final AtomicBoolean completeWhenSent = new AtomicBoolean();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile boolean closed;
+
+    /**
+     * @param onClose Bağlantıya yazılamadığında (istemci ayrıldı, zaman aşımı) çağrılır.
+     */
+    public CoalescingSseSubscriber(SseEmitter emitter, Executor executor, Runnable onClose) {
+        this.emitter = emitter;
+        this.executor = executor;
+        this.onClose = onClose;
+    }
+
+    /**
+     * JSON olarak serileştirilmiş olayı gönderilmek üzere sıraya koyar; bekleyen eski olayın yerine geçer.
+     */
+    public void offer(String eventName, String data) {
+        pendingEvent.set(new PendingEvent(eventName, data));
+        schedule();
+    }
+
+    /**
+     * Bağlantının açık kaldığını bildiren bir SSE yorum satırı gönderir (ara katmanların boşta bağlantıyı kapatmaması için).
+     */
+    public void heartbeat() {
+        pendingHeartbeat.set(true);
+        schedule();
+    }
+
+    /**
+     * Bekleyen olay gönderildikten sonra bağlantıyı kapatır.
+     */
+    public void completeWhenSent() {
+        completeWhenSent.set(true);
+        schedule();
+    }
+
+    private void schedule() {
+        if (!closed && sending.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed) {
+                PendingEvent event = pendingEvent.getAndSet(null);
+                if (event != null) {
+                    pendingHeartbeat.set(false); // Olay bağlantının açık olduğunu zaten gösterir
+                    emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+                } else if (pendingHeartbeat.getAndSet(false)) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (completeWhenSent.get()) {
+                    closed = true;
+                    emitter.complete();
+                } else {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            // İstemci bağlantıyı kapattı veya bağlantı zaman aşımına uğradı
+            closed = true;
+            onClose.run();
+        } finally {
+            sending.set(false);
+        }
+        if (!closed && (pendingEvent.get() != null || pendingHeartbeat.get() || completeWhenSent.get())) {
+            schedule(); // Yazma bittikten sonra gelen olay
+        }
+    }
+
+    private record PendingEvent(String name, String data) {
+    }
+}
@@ -1,5 +1,6 @@
 package org.kafka.examsystem.common.util;
 
+import org.kafka.examsystem.auth.principal.AuthenticatedUser;
 import org.kafka.examsystem.user.model.User;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -10,31 +11,52 @@ public final class AuthUtil {
         // Bu sınıfın örneğinin oluşturulmasını engellemek için private constructor
     }
 
-    public static User getCurrentUser() {
+    /**
+     * Güvenlik bağlamındaki kullanıcıyı döndürür.
+     * Principal normalde token claim'lerinden oluşturulan AuthenticatedUser'dır; eski biçimdeki token'larda
+     * veritabanından yüklenen User entity'si de aynı temsile dönüştürülür.
+     */
+    public static AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || authentication.getPrincipal() instanceof String) {
+        if (authentication == null || !authentication.isAuthenticated()) {
             return null;
         }
-        return (User) authentication.getPrincipal();
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser;
+        }
+        if (principal instanceof User user) {
+            return AuthenticatedUser.from(user, null);
+        }
+        return null;
     }
 
     public static Long getCurrentUserId() {
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
         return user != null ? user.getId() : null;
     }
 
+    /**
+     * Kullanıcının rolüne karşılık gelen profil ID'sini (öğrenci/öğretmen/veli) döndürür.
+     * Token bu bilgiyi taşımıyorsa null döner.
+     */
+    public static Long getCurrentProfileId() {
+        AuthenticatedUser user = getCurrentUser();
+        return user != null ? user.getProfileId() : null;
+    }
+
     public static String getCurrentUserEmail() {
-        User user = getCurrentUser();
+        AuthenticatedUser user = getCurrentUser();
         return user != null ? user.getEmail() : null;
     }
 
     public static String getCurrentUserRole() {
-        User user = getCurrentUser();
-        return user != null ? user.getRole().getName() : null;
+        AuthenticatedUser user = getCurrentUser();
+        return user != null ? user.getRole() : null;
     }
 
     public static boolean hasRole(String roleName) {
-        User user = getCurrentUser();
-        return user != null && user.getRole().getName().equals(roleName);
+        AuthenticatedUser user = getCurrentUser();
+        return user != null && user.hasRole(roleName);
     }
-}
\ No newline at end of file
+}
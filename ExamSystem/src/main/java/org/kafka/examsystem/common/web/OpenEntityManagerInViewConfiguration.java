@@ -0,0 +1,40 @@
+package org.kafka.examsystem.common.web;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-in-view yapılandırması. Spring Boot'un varsayılan interceptor'ı tüm isteklere uygulanır; asenkron yanıtlarda
+ * EntityManager'ı ve istek thread'inde alınan veritabanı bağlantısını yanıt tamamlanana kadar açık tutar. Saatlerce
+ * açık kalabilen SSE uç noktalarında bu, izleyici başına bir veritabanı bağlantısı demektir.
+ *
+ * Bu yüzden Boot'un interceptor'ı kapatılır ({@code spring.jpa.open-in-view=false}) ve aynı interceptor uzun süreli
+ * akış uç noktaları hariç tutularak yeniden kaydedilir. Diğer isteklerin davranışı değişmez.
+ */
+@Configuration(proxyBeanMethods = false)
+public class OpenEntityManagerInViewConfiguration implements WebMvcConfigurer {
+
+    /**
+     * EntityManager'ın istek boyunca açık tutulmadığı, uzun süre açık kalan akış uç noktaları.
+     */
+    static final String[] LONG_LIVED_STREAM_PATHS = {
+            "/api/exam-submissions/progress/**",
+            "/api/exams/*/clock"
+    };
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public OpenEntityManagerInViewConfiguration(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns(LONG_LIVED_STREAM_PATHS);
+    }
+}
@@ -2,6 +2,7 @@ package org.kafka.examsystem.course.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.common.dto.CursorResponse;
 import org.kafka.examsystem.common.dto.PageResponse;
 import org.kafka.examsystem.course.dto.CourseCreateRequest;
 import org.kafka.examsystem.course.dto.CourseResponse;
@@ -136,4 +137,23 @@ public class CourseController {
         return ResponseEntity.ok(courses);
     }
 
-}
\ No newline at end of file
+    /**
+     * Kursları, isim ve sınıf seviyesi filtrelemesiyle imleç (keyset) tabanlı olarak listeler.
+     * Herkes erişebilir (yetkilendirme gerektirmez). Sonuçlar (kurs adı, ID) sırasıyla döner; toplam sayım yapılmaz.
+     *
+     * @param name       Kurs adının bir kısmı (isteğe bağlı).
+     * @param gradeLevel Kursun sınıf seviyesi (isteğe bağlı).
+     * @param cursor     Önceki yanıttaki nextCursor değeri (ilk sayfa için gönderilmez).
+     * @param size       Sayfa boyutu.
+     * @return Kurs yanıt DTO'larının imleçli listesi ve HTTP 200 OK durumu.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorResponse<CourseResponse>> searchCoursesByCursor(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Integer gradeLevel,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorResponse<CourseResponse> courses = courseService.searchCoursesByCursor(name, gradeLevel, cursor, size);
+        return ResponseEntity.ok(courses);
+    }
+}
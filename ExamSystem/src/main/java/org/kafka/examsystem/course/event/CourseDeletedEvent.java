@@ -0,0 +1,9 @@
+package org.kafka.examsystem.course.event;
+
+/**
+ * Bir kurs silindiğinde yayınlanan olay.
+ *
+ * @param courseId Silinen kursun ID'si.
+ */
+public record CourseDeletedEvent(Long courseId) {
+}
@@ -1,13 +1,9 @@
 package org.kafka.examsystem.course.mapper;
 
-import org.kafka.examsystem.common.dto.PageResponse;
 import org.kafka.examsystem.course.dto.CourseResponse;
 import org.kafka.examsystem.course.model.Course;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.data.domain.Page;
-
-import java.util.List;
 
 /**
  * Course entity'si ile CourseResponse DTO'su arasında dönüşüm yapan MapStruct mapper arayüzü.
@@ -27,12 +23,4 @@ public interface CourseMapper {
     @Mapping(source = "teacher.firstName", target = "teacherFirstName")
     @Mapping(source = "teacher.lastName", target = "teacherLastName")
     CourseResponse toCourseResponse(Course course);
-
-    /**
-     * Course entity listesini CourseResponse DTO listesine dönüştürür.
-     *
-     * @param courses Dönüştürülecek Course entity listesi.
-     * @return Dönüştürülmüş CourseResponse DTO listesi.
-     */
-    List<CourseResponse> toCourseResponseList(List<Course> courses);
 }
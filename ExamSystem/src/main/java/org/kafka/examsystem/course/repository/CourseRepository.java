@@ -1,8 +1,9 @@
 package org.kafka.examsystem.course.repository;
 
 import jakarta.validation.constraints.NotBlank;
+import org.kafka.examsystem.course.dto.CourseResponse;
 import org.kafka.examsystem.course.model.Course;
-import org.kafka.examsystem.teacher.model.Teacher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -20,16 +22,23 @@ import java.util.Optional;
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
     /**
-     * Belirli bir öğretmene ait kursları sayfalı olarak getirir.
-     * Bu metot, Teacher nesnesinin kendisini parametre olarak alır.
+     * Kurs listelerinde kullanılan projeksiyon: yalnızca CourseResponse kolonları seçilir.
+     * Öğretmenin kullanıcı kaydı (parola özeti, Google ID) okunmaz ve sonuçlar persistence context'e girmez.
+     */
+    String COURSE_RESPONSE_SELECT = "SELECT new org.kafka.examsystem.course.dto.CourseResponse(" +
+            "c.id, c.name, c.gradeLevel, t.id, t.firstName, t.lastName) " +
+            "FROM Course c JOIN c.teacher t ";
+
+    /**
+     * Belirli bir öğretmene ait kursları sayfalı olarak, yanıt DTO'su projeksiyonuyla getirir.
      *
-     * @param teacher Öğretmen nesnesi.
-     * @param pageable Sayfalama bilgileri (sayfa numarası, sayfa boyutu, sıralama).
+     * @param teacherId Öğretmenin ID'si.
+     * @param pageable  Sayfalama bilgileri (sayfa numarası, sayfa boyutu, sıralama).
      * @return Öğretmene ait kursların sayfalı listesi.
      */
-    @Query(value = "SELECT c FROM Course c JOIN FETCH c.teacher t JOIN FETCH t.user u WHERE t = :teacher",
-            countQuery = "SELECT count(c) FROM Course c WHERE c.teacher = :teacher") // Sayfalama için countQuery gerekli
-    Page<Course> findByTeacherWithTeacherAndUser(@Param("teacher") Teacher teacher, Pageable pageable);
+    @Query(value = COURSE_RESPONSE_SELECT + "WHERE t.id = :teacherId",
+            countQuery = "SELECT count(c) FROM Course c WHERE c.teacher.id = :teacherId") // Sayfalama için countQuery gerekli
+    Page<CourseResponse> findCourseResponsesByTeacherId(@Param("teacherId") Long teacherId, Pageable pageable);
 
     /**
      * Kursu, ilişkili öğretmen ve kullanıcı nesneleriyle birlikte tek sorguda getirir.
@@ -42,15 +51,14 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     Optional<Course> findByIdWithTeacherAndUser(@Param("courseId") Long courseId);
 
     /**
-     * Tüm kursları, ilişkili öğretmen ve kullanıcı nesneleriyle birlikte sayfalı olarak getirir.
-     * N+1 sorgu problemini önler.
+     * Tüm kursları sayfalı olarak, yanıt DTO'su projeksiyonuyla getirir.
      *
      * @param pageable Sayfalama bilgileri (sayfa numarası, sayfa boyutu, sıralama).
      * @return Tüm kursların sayfalı listesi.
      */
-    @Query(value = "SELECT c FROM Course c JOIN FETCH c.teacher t JOIN FETCH t.user u",
+    @Query(value = COURSE_RESPONSE_SELECT,
             countQuery = "SELECT count(c) FROM Course c") // Sayfalama için countQuery gerekli
-    Page<Course> findAllWithTeacherAndUser(Pageable pageable);
+    Page<CourseResponse> findAllCourseResponses(Pageable pageable);
 
     /**
      * Kursları, isim ve sınıf seviyesi filtrelemesiyle sayfalı olarak getirir.
@@ -78,17 +86,42 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      * Kursları, isim ve sınıf seviyesi filtrelemesiyle tek bir HQL sorgusu kullanarak sayfalı olarak getirir.
      * 'name' parametresi boş bırakıldığında tüm sonuçlar döndürülür.
      * Bu sorgu, veritabanı uyumsuzluklarını önlemek için COALESCE ve açık tip dönüşümü (CAST) kullanır.
+     * Sonuçlar yanıt DTO'su projeksiyonuyla okunur.
      *
      * @param name       Kurs adının bir kısmı (LIKE operatörü ile kullanılır), null olabilir.
      * @param gradeLevel Kursun sınıf seviyesi (tam eşleşme), null olabilir.
      * @param pageable   Sayfalama bilgileri (sayfa numarası, sayfa boyutu, sıralama).
      * @return Filtrelenmiş kursların sayfalı listesi.
      */
-    @Query(value = "SELECT c FROM Course c JOIN FETCH c.teacher t JOIN FETCH t.user u " +
+    @Query(value = COURSE_RESPONSE_SELECT +
             "WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', COALESCE(:name, ''), '%')) " +
-            "AND (:gradeLevel IS NULL OR c.gradeLevel = :gradeLevel)")
-    Page<Course> searchCourses(@Param("name") String name,
-                               @Param("gradeLevel") Integer gradeLevel,
-                               Pageable pageable);
+            "AND (:gradeLevel IS NULL OR c.gradeLevel = :gradeLevel)",
+            countQuery = "SELECT count(c) FROM Course c " +
+                    "WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', COALESCE(:name, ''), '%')) " +
+                    "AND (:gradeLevel IS NULL OR c.gradeLevel = :gradeLevel)")
+    Page<CourseResponse> searchCourseResponses(@Param("name") String name,
+                                               @Param("gradeLevel") Integer gradeLevel,
+                                               Pageable pageable);
 
+    /**
+     * Kursları searchCourseResponses ile aynı filtrelerle, imleç (keyset) tabanlı olarak getirir.
+     * (kurs adı, ID) sırasıyla sıralanır; sonraki sayfa OFFSET yerine satır değeri karşılaştırmasıyla okunur.
+     *
+     * @param name           Kurs adının bir kısmı (LIKE operatörü ile kullanılır), null olabilir.
+     * @param gradeLevel     Kursun sınıf seviyesi (tam eşleşme), null olabilir.
+     * @param afterName      Önceki sayfanın son kursunun adı (ilk sayfa için boş dize).
+     * @param afterId        Önceki sayfanın son kursunun ID'si (ilk sayfa için 0).
+     * @param limit          Okunacak en fazla satır sayısı.
+     * @return Filtrelenmiş kurslar.
+     */
+    @Query(COURSE_RESPONSE_SELECT +
+            "WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', COALESCE(:name, ''), '%')) " +
+            "AND (:gradeLevel IS NULL OR c.gradeLevel = :gradeLevel) " +
+            "AND (c.name, c.id) > (:afterName, :afterId) " +
+            "ORDER BY c.name, c.id")
+    List<CourseResponse> searchCourseResponsesAfter(@Param("name") String name,
+                                                    @Param("gradeLevel") Integer gradeLevel,
+                                                    @Param("afterName") String afterName,
+                                                    @Param("afterId") Long afterId,
+                                                    Limit limit);
 }
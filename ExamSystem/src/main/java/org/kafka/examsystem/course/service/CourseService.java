@@ -2,11 +2,14 @@ package org.kafka.examsystem.course.service;
 
 import lombok.RequiredArgsConstructor;
 import org.kafka.examsystem.common.authorization.CourseAuthorizationService;
+import org.kafka.examsystem.common.dto.CursorResponse;
 import org.kafka.examsystem.common.dto.PageResponse;
+import org.kafka.examsystem.common.pagination.KeysetCursor;
 import org.kafka.examsystem.common.util.AuthUtil;
 import org.kafka.examsystem.course.dto.CourseCreateRequest;
 import org.kafka.examsystem.course.dto.CourseResponse;
 import org.kafka.examsystem.course.dto.CourseUpdateRequest;
+import org.kafka.examsystem.course.event.CourseDeletedEvent;
 import org.kafka.examsystem.course.exception.domain.CourseDomainErrorCode;
 import org.kafka.examsystem.course.exception.domain.CourseDomainException;
 import org.kafka.examsystem.course.exception.validation.CourseValidationErrorCode;
@@ -16,6 +19,7 @@ import org.kafka.examsystem.course.model.Course;
 import org.kafka.examsystem.course.repository.CourseRepository;
 import org.kafka.examsystem.teacher.model.Teacher;
 import org.kafka.examsystem.teacher.service.TeacherService; // Yeni bağımlılık
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +27,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Kurslarla ilgili temel iş mantığını yöneten servis sınıfı.
@@ -39,6 +44,7 @@ public class CourseService {
     private final TeacherService teacherService;
     private final CourseMapper courseMapper;
     private final CourseAuthorizationService courseAuthorizationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Yeni bir kurs oluşturur. Sadece ROLE_TEACHER rolüne sahip kullanıcılar kurs oluşturabilir.
@@ -132,20 +138,19 @@ public class CourseService {
         }
 
         courseRepository.delete(course);
+        eventPublisher.publishEvent(new CourseDeletedEvent(courseId)); // Kursa ait erişim kararları commit sonrası temizlenir
     }
 
     /**
      * Tüm kursları sayfalı olarak listeler.
-     * N+1 sorgu problemini önlemek için findAllWithTeacherAndUser kullanılır.
-     * DTO dönüşümü için mapper'ın list dönüştürme metodu kullanılır ve paginasyon bilgisi serviste eklenir.
+     * Yalnızca yanıt kolonlarını seçen projeksiyon sorgusu kullanılır; entity grafiği yüklenmez.
      *
      * @param pageable Sayfalama bilgileri (sayfa numarası, sayfa boyutu, sıralama).
      * @return Kurs yanıt DTO'larının sayfalı listesi.
      */
     public PageResponse<CourseResponse> getAllCourses(Pageable pageable) {
-        Page<Course> coursesPage = courseRepository.findAllWithTeacherAndUser(pageable);
-        List<CourseResponse> content = courseMapper.toCourseResponseList(coursesPage.getContent());
-        return PageResponse.fromPage(coursesPage, content);
+        Page<CourseResponse> coursesPage = courseRepository.findAllCourseResponses(pageable);
+        return PageResponse.fromPage(coursesPage, coursesPage.getContent());
     }
 
 
@@ -185,8 +190,7 @@ public class CourseService {
 
     /**
      * Giriş yapmış öğretmene ait kursları sayfalı olarak listeler.
-     * N+1 sorgu problemini önlemek için findByTeacherWithTeacherAndUser kullanılır.
-     * DTO dönüşümü için mapper'ın list dönüştürme metodu kullanılır ve paginasyon bilgisi serviste eklenir.
+     * Yalnızca yanıt kolonlarını seçen projeksiyon sorgusu kullanılır; entity grafiği yüklenmez.
      *
      * @param pageable Sayfalama bilgileri (sayfa numarası, sayfa boyutu, sıralama).
      * @return Öğretmene ait kurs yanıt DTO'larının sayfalı listesi.
@@ -204,15 +208,13 @@ public class CourseService {
 
         Teacher teacher = teacherService.getTeacherByUserId(currentTeacherUserId);
 
-        Page<Course> coursesPage = courseRepository.findByTeacherWithTeacherAndUser(teacher, pageable);
-        List<CourseResponse> content = courseMapper.toCourseResponseList(coursesPage.getContent());
-        return PageResponse.fromPage(coursesPage, content);
+        Page<CourseResponse> coursesPage = courseRepository.findCourseResponsesByTeacherId(teacher.getId(), pageable);
+        return PageResponse.fromPage(coursesPage, coursesPage.getContent());
     }
 
     /**
      * Kursları, isim ve sınıf seviyesi filtrelemesiyle sayfalı olarak arar.
-     * N+1 sorgu problemini önlemek için ilişkili öğretmen ve kullanıcı nesneleri JOIN FETCH ile birlikte getirilir.
-     * DTO dönüşümü için mapper'ın list dönüştürme metodu kullanılır ve paginasyon bilgisi serviste eklenir.
+     * Yalnızca yanıt kolonlarını seçen projeksiyon sorgusu kullanılır; entity grafiği yüklenmez.
      *
      * @param name       Kurs adının bir kısmı (kısmi ve büyük/küçük harf duyarsız arama için), null olabilir.
      * @param gradeLevel Kursun sınıf seviyesi (tam eşleşme için), null olabilir.
@@ -220,9 +222,28 @@ public class CourseService {
      * @return Filtrelenmiş kursların yanıt DTO'larının sayfalı listesi.
      */
     public PageResponse<CourseResponse> searchCourses(String name, Integer gradeLevel, Pageable pageable) {
-        Page<Course> coursesPage = courseRepository.searchCourses(name, gradeLevel, pageable);
-        List<CourseResponse> content = courseMapper.toCourseResponseList(coursesPage.getContent());
-        return PageResponse.fromPage(coursesPage, content);
+        Page<CourseResponse> coursesPage = courseRepository.searchCourseResponses(name, gradeLevel, pageable);
+        return PageResponse.fromPage(coursesPage, coursesPage.getContent());
+    }
+
+
+    /**
+     * Kursları, isim ve sınıf seviyesi filtrelemesiyle imleç (keyset) tabanlı olarak, (kurs adı, ID) sırasıyla getirir.
+     * Filtreler boş bırakıldığında tüm kursları listeler; toplam sayım yapılmaz.
+     *
+     * @param name       Kurs adının bir kısmı, null olabilir.
+     * @param gradeLevel Kursun sınıf seviyesi, null olabilir.
+     * @param cursor     Önceki yanıttaki nextCursor değeri (ilk sayfa için null).
+     * @param size       Sayfa boyutu.
+     * @return Kurs yanıt DTO'larının imleçli listesi.
+     */
+    public CursorResponse<CourseResponse> searchCoursesByCursor(String name, Integer gradeLevel, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorResponse.normalizeSize(size);
+        List<CourseResponse> courses = courseRepository.searchCourseResponsesAfter(name, gradeLevel,
+                after == null ? "" : after.sortKey(), after == null ? 0L : after.id(), CursorResponse.limitFor(pageSize));
+        return CursorResponse.fromRows(courses, pageSize, Function.identity(),
+                course -> new KeysetCursor(course.getName(), course.getId()));
     }
 
 
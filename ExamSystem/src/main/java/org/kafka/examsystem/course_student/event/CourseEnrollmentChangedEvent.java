@@ -0,0 +1,13 @@
+package org.kafka.examsystem.course_student.event;
+
+import java.util.List;
+
+/**
+ * Bir öğrenci bir kursa kaydedildiğinde veya kurstan çıkarıldığında yayınlanan olay.
+ * Kursa erişim kararı değişebilecek kullanıcıları (öğrencinin ve velisinin kullanıcı ID'leri) taşır.
+ *
+ * @param courseId        Kaydı değişen kursun ID'si.
+ * @param affectedUserIds Erişim kararı değişebilecek kullanıcıların ID'leri.
+ */
+public record CourseEnrollmentChangedEvent(Long courseId, List<Long> affectedUserIds) {
+}
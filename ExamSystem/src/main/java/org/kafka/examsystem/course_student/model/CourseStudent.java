@@ -20,7 +20,8 @@ import org.kafka.examsystem.student.model.Student;
 @AllArgsConstructor
 public class CourseStudent {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_students_id_seq")
+    @SequenceGenerator(name = "course_students_id_seq", sequenceName = "course_students_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
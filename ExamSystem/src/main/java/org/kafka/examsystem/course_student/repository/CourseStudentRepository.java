@@ -1,6 +1,8 @@
 package org.kafka.examsystem.course_student.repository;
 
 import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course_student.dto.CourseStudentSummaryDto;
+import org.kafka.examsystem.course_student.dto.EnrolledCourseResponse;
 import org.kafka.examsystem.course_student.model.CourseStudent;
 import org.kafka.examsystem.parent.model.Parent;
 import org.kafka.examsystem.student.model.Student;
@@ -11,6 +13,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,28 +33,32 @@ public interface CourseStudentRepository extends JpaRepository<CourseStudent, Lo
     Optional<CourseStudent> findByCourseAndStudent(Course course, Student student);
 
     /**
-     * Belirli bir kursa kayıtlı öğrencileri sayfalı olarak getirir.
-     * Öğrenci ve kullanıcı bilgileri JOIN FETCH ile birlikte getirilir.
+     * Belirli bir kursa kayıtlı öğrencileri sayfalı olarak, özet DTO projeksiyonuyla getirir.
+     * Yalnızca yanıt kolonları seçilir; öğrencinin kullanıcı kaydı okunmaz.
      *
-     * @param course Kurs varlığı.
+     * @param courseId Kursun ID'si.
      * @param pageable Sayfalama bilgileri.
-     * @return Kursa kayıtlı öğrencilerin sayfalı listesi (CourseStudent nesneleri).
+     * @return Kursa kayıtlı öğrencilerin sayfalı özet listesi.
      */
-    @Query(value = "SELECT cs FROM CourseStudent cs JOIN FETCH cs.student s JOIN FETCH s.user u WHERE cs.course = :course",
-            countQuery = "SELECT count(cs) FROM CourseStudent cs WHERE cs.course = :course")
-    Page<CourseStudent> findByCourseWithStudentAndUser(@Param("course") Course course, Pageable pageable);
+    @Query(value = "SELECT new org.kafka.examsystem.course_student.dto.CourseStudentSummaryDto(" +
+            "s.id, s.firstName, s.lastName, s.gradeLevel) " +
+            "FROM CourseStudent cs JOIN cs.student s WHERE cs.course.id = :courseId",
+            countQuery = "SELECT count(cs) FROM CourseStudent cs WHERE cs.course.id = :courseId")
+    Page<CourseStudentSummaryDto> findStudentSummariesByCourseId(@Param("courseId") Long courseId, Pageable pageable);
 
     /**
-     * Belirli bir öğrencinin kayıtlı olduğu kursları sayfalı olarak getirir.
-     * Kurs, öğretmen ve kullanıcı bilgileri JOIN FETCH ile birlikte getirilir.
+     * Belirli bir öğrencinin kayıtlı olduğu kursları sayfalı olarak, yanıt DTO'su projeksiyonuyla getirir.
+     * Yalnızca kurs ve öğretmen kolonları seçilir; öğretmenin kullanıcı kaydı okunmaz.
      *
-     * @param student Öğrenci varlığı.
-     * @param pageable Sayfalama bilgileri.
-     * @return Öğrencinin kayıtlı olduğu kursların sayfalı listesi (CourseStudent nesneleri).
+     * @param studentId Öğrencinin ID'si.
+     * @param pageable  Sayfalama bilgileri.
+     * @return Öğrencinin kayıtlı olduğu kursların sayfalı listesi.
      */
-    @Query(value = "SELECT cs FROM CourseStudent cs JOIN FETCH cs.course c JOIN FETCH c.teacher t JOIN FETCH t.user u WHERE cs.student = :student",
-            countQuery = "SELECT count(cs) FROM CourseStudent cs WHERE cs.student = :student")
-    Page<CourseStudent> findByStudentWithCourseTeacherAndUser(@Param("student") Student student, Pageable pageable);
+    @Query(value = "SELECT new org.kafka.examsystem.course_student.dto.EnrolledCourseResponse(" +
+            "c.id, c.name, c.gradeLevel, t.id, t.firstName, t.lastName) " +
+            "FROM CourseStudent cs JOIN cs.course c JOIN c.teacher t WHERE cs.student.id = :studentId",
+            countQuery = "SELECT count(cs) FROM CourseStudent cs WHERE cs.student.id = :studentId")
+    Page<EnrolledCourseResponse> findEnrolledCourseResponsesByStudentId(@Param("studentId") Long studentId, Pageable pageable);
 
     /**
      * Belirli bir kursa, belirli bir velinin öğrencisinin kayıtlı olup olmadığını kontrol eder.
@@ -63,6 +70,16 @@ public interface CourseStudentRepository extends JpaRepository<CourseStudent, Lo
      */
     boolean existsByCourseIdAndStudentParent(Long courseId, Parent parent);
 
+    /**
+     * Belirli bir kursa, veli ID'si verilen velinin öğrencisinin kayıtlı olup olmadığını kontrol eder.
+     * Veli entity'sini yüklemeye gerek kalmadan tek bir exists sorgusu ile kontrol eder.
+     *
+     * @param courseId Kursun ID'si.
+     * @param parentId Velinin ID'si.
+     * @return Eğer veliye ait herhangi bir öğrenci bu kursa kayıtlıysa true, aksi takdirde false.
+     */
+    boolean existsByCourseIdAndStudentParentId(Long courseId, Long parentId);
+
     /**
      * Belirli bir kurs ve öğrencinin, öğrenci kullanıcısının ID'sini kullanarak kayıtlı olup olmadığını kontrol eder.
      * Spring Data JPA'nın derived query özelliği sayesinde optimize edilmiş bir exists sorgusu oluşturur.
@@ -72,4 +89,14 @@ public interface CourseStudentRepository extends JpaRepository<CourseStudent, Lo
      * @return Eğer kayıt varsa true, yoksa false.
      */
     boolean existsByCourseIdAndStudentUserId(Long courseId, Long studentUserId);
+
+    /**
+     * Belirli bir kursa kayıtlı öğrencilerin kullanıcı ID'lerini tek sorguda getirir.
+     * Sınav başlarken kayıt kararlarını toplu olarak önbelleğe almak için kullanılır.
+     *
+     * @param courseId Kursun ID'si.
+     * @return Kursa kayıtlı öğrencilerin kullanıcı ID'leri.
+     */
+    @Query("SELECT s.user.id FROM CourseStudent cs JOIN cs.student s WHERE cs.course.id = :courseId")
+    List<Long> findStudentUserIdsByCourseId(@Param("courseId") Long courseId);
 }
\ No newline at end of file
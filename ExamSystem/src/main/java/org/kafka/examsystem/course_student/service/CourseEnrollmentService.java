@@ -1,15 +1,14 @@
 package org.kafka.examsystem.course_student.service;
 
 import org.kafka.examsystem.common.dto.PageResponse;
-import org.kafka.examsystem.common.util.AuthUtil;
 import org.kafka.examsystem.course.exception.domain.CourseDomainException; // CourseDomainException hala gerekli olabilir
 import org.kafka.examsystem.course.model.Course;
 import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.common.authorization.AccessContext;
 import org.kafka.examsystem.common.authorization.CourseAuthorizationService; // Doğru import
 import org.kafka.examsystem.course_student.dto.CourseStudentSummaryDto;
 import org.kafka.examsystem.course_student.dto.EnrolledCourseResponse;
-import org.kafka.examsystem.course_student.mapper.CourseStudentSummaryMapper;
-import org.kafka.examsystem.course_student.mapper.EnrolledCourseMapper;
+import org.kafka.examsystem.course_student.event.CourseEnrollmentChangedEvent;
 import org.kafka.examsystem.course_student.model.CourseStudent;
 import org.kafka.examsystem.course_student.repository.CourseStudentRepository;
 import org.kafka.examsystem.course_student.service.validation.CourseStudentValidationService;
@@ -17,13 +16,16 @@ import org.kafka.examsystem.parent.model.Parent;
 import org.kafka.examsystem.student.exception.domain.StudentDomainErrorCode; // StudentDomainErrorCode hala gerekli
 import org.kafka.examsystem.student.exception.domain.StudentDomainException; // StudentDomainException hala gerekli
 import org.kafka.examsystem.student.model.Student;
-import org.kafka.examsystem.student.service.StudentService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 // Yeni hata importları
 import org.kafka.examsystem.course_student.exception.domain.CourseStudentDomainErrorCode;
 import org.kafka.examsystem.course_student.exception.domain.CourseStudentDomainException;
@@ -40,12 +42,11 @@ import org.kafka.examsystem.course_student.exception.validation.CourseStudentVal
 public class CourseEnrollmentService {
 
     private final CourseRepository courseRepository;
-    private final StudentService studentService;
     private final CourseStudentRepository courseStudentRepository;
     private final CourseAuthorizationService courseAuthorizationService;
-    private final EnrolledCourseMapper enrolledCourseMapper;
-    private final CourseStudentSummaryMapper courseStudentSummaryMapper;
     private final CourseStudentValidationService courseStudentValidationService;
+    private final AccessContext accessContext;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Belirli bir öğrenciyi belirli bir kursa kaydeder.
@@ -71,6 +72,7 @@ public class CourseEnrollmentService {
 
         CourseStudent courseStudent = new CourseStudent(course, student);
         courseStudentRepository.save(courseStudent);
+        publishEnrollmentChanged(course, student);
     }
 
     /**
@@ -94,6 +96,7 @@ public class CourseEnrollmentService {
                 .orElseThrow(() -> new CourseStudentValidationException(CourseStudentValidationErrorCode.STUDENT_NOT_ENROLLED));
 
         courseStudentRepository.delete(courseStudent);
+        publishEnrollmentChanged(course, student);
     }
 
     /**
@@ -120,17 +123,15 @@ public class CourseEnrollmentService {
             throw new CourseStudentDomainException(CourseStudentDomainErrorCode.UNAUTHORIZED_COURSE_ACCESS);
         }
 
-        Page<CourseStudent> courseStudentsPage = courseStudentRepository.findByCourseWithStudentAndUser(course, pageable);
-
-        Page<CourseStudentSummaryDto> studentsSummaryPage = courseStudentsPage.map(cs -> courseStudentSummaryMapper.toCourseStudentSummaryDto(cs.getStudent()));
-        return PageResponse.fromPage(courseStudentsPage, studentsSummaryPage.getContent());
+        Page<CourseStudentSummaryDto> studentsSummaryPage = courseStudentRepository.findStudentSummariesByCourseId(course.getId(), pageable);
+        return PageResponse.fromPage(studentsSummaryPage, studentsSummaryPage.getContent());
     }
 
     /**
      * Belirli bir öğrencinin kayıtlı olduğu kursları sayfalı olarak getirir.
      * Sadece ROLE_STUDENT rolüne sahip kullanıcılar kendi kurslarını görebilir.
-     * Bu metot, AuthUtil kullanarak mevcut kullanıcıyı bulur ve yetkilendirme yapar.
-     * N+1 sorgu problemini önlemek için findByStudentWithCourseTeacherAndUser kullanılır.
+     * Bu metot, erişim bağlamından mevcut öğrencinin ID'sini alır; öğrenci entity'si ayrıca sorgulanmaz.
+     * Yalnızca yanıt kolonlarını seçen projeksiyon sorgusu kullanılır; entity grafiği yüklenmez.
      *
      * @param pageable Sayfalama bilgileri.
      * @return Öğrencinin kayıtlı olduğu kursların sayfalı listesi.
@@ -138,22 +139,14 @@ public class CourseEnrollmentService {
      */
     @Transactional(readOnly = true)
     public PageResponse<EnrolledCourseResponse> getEnrolledCoursesForCurrentStudent(Pageable pageable) {
-        if (!AuthUtil.hasRole("ROLE_STUDENT")) {
+        if (!accessContext.isStudent()) {
             throw new StudentDomainException(StudentDomainErrorCode.UNAUTHORIZED_STUDENT_ACCESS);
         }
 
-        Long currentUserId = AuthUtil.getCurrentUserId();
-        if (currentUserId == null) {
-            throw new StudentDomainException(StudentDomainErrorCode.UNAUTHORIZED_STUDENT_ACCESS);
-        }
-
-        Student currentStudent = studentService.getStudentByUserId(currentUserId);
-
-        Page<CourseStudent> courseStudentsPage = courseStudentRepository.findByStudentWithCourseTeacherAndUser(currentStudent, pageable);
-
-        Page<EnrolledCourseResponse> enrolledCourseResponsesPage = courseStudentsPage.map(cs -> enrolledCourseMapper.toEnrolledCourseResponse(cs.getCourse()));
+        Page<EnrolledCourseResponse> enrolledCourseResponsesPage =
+                courseStudentRepository.findEnrolledCourseResponsesByStudentId(accessContext.requireStudentId(), pageable);
 
-        return PageResponse.fromPage(courseStudentsPage, enrolledCourseResponsesPage.getContent());
+        return PageResponse.fromPage(enrolledCourseResponsesPage, enrolledCourseResponsesPage.getContent());
     }
 
     /**
@@ -163,9 +156,8 @@ public class CourseEnrollmentService {
      * @param studentUserId Kontrol edilecek öğrenci kullanıcısının ID'si.
      * @return Kayıtlıysa true, değilse false.
      */
-    @Transactional(readOnly = true)
     public boolean isStudentEnrolledInCourse(Long courseId, Long studentUserId) {
-        return courseStudentRepository.existsByCourseIdAndStudentUserId(courseId, studentUserId);
+        return courseAuthorizationService.isStudentEnrolled(courseId, studentUserId); // Önbellekli kontrol
     }
 
     /**
@@ -179,4 +171,17 @@ public class CourseEnrollmentService {
     public boolean isParentOfEnrolledStudent(Long courseId, Parent parent) {
         return courseStudentRepository.existsByCourseIdAndStudentParent(courseId, parent);
     }
+
+    /**
+     * Kayıt değişikliğini, öğrencinin ve velisinin erişim kararları geçersiz kılınsın diye olay olarak yayınlar.
+     * Dinleyiciler transaction commit edildikten sonra çalışır.
+     */
+    private void publishEnrollmentChanged(Course course, Student student) {
+        List<Long> affectedUserIds = new ArrayList<>(2);
+        affectedUserIds.add(student.getUser().getId());
+        if (student.getParent() != null && student.getParent().getUser() != null) {
+            affectedUserIds.add(student.getParent().getUser().getId());
+        }
+        eventPublisher.publishEvent(new CourseEnrollmentChangedEvent(course.getId(), affectedUserIds));
+    }
 }
@@ -0,0 +1,204 @@
+package org.kafka.examsystem.exam.clock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.kafka.examsystem.common.sse.CoalescingSseSubscriber;
+import org.kafka.examsystem.exam.dto.ExamClockFrame;
+import org.kafka.examsystem.exam.event.ExamDeadlineChangedEvent;
+import org.kafka.examsystem.exam.event.ExamsExpiredEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sınavı çözen öğrencilere kalan süreyi sunucu saatine göre Server-Sent Events ile yayınlayan saat.
+ *
+ * İstemci sayacı kendi saatiyle hesapladığında saat kayması ve uyuyan sekmeler geç gönderimlere, bitiş anında da
+ * aynı anda yapılan gönderim ve tekrar denemelerine yol açar. Bunun yerine sunucu, bağlı öğrencisi olan her sınav
+ * için tek bir zamanlayıcıdan belirli aralıklarla süre çerçevesi üretir; çerçeve sınav başına bir kez serileştirilir
+ * ve tüm bağlantılara gönderilir. Bitiş zamanı değiştiğinde ({@link ExamDeadlineChangedEvent}) "extended" olayı,
+ * sınav kapandığında ({@link ExamsExpiredEvent}) "closed" olayı gönderilir ve bağlantılar kapatılır.
+ *
+ * "closed" olayı açık girişler sunucuda gönderildikten sonra yayınlanır; istemcinin bitişte ayrıca gönderim yapması
+ * gerekmez. Sınav silindiği için hiç kapanmayan bir sınavın bağlantıları bitişten belirli bir süre sonra kapatılır.
+ */
+@Component
+public class ExamClock {
+
+    private final ObjectMapper objectMapper;
+    private final Duration closeGrace;
+
+    private final Map<Long, ClockState> exams = new ConcurrentHashMap<>(); // Sınav ID'si -> bağlı öğrencileri olan sınav
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ExamClock(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${application.exam.clock.close-grace-ms:60000}") long closeGraceMillis
+    ) {
+        this.objectMapper = objectMapper;
+        this.closeGrace = Duration.ofMillis(closeGraceMillis);
+
+        Gauge.builder("exam.clock.subscribers", exams,
+                        states -> states.values().stream().mapToInt(state -> state.subscribers.size()).sum())
+                .description("Sınav saatine bağlı öğrenci bağlantısı sayısı")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Sınavın saatine yeni bir bağlantı ekler ve o anki süre çerçevesini hemen gönderir.
+     * Sınavın aktif olduğu ve kullanıcının yetkisi çağıran tarafından kontrol edilir.
+     *
+     * @param examId Sınav ID'si.
+     * @param endTime Veritabanındaki bitiş zamanı; bellekteki bitiş zamanından farklıysa (başka bir uygulama örneğinde
+     *                uzatıldıysa) yenisi kullanılır.
+     * @return SSE bağlantısı. Bitişten sonra kapanma payı kadar açık kalır.
+     */
+    public SseEmitter subscribe(Long examId, LocalDateTime endTime) {
+        LocalDateTime now = LocalDateTime.now();
+        SseEmitter emitter = new SseEmitter(Math.max(0, Duration.between(now, endTime).plus(closeGrace).toMillis()));
+        CoalescingSseSubscriber[] subscriber = new CoalescingSseSubscriber[1];
+        boolean[] extended = new boolean[1];
+        ClockState state = exams.compute(examId, (id, existing) -> {
+            ClockState current = existing != null ? existing : new ClockState(id, endTime);
+            extended[0] = current.updateEndTime(endTime);
+            subscriber[0] = new CoalescingSseSubscriber(emitter, sender, () -> unsubscribe(current, subscriber[0]));
+            current.subscribers.add(subscriber[0]);
+            return current;
+        });
+        emitter.onCompletion(() -> unsubscribe(state, subscriber[0]));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(state, subscriber[0]));
+
+        if (extended[0]) {
+            broadcast(state, "extended", frame(state, now, false));
+        } else {
+            subscriber[0].offer("tick", serialize(frame(state, now, false)));
+        }
+        return emitter;
+    }
+
+    /**
+     * Bağlı öğrencisi olan sınavlara kalan süreyi gönderir. Bitişinden kapanma payı kadar sonra hâlâ kapanmamış
+     * (örneğin silinmiş) sınavların bağlantıları kapatılır.
+     */
+    @Scheduled(fixedRateString = "${application.exam.clock.tick-interval-ms:5000}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        for (ClockState state : exams.values()) {
+            if (now.isAfter(state.endTime.plus(closeGrace))) {
+                close(state.examId, now);
+            } else {
+                broadcast(state, "tick", frame(state, now, false));
+            }
+        }
+    }
+
+    /**
+     * Sınavın bitiş zamanı değiştiğinde bağlı öğrencilere yeni bitiş zamanını gönderir.
+     * Zamanlayıcı bitiş zamanlarını yalnızca sınav değişikliği commit edildikten sonra planladığından olay doğrudan işlenir.
+     */
+    @EventListener
+    public void onDeadlineChanged(ExamDeadlineChangedEvent event) {
+        ClockState state = exams.get(event.examId());
+        if (state != null && state.updateEndTime(event.endTime())) {
+            broadcast(state, "extended", frame(state, LocalDateTime.now(), false));
+        }
+    }
+
+    /**
+     * Süresi dolan sınavlara "closed" olayını gönderir ve bağlantıları kapatır.
+     * Diğer dinleyicilerden (açık girişlerin gönderilmesi) sonra çalışır; onlardan biri hata fırlatırsa sınav kapanmış
+     * sayılmaz ve olay bir sonraki denemede tekrar yayınlanır.
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onExamsExpired(ExamsExpiredEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        event.examIds().forEach(examId -> close(examId, now));
+    }
+
+    /**
+     * Sınavın bağlı öğrencilere gönderilecek o anki süre çerçevesi; sınava bağlı öğrenci yoksa null.
+     */
+    ExamClockFrame currentFrame(Long examId) {
+        ClockState state = exams.get(examId);
+        return state != null ? frame(state, LocalDateTime.now(), false) : null;
+    }
+
+    private void close(Long examId, LocalDateTime now) {
+        ClockState state = exams.remove(examId);
+        if (state != null) {
+            broadcast(state, "closed", frame(state, now, true));
+            state.subscribers.forEach(CoalescingSseSubscriber::completeWhenSent);
+        }
+    }
+
+    private void broadcast(ClockState state, String eventName, ExamClockFrame frame) {
+        String json = serialize(frame);
+        state.subscribers.forEach(subscriber -> subscriber.offer(eventName, json));
+    }
+
+    private void unsubscribe(ClockState state, CoalescingSseSubscriber subscriber) {
+        if (state.subscribers.remove(subscriber)) {
+            // Son bağlantı kapandıysa sınavın saati durdurulur
+            exams.computeIfPresent(state.examId, (id, current) -> current.subscribers.isEmpty() ? null : current);
+        }
+    }
+
+    private static ExamClockFrame frame(ClockState state, LocalDateTime now, boolean closed) {
+        long remaining = closed ? 0 : Math.max(0, Duration.between(now, state.endTime).toMillis());
+        return new ExamClockFrame(state.examId, now, state.endTime, remaining, closed);
+    }
+
+    private String serialize(ExamClockFrame frame) {
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sınav saati çerçevesi serileştirilemedi", e);
+        }
+    }
+
+    private static final class ClockState {
+
+        private final Long examId;
+        private final Set<CoalescingSseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private volatile LocalDateTime endTime;
+
+        private ClockState(Long examId, LocalDateTime endTime) {
+            this.examId = examId;
+            this.endTime = endTime;
+        }
+
+        /**
+         * @return Bitiş zamanı değiştiyse true.
+         */
+        private synchronized boolean updateEndTime(LocalDateTime newEndTime) {
+            if (newEndTime.equals(endTime)) {
+                return false;
+            }
+            endTime = newEndTime;
+            return true;
+        }
+    }
+}
@@ -9,9 +9,11 @@ import org.kafka.examsystem.exam.service.ExamService;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -95,6 +97,20 @@ public class ExamController {
         return ResponseEntity.ok(exam);
     }
 
+    /**
+     * Aktif bir sınavın kalan süresini sunucu saatine göre Server-Sent Events olarak akıtır.
+     * Belirli aralıklarla "tick", süre uzatıldığında "extended", sınav kapanıp açık girişler gönderildiğinde "closed"
+     * olayı gönderilir. Dersin öğretmeni, ADMIN ve derse kayıtlı öğrenciler erişebilir.
+     *
+     * @param examId Sınav ID'si.
+     * @return SSE bağlantısı.
+     */
+    @GetMapping(value = "/exams/{examId}/clock", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER', 'ROLE_STUDENT')")
+    public SseEmitter streamExamClock(@PathVariable Long examId) {
+        return examService.subscribeToExamClock(examId);
+    }
+
     /**
      * Tüm sınavları listeler ve ad, aktiflik durumu, ders ID'ye göre filtreleme yapabilir.
      * Herkes erişebilir.
@@ -0,0 +1,23 @@
+package org.kafka.examsystem.exam.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sınavı çözen öğrencilere sunucu saatine göre gönderilen süre bilgisi.
+ * İstemci kalan süreyi kendi saatinden değil, çerçeveyi aldığı andan itibaren {@code remainingMillis} üzerinden hesaplar;
+ * böylece istemci saatinin kayması veya sekmenin uyuması sonucu etkilemez.
+ *
+ * @param examId Sınav ID'si.
+ * @param serverTime Çerçevenin sunucuda oluşturulma zamanı.
+ * @param endTime Sınavın bitiş zamanı.
+ * @param remainingMillis Bitişe kalan süre (milisaniye); bitiş geçtiyse 0.
+ * @param closed Sınav kapandıysa ve açık girişler gönderildiyse true.
+ */
+public record ExamClockFrame(
+        Long examId,
+        LocalDateTime serverTime,
+        LocalDateTime endTime,
+        long remainingMillis,
+        boolean closed
+) {
+}
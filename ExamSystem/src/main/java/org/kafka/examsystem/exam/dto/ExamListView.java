@@ -0,0 +1,19 @@
+package org.kafka.examsystem.exam.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sınav listeleme ve arama uç noktaları için JPQL constructor projeksiyonu.
+ * Yalnızca yanıtta kullanılan kolonlar ile fiili aktifliği hesaplamak için gereken başlangıç zamanını taşır.
+ */
+public record ExamListView(Long id, String name, int durationInMinutes, boolean isActive, LocalDateTime startTime,
+                           Long courseId, String courseName) {
+
+    /**
+     * {@link org.kafka.examsystem.exam.model.Exam#isActiveAt(LocalDateTime)} ile aynı kuralla sınavın verilen anda
+     * fiilen aktif olup olmadığını hesaplar.
+     */
+    public boolean isActiveAt(LocalDateTime now) {
+        return isActive && startTime != null && now.isBefore(startTime.plusMinutes(durationInMinutes));
+    }
+}
@@ -0,0 +1,14 @@
+package org.kafka.examsystem.exam.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aktif bir sınavın süre dolum zamanını hesaplamak için gereken alanlar.
+ * Entity yüklemeden zamanlayıcıyı eşitlemek için JPQL constructor projeksiyonu olarak kullanılır.
+ */
+public record ExamScheduleView(Long id, LocalDateTime startTime, int durationInMinutes) {
+
+    public LocalDateTime endTime() {
+        return startTime.plusMinutes(durationInMinutes);
+    }
+}
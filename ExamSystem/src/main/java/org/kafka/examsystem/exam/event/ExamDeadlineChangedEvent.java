@@ -0,0 +1,13 @@
+package org.kafka.examsystem.exam.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aktif bir sınavın bitiş zamanı ilk kez planlandığında veya değiştiğinde (örneğin süre uzatıldığında) yayınlanan olay.
+ * Olay sınav değişikliği commit edildikten sonra yayınlanır.
+ *
+ * @param examId Sınav ID'si.
+ * @param endTime Yeni bitiş zamanı.
+ */
+public record ExamDeadlineChangedEvent(Long examId, LocalDateTime endTime) {
+}
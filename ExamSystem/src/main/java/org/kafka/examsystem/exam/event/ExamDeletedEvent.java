@@ -0,0 +1,10 @@
+package org.kafka.examsystem.exam.event;
+
+/**
+ * Bir sınav silindiğinde yayınlanan olay.
+ * Sınav bir transaction içinde silindiğinden dinleyiciler commit sonrasını beklemelidir.
+ *
+ * @param examId Silinen sınavın ID'si.
+ */
+public record ExamDeletedEvent(Long examId) {
+}
@@ -0,0 +1,13 @@
+package org.kafka.examsystem.exam.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Başlatılmış ve aktif bir sınavın süresi güncellendiğinde yayınlanan olay.
+ * Sınav bir transaction içinde güncellendiğinden dinleyiciler commit sonrasını beklemelidir.
+ *
+ * @param examId Sınav ID'si.
+ * @param endTime Yeni bitiş zamanı.
+ */
+public record ExamDurationChangedEvent(Long examId, LocalDateTime endTime) {
+}
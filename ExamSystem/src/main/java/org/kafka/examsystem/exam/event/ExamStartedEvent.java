@@ -0,0 +1,14 @@
+package org.kafka.examsystem.exam.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bir sınav başlatıldığında yayınlanan olay.
+ * Sınav bir transaction içinde başlatıldığından dinleyiciler commit sonrasını beklemelidir.
+ *
+ * @param examId Sınav ID'si.
+ * @param courseId Sınavın ait olduğu dersin ID'si.
+ * @param endTime Sınavın bitiş zamanı.
+ */
+public record ExamStartedEvent(Long examId, Long courseId, LocalDateTime endTime) {
+}
@@ -0,0 +1,13 @@
+package org.kafka.examsystem.exam.event;
+
+import java.util.List;
+
+/**
+ * Süresi (başlangıç zamanı + süre) dolan sınavlar pasifize edilmeden hemen önce yayınlanan olay.
+ * Dinleyiciler yayınlayan iş parçacığında çalışır; bir dinleyici hata fırlatırsa sınavlar pasifize edilmez ve
+ * bir sonraki eşitlemede tekrar ele alınır. Bu nedenle dinleyiciler tekrar çalıştırılmaya dayanıklı olmalıdır.
+ *
+ * @param examIds Süresi dolan sınavların ID'leri.
+ */
+public record ExamsExpiredEvent(List<Long> examIds) {
+}
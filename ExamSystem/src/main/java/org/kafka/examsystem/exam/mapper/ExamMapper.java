@@ -1,6 +1,7 @@
 package org.kafka.examsystem.exam.mapper;
 
 
+import org.kafka.examsystem.exam.dto.ExamListView;
 import org.kafka.examsystem.exam.dto.ExamResponse;
 import org.kafka.examsystem.exam.model.Exam;
 import org.mapstruct.Mapper;
@@ -16,7 +17,11 @@ public interface ExamMapper {
 
     @Mapping(target = "courseId", source = "course.id")
     @Mapping(target = "courseName", source = "course.name")
+    @Mapping(target = "active", expression = "java(exam.isActiveAt(java.time.LocalDateTime.now()))") // Süresi dolan sınav okunurken pasif görünür
     ExamResponse toExamResponse(Exam exam);
 
-    List<ExamResponse> toExamResponseList(List<Exam> exams);
+    @Mapping(target = "active", expression = "java(view.isActiveAt(java.time.LocalDateTime.now()))")
+    ExamResponse toExamResponse(ExamListView view);
+
+    List<ExamResponse> toExamResponseList(List<ExamListView> views);
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package org.kafka.examsystem.exam.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import org.kafka.examsystem.course.model.Course;
@@ -13,12 +15,14 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "exams")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "exams")
 @Getter
 @Setter
 public class Exam {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exams_id_seq")
+    @SequenceGenerator(name = "exams_id_seq", sequenceName = "exams_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -37,4 +41,20 @@ public class Exam {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
+
+    /**
+     * Sınavın bitiş zamanını hesaplar. Sınav hiç başlatılmamışsa null döner.
+     */
+    public LocalDateTime calculateEndTime() {
+        return startTime != null ? startTime.plusMinutes(durationInMinutes) : null;
+    }
+
+    /**
+     * Sınavın verilen anda fiilen aktif olup olmadığını veritabanına yazmadan hesaplar.
+     * Süresi dolmuş ancak henüz arka plan görevi tarafından pasifize edilmemiş sınavlar pasif kabul edilir.
+     */
+    public boolean isActiveAt(LocalDateTime now) {
+        LocalDateTime endTime = calculateEndTime();
+        return isActive && endTime != null && now.isBefore(endTime);
+    }
 }
@@ -1,13 +1,20 @@
 package org.kafka.examsystem.exam.repository;
 
+import org.kafka.examsystem.exam.dto.ExamListView;
+import org.kafka.examsystem.exam.dto.ExamScheduleView;
 import org.kafka.examsystem.exam.model.Exam;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,25 +29,87 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
     Optional<Exam> findByIdWithCourse(@Param("id") Long id);
 
     /**
-     * Sınav adı, aktiflik durumu ve ders ID'sine göre filtrelenmiş, sayfalı sınav listesini getirir.
-     * Sorgu, N+1 problemini önlemek için JOIN FETCH kullanır.
+     * Sınavın ait olduğu dersin ID'sini getirir.
+     * @param id Sınav ID'si.
+     * @return Ders ID'si (Optional).
+     */
+    @Query("SELECT e.course.id FROM Exam e WHERE e.id = :id")
+    Optional<Long> findCourseIdById(@Param("id") Long id);
+
+    String EXAM_LIST_VIEW_SELECT = "SELECT new org.kafka.examsystem.exam.dto.ExamListView(" +
+            "e.id, e.name, e.durationInMinutes, e.isActive, e.startTime, c.id, c.name) FROM Exam e JOIN e.course c ";
+
+    // Exam.isActiveAt ile aynı kural: aktif işaretli, başlatılmış ve bitiş zamanı (başlangıç + süre) gelmemiş sınav
+    String EXAM_ACTIVE_AT_NOW = "CASE WHEN e.isActive = true AND e.startTime IS NOT NULL " +
+            "AND e.startTime + e.durationInMinutes minute > :now THEN true ELSE false END";
+
+    /**
+     * Sınav adı, fiili aktiflik durumu ve ders ID'sine göre filtrelenmiş, sayfalı sınav listesini getirir.
+     * Aktiflik, kayıtlı bayrağa değil {@link Exam#isActiveAt(LocalDateTime)} ile aynı kurala göre filtrelenir;
+     * süresi dolmuş ancak henüz pasifize edilmemiş sınavlar pasif kabul edilir.
+     * Entity yerine yalnızca yanıt kolonlarını seçen bir projeksiyon döner; persistence context'e nesne eklenmez.
      *
      * @param name Sınav adının bir kısmı (kısmi arama için, null olabilir).
-     * @param isActive Aktiflik durumu (tam eşleşme için, null olabilir).
+     * @param isActive Fiili aktiflik durumu (tam eşleşme için, null olabilir).
      * @param courseId Ders ID'si (tam eşleşme için, null olabilir).
+     * @param now Aktifliğin hesaplandığı an.
      * @param pageable Sayfalama bilgileri.
      * @return Filtrelenmiş sınavların sayfalı listesi.
      */
-    @Query("SELECT e FROM Exam e JOIN FETCH e.course c WHERE " +
+    @Query(value = EXAM_LIST_VIEW_SELECT + "WHERE " +
             "LOWER(e.name) LIKE LOWER(CONCAT('%', COALESCE(:name, ''), '%')) AND " +
-            "e.isActive = COALESCE(:isActive, e.isActive) AND " +
-            "e.course.id = COALESCE(:courseId, e.course.id)")
-    Page<Exam> searchExams(@Param("name") String name, @Param("isActive") Boolean isActive, @Param("courseId") Long courseId, Pageable pageable);
+            "(:isActive IS NULL OR " + EXAM_ACTIVE_AT_NOW + " = :isActive) AND " +
+            "c.id = COALESCE(:courseId, c.id)",
+            countQuery = "SELECT COUNT(e) FROM Exam e WHERE " +
+                    "LOWER(e.name) LIKE LOWER(CONCAT('%', COALESCE(:name, ''), '%')) AND " +
+                    "(:isActive IS NULL OR " + EXAM_ACTIVE_AT_NOW + " = :isActive) AND " +
+                    "e.course.id = COALESCE(:courseId, e.course.id)")
+    Page<ExamListView> searchExamViews(@Param("name") String name, @Param("isActive") Boolean isActive,
+                                       @Param("courseId") Long courseId, @Param("now") LocalDateTime now,
+                                       Pageable pageable);
 
     /**
-     * Belirli bir derse ait tüm sınavları getirir.
+     * Belirli bir derse ait sınavları projeksiyon olarak sayfalı getirir.
      * @param courseId Ders ID'si.
+     * @param pageable Sayfalama bilgileri.
      * @return Sınav listesi.
      */
-    Page<Exam> findByCourseId(Long courseId, Pageable pageable);
+    @Query(value = EXAM_LIST_VIEW_SELECT + "WHERE c.id = :courseId",
+            countQuery = "SELECT COUNT(e) FROM Exam e WHERE e.course.id = :courseId")
+    Page<ExamListView> findViewsByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    /**
+     * Aktif ve başlatılmış sınavların bitiş zamanını hesaplamak için gereken alanları getirir.
+     * Süre dolum zamanlayıcısını uygulama başlangıcında ve periyodik olarak eşitlemek için kullanılır.
+     * @return Aktif sınavların zamanlama bilgileri.
+     */
+    @Query("SELECT new org.kafka.examsystem.exam.dto.ExamScheduleView(e.id, e.startTime, e.durationInMinutes) " +
+            "FROM Exam e WHERE e.isActive = true AND e.startTime IS NOT NULL")
+    List<ExamScheduleView> findActiveExamSchedules();
+
+    /**
+     * Verilen sınavların veritabanındaki zamanlama bilgilerini getirir.
+     * Zamanlayıcının bellekteki bitiş zamanını, süre dolumunu işlemeden önce doğrulamak için kullanılır; replika
+     * gecikmesi yeni bir süre uzatmasını gizlemesin diye salt okunur olmayan transaction'da birincil veritabanından okunur.
+     * @param ids Sınav ID'leri.
+     * @return Başlatılmış sınavların zamanlama bilgileri.
+     */
+    @Transactional
+    @Query("SELECT new org.kafka.examsystem.exam.dto.ExamScheduleView(e.id, e.startTime, e.durationInMinutes) " +
+            "FROM Exam e WHERE e.id IN :ids AND e.startTime IS NOT NULL")
+    List<ExamScheduleView> findExamSchedulesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Verilen sınavlardan veritabanındaki bitiş zamanı geçmiş olanları tek bir toplu UPDATE ile pasif hale getirir.
+     * Zaten pasif olan sınavlara dokunulmaz. Bitiş zamanı bellekteki kuyruğa değil veritabanına göre kontrol edilir;
+     * böylece süre uzatmasını henüz görmemiş bir uygulama örneği devam eden bir sınavı pasifize edemez.
+     * @param ids Pasifize edilecek sınav ID'leri.
+     * @param now Bitiş zamanının karşılaştırılacağı an.
+     * @return Güncellenen satır sayısı.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Exam e SET e.isActive = false WHERE e.id IN :ids AND e.isActive = true " +
+            "AND e.startTime + (e.durationInMinutes) minute <= :now")
+    int deactivateExams(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,171 @@
+package org.kafka.examsystem.exam.service;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.exam.dto.ExamScheduleView;
+import org.kafka.examsystem.exam.event.ExamDeadlineChangedEvent;
+import org.kafka.examsystem.exam.event.ExamDeletedEvent;
+import org.kafka.examsystem.exam.event.ExamDurationChangedEvent;
+import org.kafka.examsystem.exam.event.ExamStartedEvent;
+import org.kafka.examsystem.exam.event.ExamsExpiredEvent;
+import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aktif sınavların süre dolumunu arka planda yöneten zamanlayıcı.
+ * Başlatılan her sınav bitiş zamanına göre bir gecikme kuyruğuna eklenir; süresi dolan sınavlar
+ * periyodik olarak toplanır ve tek bir toplu UPDATE ile pasif hale getirilir.
+ * Böylece okuma yollarının veritabanına yazması gerekmez; okurken fiili durum {@code Exam.isActiveAt} ile hesaplanır.
+ *
+ * Kuyruk bellekte tutulduğu için uygulama başlangıcında ve periyodik olarak veritabanındaki aktif sınavlarla eşitlenir
+ * (yeniden başlatma veya başka bir uygulama örneğinin başlattığı sınavlar için).
+ *
+ * Sınavlar başlatma veya süre güncellemesi commit edildikten sonra planlanır. Kuyruktan çıkan sınavların bitiş zamanı
+ * pasifize etmeden önce veritabanından doğrulanır: başka bir uygulama örneğinde süresi uzatılan sınav yeni bitiş
+ * zamanıyla yeniden planlanır. Pasifizasyon ve açık girişlerin gönderimi de bitiş zamanını veritabanında kontrol eder;
+ * böylece doğrulama ile güncelleme arasında uzatılan bir sınav da etkilenmez.
+ *
+ * Pasifize etmeden önce {@link ExamsExpiredEvent} yayınlanır (örneğin açık kalan sınav girişlerinin gönderilmesi için).
+ * Olay işlenemezse sınavlar aktif kalır ve bir sonraki eşitlemede tekrar kuyruğa alınır. Her uygulama örneği aynı
+ * sınavın süre dolumunu ayrı ayrı işleyebilir; dinleyiciler ve pasifizasyon tekrar çalıştırılmaya dayanıklıdır.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExamExpiryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExamExpiryScheduler.class);
+
+    private final ExamRepository examRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final DelayQueue<ExpiryEntry> queue = new DelayQueue<>();
+    private final Map<Long, LocalDateTime> deadlines = new ConcurrentHashMap<>(); // Sınav başına geçerli bitiş zamanı
+
+    /**
+     * Sınavı verilen bitiş zamanında pasifize edilmek üzere planlar.
+     * Aynı sınav için daha önce planlanmış bir bitiş zamanı varsa yenisiyle değiştirilir ve
+     * {@link ExamDeadlineChangedEvent} yayınlanır (başka bir uygulama örneğindeki değişiklikler eşitlemede görülür).
+     */
+    public void schedule(Long examId, LocalDateTime endTime) {
+        if (endTime.equals(deadlines.put(examId, endTime))) {
+            return; // Aynı bitiş zamanı zaten kuyrukta
+        }
+        queue.add(new ExpiryEntry(examId, endTime));
+        eventPublisher.publishEvent(new ExamDeadlineChangedEvent(examId, endTime));
+    }
+
+    /**
+     * Sınavın planlanmış süre dolumunu iptal eder (örneğin sınav silindiğinde).
+     * Kuyruktaki kayıt yerinde kalır ancak süresi dolduğunda yok sayılır.
+     */
+    public void cancel(Long examId) {
+        deadlines.remove(examId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExamStarted(ExamStartedEvent event) {
+        schedule(event.examId(), event.endTime());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExamDurationChanged(ExamDurationChangedEvent event) {
+        schedule(event.examId(), event.endTime());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExamDeleted(ExamDeletedEvent event) {
+        cancel(event.examId());
+    }
+
+    /**
+     * Süresi dolan sınavları kuyruktan toplar, bitiş zamanlarını veritabanından doğrular ve tek bir UPDATE ile
+     * pasifize eder.
+     */
+    @Scheduled(fixedDelayString = "${application.exam.expiry.poll-interval-ms:1000}")
+    public void deactivateExpiredExams() {
+        List<Long> expiredIds = new ArrayList<>();
+        ExpiryEntry entry;
+        while ((entry = queue.poll()) != null) {
+            // Sınav yeniden planlandıysa veya iptal edildiyse eski kayıt yok sayılır
+            if (deadlines.remove(entry.examId(), entry.endTime())) {
+                expiredIds.add(entry.examId());
+            }
+        }
+        expiredIds = confirmExpired(expiredIds);
+        if (!expiredIds.isEmpty()) {
+            try {
+                eventPublisher.publishEvent(new ExamsExpiredEvent(expiredIds));
+            } catch (RuntimeException e) {
+                // Sınavlar aktif kaldığı için bir sonraki eşitlemede yeniden planlanır
+                logger.error("Süresi dolan sınavlar işlenemedi, tekrar denenecek: {}", expiredIds, e);
+                return;
+            }
+            int updated = examRepository.deactivateExams(expiredIds, LocalDateTime.now());
+            logger.info("Süresi dolan {} sınav pasif hale getirildi.", updated);
+        }
+    }
+
+    /**
+     * Bellekteki bitiş zamanı dolan sınavlardan veritabanına göre de süresi dolmuş olanları döndürür.
+     * Süresi başka bir uygulama örneğinde uzatılan sınavlar yeni bitiş zamanıyla yeniden planlanır; silinen sınavlar
+     * atlanır.
+     */
+    private List<Long> confirmExpired(List<Long> examIds) {
+        if (examIds.isEmpty()) {
+            return examIds;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> confirmed = new ArrayList<>();
+        for (ExamScheduleView exam : examRepository.findExamSchedulesByIds(examIds)) {
+            if (exam.endTime().isAfter(now)) {
+                schedule(exam.id(), exam.endTime());
+            } else {
+                confirmed.add(exam.id());
+            }
+        }
+        return confirmed;
+    }
+
+    /**
+     * Kuyruğu veritabanındaki aktif sınavlarla eşitler.
+     * Uygulama başladığında hemen, sonrasında belirli aralıklarla çalışır.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${application.exam.expiry.resync-interval-ms:60000}")
+    public void resync() {
+        for (ExamScheduleView exam : examRepository.findActiveExamSchedules()) {
+            schedule(exam.id(), exam.endTime());
+        }
+    }
+
+    /**
+     * Gecikme kuyruğundaki bir sınav kaydı. Bitiş zamanı geldiğinde kuyruktan alınabilir hale gelir.
+     */
+    private record ExpiryEntry(Long examId, LocalDateTime endTime) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            long endMillis = endTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return unit.convert(endMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
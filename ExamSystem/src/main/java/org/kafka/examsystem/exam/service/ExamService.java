@@ -6,22 +6,27 @@ import org.kafka.examsystem.common.dto.PageResponse;
 import org.kafka.examsystem.common.util.AuthUtil;
 import org.kafka.examsystem.course.model.Course;
 import org.kafka.examsystem.course.service.CourseService;
+import org.kafka.examsystem.exam.clock.ExamClock;
 import org.kafka.examsystem.exam.dto.ExamCreateRequest;
+import org.kafka.examsystem.exam.dto.ExamListView;
 import org.kafka.examsystem.exam.dto.ExamResponse;
 import org.kafka.examsystem.exam.dto.ExamUpdateRequest;
+import org.kafka.examsystem.exam.event.ExamDeletedEvent;
+import org.kafka.examsystem.exam.event.ExamDurationChangedEvent;
+import org.kafka.examsystem.exam.event.ExamStartedEvent;
 import org.kafka.examsystem.exam.exception.domain.ExamDomainErrorCode;
 import org.kafka.examsystem.exam.exception.domain.ExamDomainException;
 import org.kafka.examsystem.exam.mapper.ExamMapper;
 import org.kafka.examsystem.exam.model.Exam;
 import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Sınavlarla ilgili iş mantığını yöneten servis sınıfı.
@@ -35,6 +40,9 @@ public class ExamService {
     private final ExamMapper examMapper;
     private final CourseService courseService;
     private final CourseAuthorizationService courseAuthorizationService;
+    private final ExamExpiryScheduler examExpiryScheduler;
+    private final ExamClock examClock;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Yeni bir sınav oluşturur. Sadece kursun öğretmeni veya ADMIN yetkisine sahip kullanıcılar
@@ -87,6 +95,10 @@ public class ExamService {
         exam.setDurationInMinutes(request.getDurationInMinutes());
 
         Exam updatedExam = examRepository.save(exam);
+        // Süre değiştiyse aktif sınavın pasifize edilme zamanı commit sonrasında yeniden planlanır
+        if (updatedExam.isActive() && updatedExam.getStartTime() != null) {
+            eventPublisher.publishEvent(new ExamDurationChangedEvent(updatedExam.getId(), updatedExam.calculateEndTime()));
+        }
         return examMapper.toExamResponse(updatedExam);
     }
 
@@ -108,11 +120,12 @@ public class ExamService {
         }
 
         examRepository.delete(exam);
+        eventPublisher.publishEvent(new ExamDeletedEvent(examId)); // Commit sonrası süre dolumu iptal edilir ve önbellekler temizlenir
     }
 
     /**
      * Bir sınavı başlatır. Sadece kursun öğretmeni veya ADMIN yetkisine sahip kullanıcılar
-     * sınavı başlatabilir.
+     * sınavı başlatabilir. Commit sonrasında süre dolumu planlanır; sınav kağıdı, cevap anahtarı ve kayıt kararları arka planda hazırlanır.
      *
      * @param examId Başlatılacak sınavın ID'si.
      * @return Başlatılan sınavın yanıt DTO'su.
@@ -130,6 +143,8 @@ public class ExamService {
         exam.setActive(true);
         exam.setStartTime(LocalDateTime.now());
         Exam startedExam = examRepository.save(exam);
+        // Commit sonrasında süre dolumu planlanır ve öğrenciler gelmeden önbellekler ısıtılır
+        eventPublisher.publishEvent(new ExamStartedEvent(startedExam.getId(), exam.getCourse().getId(), startedExam.calculateEndTime()));
         return examMapper.toExamResponse(startedExam);
     }
 
@@ -158,10 +173,8 @@ public class ExamService {
      */
     @Transactional(readOnly = true)
     public Exam getExamById(Long examId) {
-        Exam exam = examRepository.findByIdWithCourse(examId)
+        return examRepository.findByIdWithCourse(examId)
                 .orElseThrow(() -> new ExamDomainException(ExamDomainErrorCode.EXAM_NOT_FOUND));
-        // Sınav süresi dolduysa pasif hale getir ve güncel nesneyi kullan
-        return checkAndDeactivateExpiredExam(exam);
     }
 
     /**
@@ -175,97 +188,98 @@ public class ExamService {
      */
     @Transactional(readOnly = true)
     public Exam getExamByIdWithCourse(Long examId) {
-        Exam exam = examRepository.findByIdWithCourse(examId)
+        return examRepository.findByIdWithCourse(examId)
+                .orElseThrow(() -> new ExamDomainException(ExamDomainErrorCode.EXAM_NOT_FOUND));
+    }
+
+    /**
+     * Yardımcı Metot: Sınavın ait olduğu dersin ID'sini, entity yüklemeden getirir.
+     * Önbelleklere dokunmadan önce yetkilendirme yapmak için kullanılır.
+     *
+     * @param examId Sınav ID'si.
+     * @return Dersin ID'si.
+     * @throws ExamDomainException Sınav bulunamazsa.
+     */
+    @Transactional(readOnly = true)
+    public Long getCourseIdByExamId(Long examId) {
+        return examRepository.findCourseIdById(examId)
                 .orElseThrow(() -> new ExamDomainException(ExamDomainErrorCode.EXAM_NOT_FOUND));
-        // Sınav süresi dolduysa pasif hale getir ve güncel nesneyi kullan
-        return checkAndDeactivateExpiredExam(exam);
     }
 
     /**
      * Sınavları ad, aktiflik durumu ve ders ID'ye göre filtreleyerek sayfalı olarak listeler.
-     * Her sınav için süre kontrolü yaparak süresi dolmuş sınavları pasifize eder.
-     * Herkes erişebilir.
+     * Süresi dolmuş sınavlar veritabanına yazılmadan pasif olarak döner ve aktiflik filtresinde de pasif sayılır;
+     * kalıcı pasifizasyonu ExamExpiryScheduler yapar. Herkes erişebilir.
      *
      * @param name Sınav adının bir kısmı (null olabilir).
-     * @param isActive Aktiflik durumu (null olabilir).
+     * @param isActive Fiili aktiflik durumu (null olabilir).
      * @param courseId Ders ID'si (null olabilir).
      * @param pageable Sayfalama bilgileri.
      * @return Filtrelenmiş sınavların sayfalı listesi.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public PageResponse<ExamResponse> searchExams(String name, Boolean isActive, Long courseId, Pageable pageable) {
         // CourseId varsa, varlığını kontrol et
         if (courseId != null) {
             courseService.validateCourseExistence(courseId);
         }
-        Page<Exam> examsPage = examRepository.searchExams(name, isActive, courseId, pageable);
-        
-        // Her sınav için süre kontrolü yap ve gerekirse pasifize et
-        List<Exam> updatedExams = examsPage.getContent().stream()
-                .map(this::checkAndDeactivateExpiredExam)
-                .collect(Collectors.toList());
-        
-        return PageResponse.fromPage(examsPage, examMapper.toExamResponseList(updatedExams));
+        Page<ExamListView> examsPage = examRepository.searchExamViews(name, isActive, courseId, LocalDateTime.now(), pageable);
+        return PageResponse.fromPage(examsPage, examMapper.toExamResponseList(examsPage.getContent()));
     }
 
     /**
      * Belirli bir derse ait tüm sınavları sayfalı olarak listeler. Herkes erişebilir.
-     * Her sınav için süre kontrolü yaparak süresi dolmuş sınavları pasifize eder.
+     * Süresi dolmuş sınavlar veritabanına yazılmadan pasif olarak döner.
      *
      * @param courseId Ders ID'si.
      * @param pageable Sayfalama bilgileri.
      * @return Belirtilen derse ait sınavların sayfalı listesi.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public PageResponse<ExamResponse> getExamsByCourseId(Long courseId, Pageable pageable) {
         courseService.validateCourseExistence(courseId);
-        Page<Exam> examsPage = examRepository.findByCourseId(courseId, pageable);
-        
-        // Her sınav için süre kontrolü yap ve gerekirse pasifize et
-        List<Exam> updatedExams = examsPage.getContent().stream()
-                .map(this::checkAndDeactivateExpiredExam)
-                .collect(Collectors.toList());
-        
-        return PageResponse.fromPage(examsPage, examMapper.toExamResponseList(updatedExams));
+        Page<ExamListView> examsPage = examRepository.findViewsByCourseId(courseId, pageable);
+        return PageResponse.fromPage(examsPage, examMapper.toExamResponseList(examsPage.getContent()));
     }
 
     /**
-     * Yardımcı Metot: Öğrencinin bir sınava erişim yetkisini kontrol eden yardımcı metot.
-     * Sınavın aktif ve süresinin dolmamış olması gerekir.
-     * @param exam Sınav nesnesi.
-     * @return Erişime izin veriliyorsa true, aksi takdirde false.
+     * Aktif bir sınavın sunucu saatine abone olur; kalan süre, süre uzatmaları ve sınavın kapanması SSE ile akar.
+     * Dersin öğretmeni, ADMIN ve derse kayıtlı öğrenciler abone olabilir. Sınavın aktifliği ve bitiş zamanı bağlanırken
+     * bir kez okunur; sonraki çerçeveler veritabanına gitmeden üretilir.
+     *
+     * @param examId Sınav ID'si.
+     * @return SSE bağlantısı.
+     * @throws ExamDomainException Sınav bulunamazsa, yetki yoksa veya sınav aktif değilse.
      */
-    public boolean canStudentAccessExam(Exam exam) {
-        // Sınav süresi dolduysa pasif hale getir ve güncel nesneyi kullan
-        exam = checkAndDeactivateExpiredExam(exam);
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToExamClock(Long examId) {
+        Exam exam = examRepository.findByIdWithCourse(examId)
+                .orElseThrow(() -> new ExamDomainException(ExamDomainErrorCode.EXAM_NOT_FOUND));
 
-        // Sınav aktif değilse veya başlangıç zamanı yoksa
-        if (!exam.isActive() || exam.getStartTime() == null) {
-            // Sınav aktif değilse, süresi dolmuştur veya hiç başlatılmamıştır.
-            // Bu durumu yeni bir hata kodu ile belirtmek daha doğru olacaktır.
-            throw new ExamDomainException(ExamDomainErrorCode.EXAM_EXPIRED);
+        if (!courseAuthorizationService.canViewCourseContent(exam.getCourse(), AuthUtil.getCurrentUserId())) {
+            throw new ExamDomainException(ExamDomainErrorCode.UNAUTHORIZED_EXAM_ACCESS);
         }
+        canStudentAccessExam(exam);
 
-        LocalDateTime endTime = exam.getStartTime().plusMinutes(exam.getDurationInMinutes());
-        return LocalDateTime.now().isBefore(endTime);
+        LocalDateTime endTime = exam.calculateEndTime();
+        // Sınav başka bir uygulama örneğinde başlatıldıysa ve henüz eşitlenmediyse burada da planlanır;
+        // böylece bu örneğe bağlı öğrencilere "closed" olayı bitişte gönderilir.
+        examExpiryScheduler.schedule(examId, endTime);
+        return examClock.subscribe(examId, endTime);
     }
 
     /**
-     * Yardımcı Metot: Bir sınavın süresinin dolup dolmadığını kontrol eder ve dolduysa pasif hale getirir.
-     * Güncellenen sınav nesnesini döndürür.
-     * @param exam Kontrol edilecek sınav nesnesi.
-     * @return Güncellenen sınav nesnesi.
+     * Yardımcı Metot: Öğrencinin bir sınava erişim yetkisini kontrol eden yardımcı metot.
+     * Sınavın aktif ve süresinin dolmamış olması gerekir. Fiili durum veritabanına yazılmadan hesaplanır.
+     * @param exam Sınav nesnesi.
+     * @return Erişime izin veriliyorsa true.
+     * @throws ExamDomainException Sınav aktif değilse, hiç başlatılmamışsa veya süresi dolmuşsa.
      */
-    private Exam checkAndDeactivateExpiredExam(Exam exam) {
-        // Sınav aktifse ve başlangıç zamanı varsa kontrol et
-        if (exam.isActive() && exam.getStartTime() != null) {
-            LocalDateTime endTime = exam.getStartTime().plusMinutes(exam.getDurationInMinutes());
-            if (LocalDateTime.now().isAfter(endTime)) {
-                // Sınav süresi doldu, pasif hale getir ve kaydet.
-                exam.setActive(false);
-                return examRepository.save(exam);
-            }
+    public boolean canStudentAccessExam(Exam exam) {
+        if (!exam.isActiveAt(LocalDateTime.now())) {
+            // Sınav aktif değilse, süresi dolmuştur veya hiç başlatılmamıştır.
+            throw new ExamDomainException(ExamDomainErrorCode.EXAM_EXPIRED);
         }
-        return exam;
+        return true;
     }
 }
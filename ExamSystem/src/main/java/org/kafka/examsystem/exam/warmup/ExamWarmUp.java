@@ -0,0 +1,87 @@
+package org.kafka.examsystem.exam.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.kafka.examsystem.common.authorization.CourseAuthorizationService;
+import org.kafka.examsystem.exam.event.ExamStartedEvent;
+import org.kafka.examsystem.exam_question.grading.AnswerKeyRegistry;
+import org.kafka.examsystem.exam_question.paper.ExamPaperSnapshotCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sınav başlatıldığında öğrenciler gelmeden önce sıcak yolların önbelleklerini hazırlayan bileşen.
+ * Sınav başlar başlamaz yüzlerce öğrenci aynı saniyelerde giriş oluşturur ve kağıdı ister; her biri kayıt kontrolünü,
+ * kağıt ve cevap anahtarı yüklemesini soğuk önbellekte yapmasın diye bunlar sınav başına bir kez hazırlanır:
+ * <ul>
+ *     <li>Sınav kağıdı ({@link ExamPaperSnapshotCache})</li>
+ *     <li>Puanlama için cevap anahtarı ({@link AnswerKeyRegistry})</li>
+ *     <li>Derse kayıtlı öğrencilerin kayıt kararları, tek sorguyla</li>
+ * </ul>
+ * Hazırlık commit sonrasında arka planda çalışır; öğretmenin isteği beklemez. Hazırlık bitmeden gelen istekler
+ * önbellekleri her zamanki gibi kendileri doldurur (kağıt aynı sınav için tek bir yüklemeyi bekler), bu nedenle
+ * bir adımın hata vermesi yalnızca loglanır.
+ */
+@Component
+public class ExamWarmUp {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExamWarmUp.class);
+
+    private final ExamPaperSnapshotCache examPaperSnapshotCache;
+    private final AnswerKeyRegistry answerKeyRegistry;
+    private final CourseAuthorizationService courseAuthorizationService;
+    private final Timer warmUpTimer;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ExamWarmUp(
+            ExamPaperSnapshotCache examPaperSnapshotCache,
+            AnswerKeyRegistry answerKeyRegistry,
+            CourseAuthorizationService courseAuthorizationService,
+            MeterRegistry meterRegistry
+    ) {
+        this.examPaperSnapshotCache = examPaperSnapshotCache;
+        this.answerKeyRegistry = answerKeyRegistry;
+        this.courseAuthorizationService = courseAuthorizationService;
+        this.warmUpTimer = Timer.builder("exam.warmup.duration")
+                .description("Sınav başlatıldığında önbelleklerin hazırlanma süresi")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onExamStarted(ExamStartedEvent event) {
+        executor.execute(() -> warmUpTimer.record(() -> warmUp(event.examId(), event.courseId())));
+    }
+
+    /**
+     * Sınavın önbelleklerini sırayla hazırlar. Adımlar birbirinden bağımsızdır; biri hata verirse diğerleri çalışır.
+     */
+    void warmUp(Long examId, Long courseId) {
+        run(examId, "sınav kağıdı", () -> examPaperSnapshotCache.getSnapshot(examId));
+        run(examId, "cevap anahtarı", () -> answerKeyRegistry.getAnswerKey(examId));
+        run(examId, "kayıt kararları", () -> {
+            int students = courseAuthorizationService.preloadEnrolledStudents(courseId);
+            logger.debug("Sınav {} için {} öğrencinin kayıt kararı önbelleğe alındı.", examId, students);
+        });
+    }
+
+    private static void run(Long examId, String step, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.warn("Sınav {} için {} hazırlanamadı; ilk isteklerde yüklenecek.", examId, step, e);
+        }
+    }
+}
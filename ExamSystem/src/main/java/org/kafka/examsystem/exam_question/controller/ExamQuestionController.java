@@ -6,7 +6,12 @@ import org.kafka.examsystem.exam_question.dto.ExamQuestionCreateRequest;
 import org.kafka.examsystem.exam_question.dto.ExamQuestionResponse;
 import org.kafka.examsystem.exam_question.dto.ExamQuestionUpdateRequest;
 import org.kafka.examsystem.exam_question.service.ExamQuestionService;
+import org.kafka.examsystem.exam_question.paper.ExamPaperSnapshot;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -64,26 +69,27 @@ public class ExamQuestionController {
     }
 
     /**
-     * Belirli bir ID'ye sahip sınav sorusunu getirir. Bu metoda sadece ADMIN, ilgili kursun öğretmeni veya kursa kayıtlı öğrenci erişebilir.
+     * Belirli bir ID'ye sahip sınav sorusunu doğru cevabıyla getirir. Bu metoda sadece ADMIN ve ilgili kursun öğretmeni erişebilir.
+     * Öğrenciler soruları cevap anahtarı olmayan sınav kağıdından ({@code /paper}) görür.
      * @param questionId Sınav sorusu ID'si.
      * @return Soru yanıtı ve HTTP 200 OK durumu.
      */
     @GetMapping("/{questionId}")
-    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER', 'ROLE_STUDENT')")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER')")
     public ResponseEntity<ExamQuestionResponse> getExamQuestionById(@PathVariable Long questionId) {
         ExamQuestionResponse question = examQuestionService.getExamQuestionById(questionId);
         return ResponseEntity.ok(question);
     }
 
     /**
-     * Sınav ID'si ve isteğe bağlı olarak konu ID'sine göre sınav sorularını listeler. Bu metot, sadece ADMIN, ilgili kursun öğretmeni veya kursa kayıtlı öğrenci tarafından kullanılabilir.
+     * Sınav ID'si ve isteğe bağlı olarak konu ID'sine göre sınav sorularını doğru cevaplarıyla listeler. Bu metot, sadece ADMIN ve ilgili kursun öğretmeni tarafından kullanılabilir.
      * @param examId Sınav ID'si.
      * @param topicId Konu ID'si (isteğe bağlı).
      * @param pageable Sayfalama bilgileri.
      * @return Sınav sorularının sayfalı listesi ve HTTP 200 OK durumu.
      */
     @GetMapping
-    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER', 'ROLE_STUDENT')")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER')")
     public ResponseEntity<PageResponse<ExamQuestionResponse>> getExamQuestionsByExamId(
             @RequestParam Long examId,
             @RequestParam(required = false) Long topicId,
@@ -91,4 +97,35 @@ public class ExamQuestionController {
         PageResponse<ExamQuestionResponse> questions = examQuestionService.getExamQuestionsByExamId(examId, topicId, pageable);
         return ResponseEntity.ok(questions);
     }
+
+    /**
+     * Sınavın öğrenciye gösterilen kağıdını cevap anahtarı olmadan getirir. Bu metoda sadece ADMIN, ilgili kursun öğretmeni veya kursa kayıtlı öğrenci erişebilir.
+     * Gövde önceden serileştirilmiş baytlardan döner; istemci gzip kabul ediyorsa sıkıştırılmış hali gönderilir.
+     * İstemcideki kopya güncelse (If-None-Match) gövde gönderilmez.
+     * @param examId Sınav ID'si.
+     * @param ifNoneMatch İstemcideki kağıdın ETag değeri (isteğe bağlı).
+     * @param acceptEncoding İstemcinin kabul ettiği sıkıştırma biçimleri (isteğe bağlı).
+     * @return Sınav kağıdı ve HTTP 200 OK durumu ya da HTTP 304 Not Modified durumu.
+     */
+    @GetMapping("/paper")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER', 'ROLE_STUDENT')")
+    public ResponseEntity<byte[]> getExamPaper(
+            @RequestParam Long examId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExamPaperSnapshot paper = examQuestionService.getExamPaper(examId);
+        if (paper.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(paper.etag()).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(paper.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(paper.gzipJson());
+        }
+        return response.body(paper.json());
+    }
 }
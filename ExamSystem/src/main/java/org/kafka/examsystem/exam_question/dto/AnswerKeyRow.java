@@ -0,0 +1,8 @@
+package org.kafka.examsystem.exam_question.dto;
+
+/**
+ * Cevap anahtarını derlemek için gereken soru alanları.
+ * Soru metni ve şıklar yüklenmeden JPQL constructor projeksiyonu olarak kullanılır.
+ */
+public record AnswerKeyRow(Long id, String correctAnswer, int score) {
+}
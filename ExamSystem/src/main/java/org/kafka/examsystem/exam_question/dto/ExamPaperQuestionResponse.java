@@ -0,0 +1,18 @@
+package org.kafka.examsystem.exam_question.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import java.util.List;
+
+/**
+ * Sınav kağıdında öğrenciye gösterilen soru. Doğru cevap bilgisi içermez.
+ */
+@Getter
+@Setter
+public class ExamPaperQuestionResponse {
+    private Long id;
+    private String questionText;
+    private List<String> options;
+    private int score;
+    private String topicName;
+}
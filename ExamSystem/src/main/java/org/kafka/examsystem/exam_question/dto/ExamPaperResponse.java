@@ -0,0 +1,9 @@
+package org.kafka.examsystem.exam_question.dto;
+
+import java.util.List;
+
+/**
+ * Bir sınavın öğrenciye gösterilen kağıdı: sınavın tüm soruları, ID sırasıyla ve cevap anahtarı olmadan.
+ */
+public record ExamPaperResponse(Long examId, List<ExamPaperQuestionResponse> questions) {
+}
@@ -0,0 +1,9 @@
+package org.kafka.examsystem.exam_question.dto;
+
+/**
+ * Soru listeleme uç noktası için JPQL constructor projeksiyonu.
+ * Şıklar veritabanındaki JSON metni olarak taşınır; listeye çevrilmesi mapper'da yapılır.
+ */
+public record ExamQuestionListView(Long id, String questionText, String options, String correctAnswer, int score,
+                                   Long examId, String topicName) {
+}
@@ -0,0 +1,10 @@
+package org.kafka.examsystem.exam_question.event;
+
+/**
+ * Bir sınavın soruları eklendiğinde, güncellendiğinde veya silindiğinde yayınlanan olay.
+ * Sınavın derlenmiş cevap anahtarının geçersiz kılınması için kullanılır.
+ *
+ * @param examId Soruları değişen sınavın ID'si.
+ */
+public record ExamQuestionsChangedEvent(Long examId) {
+}
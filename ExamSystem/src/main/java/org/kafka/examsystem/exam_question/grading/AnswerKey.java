@@ -0,0 +1,94 @@
+package org.kafka.examsystem.exam_question.grading;
+
+import org.kafka.examsystem.exam_question.dto.AnswerKeyRow;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bir sınavın derlenmiş, değiştirilemez cevap anahtarı.
+ * Soru ID'leri sıralı bir dizide, doğru cevapların normalleştirilmiş özetleri ve soru puanları aynı sırayla
+ * paralel dizilerde tutulur. Bir cevabı puanlamak ikili arama ve tek bir özet karşılaştırmasından ibarettir;
+ * soru entity'si yüklenmez ve bellek ayrılmaz.
+ *
+ * Özetler 64 bit olduğundan yanlış bir cevabın doğru cevapla çakışma olasılığı ihmal edilebilir düzeydedir.
+ */
+public final class AnswerKey {
+
+    private final Long examId;
+    private final long[] questionIds;
+    private final long[] answerHashes;
+    private final int[] scores;
+    private final AnswerNormalizer normalizer;
+
+    private AnswerKey(Long examId, long[] questionIds, long[] answerHashes, int[] scores, AnswerNormalizer normalizer) {
+        this.examId = examId;
+        this.questionIds = questionIds;
+        this.answerHashes = answerHashes;
+        this.scores = scores;
+        this.normalizer = normalizer;
+    }
+
+    /**
+     * Sınavın sorularından cevap anahtarını derler.
+     *
+     * @param examId     Sınav ID'si.
+     * @param rows       Sınavın soruları (ID, doğru cevap, puan).
+     * @param normalizer Cevaplara uygulanacak normalleştirme kuralları.
+     * @return Derlenmiş cevap anahtarı.
+     */
+    public static AnswerKey compile(Long examId, List<AnswerKeyRow> rows, AnswerNormalizer normalizer) {
+        AnswerKeyRow[] sorted = rows.toArray(new AnswerKeyRow[0]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.id(), b.id()));
+
+        long[] questionIds = new long[sorted.length];
+        long[] answerHashes = new long[sorted.length];
+        int[] scores = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            questionIds[i] = sorted[i].id();
+            answerHashes[i] = normalizer.hash(sorted[i].correctAnswer());
+            scores[i] = sorted[i].score();
+        }
+        return new AnswerKey(examId, questionIds, answerHashes, scores, normalizer);
+    }
+
+    /**
+     * Sorunun anahtardaki konumunu döndürür.
+     *
+     * @param questionId Soru ID'si.
+     * @return Sorunun konumu; soru bu sınava ait değilse -1.
+     */
+    public int indexOf(long questionId) {
+        int index = Arrays.binarySearch(questionIds, questionId);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Verilen cevabın, belirtilen konumdaki sorunun doğru cevabıyla eşleşip eşleşmediğini kontrol eder.
+     */
+    public boolean isCorrect(int index, CharSequence givenAnswer) {
+        return answerHashes[index] == normalizer.hash(givenAnswer);
+    }
+
+    /**
+     * Belirtilen konumdaki sorunun puanını döndürür.
+     */
+    public int scoreAt(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Cevabı puanlar: doğruysa sorunun puanı, değilse 0.
+     */
+    public int grade(int index, CharSequence givenAnswer) {
+        return isCorrect(index, givenAnswer) ? scores[index] : 0;
+    }
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+}
@@ -0,0 +1,94 @@
+package org.kafka.examsystem.exam_question.grading;
+
+import org.kafka.examsystem.exam_question.event.ExamQuestionsChangedEvent;
+import org.kafka.examsystem.exam_question.repository.ExamQuestionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sınav başına derlenmiş cevap anahtarlarını bellekte tutan kayıt.
+ * Anahtar, sınavın soruları için ilk puanlama isteğinde tek bir projeksiyon sorgusuyla derlenir
+ * ve soru eklendiğinde, güncellendiğinde veya silindiğinde transaction commit edildikten sonra geçersiz kılınır.
+ *
+ * Her geçersiz kılmada artan bir sayaç tutulur; anahtar derlenirken sayaç değiştiyse sonuç kayda yazılmaz,
+ * böylece commit ile eşzamanlı derlenen eski bir anahtar bellekte kalamaz.
+ */
+@Component
+public class AnswerKeyRegistry {
+
+    private final ExamQuestionRepository examQuestionRepository;
+    private final AnswerNormalizer normalizer;
+    private final int maxSize;
+
+    private final Map<Long, AnswerKey> keys = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public AnswerKeyRegistry(
+            ExamQuestionRepository examQuestionRepository,
+            @Value("${application.grading.ignore-case:false}") boolean ignoreCase,
+            @Value("${application.grading.normalize-whitespace:true}") boolean normalizeWhitespace,
+            @Value("${application.grading.answer-key-cache.max-size:1000}") int maxSize
+    ) {
+        this.examQuestionRepository = examQuestionRepository;
+        this.normalizer = new AnswerNormalizer(ignoreCase, normalizeWhitespace);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Sınavın cevap anahtarını döndürür; bellekte yoksa veritabanından derler.
+     *
+     * @param examId Sınav ID'si.
+     * @return Sınavın derlenmiş cevap anahtarı.
+     */
+    public AnswerKey getAnswerKey(Long examId) {
+        AnswerKey cached = keys.get(examId);
+        if (cached != null) {
+            return cached;
+        }
+        long epoch = invalidations.get();
+        AnswerKey compiled = AnswerKey.compile(examId, examQuestionRepository.findAnswerKeyRowsByExamId(examId), normalizer);
+        if (maxSize > 0 && invalidations.get() == epoch) {
+            evictIfFull();
+            keys.put(examId, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Sınavın cevap anahtarını geçersiz kılar; bir sonraki puanlamada yeniden derlenir.
+     */
+    public void invalidate(Long examId) {
+        invalidations.incrementAndGet();
+        keys.remove(examId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExamQuestionsChanged(ExamQuestionsChangedEvent event) {
+        invalidate(event.examId());
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Kayıt doluysa yer açmak için rastgele anahtarları çıkarır.
+     */
+    private void evictIfFull() {
+        if (keys.size() < maxSize) {
+            return;
+        }
+        Iterator<Long> iterator = keys.keySet().iterator();
+        while (keys.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
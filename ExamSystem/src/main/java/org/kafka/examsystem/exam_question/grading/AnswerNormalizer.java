@@ -0,0 +1,64 @@
+package org.kafka.examsystem.exam_question.grading;
+
+/**
+ * Cevapları karşılaştırmadan önce uygulanan normalleştirme kuralları ve 64 bitlik özet (FNV-1a) hesabı.
+ * Normalleştirme, ara String üretmeden karakter karakter özet hesaplanırken uygulanır; bu sayede
+ * bir cevabı doğru cevapla karşılaştırmak bellek ayırmaz.
+ *
+ * Kurallar:
+ * - {@code normalizeWhitespace}: baştaki ve sondaki boşluklar atılır, ardışık boşluklar tek boşluğa indirgenir.
+ * - {@code ignoreCase}: harfler büyük/küçük harf duyarsız karşılaştırılır. Türkçe I/ı/İ/i harflerinin hepsi
+ *   aynı kabul edilir (önce büyük, sonra küçük harfe çevrilerek katlanır).
+ */
+public final class AnswerNormalizer {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final boolean ignoreCase;
+    private final boolean normalizeWhitespace;
+
+    public AnswerNormalizer(boolean ignoreCase, boolean normalizeWhitespace) {
+        this.ignoreCase = ignoreCase;
+        this.normalizeWhitespace = normalizeWhitespace;
+    }
+
+    /**
+     * Cevabın normalleştirilmiş halinin özetini hesaplar.
+     *
+     * @param answer Cevap metni.
+     * @return Normalleştirilmiş cevabın 64 bitlik özeti.
+     */
+    public long hash(CharSequence answer) {
+        long hash = FNV_OFFSET_BASIS;
+        boolean pendingSpace = false;
+        boolean started = false;
+        for (int i = 0, length = answer.length(); i < length; i++) {
+            char c = answer.charAt(i);
+            if (normalizeWhitespace && Character.isWhitespace(c)) {
+                pendingSpace = started; // Baştaki boşluklar yok sayılır, sondakiler hiç yazılmaz
+                continue;
+            }
+            if (pendingSpace) {
+                hash = mix(hash, ' ');
+                pendingSpace = false;
+            }
+            hash = mix(hash, ignoreCase ? Character.toLowerCase(Character.toUpperCase(c)) : c);
+            started = true;
+        }
+        return hash;
+    }
+
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    public boolean isNormalizeWhitespace() {
+        return normalizeWhitespace;
+    }
+
+    private static long mix(long hash, char c) {
+        hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+        return (hash ^ (c >>> 8)) * FNV_PRIME;
+    }
+}
@@ -3,7 +3,9 @@ package org.kafka.examsystem.exam_question.mapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.kafka.examsystem.exam_question.dto.ExamPaperQuestionResponse;
 import org.kafka.examsystem.exam_question.dto.ExamQuestionCreateRequest;
+import org.kafka.examsystem.exam_question.dto.ExamQuestionListView;
 import org.kafka.examsystem.exam_question.dto.ExamQuestionResponse;
 import org.kafka.examsystem.exam_question.dto.ExamQuestionUpdateRequest;
 import org.kafka.examsystem.exam_question.exception.domain.ExamQuestionDomainErrorCode;
@@ -30,7 +32,16 @@ public abstract class ExamQuestionMapper {
     @Mapping(target = "options", source = "options", qualifiedByName = "jsonToList")
     public abstract ExamQuestionResponse toExamQuestionResponse(ExamQuestion examQuestion);
 
-    public abstract List<ExamQuestionResponse> toExamQuestionResponseList(List<ExamQuestion> examQuestions);
+    @Mapping(target = "options", source = "options", qualifiedByName = "jsonToList")
+    public abstract ExamQuestionResponse toExamQuestionResponse(ExamQuestionListView view);
+
+    public abstract List<ExamQuestionResponse> toExamQuestionResponseList(List<ExamQuestionListView> views);
+
+    @Mapping(target = "topicName", source = "topic.name")
+    @Mapping(target = "options", source = "options", qualifiedByName = "jsonToList")
+    public abstract ExamPaperQuestionResponse toExamPaperQuestionResponse(ExamQuestion examQuestion);
+
+    public abstract List<ExamPaperQuestionResponse> toExamPaperQuestionResponseList(List<ExamQuestion> examQuestions);
 
     @Mapping(target = "options", source = "options", qualifiedByName = "listToJson")
     @Mapping(target = "id", ignore = true)
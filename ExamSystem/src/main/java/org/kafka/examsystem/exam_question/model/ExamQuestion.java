@@ -17,7 +17,8 @@ import org.kafka.examsystem.topic.model.Topic;
 public class ExamQuestion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exam_questions_id_seq")
+    @SequenceGenerator(name = "exam_questions_id_seq", sequenceName = "exam_questions_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 1000)
@@ -0,0 +1,14 @@
+package org.kafka.examsystem.exam_question.paper;
+
+/**
+ * Bir sınav kağıdının önceden serileştirilmiş hali.
+ * JSON gövdesi hem düz hem de gzip ile sıkıştırılmış olarak tutulur; istekler bu baytlarla doğrudan yanıtlanır.
+ *
+ * @param examId   Sınav ID'si.
+ * @param courseId Sınavın ait olduğu kursun ID'si (yetkilendirme için).
+ * @param etag     Gövdenin içerik özetinden üretilen ETag değeri.
+ * @param json     JSON gövdesi.
+ * @param gzipJson gzip ile sıkıştırılmış JSON gövdesi.
+ */
+public record ExamPaperSnapshot(Long examId, Long courseId, String etag, byte[] json, byte[] gzipJson) {
+}
@@ -0,0 +1,235 @@
+package org.kafka.examsystem.exam_question.paper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kafka.examsystem.exam.event.ExamDeletedEvent;
+import org.kafka.examsystem.exam.event.ExamsExpiredEvent;
+import org.kafka.examsystem.exam.service.ExamService;
+import org.kafka.examsystem.exam_question.dto.ExamPaperQuestionResponse;
+import org.kafka.examsystem.exam_question.dto.ExamPaperResponse;
+import org.kafka.examsystem.exam_question.event.ExamQuestionsChangedEvent;
+import org.kafka.examsystem.exam_question.exception.domain.ExamQuestionDomainErrorCode;
+import org.kafka.examsystem.exam_question.exception.domain.ExamQuestionDomainException;
+import org.kafka.examsystem.exam_question.mapper.ExamQuestionMapper;
+import org.kafka.examsystem.exam_question.repository.ExamQuestionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sınav kağıtlarını sınav başına bir kez oluşturup serileştirilmiş olarak bellekte tutan sınırlı önbellek.
+ * Sınav başladığında tüm öğrenciler aynı kağıdı ister; kağıt ilk istekte tek seferde yüklenir,
+ * şıkların JSON'u bir kez çözülür ve gövde bayt olarak saklanır. Sonraki istekler veritabanına gitmez.
+ *
+ * Aynı sınav için eşzamanlı istekler tek bir yüklemeyi bekler. Yükleme haritanın kilidi dışında, kaydı ilk ekleyen
+ * iş parçacığında yapılır; böylece veritabanı sorgusu ve serileştirme diğer sınavların kayıtlarını bloklamaz.
+ *
+ * Sınavın soruları değiştiğinde kağıt transaction commit edildikten sonra geçersiz kılınır; sınav silindiğinde veya
+ * süresi dolup pasifize edildiğinde de önbellekten çıkarılır. Geçersiz kılma süren bir yüklemenin kaydını da siler;
+ * yükleme bittiğinde sonucu yalnızca onu bekleyen isteklere döner, önbellekte kalmaz.
+ *
+ * Kayıt sayısı üst sınırla kısıtlıdır; belirli süre istenmeyen kağıtlar periyodik olarak silinir.
+ */
+@Component
+public class ExamPaperSnapshotCache {
+
+    private final ExamQuestionRepository examQuestionRepository;
+    private final ExamQuestionMapper examQuestionMapper;
+    private final ExamService examService;
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+
+    private final Map<Long, Entry> snapshots = new ConcurrentHashMap<>();
+
+    public ExamPaperSnapshotCache(
+            ExamQuestionRepository examQuestionRepository,
+            ExamQuestionMapper examQuestionMapper,
+            ExamService examService,
+            ObjectMapper objectMapper,
+            @Value("${application.exam.paper-cache.max-size:500}") int maxSize,
+            @Value("${application.exam.paper-cache.idle-timeout-ms:3600000}") long idleTimeoutMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.examQuestionRepository = examQuestionRepository;
+        this.examQuestionMapper = examQuestionMapper;
+        this.examService = examService;
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+
+        Gauge.builder("exam.paper.cache.size", snapshots, Map::size)
+                .description("Önbellekteki sınav kağıdı sayısı")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sınavın kağıdını döndürür; önbellekte yoksa oluşturur.
+     * Yetkilendirme bu metottan önce yapılmalıdır; aksi halde herhangi bir kullanıcı rastgele sınavların kağıtlarını
+     * yükletebilir.
+     *
+     * @param examId Sınav ID'si.
+     * @return Sınav kağıdının serileştirilmiş hali.
+     */
+    public ExamPaperSnapshot getSnapshot(Long examId) {
+        long now = System.nanoTime();
+        Entry entry = snapshots.get(examId);
+        if (entry != null && entry.isIdle(now, idleTimeoutNanos)) {
+            snapshots.remove(examId, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            Entry created = new Entry();
+            if (maxSize > 0) {
+                evictIfFull();
+                entry = snapshots.putIfAbsent(examId, created);
+            }
+            if (entry == null) {
+                return load(examId, created);
+            }
+        }
+        entry.lastAccessNanos = now;
+        return entry.await();
+    }
+
+    /**
+     * Sınavın kağıdı önbellekteyse döndürür; yoksa yüklemeden null döner.
+     */
+    public ExamPaperSnapshot getIfPresent(Long examId) {
+        Entry entry = snapshots.get(examId);
+        return entry != null && entry.future.isDone() && !entry.future.isCompletedExceptionally()
+                ? entry.future.join()
+                : null;
+    }
+
+    /**
+     * Sınavın kağıdını geçersiz kılar; bir sonraki istekte yeniden oluşturulur.
+     */
+    public void invalidate(Long examId) {
+        snapshots.remove(examId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExamQuestionsChanged(ExamQuestionsChangedEvent event) {
+        invalidate(event.examId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExamDeleted(ExamDeletedEvent event) {
+        invalidate(event.examId());
+    }
+
+    @EventListener
+    public void onExamsExpired(ExamsExpiredEvent event) {
+        event.examIds().forEach(this::invalidate);
+    }
+
+    /**
+     * Belirli süre istenmeyen kağıtları siler.
+     */
+    @Scheduled(fixedDelayString = "${application.exam.paper-cache.sweep-interval-ms:60000}")
+    public void removeIdleSnapshots() {
+        long now = System.nanoTime();
+        snapshots.values().removeIf(entry -> entry.isIdle(now, idleTimeoutNanos));
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * Kağıdı oluşturur ve kaydı bekleyen isteklere sonucu bildirir. Yükleme hata verirse kayıt silinir;
+     * bir sonraki istek yeniden dener.
+     */
+    private ExamPaperSnapshot load(Long examId, Entry entry) {
+        try {
+            ExamPaperSnapshot snapshot = build(examId);
+            entry.future.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            snapshots.remove(examId, entry);
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private ExamPaperSnapshot build(Long examId) {
+        Long courseId = examService.getExamByIdWithCourse(examId).getCourse().getId();
+        List<ExamPaperQuestionResponse> questions = examQuestionMapper.toExamPaperQuestionResponseList(
+                examQuestionRepository.findByExamIdWithTopicOrderById(examId));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new ExamPaperResponse(examId, questions));
+            String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            return new ExamPaperSnapshot(examId, courseId, etag, json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new ExamQuestionDomainException(ExamQuestionDomainErrorCode.JSON_PROCESSING_ERROR);
+        }
+    }
+
+    /**
+     * Önbellek doluysa önce boşta kalan, sonra rastgele kağıtları çıkarır.
+     */
+    private void evictIfFull() {
+        if (snapshots.size() < maxSize) {
+            return;
+        }
+        removeIdleSnapshots();
+        Iterator<Long> iterator = snapshots.keySet().iterator();
+        while (snapshots.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Bir sınavın kağıdı ya da süren yüklemesi.
+     */
+    private static final class Entry {
+
+        private final CompletableFuture<ExamPaperSnapshot> future = new CompletableFuture<>();
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        ExamPaperSnapshot await() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        boolean isIdle(long now, long idleTimeoutNanos) {
+            return future.isDone() && now - lastAccessNanos > idleTimeoutNanos;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.kafka.examsystem.exam_question.repository;
 
+import org.kafka.examsystem.exam_question.dto.AnswerKeyRow;
+import org.kafka.examsystem.exam_question.dto.ExamQuestionListView;
 import org.kafka.examsystem.exam_question.model.ExamQuestion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -28,14 +31,18 @@ public interface ExamQuestionRepository extends JpaRepository<ExamQuestion, Long
 
     /**
      * Belirli bir sınava ve konuya ait soruları sayfalı olarak getirir.
+     * Entity yerine yalnızca yanıt kolonlarını seçen bir projeksiyon döner; persistence context'e nesne eklenmez.
      *
      * @param examId Sınav ID'si.
      * @param topicId Konu ID'si (null olabilir).
      * @param pageable Sayfalama bilgileri.
      * @return Sınav sorularının sayfalı listesi.
      */
-    @Query("SELECT eq FROM ExamQuestion eq JOIN FETCH eq.topic t WHERE eq.exam.id = :examId AND (:topicId IS NULL OR eq.topic.id = :topicId)")
-    Page<ExamQuestion> findByExamIdAndTopicId(@Param("examId") Long examId, @Param("topicId") Long topicId, Pageable pageable);
+    @Query(value = "SELECT new org.kafka.examsystem.exam_question.dto.ExamQuestionListView(" +
+            "eq.id, eq.questionText, eq.options, eq.correctAnswer, eq.score, eq.exam.id, t.name) " +
+            "FROM ExamQuestion eq JOIN eq.topic t WHERE eq.exam.id = :examId AND (:topicId IS NULL OR t.id = :topicId)",
+            countQuery = "SELECT COUNT(eq) FROM ExamQuestion eq WHERE eq.exam.id = :examId AND (:topicId IS NULL OR eq.topic.id = :topicId)")
+    Page<ExamQuestionListView> findViewsByExamIdAndTopicId(@Param("examId") Long examId, @Param("topicId") Long topicId, Pageable pageable);
 
     /**
      * Belirli bir ID'ye sahip sınav sorusunu, ilgili sınav ve konu bilgileriyle birlikte getirir.
@@ -48,4 +55,23 @@ public interface ExamQuestionRepository extends JpaRepository<ExamQuestion, Long
             "JOIN FETCH eq.topic t " +
             "WHERE eq.id = :id")
     Optional<ExamQuestion> findByIdAndFetchExamAndTopic(@Param("id") Long id);
+
+    /**
+     * Belirli bir sınavın cevap anahtarını derlemek için soruların ID, doğru cevap ve puan alanlarını getirir.
+     * Soru metni ve şıklar yüklenmez.
+     * @param examId Sınav ID'si.
+     * @return Sınavın sorularına ait cevap anahtarı satırları.
+     */
+    @Query("SELECT new org.kafka.examsystem.exam_question.dto.AnswerKeyRow(eq.id, eq.correctAnswer, eq.score) " +
+            "FROM ExamQuestion eq WHERE eq.exam.id = :examId")
+    List<AnswerKeyRow> findAnswerKeyRowsByExamId(@Param("examId") Long examId);
+
+    /**
+     * Belirli bir sınavın tüm sorularını konu bilgileriyle birlikte, ID sırasıyla getirir.
+     * Sınav kağıdının oluşturulması için kullanılır.
+     * @param examId Sınav ID'si.
+     * @return Sınavın soruları.
+     */
+    @Query("SELECT eq FROM ExamQuestion eq JOIN FETCH eq.topic t WHERE eq.exam.id = :examId ORDER BY eq.id")
+    List<ExamQuestion> findByExamIdWithTopicOrderById(@Param("examId") Long examId);
 }
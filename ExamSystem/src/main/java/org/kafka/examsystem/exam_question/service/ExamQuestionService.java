@@ -1,26 +1,31 @@
 package org.kafka.examsystem.exam_question.service;
 
 import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.common.authorization.AccessContext;
 import org.kafka.examsystem.common.authorization.CourseAuthorizationService;
 import org.kafka.examsystem.common.dto.PageResponse;
 import org.kafka.examsystem.common.util.AuthUtil;
 import org.kafka.examsystem.exam.model.Exam;
 import org.kafka.examsystem.exam.service.ExamService;
 import org.kafka.examsystem.exam_question.dto.ExamQuestionCreateRequest;
+import org.kafka.examsystem.exam_question.dto.ExamQuestionListView;
 import org.kafka.examsystem.exam_question.dto.ExamQuestionResponse;
 import org.kafka.examsystem.exam_question.dto.ExamQuestionUpdateRequest;
+import org.kafka.examsystem.exam_question.event.ExamQuestionsChangedEvent;
 import org.kafka.examsystem.exam_question.exception.domain.ExamQuestionDomainErrorCode;
 import org.kafka.examsystem.exam_question.exception.domain.ExamQuestionDomainException;
 import org.kafka.examsystem.exam_question.mapper.ExamQuestionMapper;
 import org.kafka.examsystem.exam_question.model.ExamQuestion;
+import org.kafka.examsystem.exam_question.paper.ExamPaperSnapshot;
+import org.kafka.examsystem.exam_question.paper.ExamPaperSnapshotCache;
 import org.kafka.examsystem.exam_question.repository.ExamQuestionRepository;
 import org.kafka.examsystem.topic.model.Topic;
 import org.kafka.examsystem.topic.service.TopicService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.List;
 
 /**
  * Sınav sorularıyla ilgili iş mantığını yöneten servis sınıfı.
@@ -35,6 +40,9 @@ public class ExamQuestionService {
     private final ExamService examService;
     private final TopicService topicService;
     private final CourseAuthorizationService courseAuthorizationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExamPaperSnapshotCache examPaperSnapshotCache;
+    private final AccessContext accessContext;
 
     /**
      * Yeni bir sınav sorusu oluşturur. Sadece **kursun öğretmeni** veya **ADMIN** yetkisine sahip kullanıcılar
@@ -61,6 +69,7 @@ public class ExamQuestionService {
         examQuestion.setTopic(topic);
 
         ExamQuestion savedQuestion = examQuestionRepository.save(examQuestion);
+        eventPublisher.publishEvent(new ExamQuestionsChangedEvent(exam.getId()));
         return examQuestionMapper.toExamQuestionResponse(savedQuestion);
     }
 
@@ -90,6 +99,7 @@ public class ExamQuestionService {
         examQuestionMapper.updateExamQuestionFromDto(request, examQuestion);
 
         ExamQuestion updatedQuestion = examQuestionRepository.save(examQuestion);
+        eventPublisher.publishEvent(new ExamQuestionsChangedEvent(examQuestion.getExam().getId()));
         return examQuestionMapper.toExamQuestionResponse(updatedQuestion);
     }
 
@@ -109,10 +119,12 @@ public class ExamQuestionService {
             throw new ExamQuestionDomainException(ExamQuestionDomainErrorCode.UNAUTHORIZED_QUESTION_ACCESS);
         }
         examQuestionRepository.delete(examQuestion);
+        eventPublisher.publishEvent(new ExamQuestionsChangedEvent(examQuestion.getExam().getId()));
     }
 
     /**
-     * Belirli bir ID'ye sahip sınav sorusunu getirir. Bu metoda sadece **ADMIN**, **ilgili kursun öğretmeni** veya **kursa kayıtlı öğrenci** erişebilir.
+     * Belirli bir ID'ye sahip sınav sorusunu doğru cevabıyla birlikte getirir. Bu metoda sadece **ADMIN** veya
+     * **ilgili kursun öğretmeni** erişebilir; öğrenciler soruları cevap anahtarı olmayan sınav kağıdından görür.
      *
      * @param questionId Sınav sorusu ID'si.
      * @return Soru yanıt DTO'su.
@@ -122,8 +134,8 @@ public class ExamQuestionService {
         ExamQuestion examQuestion = examQuestionRepository.findByIdWithExamCourseAndTopic(questionId)
                 .orElseThrow(() -> new ExamQuestionDomainException(ExamQuestionDomainErrorCode.QUESTION_NOT_FOUND));
 
-        // Yetkilendirme kontrolü.
-        if (!courseAuthorizationService.canViewCourseContent(examQuestion.getExam().getCourse(), AuthUtil.getCurrentUserId())) {
+        // Yetkilendirme kontrolü: yanıt doğru cevabı içerdiğinden kursun öğretmeni veya ADMIN olmalı.
+        if (!courseAuthorizationService.canModifyCourse(examQuestion.getExam().getCourse(), AuthUtil.getCurrentUserId())) {
             throw new ExamQuestionDomainException(ExamQuestionDomainErrorCode.UNAUTHORIZED_QUESTION_ACCESS);
         }
 
@@ -131,7 +143,8 @@ public class ExamQuestionService {
     }
 
     /**
-     * Belirli bir sınava ve isteğe bağlı olarak konuya göre sınav sorularını listeler. Bu metot, sadece **ADMIN**, **ilgili kursun öğretmeni** veya **kursa kayıtlı öğrenci** tarafından kullanılabilir.
+     * Belirli bir sınava ve isteğe bağlı olarak konuya göre sınav sorularını doğru cevaplarıyla birlikte listeler.
+     * Bu metot, sadece **ADMIN** veya **ilgili kursun öğretmeni** tarafından kullanılabilir.
      *
      * @param examId Sınav ID'si.
      * @param topicId Konu ID'si (null olabilir).
@@ -143,14 +156,40 @@ public class ExamQuestionService {
         // İlk olarak sınavı ve bağlı olduğu dersi getiriyoruz, yetkilendirme için.
         Exam exam = examService.getExamByIdWithCourse(examId);
 
-        // Yetkilendirme kontrolü.
-        if (!courseAuthorizationService.canViewCourseContent(exam.getCourse(), AuthUtil.getCurrentUserId())) {
+        // Yetkilendirme kontrolü: liste doğru cevapları içerdiğinden kursun öğretmeni veya ADMIN olmalı.
+        if (!courseAuthorizationService.canModifyCourse(exam.getCourse(), AuthUtil.getCurrentUserId())) {
             throw new ExamQuestionDomainException(ExamQuestionDomainErrorCode.UNAUTHORIZED_QUESTION_ACCESS);
         }
 
-        Page<ExamQuestion> questionsPage = examQuestionRepository.findByExamIdAndTopicId(examId, topicId, pageable);
-        List<ExamQuestionResponse> responses = questionsPage.map(examQuestionMapper::toExamQuestionResponse).getContent();
-        return PageResponse.fromPage(questionsPage, responses);
+        Page<ExamQuestionListView> questionsPage = examQuestionRepository.findViewsByExamIdAndTopicId(examId, topicId, pageable);
+        return PageResponse.fromPage(questionsPage, examQuestionMapper.toExamQuestionResponseList(questionsPage.getContent()));
+    }
+
+    /**
+     * Sınavın öğrenciye gösterilen kağıdını (cevap anahtarı olmadan) önceden serileştirilmiş olarak getirir.
+     * Bu metoda sadece **ADMIN**, **ilgili kursun öğretmeni** veya **kursa kayıtlı öğrenci** erişebilir.
+     * Yetkilendirme kağıda dokunmadan önce yapılır. Öğrenci için ders ID'si önbellekteki kağıttan (yoksa tek bir
+     * projeksiyon sorgusuyla) alınır ve kayıt kararı önbellekten okunur; sıcak yolda veritabanına gidilmez.
+     *
+     * @param examId Sınav ID'si.
+     * @return Sınav kağıdının serileştirilmiş hali.
+     */
+    public ExamPaperSnapshot getExamPaper(Long examId) {
+        Long currentUserId = AuthUtil.getCurrentUserId();
+
+        // Yetkilendirme kontrolü: öğrenci kayıt kararı önbellekten, diğer roller kurs üzerinden kontrol edilir.
+        boolean authorized;
+        if (accessContext.isStudent()) {
+            ExamPaperSnapshot cached = examPaperSnapshotCache.getIfPresent(examId);
+            Long courseId = cached != null ? cached.courseId() : examService.getCourseIdByExamId(examId);
+            authorized = courseAuthorizationService.isStudentEnrolled(courseId, currentUserId);
+        } else {
+            authorized = courseAuthorizationService.canViewCourseContent(examService.getExamByIdWithCourse(examId).getCourse(), currentUserId);
+        }
+        if (!authorized) {
+            throw new ExamQuestionDomainException(ExamQuestionDomainErrorCode.UNAUTHORIZED_QUESTION_ACCESS);
+        }
+        return examPaperSnapshotCache.getSnapshot(examId);
     }
 
     /**
@@ -164,4 +203,14 @@ public class ExamQuestionService {
         return examQuestionRepository.findByIdAndFetchExamAndTopic(questionId)
                 .orElseThrow(() -> new ExamQuestionDomainException(ExamQuestionDomainErrorCode.QUESTION_NOT_FOUND));
     }
+
+    /**
+     * Sınav sorusuna, veritabanından yüklemeden bir referans döndürür.
+     * Soru ID'si cevap anahtarı üzerinden doğrulanmış ilişkileri kurmak için kullanılır.
+     * @param questionId Sınav sorusu ID'si.
+     * @return Sınav sorusu referansı.
+     */
+    public ExamQuestion getExamQuestionReference(Long questionId) {
+        return examQuestionRepository.getReferenceById(questionId);
+    }
 }
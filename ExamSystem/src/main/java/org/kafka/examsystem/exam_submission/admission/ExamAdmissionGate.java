@@ -0,0 +1,151 @@
+package org.kafka.examsystem.exam_submission.admission;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kafka.examsystem.common.ratelimit.TokenBucket;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamAdmissionQueuedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sınav başlangıcındaki giriş yığılmasını veritabanının kaldırabileceği hıza indiren kabul kapısı.
+ * Sınav başladığında öğrencilerin tamamı aynı saniyelerde giriş oluşturur; istekler Tomcat ve bağlantı havuzunda
+ * sırasız bekleyip zaman aşımına uğrayacağına, kapıdan saniyede belirli sayıda geçer. Sırası gelmeyen öğrenciye
+ * beklemeden sıradaki yeri ve ne zaman tekrar deneyeceği döner.
+ *
+ * Her sınavın kendi sırası vardır: öğrenci ilk denemesinde bir numara alır ve tekrar denemelerinde aynı numarayı
+ * korur. Kapı numaraları sırayla açar, bu nedenle aynı sınavda önce gelen önce girer. İzinler tüm sınavlar için
+ * ortak bir jeton kovasından verilir; sırası gelip tekrar denemeyen öğrencinin izni boşa gider.
+ *
+ * Sıralar bellekte, uygulama örneği başına tutulur; belirli süre kullanılmayan sıralar silinir.
+ */
+@Component
+public class ExamAdmissionGate {
+
+    private final boolean enabled;
+    private final double permitsPerSecond;
+    private final long maxRetryAfterSeconds;
+    private final long idleTimeoutNanos;
+    private final TokenBucket bucket;
+
+    private final Map<Long, ExamQueue> queues = new ConcurrentHashMap<>(); // Sınav ID'si -> giriş sırası
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+
+    public ExamAdmissionGate(
+            @Value("${application.exam.admission.enabled:true}") boolean enabled,
+            @Value("${application.exam.admission.permits-per-second:50}") double permitsPerSecond,
+            @Value("${application.exam.admission.burst:100}") int burst,
+            @Value("${application.exam.admission.max-retry-after-seconds:10}") long maxRetryAfterSeconds,
+            @Value("${application.exam.admission.idle-timeout-ms:600000}") long idleTimeoutMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.permitsPerSecond = permitsPerSecond;
+        this.maxRetryAfterSeconds = maxRetryAfterSeconds;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.bucket = new TokenBucket(permitsPerSecond, burst);
+
+        Gauge.builder("exam.admission.queue.depth", this, ExamAdmissionGate::waiting)
+                .description("Sınava giriş sırasında bekleyen öğrenci sayısı")
+                .register(meterRegistry);
+        FunctionCounter.builder("exam.admission.requests", admitted, LongAdder::sum)
+                .tag("result", "admitted")
+                .description("Kabul kapısından geçen sınava giriş istekleri")
+                .register(meterRegistry);
+        FunctionCounter.builder("exam.admission.requests", queued, LongAdder::sum)
+                .tag("result", "queued")
+                .description("Sıraya alınıp tekrar denemesi istenen sınava giriş istekleri")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Öğrenciyi sınavın giriş sırasından geçirir. Sırası geldiyse hemen döner.
+     *
+     * @param examId Sınav ID'si.
+     * @param userId Öğrencinin kullanıcı ID'si.
+     * @throws ExamAdmissionQueuedException Öğrencinin sırası henüz gelmediyse.
+     */
+    public void admit(Long examId, Long userId) {
+        if (!enabled || examId == null || userId == null) {
+            return; // Geçersiz istekler servisteki kontrollere bırakılır
+        }
+        ExamQueue queue = queues.computeIfAbsent(examId, id -> new ExamQueue());
+        long position = queue.tryAdmit(userId, bucket);
+        if (position == 0) {
+            admitted.increment();
+            return;
+        }
+        queued.increment();
+        throw new ExamAdmissionQueuedException(position, retryAfterSeconds(position));
+    }
+
+    /**
+     * Belirli süre kimsenin giriş denemediği sıraları siler (süresi dolan sınavlar, terk edilen sıralar).
+     */
+    @Scheduled(fixedDelayString = "${application.exam.admission.sweep-interval-ms:60000}")
+    public void removeIdleQueues() {
+        long now = System.nanoTime();
+        queues.values().removeIf(queue -> now - queue.lastActivityNanos() > idleTimeoutNanos);
+    }
+
+    /**
+     * Tüm sınavların sıralarında bekleyen öğrenci sayısı.
+     */
+    public long waiting() {
+        return queues.values().stream().mapToLong(ExamQueue::waiting).sum();
+    }
+
+    /**
+     * Sıradaki yere göre tekrar deneme süresi: önündeki öğrencilerin kapıdan geçmesi için gereken süre.
+     * Sıradaki yer güncel görünsün diye üst sınırla kısıtlanır.
+     */
+    private long retryAfterSeconds(long position) {
+        long seconds = (long) Math.ceil(position / permitsPerSecond);
+        return Math.max(1, Math.min(maxRetryAfterSeconds, seconds));
+    }
+
+    /**
+     * Bir sınavın giriş sırası. Numaralar veriliş sırasıyla açılır; açılan numarayı alan öğrenci sırası geldiğinde
+     * (daha sonraki bir denemede bile) doğrudan geçer.
+     */
+    private static final class ExamQueue {
+
+        private final Map<Long, Long> tickets = new HashMap<>(); // Kullanıcı ID'si -> sıra numarası
+        private long issued;
+        private long opened;
+        private volatile long lastActivityNanos = System.nanoTime();
+
+        /**
+         * @return Öğrenci geçtiyse 0, aksi halde sıradaki yeri.
+         */
+        synchronized long tryAdmit(Long userId, TokenBucket bucket) {
+            lastActivityNanos = System.nanoTime();
+            long ticket = tickets.computeIfAbsent(userId, id -> ++issued);
+            while (opened < ticket && bucket.tryAcquire()) {
+                opened++;
+            }
+            if (ticket <= opened) {
+                tickets.remove(userId);
+                return 0;
+            }
+            return ticket - opened;
+        }
+
+        synchronized long waiting() {
+            return issued - opened;
+        }
+
+        long lastActivityNanos() {
+            return lastActivityNanos;
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package org.kafka.examsystem.exam_submission.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.common.dto.CursorResponse;
 import org.kafka.examsystem.common.dto.PageResponse;
+import org.kafka.examsystem.common.util.AuthUtil;
+import org.kafka.examsystem.exam_submission.admission.ExamAdmissionGate;
 import org.kafka.examsystem.exam_submission.dto.ExamSubmissionCreateRequest;
 import org.kafka.examsystem.exam_submission.dto.ExamSubmissionResponse;
 import org.kafka.examsystem.exam_submission.service.ExamSubmissionService;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -22,15 +27,19 @@ import java.net.URI;
 public class ExamSubmissionController {
 
     private final ExamSubmissionService examSubmissionService;
+    private final ExamAdmissionGate examAdmissionGate;
 
     /**
      * Öğrencinin yeni bir sınava giriş yapmasını sağlar.
+     * İstek önce kabul kapısından geçer; sırası gelmeyen öğrenciye veritabanına gidilmeden 429, sıradaki yeri ve
+     * Retry-After başlığı döner.
      * @param request Sınav girişi oluşturma isteği DTO'su.
      * @return Oluşturulan sınav girişinin yanıtı ve HTTP 201 Created durumu.
      */
     @PostMapping
     @PreAuthorize("hasRole('ROLE_STUDENT')")
     public ResponseEntity<ExamSubmissionResponse> createSubmission(@RequestBody ExamSubmissionCreateRequest request) {
+        examAdmissionGate.admit(request.getExamId(), AuthUtil.getCurrentUserId()); // Transaction açılmadan önce
         ExamSubmissionResponse createdSubmission = examSubmissionService.createSubmission(request);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
@@ -73,6 +82,43 @@ public class ExamSubmissionController {
         return ResponseEntity.ok(submissions);
     }
 
+    /**
+     * Sınav girişlerini imleç (keyset) tabanlı olarak listeler. Toplam sayım yapılmaz; en yeni girişler önce gelir.
+     * Yetkilendirme, servis katmanında rol bazlı olarak uygulanır.
+     *
+     * @param examId Filtrelemek için sınav ID'si (isteğe bağlı).
+     * @param courseId Filtrelemek için ders ID'si (isteğe bağlı).
+     * @param studentId Filtrelemek için öğrenci ID'si (isteğe bağlı).
+     * @param cursor Önceki yanıttaki nextCursor değeri (ilk sayfa için gönderilmez).
+     * @param size Sayfa boyutu.
+     * @return Sınav girişlerinin imleçli listesi.
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER', 'ROLE_STUDENT', 'ROLE_PARENT')")
+    public ResponseEntity<CursorResponse<ExamSubmissionResponse>> searchSubmissionsByCursor(
+            @RequestParam(required = false) Long examId,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorResponse<ExamSubmissionResponse> submissions = examSubmissionService.searchSubmissionsByCursor(examId, courseId, studentId, cursor, size);
+        return ResponseEntity.ok(submissions);
+    }
+
+    /**
+     * Bir sınavın canlı durumunu Server-Sent Events olarak akıtır. Sayfayı yenilemek yerine bağlantı açık tutulur;
+     * durum değiştikçe "progress" olayları, değişiklik yoksa belirli aralıklarla kalp atışı gönderilir.
+     * Sadece dersin öğretmeni ve ADMIN erişebilir.
+     *
+     * @param examId Sınav ID'si.
+     * @return SSE bağlantısı.
+     */
+    @GetMapping(value = "/progress/{examId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER')")
+    public SseEmitter streamExamProgress(@PathVariable Long examId) {
+        return examSubmissionService.subscribeToExamProgress(examId);
+    }
+
     /**
      * Öğrencinin sınavını tamamlamasını sağlar.
      * Sadece ROLE_STUDENT yetkisine sahip kullanıcılar erişebilir.
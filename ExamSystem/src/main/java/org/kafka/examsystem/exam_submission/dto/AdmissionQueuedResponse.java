@@ -0,0 +1,12 @@
+package org.kafka.examsystem.exam_submission.dto;
+
+/**
+ * Sıraya alınan sınava giriş isteğinin yanıtı. Hata yanıtının alanlarına ek olarak sıradaki yeri taşır.
+ *
+ * @param code Hata kodu.
+ * @param message Kullanıcıya gösterilecek mesaj.
+ * @param position Öğrencinin sınavın giriş sırasındaki yeri (1 sıradaki ilk kişidir).
+ * @param retryAfterSeconds Tekrar denemeden önce beklenmesi gereken süre (saniye).
+ */
+public record AdmissionQueuedResponse(String code, String message, long position, long retryAfterSeconds) {
+}
@@ -0,0 +1,15 @@
+package org.kafka.examsystem.exam_submission.dto;
+
+/**
+ * Dışa aktarımda bir öğrencinin bir kurstaki toplu sonucunu temsil eden satır.
+ * Tamamlanmış sınav girişleri üzerinden veritabanında gruplanarak hesaplanır.
+ */
+public record CourseResultExportRow(
+        Long studentId,
+        String studentFirstName,
+        String studentLastName,
+        Long completedExamCount,
+        Long totalScore,
+        Double averageScore
+) {
+}
@@ -0,0 +1,42 @@
+package org.kafka.examsystem.exam_submission.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Canlı sınav takibinde öğretmene gönderilen, sınavın o anki durumunu özetleyen çerçeve.
+ * Her çerçeve tam durumu taşır; istemci kaçırdığı çerçeveleri beklemeden son çerçeveyle güncellenir.
+ *
+ * @param examId Sınav ID'si.
+ * @param started Başlatılan sınav girişi sayısı.
+ * @param answeredQuestions Girişlerde cevaplanmış soru sayılarının toplamı; aynı soruya verilen tekrar cevaplar bir kez sayılır.
+ * @param submitted Gönderilmiş sınav girişi sayısı.
+ * @param online Son etkinliği çevrim içi kabul süresi içinde olan öğrenci sayısı.
+ * @param students Öğrenci bazında durum.
+ * @param generatedAt Çerçevenin oluşturulma zamanı.
+ */
+public record ExamProgressFrame(
+        Long examId,
+        int started,
+        int answeredQuestions,
+        int submitted,
+        int online,
+        List<StudentProgressView> students,
+        LocalDateTime generatedAt
+) {
+
+    /**
+     * Bir öğrencinin sınavdaki durumu.
+     *
+     * @param lastSeenAt Bu uygulama örneğinin gördüğü son etkinlik zamanı; görülmediyse null.
+     */
+    public record StudentProgressView(
+            Long submissionId,
+            Long studentId,
+            int answeredQuestions,
+            boolean submitted,
+            boolean online,
+            LocalDateTime lastSeenAt
+    ) {
+    }
+}
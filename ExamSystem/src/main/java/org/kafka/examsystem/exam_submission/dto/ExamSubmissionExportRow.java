@@ -0,0 +1,19 @@
+package org.kafka.examsystem.exam_submission.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dışa aktarımda bir sınav girişini ve sonucunu temsil eden satır.
+ * Entity grafiği yüklenmeden JPQL constructor projeksiyonu olarak akış halinde okunur.
+ */
+public record ExamSubmissionExportRow(
+        Long submissionId,
+        Long examId,
+        String examName,
+        Long studentId,
+        String studentFirstName,
+        String studentLastName,
+        LocalDateTime submittedAt,
+        Integer totalScore
+) {
+}
@@ -22,4 +22,5 @@ public class ExamSubmissionResponse {
     private String studentName;
     private LocalDateTime submittedAt;
     private Double totalScore;
+    private LocalDateTime gradedAt; // null ise toplam puan henüz kesinleşmemiştir
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package org.kafka.examsystem.exam_submission.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Canlı sınav takibinde bir sınav girişinin durumunu yüklemek için gereken alanlar.
+ * Entity yüklemeden JPQL constructor projeksiyonu olarak okunur.
+ */
+public record SubmissionProgressRow(Long submissionId, Long studentId, LocalDateTime submittedAt) {
+}
@@ -0,0 +1,13 @@
+package org.kafka.examsystem.exam_submission.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bir grup sınav girişinin puanı kesinleştirildiğinde, sonuç commit edildikten sonra yayınlanan olay.
+ *
+ * @param submissionIds Puanlanan sınav girişlerinin ID'leri.
+ * @param gradedAt      Puanların kesinleştirildiği zaman.
+ */
+public record ExamSubmissionsGradedEvent(List<Long> submissionIds, LocalDateTime gradedAt) {
+}
@@ -0,0 +1,10 @@
+package org.kafka.examsystem.exam_submission.event;
+
+/**
+ * Öğrenci sınavı gönderdiğinde yayınlanan olay.
+ * Transaction commit edildikten sonra sınav girişinin puanlama kuyruğuna alınması için kullanılır.
+ *
+ * @param submissionId Gönderilen sınav girişinin ID'si.
+ */
+public record ExamSubmittedEvent(Long submissionId) {
+}
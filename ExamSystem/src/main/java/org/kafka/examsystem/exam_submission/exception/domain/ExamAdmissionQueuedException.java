@@ -0,0 +1,20 @@
+package org.kafka.examsystem.exam_submission.exception.domain;
+
+import lombok.Getter;
+
+/**
+ * Sınava giriş isteği kabul kapısından geçemediğinde fırlatılır.
+ * Öğrencinin sıradaki yerini ve tekrar denemeden önce beklemesi gereken süreyi taşır.
+ */
+@Getter
+public class ExamAdmissionQueuedException extends ExamSubmissionDomainException {
+
+    private final long position;
+    private final long retryAfterSeconds;
+
+    public ExamAdmissionQueuedException(long position, long retryAfterSeconds) {
+        super(ExamSubmissionDomainErrorCode.ADMISSION_QUEUED);
+        this.position = position;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -11,7 +11,9 @@ public enum ExamSubmissionDomainErrorCode implements BaseErrorCode {
     ACTIVE_SUBMISSION_ALREADY_EXISTS("EXAM-SUBMISSION-DOMAIN-002", "Bu sınava zaten aktif bir girişiniz var.", HttpStatus.CONFLICT),
     SUBMISSION_NOT_FOUND("EXAM-SUBMISSION-DOMAIN-003", "Sınav girişi bulunamadı.", HttpStatus.NOT_FOUND),
     UNAUTHORIZED_SUBMISSION_ACCESS("EXAM-SUBMISSION-DOMAIN-004", "Sınav girişine erişim yetkiniz yok.", HttpStatus.FORBIDDEN),
-    SUBMISSION_ALREADY_COMPLETED("EXAM-SUBMISSION-DOMAIN-005", "Bu sınav zaten tamamlanmış.", HttpStatus.CONFLICT);
+    SUBMISSION_ALREADY_COMPLETED("EXAM-SUBMISSION-DOMAIN-005", "Bu sınav zaten tamamlanmış.", HttpStatus.CONFLICT),
+    PROGRESS_SUBSCRIBER_LIMIT_REACHED("EXAM-SUBMISSION-DOMAIN-006", "Canlı sınav takibi izleyici sınırına ulaşıldı, lütfen daha sonra tekrar deneyin.", HttpStatus.SERVICE_UNAVAILABLE),
+    ADMISSION_QUEUED("EXAM-SUBMISSION-DOMAIN-007", "Sınava giriş yoğunluğu nedeniyle sıraya alındınız, lütfen bekleyin.", HttpStatus.TOO_MANY_REQUESTS);
 
     private final String code;
     private final String message;
@@ -0,0 +1,27 @@
+package org.kafka.examsystem.exam_submission.exception.handler;
+
+import org.kafka.examsystem.exam_submission.dto.AdmissionQueuedResponse;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamAdmissionQueuedException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Sıraya alınan sınava giriş isteklerini 429 ve Retry-After başlığıyla yanıtlar.
+ * Genel domain hatası işleyicisinden önce çalışır; yanıta sıradaki yer eklenir.
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ExamAdmissionExceptionHandler {
+
+    @ExceptionHandler(ExamAdmissionQueuedException.class)
+    public ResponseEntity<AdmissionQueuedResponse> handleAdmissionQueued(ExamAdmissionQueuedException ex) {
+        return ResponseEntity.status(ex.getErrorCode().getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new AdmissionQueuedResponse(ex.getErrorCode().getCode(), ex.getErrorCode().getMessage(),
+                        ex.getPosition(), ex.getRetryAfterSeconds()));
+    }
+}
@@ -0,0 +1,238 @@
+package org.kafka.examsystem.exam_submission.grading;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.kafka.examsystem.exam_submission.event.ExamSubmissionsGradedEvent;
+import org.kafka.examsystem.exam_submission.event.ExamSubmittedEvent;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.exam_submission.repository.GradingTaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gönderilen sınav girişlerinin toplam puanlarını arka planda kesinleştiren puanlama kuyruğu.
+ *
+ * Sınav gönderildiğinde {@code grading_tasks} tablosuna bir iş kaydı yazılır ve transaction commit edildikten sonra
+ * sınav girişi sınırlı bir bellek kuyruğuna alınır. Sabit sayıdaki işçi kuyruktan toplu olarak iş alır; her toplu
+ * işte puanlar cevaplardan tek bir UPDATE ile yeniden hesaplanır ve iş kayıtları aynı transaction'da silinir.
+ * Sınav bitiminde yüzlerce öğrenci aynı anda gönderse de gönderim isteği puanlamayı beklemez.
+ *
+ * Kuyruk doluysa iş bellekte bekletilmez; kayıt tabloda kalır ve periyodik kurtarma taraması kuyrukta yer açıldıkça
+ * onu tekrar alır. Aynı tarama, uygulama yeniden başlatıldığında yarım kalan işleri de toplar. Puanlama cevaplardan
+ * baştan hesaplandığı için bir işin iki kez (örneğin iki uygulama örneğinde) işlenmesi sonucu değiştirmez.
+ */
+@Component
+public class GradingPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradingPipeline.class);
+
+    private final ExamSubmissionRepository examSubmissionRepository;
+    private final GradingTaskRepository gradingTaskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Long> queue;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet(); // Kuyrukta veya işlenmekte olan girişler
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long staleAfterMs;
+    private final ThreadFactory threadFactory;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final LongAdder graded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    private final Timer batchTimer;
+
+    public GradingPipeline(
+            ExamSubmissionRepository examSubmissionRepository,
+            GradingTaskRepository gradingTaskRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${application.grading.pipeline.queue-capacity:10000}") int queueCapacity,
+            @Value("${application.grading.pipeline.workers:4}") int workerCount,
+            @Value("${application.grading.pipeline.batch-size:100}") int batchSize,
+            @Value("${application.grading.pipeline.max-attempts:5}") int maxAttempts,
+            @Value("${application.grading.pipeline.stale-after-ms:5000}") long staleAfterMs,
+            @Value("${application.grading.pipeline.virtual-threads:true}") boolean virtualThreads
+    ) {
+        this.examSubmissionRepository = examSubmissionRepository;
+        this.gradingTaskRepository = gradingTaskRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.staleAfterMs = staleAfterMs;
+        // İşçiler zamanlarının çoğunu veritabanını bekleyerek geçirir; eşzamanlılığı bağlantı havuzu sınırlar
+        this.threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("grading-", 1).factory()
+                : Thread.ofPlatform().name("grading-", 1).daemon(true).factory();
+
+        Gauge.builder("grading.queue.size", queue, BlockingQueue::size)
+                .description("Puanlama kuyruğunda bekleyen sınav girişi sayısı")
+                .register(meterRegistry);
+        FunctionCounter.builder("grading.submissions", graded, LongAdder::sum)
+                .tag("result", "graded")
+                .description("Puanı kesinleştirilen sınav girişleri")
+                .register(meterRegistry);
+        FunctionCounter.builder("grading.submissions", failed, LongAdder::sum)
+                .tag("result", "failed")
+                .description("Puanlaması başarısız olup tekrar denenecek sınav girişleri")
+                .register(meterRegistry);
+        FunctionCounter.builder("grading.submissions", deferred, LongAdder::sum)
+                .tag("result", "deferred")
+                .description("Kuyruk dolu olduğu için kurtarma taramasına bırakılan sınav girişleri")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("grading.batch.duration")
+                .description("Bir toplu puanlama işinin süresi")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = threadFactory.newThread(this::runWorker);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * İşçileri durdurur. Kuyrukta kalan işlerin kayıtları tabloda durduğu için bir sonraki başlatmada puanlanır.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            worker.join(5_000);
+        }
+    }
+
+    /**
+     * Gönderim transaction'ı commit edildikten sonra sınav girişini kuyruğa alır.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExamSubmitted(ExamSubmittedEvent event) {
+        enqueue(event.submissionId());
+    }
+
+    /**
+     * Sınav girişini puanlama kuyruğuna alır. İstek iş parçacığını hiçbir zaman bekletmez.
+     *
+     * @param submissionId Sınav girişi ID'si.
+     * @return Giriş kuyruğa alındıysa veya zaten kuyruktaysa true; kuyruk doluysa false.
+     */
+    public boolean enqueue(Long submissionId) {
+        if (!pending.add(submissionId)) {
+            return true;
+        }
+        if (!queue.offer(submissionId)) {
+            pending.remove(submissionId);
+            deferred.increment();
+            return false; // Kayıt tabloda kalır; kurtarma taraması yer açıldığında tekrar dener
+        }
+        return true;
+    }
+
+    /**
+     * Tabloda bekleyen ancak bu uygulama örneğinin kuyruğunda olmayan işleri kuyruğa alır.
+     * Uygulama başladığında hemen, sonrasında belirli aralıklarla çalışır. Yeni oluşturulan kayıtlar, commit sonrası
+     * kendiliğinden kuyruğa alınacakları için belirli bir süre geçmeden taranmaz.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${application.grading.pipeline.recovery-interval-ms:5000}")
+    public void recoverPendingTasks() {
+        int capacity = queue.remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        LocalDateTime createdBefore = LocalDateTime.now().minusNanos(staleAfterMs * 1_000_000);
+        List<Long> submissionIds = gradingTaskRepository.findPendingSubmissionIds(
+                createdBefore, maxAttempts, Limit.of(capacity + pending.size()));
+        int recovered = 0;
+        for (Long submissionId : submissionIds) {
+            if (!pending.contains(submissionId)) {
+                if (!enqueue(submissionId)) {
+                    break;
+                }
+                recovered++;
+            }
+        }
+        if (recovered > 0) {
+            logger.info("Bekleyen {} puanlama işi kuyruğa alındı.", recovered);
+        }
+    }
+
+    private void runWorker() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                batchTimer.record(() -> grade(batch));
+            } finally {
+                batch.forEach(pending::remove);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Toplu işteki sınav girişlerinin puanlarını kesinleştirir ve iş kayıtlarını aynı transaction'da siler.
+     * Başarısız olan işlerin deneme sayısı artırılır; kayıtlar kurtarma taramasıyla tekrar denenir.
+     */
+    private void grade(List<Long> submissionIds) {
+        LocalDateTime gradedAt = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                examSubmissionRepository.finalizeTotalScores(submissionIds, gradedAt);
+                gradingTaskRepository.deleteBySubmissionIds(submissionIds);
+            });
+        } catch (RuntimeException e) {
+            failed.add(submissionIds.size());
+            logger.error("{} sınav girişinin puanlaması başarısız oldu: {}", submissionIds.size(), submissionIds, e);
+            try {
+                gradingTaskRepository.incrementAttempts(submissionIds);
+            } catch (RuntimeException ignored) {
+                // Deneme sayısı yazılamazsa iş yine de tabloda kalır ve tekrar denenir
+            }
+            return;
+        }
+        graded.add(submissionIds.size());
+        eventPublisher.publishEvent(new ExamSubmissionsGradedEvent(List.copyOf(submissionIds), gradedAt));
+    }
+}
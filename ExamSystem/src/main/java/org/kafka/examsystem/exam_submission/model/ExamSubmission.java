@@ -3,6 +3,7 @@ package org.kafka.examsystem.exam_submission.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.kafka.examsystem.exam.model.Exam;
 import org.kafka.examsystem.student.model.Student;
 import org.kafka.examsystem.user.model.User;
@@ -19,10 +20,12 @@ import java.time.LocalDateTime;
 })
 @Getter
 @Setter
+@DynamicUpdate // totalScore atomik UPDATE ile artırılır; entity güncellemeleri yalnızca değişen kolonları yazar
 public class ExamSubmission {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exam_submissions_id_seq")
+    @SequenceGenerator(name = "exam_submissions_id_seq", sequenceName = "exam_submissions_id_seq", allocationSize = 50)
     private Long id;
 
     // Bir sınav girişi, bir sınava aittir.
@@ -38,6 +41,9 @@ public class ExamSubmission {
     // Sınavın tamamlanıp gönderildiği zamanı tutar. Sınav devam ederken null'dır.
     private LocalDateTime submittedAt;
 
+    // Toplam puanın cevaplardan kesinleştirildiği zamanı tutar. Puanlama kuyruğu işleyene kadar null'dır.
+    private LocalDateTime gradedAt;
+
     /**
      * Sınavdan alınan toplam puan.
      * Bu alan, başlangıçta 0'a ayarlanır. Bu sayede getter metoduna gerek kalmaz.
@@ -0,0 +1,44 @@
+package org.kafka.examsystem.exam_submission.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Gönderilen bir sınav girişinin bekleyen puanlama işi (outbox kaydı).
+ * Sınav gönderilirken aynı transaction'da oluşturulur ve puan kesinleştirildiğinde silinir;
+ * tabloda kalan kayıtlar uygulama yeniden başlatıldığında tekrar kuyruğa alınır.
+ */
+@Entity
+@Table(name = "grading_tasks", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"submission_id"}, name = "uk_grading_tasks_submission")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class GradingTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grading_tasks_id_seq")
+    @SequenceGenerator(name = "grading_tasks_id_seq", sequenceName = "grading_tasks_id_seq", allocationSize = 50)
+    private Long id;
+
+    // Puanlanacak sınav girişinin ID'si; işlenen kayıt entity olarak yüklenmez.
+    @Column(name = "submission_id", nullable = false)
+    private Long submissionId;
+
+    // Başarısız puanlama denemesi sayısı.
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public GradingTask(Long submissionId, LocalDateTime createdAt) {
+        this.submissionId = submissionId;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,171 @@
+package org.kafka.examsystem.exam_submission.progress;
+
+import org.kafka.examsystem.common.sse.CoalescingSseSubscriber;
+import org.kafka.examsystem.exam_submission.dto.ExamProgressFrame;
+import org.kafka.examsystem.exam_submission.dto.ExamProgressFrame.StudentProgressView;
+import org.kafka.examsystem.exam_submission.dto.SubmissionProgressRow;
+import org.kafka.examsystem.student_answer.dto.AnsweredQuestionRow;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canlı takip edilen bir sınavın bellekteki durumu: girişler, cevaplanan sorular, son etkinlik zamanları ve aboneler.
+ *
+ * Güncellemeler ve veritabanından yüklenen durum birleşim (union) olarak uygulanır; aynı giriş, cevap veya gönderim
+ * birden fazla kez görülse de sayılar değişmez. Her değişiklik sürümü artırır; çerçeve yalnızca son yayınlanan
+ * çerçeveden sonra bir değişiklik olduysa veya bir öğrencinin çevrim içi durumu değiştiyse yeniden oluşturulur.
+ */
+final class ExamProgress {
+
+    private final Long examId;
+    private final Set<CoalescingSseSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, SubmissionState> submissions = new HashMap<>(); // Sınav girişi ID'si -> durum
+    private long version;
+    private long publishedVersion = -1;
+    private volatile long lastSentNanos = System.nanoTime();
+
+    ExamProgress(Long examId) {
+        this.examId = examId;
+    }
+
+    Long examId() {
+        return examId;
+    }
+
+    Set<CoalescingSseSubscriber> subscribers() {
+        return subscribers;
+    }
+
+    long lastSentNanos() {
+        return lastSentNanos;
+    }
+
+    void markSent(long nanos) {
+        lastSentNanos = nanos;
+    }
+
+    synchronized void started(Long submissionId, Long studentId, LocalDateTime at) {
+        SubmissionState state = state(submissionId, studentId);
+        state.lastSeenAt = at;
+    }
+
+    synchronized void answered(Long submissionId, Long studentId, Collection<Long> questionIds, LocalDateTime at) {
+        SubmissionState state = state(submissionId, studentId);
+        if (state.answeredQuestionIds.addAll(questionIds)) {
+            version++;
+        }
+        state.lastSeenAt = at;
+    }
+
+    /**
+     * Bilinen bir girişi gönderilmiş olarak işaretler.
+     *
+     * @return Giriş bu sınava aitse true.
+     */
+    synchronized boolean submitted(Long submissionId) {
+        SubmissionState state = submissions.get(submissionId);
+        if (state == null) {
+            return false;
+        }
+        if (!state.submitted) {
+            state.submitted = true;
+            version++;
+        }
+        return true;
+    }
+
+    /**
+     * Veritabanından okunan girişleri ve cevaplanmış soruları bellekteki durumla birleştirir.
+     */
+    synchronized void merge(List<SubmissionProgressRow> rows, List<AnsweredQuestionRow> answeredQuestions) {
+        for (SubmissionProgressRow row : rows) {
+            SubmissionState state = state(row.submissionId(), row.studentId());
+            if (row.submittedAt() != null && !state.submitted) {
+                state.submitted = true;
+                version++;
+            }
+        }
+        for (AnsweredQuestionRow row : answeredQuestions) {
+            SubmissionState state = submissions.get(row.submissionId());
+            if (state != null && state.answeredQuestionIds.add(row.questionId())) {
+                version++;
+            }
+        }
+    }
+
+    /**
+     * Sınavın o anki durumunu döndürür; yayınlanan çerçeve bilgisini değiştirmez (yeni abonenin ilk çerçevesi için).
+     */
+    synchronized ExamProgressFrame snapshot(LocalDateTime now, LocalDateTime onlineSince) {
+        return frame(now, onlineSince, false);
+    }
+
+    /**
+     * Son yayınlanan çerçeveden sonra durum değiştiyse yeni çerçeveyi döndürür ve yayınlanmış olarak işaretler.
+     *
+     * @return Yeni çerçeve; değişiklik yoksa null.
+     */
+    synchronized ExamProgressFrame publishableFrame(LocalDateTime now, LocalDateTime onlineSince) {
+        boolean changed = version != publishedVersion;
+        for (SubmissionState state : submissions.values()) {
+            changed |= state.isOnline(onlineSince) != state.publishedOnline;
+        }
+        if (!changed) {
+            return null;
+        }
+        publishedVersion = version;
+        return frame(now, onlineSince, true);
+    }
+
+    private ExamProgressFrame frame(LocalDateTime now, LocalDateTime onlineSince, boolean publish) {
+        List<StudentProgressView> students = new ArrayList<>(submissions.size());
+        int answered = 0;
+        int submitted = 0;
+        int online = 0;
+        for (Map.Entry<Long, SubmissionState> entry : submissions.entrySet()) {
+            SubmissionState state = entry.getValue();
+            boolean isOnline = state.isOnline(onlineSince);
+            if (publish) {
+                state.publishedOnline = isOnline;
+            }
+            answered += state.answeredQuestionIds.size();
+            submitted += state.submitted ? 1 : 0;
+            online += isOnline ? 1 : 0;
+            students.add(new StudentProgressView(entry.getKey(), state.studentId, state.answeredQuestionIds.size(),
+                    state.submitted, isOnline, state.lastSeenAt));
+        }
+        return new ExamProgressFrame(examId, submissions.size(), answered, submitted, online, students, now);
+    }
+
+    private SubmissionState state(Long submissionId, Long studentId) {
+        return submissions.computeIfAbsent(submissionId, id -> {
+            version++;
+            return new SubmissionState(studentId);
+        });
+    }
+
+    private static final class SubmissionState {
+
+        private final Long studentId;
+        private final Set<Long> answeredQuestionIds = new HashSet<>();
+        private boolean submitted;
+        private LocalDateTime lastSeenAt; // Bu uygulama örneğinde görülen son etkinlik
+        private boolean publishedOnline;
+
+        private SubmissionState(Long studentId) {
+            this.studentId = studentId;
+        }
+
+        private boolean isOnline(LocalDateTime onlineSince) {
+            return !submitted && lastSeenAt != null && lastSeenAt.isAfter(onlineSince);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package org.kafka.examsystem.exam_submission.progress;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.kafka.examsystem.common.sse.CoalescingSseSubscriber;
+import org.kafka.examsystem.exam_submission.dto.ExamProgressFrame;
+import org.kafka.examsystem.exam_submission.event.ExamSubmittedEvent;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainErrorCode;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainException;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.student_answer.repository.StudentAnswerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Öğretmenlerin yürüyen bir sınavı canlı izlemesi için sınav başına başlatılan giriş, cevaplanan soru ve gönderilen
+ * giriş sayılarını ve öğrenci bazında çevrim içi durumunu Server-Sent Events ile yayınlayan bileşen.
+ *
+ * Sayılar yalnızca en az bir izleyicisi olan sınavlar için bellekte tutulur. İlk izleyici bağlandığında sınavın durumu
+ * veritabanından bir kez yüklenir; sonrasında {@code ExamSubmissionService} ve {@code StudentAnswerService}
+ * güncellemeleri transaction commit edildikten sonra bellekteki duruma uygular. Güncellemeler sabit aralıklı
+ * çerçevelerde birleştirilir: durum değiştiyse çerçeve sınav başına bir kez serileştirilir ve tüm izleyicilere
+ * gönderilir. Böylece izleyici sayısı veritabanı yükünü artırmaz; her izleyici yalnızca bir bağlantı tutar.
+ *
+ * Diğer uygulama örneklerinde yapılan değişiklikler ve tamponda bekleyen cevaplar bellekteki durumda görünmeyebilir;
+ * izlenen sınavların durumu bu yüzden belirli aralıklarla veritabanından yeniden okunup birleştirilir. Çevrim içi
+ * durum, öğrencinin bu uygulama örneğinde görülen son etkinliğine (giriş başlatma, cevap verme) göre hesaplanır.
+ */
+@Component
+public class ExamProgressMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExamProgressMonitor.class);
+
+    private final ExamSubmissionRepository examSubmissionRepository;
+    private final StudentAnswerRepository studentAnswerRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMs;
+    private final long heartbeatIntervalNanos;
+    private final Duration onlineTimeout;
+
+    private final Map<Long, ExamProgress> exams = new ConcurrentHashMap<>(); // Sınav ID'si -> izlenen sınav durumu
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ExamProgressMonitor(
+            ExamSubmissionRepository examSubmissionRepository,
+            StudentAnswerRepository studentAnswerRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${application.exam.progress.max-subscribers:500}") int maxSubscribers,
+            @Value("${application.exam.progress.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${application.exam.progress.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+            @Value("${application.exam.progress.online-timeout-ms:60000}") long onlineTimeoutMs
+    ) {
+        this.examSubmissionRepository = examSubmissionRepository;
+        this.studentAnswerRepository = studentAnswerRepository;
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.heartbeatIntervalNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs);
+        this.onlineTimeout = Duration.ofMillis(onlineTimeoutMs);
+
+        Gauge.builder("exam.progress.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Canlı sınav takibine bağlı izleyici sayısı")
+                .register(meterRegistry);
+        Gauge.builder("exam.progress.exams", exams, Map::size)
+                .description("En az bir izleyicisi olan sınav sayısı")
+                .register(meterRegistry);
+        FunctionCounter.builder("exam.progress.frames", framesSent, LongAdder::sum)
+                .description("Serileştirilip izleyicilere gönderilen çerçeveler")
+                .register(meterRegistry);
+        FunctionCounter.builder("exam.progress.rejected", rejected, LongAdder::sum)
+                .description("İzleyici sınırı nedeniyle reddedilen bağlantılar")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Sınavın canlı takibine yeni bir izleyici ekler. İzleyiciye önce sınavın o anki durumu, ardından durum
+     * değiştikçe yeni çerçeveler gönderilir. Yetki kontrolü çağıran tarafından yapılır.
+     *
+     * @param examId Sınav ID'si.
+     * @return İzleyicinin SSE bağlantısı.
+     * @throws ExamSubmissionDomainException İzleyici sınırına ulaşıldıysa.
+     */
+    public SseEmitter subscribe(Long examId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejected.increment();
+            throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.PROGRESS_SUBSCRIBER_LIMIT_REACHED);
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        boolean[] created = new boolean[1];
+        CoalescingSseSubscriber[] subscriber = new CoalescingSseSubscriber[1];
+        ExamProgress progress = exams.compute(examId, (id, existing) -> {
+            ExamProgress current = existing;
+            if (current == null) {
+                current = new ExamProgress(id);
+                created[0] = true;
+            }
+            ExamProgress watched = current;
+            subscriber[0] = new CoalescingSseSubscriber(emitter, sender, () -> unsubscribe(watched, subscriber[0]));
+            current.subscribers().add(subscriber[0]);
+            return current;
+        });
+        emitter.onCompletion(() -> unsubscribe(progress, subscriber[0]));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(progress, subscriber[0]));
+
+        if (created[0]) {
+            try {
+                load(progress);
+            } catch (RuntimeException e) {
+                unsubscribe(progress, subscriber[0]);
+                throw e;
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        subscriber[0].offer("progress", serialize(progress.snapshot(now, now.minus(onlineTimeout))));
+        return emitter;
+    }
+
+    /**
+     * Öğrencinin sınava başladığını kaydeder. Sınav izlenmiyorsa hiçbir şey yapılmaz.
+     */
+    public void started(Long examId, Long submissionId, Long studentId) {
+        ExamProgress progress = exams.get(examId);
+        if (progress != null) {
+            afterCommit(() -> progress.started(submissionId, studentId, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Öğrencinin sorulara cevap verdiğini kaydeder. Aynı soruya verilen tekrar cevaplar bir kez sayılır.
+     * Sınav izlenmiyorsa hiçbir şey yapılmaz.
+     */
+    public void answered(Long examId, Long submissionId, Long studentId, Collection<Long> questionIds) {
+        ExamProgress progress = exams.get(examId);
+        if (progress != null) {
+            List<Long> answered = List.copyOf(questionIds);
+            afterCommit(() -> progress.answered(submissionId, studentId, answered, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Gönderim transaction'ı commit edildikten sonra girişi gönderilmiş olarak işaretler.
+     * Olay yalnızca giriş ID'sini taşıdığından izlenen sınavlar (bağlı izleyicisi olanlar) taranır.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExamSubmitted(ExamSubmittedEvent event) {
+        for (ExamProgress progress : exams.values()) {
+            if (progress.submitted(event.submissionId())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Durumu değişen sınavların çerçevelerini izleyicilere gönderir. Değişiklik olmayan sınavların izleyicilerine
+     * yalnızca belirli aralıklarla bağlantıyı açık tutan bir kalp atışı gönderilir.
+     */
+    @Scheduled(fixedDelayString = "${application.exam.progress.frame-interval-ms:1000}")
+    public void publishFrames() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime onlineSince = now.minus(onlineTimeout);
+        long nowNanos = System.nanoTime();
+        for (ExamProgress progress : exams.values()) {
+            ExamProgressFrame frame = progress.publishableFrame(now, onlineSince);
+            if (frame != null) {
+                String json = serialize(frame);
+                progress.subscribers().forEach(subscriber -> subscriber.offer("progress", json));
+                progress.markSent(nowNanos);
+                framesSent.increment();
+            } else if (nowNanos - progress.lastSentNanos() >= heartbeatIntervalNanos) {
+                progress.subscribers().forEach(CoalescingSseSubscriber::heartbeat);
+                progress.markSent(nowNanos);
+            }
+        }
+    }
+
+    /**
+     * İzlenen sınavların durumunu veritabanından yeniden okuyup bellekteki durumla birleştirir.
+     */
+    @Scheduled(fixedDelayString = "${application.exam.progress.resync-interval-ms:30000}")
+    public void resync() {
+        for (ExamProgress progress : exams.values()) {
+            try {
+                load(progress);
+            } catch (RuntimeException e) {
+                logger.warn("Canlı takip edilen sınavın durumu yüklenemedi: {}", progress.examId(), e);
+            }
+        }
+    }
+
+    /**
+     * Sınavın izleyicilere gönderilecek o anki durumu; sınav izlenmiyorsa null.
+     */
+    ExamProgressFrame currentFrame(Long examId) {
+        ExamProgress progress = exams.get(examId);
+        if (progress == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return progress.snapshot(now, now.minus(onlineTimeout));
+    }
+
+    private void load(ExamProgress progress) {
+        progress.merge(examSubmissionRepository.findProgressRowsByExamId(progress.examId()),
+                studentAnswerRepository.findAnsweredQuestionsByExamId(progress.examId()));
+    }
+
+    private void unsubscribe(ExamProgress progress, CoalescingSseSubscriber subscriber) {
+        if (progress.subscribers().remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            // Son izleyici ayrıldıysa sınavın durumu bellekten atılır
+            exams.computeIfPresent(progress.examId(), (id, current) -> current.subscribers().isEmpty() ? null : current);
+        }
+    }
+
+    private String serialize(ExamProgressFrame frame) {
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Canlı takip çerçevesi serileştirilemedi", e);
+        }
+    }
+
+    /**
+     * Güncellemeyi çağıran transaction commit edildikten sonra uygular; geri alınan işlemler sayılara yansımaz.
+     */
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -1,19 +1,41 @@
 package org.kafka.examsystem.exam_submission.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.kafka.examsystem.exam_submission.dto.CourseResultExportRow;
+import org.kafka.examsystem.exam_submission.dto.ExamSubmissionExportRow;
+import org.kafka.examsystem.exam_submission.dto.ExamSubmissionResponse;
+import org.kafka.examsystem.exam_submission.dto.SubmissionProgressRow;
 import org.kafka.examsystem.exam_submission.model.ExamSubmission;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExamSubmissionRepository extends JpaRepository<ExamSubmission, Long> {
 
+    String EXPORT_FETCH_SIZE = "1000"; // Dışa aktarım akışlarında tek seferde okunacak satır sayısı
+
+    String SUBMISSION_RESPONSE_SELECT = "SELECT new org.kafka.examsystem.exam_submission.dto.ExamSubmissionResponse(" +
+            "es.id, e.id, e.name, s.id, s.firstName, es.submittedAt, CAST(es.totalScore AS Double), es.gradedAt) " +
+            "FROM ExamSubmission es " +
+            "JOIN es.exam e " +
+            "JOIN es.student s " +
+            "JOIN e.course c ";
+
     /**
      * Belirli bir öğrenci ve sınava ait aktif (henüz gönderilmemiş) sınav girişini bulur.
      * Bu metot, öğrencinin aynı sınava tekrar girmesini engellemek için kullanılır.
@@ -38,7 +60,7 @@ public interface ExamSubmissionRepository extends JpaRepository<ExamSubmission,
     /**
      * Sınav girişlerini çeşitli parametrelere göre filtreleyerek sayfalı olarak getirir.
      * Bu sorgu, ADMIN, TEACHER, STUDENT ve PARENT rollerine göre filtreleme yapmak için
-     * servis katmanında kullanılır.
+     * servis katmanında kullanılır. Entity yerine doğrudan yanıt DTO'su seçilir; persistence context'e nesne eklenmez.
      *
      * @param examId Filtrelemek için sınav ID'si (null olabilir).
      * @param courseId Filtrelemek için ders ID'si (null olabilir).
@@ -48,20 +70,240 @@ public interface ExamSubmissionRepository extends JpaRepository<ExamSubmission,
      * @param pageable Sayfalama bilgileri.
      * @return Filtrelenmiş sınav girişlerinin sayfalı listesi.
      */
-    @Query("SELECT es FROM ExamSubmission es " +
-            "JOIN FETCH es.exam e " +
-            "JOIN FETCH es.student s " +
-            "JOIN FETCH e.course c " +
+    @Query(value = SUBMISSION_RESPONSE_SELECT +
             "WHERE (:examId IS NULL OR e.id = :examId) " +
             "AND (:courseId IS NULL OR c.id = :courseId) " +
             "AND (:studentId IS NULL OR s.id = :studentId) " +
             "AND (:teacherId IS NULL OR c.teacher.id = :teacherId) " +
-            "AND (COALESCE(:studentIds, NULL) IS NULL OR s.id IN :studentIds)")
-    Page<ExamSubmission> searchAllSubmissions(
+            "AND (COALESCE(:studentIds, NULL) IS NULL OR s.id IN :studentIds)",
+            countQuery = "SELECT COUNT(es) FROM ExamSubmission es " +
+                    "JOIN es.exam e " +
+                    "JOIN es.student s " +
+                    "JOIN e.course c " +
+                    "WHERE (:examId IS NULL OR e.id = :examId) " +
+                    "AND (:courseId IS NULL OR c.id = :courseId) " +
+                    "AND (:studentId IS NULL OR s.id = :studentId) " +
+                    "AND (:teacherId IS NULL OR c.teacher.id = :teacherId) " +
+                    "AND (COALESCE(:studentIds, NULL) IS NULL OR s.id IN :studentIds)")
+    Page<ExamSubmissionResponse> searchSubmissionResponses(
             @Param("examId") Long examId,
             @Param("courseId") Long courseId,
             @Param("studentId") Long studentId,
             @Param("teacherId") Long teacherId,
             @Param("studentIds") List<Long> studentIds,
             Pageable pageable);
+
+    /**
+     * Sınav girişinin toplam puanını veritabanında atomik olarak artırır.
+     * Oku-değiştir-yaz yerine tek bir UPDATE kullanıldığı için eşzamanlı cevaplarda puan kaybolmaz.
+     * @param id Sınav girişi ID'si.
+     * @param delta Eklenecek puan.
+     * @return Güncellenen satır sayısı.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExamSubmission es SET es.totalScore = es.totalScore + :delta WHERE es.id = :id")
+    int incrementTotalScore(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Gönderilmiş sınav girişlerinin toplam puanlarını cevaplardan tek bir UPDATE ile yeniden hesaplar
+     * ve puanlama zamanını işaretler. Puanlama kuyruğu işleri toplu olarak bu metotla kesinleştirir.
+     * @param ids Sınav girişi ID'leri.
+     * @param gradedAt Puanlama zamanı.
+     * @return Güncellenen satır sayısı.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExamSubmission es SET es.totalScore = " +
+            "(SELECT COALESCE(SUM(sa.score), 0) FROM StudentAnswer sa WHERE sa.submission.id = es.id), " +
+            "es.gradedAt = :gradedAt " +
+            "WHERE es.id IN :ids AND es.submittedAt IS NOT NULL")
+    int finalizeTotalScores(@Param("ids") Collection<Long> ids, @Param("gradedAt") LocalDateTime gradedAt);
+
+    /**
+     * Birden fazla sınav girişinin ara toplam puanını cevaplardan tek bir UPDATE ile yeniden hesaplar.
+     * Taslak cevaplar veritabanına yazıldığında, yazılan girişlerin puanlarını güncel tutmak için kullanılır.
+     * Gönderilmiş girişlere dokunulmaz; puanları puanlama kuyruğunda kesinleştirilir.
+     * @param ids Sınav girişi ID'leri.
+     * @return Güncellenen satır sayısı.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExamSubmission es SET es.totalScore = " +
+            "(SELECT COALESCE(SUM(sa.score), 0) FROM StudentAnswer sa WHERE sa.submission.id = es.id) " +
+            "WHERE es.id IN :ids AND es.submittedAt IS NULL")
+    int recalculateTotalScores(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Sınav girişi henüz gönderilmemişse satırını transaction sonuna kadar kilitler. Giriş o anda başka bir
+     * transaction'da gönderiliyorsa onun bitmesi beklenir.
+     * @param id Sınav girişi ID'si.
+     * @return Kilitlendiyse girişin ID'si; giriş gönderilmişse boş.
+     */
+    @Query(value = "SELECT id FROM exam_submissions WHERE id = :id AND submitted_at IS NULL FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockOpenSubmission(@Param("id") Long id);
+
+    /**
+     * Verilen sınav girişlerinden henüz gönderilmemiş olanları transaction sonuna kadar kilitler ve ID'lerini döndürür.
+     * Başka bir transaction'ın kilitlediği (örneğin o anda gönderilen) girişler beklenmeden atlanır.
+     * Kilitli girişler bu transaction bitene kadar gönderilemez; taslak cevaplar gönderilmiş bir girişe yazılmaz.
+     * @param ids Sınav girişi ID'leri.
+     * @return Kilitlenen, gönderilmemiş sınav girişlerinin ID'leri.
+     */
+    @Query(value = "SELECT id FROM exam_submissions WHERE id IN (:ids) AND submitted_at IS NULL " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockOpenSubmissions(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Verilen sınav girişlerinden henüz gönderilmemiş olanların ID'lerini kilitlemeden döndürür.
+     * @param ids Sınav girişi ID'leri.
+     * @return Gönderilmemiş sınav girişlerinin ID'leri.
+     */
+    @Query("SELECT es.id FROM ExamSubmission es WHERE es.id IN :ids AND es.submittedAt IS NULL")
+    List<Long> findOpenSubmissionIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Verilen sınavların henüz gönderilmemiş tüm girişlerini tek bir ifadeyle gönderilmiş olarak işaretler ve her biri
+     * için puanlama kuyruğuna iş kaydı ekler. Zaten gönderilmiş girişlere dokunulmaz; aynı sınavlar için tekrar
+     * (örneğin başka bir uygulama örneğinde) çalıştırıldığında hiçbir satır değişmez.
+     * Yalnızca veritabanındaki bitiş zamanı gönderim zamanından önce olan sınavların girişleri gönderilir; süre
+     * uzatmasını henüz görmemiş bir uygulama örneği devam eden bir sınavın girişlerini gönderemez.
+     * @param examIds Süresi dolan sınavların ID'leri.
+     * @param submittedAt Gönderim zamanı.
+     * @return Gönderilen sınav girişlerinin ID'leri.
+     */
+    @Transactional
+    @Query(value = "WITH submitted AS (" +
+            "UPDATE exam_submissions es SET submitted_at = :submittedAt " +
+            "FROM exams e " +
+            "WHERE es.exam_id = e.id AND es.exam_id IN (:examIds) AND es.submitted_at IS NULL " +
+            "AND e.start_time + e.duration_in_minutes * interval '1 minute' <= :submittedAt " +
+            "RETURNING es.id), " +
+            "tasks AS (" +
+            "INSERT INTO grading_tasks (id, submission_id, attempts, created_at) " +
+            "SELECT nextval('grading_tasks_id_seq'), id, 0, :submittedAt FROM submitted " +
+            "ON CONFLICT (submission_id) DO NOTHING " +
+            "RETURNING submission_id) " +
+            "SELECT submission_id FROM tasks",
+            nativeQuery = true)
+    List<Long> submitOpenSubmissions(@Param("examIds") Collection<Long> examIds,
+                                     @Param("submittedAt") LocalDateTime submittedAt);
+
+    /**
+     * Sınav girişi henüz gönderilmemişse gönderilmiş olarak işaretler ve puanlama kuyruğuna iş kaydı ekler.
+     * Koşullu UPDATE satırı kilitlediği için aynı girişi eşzamanlı gönderen ikinci istek (veya
+     * {@link #submitOpenSubmissions} ile süre dolumu) ilki commit edilene kadar bekler, ardından satırı gönderilmiş
+     * görür ve hiçbir şey değiştirmez.
+     * @param id Sınav girişi ID'si.
+     * @param submittedAt Gönderim zamanı.
+     * @return Bu çağrıyla gönderildiyse girişin ID'si; giriş zaten gönderilmişse boş liste.
+     */
+    @Transactional
+    @Query(value = "WITH submitted AS (" +
+            "UPDATE exam_submissions SET submitted_at = :submittedAt " +
+            "WHERE id = :id AND submitted_at IS NULL " +
+            "RETURNING id), " +
+            "tasks AS (" +
+            "INSERT INTO grading_tasks (id, submission_id, attempts, created_at) " +
+            "SELECT nextval('grading_tasks_id_seq'), id, 0, :submittedAt FROM submitted " +
+            "ON CONFLICT (submission_id) DO NOTHING) " +
+            "SELECT id FROM submitted",
+            nativeQuery = true)
+    List<Long> submitOpenSubmission(@Param("id") Long id, @Param("submittedAt") LocalDateTime submittedAt);
+
+    /**
+     * Sınav girişinin güncel toplam puanını entity yüklemeden getirir.
+     * @param id Sınav girişi ID'si.
+     * @return Toplam puan (Optional).
+     */
+    @Query("SELECT es.totalScore FROM ExamSubmission es WHERE es.id = :id")
+    Optional<Integer> findTotalScoreById(@Param("id") Long id);
+
+    /**
+     * Sınav girişlerini searchSubmissionResponses ile aynı filtrelerle, imleç (keyset) tabanlı olarak getirir.
+     * En yeni girişten eskiye (ID azalan) sıralanır; OFFSET ve sayım sorgusu yerine ID üzerinden konuma atlanır.
+     *
+     * @param examId Filtrelemek için sınav ID'si (null olabilir).
+     * @param courseId Filtrelemek için ders ID'si (null olabilir).
+     * @param studentId Filtrelemek için öğrenci ID'si (null olabilir).
+     * @param teacherId Filtrelemek için öğretmen ID'si (null olabilir).
+     * @param studentIds Filtrelemek için öğrenci ID'lerinin listesi (null olabilir).
+     * @param afterId Önceki sayfanın son girişinin ID'si; bundan küçük ID'ler getirilir.
+     * @param limit Okunacak en fazla satır sayısı.
+     * @return Filtrelenmiş sınav girişleri.
+     */
+    @Query(SUBMISSION_RESPONSE_SELECT +
+            "WHERE (:examId IS NULL OR e.id = :examId) " +
+            "AND (:courseId IS NULL OR c.id = :courseId) " +
+            "AND (:studentId IS NULL OR s.id = :studentId) " +
+            "AND (:teacherId IS NULL OR c.teacher.id = :teacherId) " +
+            "AND (COALESCE(:studentIds, NULL) IS NULL OR s.id IN :studentIds) " +
+            "AND es.id < :afterId " +
+            "ORDER BY es.id DESC")
+    List<ExamSubmissionResponse> searchSubmissionResponsesAfter(
+            @Param("examId") Long examId,
+            @Param("courseId") Long courseId,
+            @Param("studentId") Long studentId,
+            @Param("teacherId") Long teacherId,
+            @Param("studentIds") List<Long> studentIds,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    /**
+     * Belirli bir sınava ait tüm girişleri ve puanlarını dışa aktarım satırları olarak, ID sırasıyla akış halinde getirir.
+     * Sonuçlar JDBC fetch size ile parça parça okunur; çağıran taraf açık bir transaction içinde olmalı ve akışı kapatmalıdır.
+     * @param examId Sınav ID'si.
+     * @return Sınav girişi satırlarının akışı.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.kafka.examsystem.exam_submission.dto.ExamSubmissionExportRow(" +
+            "es.id, e.id, e.name, st.id, st.firstName, st.lastName, es.submittedAt, es.totalScore) " +
+            "FROM ExamSubmission es JOIN es.exam e JOIN es.student st " +
+            "WHERE e.id = :examId ORDER BY es.id")
+    Stream<ExamSubmissionExportRow> streamExportRowsByExamId(@Param("examId") Long examId);
+
+    /**
+     * Belirli bir kursun tüm sınavlarına ait girişleri ve puanlarını dışa aktarım satırları olarak, ID sırasıyla akış halinde getirir.
+     * Sonuçlar JDBC fetch size ile parça parça okunur; çağıran taraf açık bir transaction içinde olmalı ve akışı kapatmalıdır.
+     * @param courseId Kurs ID'si.
+     * @return Sınav girişi satırlarının akışı.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.kafka.examsystem.exam_submission.dto.ExamSubmissionExportRow(" +
+            "es.id, e.id, e.name, st.id, st.firstName, st.lastName, es.submittedAt, es.totalScore) " +
+            "FROM ExamSubmission es JOIN es.exam e JOIN es.student st " +
+            "WHERE e.course.id = :courseId ORDER BY es.id")
+    Stream<ExamSubmissionExportRow> streamExportRowsByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Belirli bir kurstaki öğrencilerin tamamlanmış sınavlarından toplu sonuçlarını (sınav sayısı, toplam ve ortalama puan)
+     * veritabanında gruplayarak akış halinde getirir.
+     * @param courseId Kurs ID'si.
+     * @return Öğrenci sonuç satırlarının akışı.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.kafka.examsystem.exam_submission.dto.CourseResultExportRow(" +
+            "st.id, st.firstName, st.lastName, COUNT(es), SUM(es.totalScore), AVG(es.totalScore)) " +
+            "FROM ExamSubmission es JOIN es.student st " +
+            "WHERE es.exam.course.id = :courseId AND es.submittedAt IS NOT NULL " +
+            "GROUP BY st.id, st.firstName, st.lastName ORDER BY st.id")
+    Stream<CourseResultExportRow> streamCourseResultRows(@Param("courseId") Long courseId);
+
+    /**
+     * Bir sınavın tüm girişlerini canlı takip için gereken alanlarla getirir.
+     * @param examId Sınav ID'si.
+     * @return Giriş satırları.
+     */
+    @Query("SELECT new org.kafka.examsystem.exam_submission.dto.SubmissionProgressRow(es.id, es.student.id, es.submittedAt) " +
+            "FROM ExamSubmission es WHERE es.exam.id = :examId")
+    List<SubmissionProgressRow> findProgressRowsByExamId(@Param("examId") Long examId);
 }
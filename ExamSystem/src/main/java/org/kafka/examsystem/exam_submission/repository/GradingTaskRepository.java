@@ -0,0 +1,53 @@
+package org.kafka.examsystem.exam_submission.repository;
+
+import org.kafka.examsystem.exam_submission.model.GradingTask;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GradingTaskRepository extends JpaRepository<GradingTask, Long> {
+
+    /**
+     * Belirli bir zamandan önce oluşturulmuş ve deneme sınırına ulaşmamış bekleyen işlerin sınav girişi ID'lerini
+     * en eskiden başlayarak getirir. Yeniden başlatma sonrası ve kuyruğa sığmayan işlerin toplanması için kullanılır.
+     * @param createdBefore Bu zamandan sonra oluşturulan işler (henüz kuyruğa alınıyor olabilir) atlanır.
+     * @param maxAttempts Bu sayıda başarısız denemesi olan işler atlanır.
+     * @param limit En fazla getirilecek kayıt sayısı.
+     * @return Sınav girişi ID'leri.
+     */
+    @Query("SELECT t.submissionId FROM GradingTask t " +
+            "WHERE t.createdAt < :createdBefore AND t.attempts < :maxAttempts " +
+            "ORDER BY t.id")
+    List<Long> findPendingSubmissionIds(@Param("createdBefore") LocalDateTime createdBefore,
+                                        @Param("maxAttempts") int maxAttempts,
+                                        Limit limit);
+
+    /**
+     * Puanlaması tamamlanan sınav girişlerinin işlerini siler.
+     * @param submissionIds Sınav girişi ID'leri.
+     * @return Silinen satır sayısı.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM GradingTask t WHERE t.submissionId IN :submissionIds")
+    int deleteBySubmissionIds(@Param("submissionIds") Collection<Long> submissionIds);
+
+    /**
+     * Puanlaması başarısız olan işlerin deneme sayısını artırır.
+     * @param submissionIds Sınav girişi ID'leri.
+     * @return Güncellenen satır sayısı.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE GradingTask t SET t.attempts = t.attempts + 1 WHERE t.submissionId IN :submissionIds")
+    int incrementAttempts(@Param("submissionIds") Collection<Long> submissionIds);
+}
@@ -1,32 +1,38 @@
 package org.kafka.examsystem.exam_submission.service;
 
 import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.common.authorization.AccessContext;
+import org.kafka.examsystem.common.authorization.CourseAuthorizationService;
+import org.kafka.examsystem.common.dto.CursorResponse;
 import org.kafka.examsystem.common.dto.PageResponse;
-import org.kafka.examsystem.common.util.AuthUtil;
+import org.kafka.examsystem.common.pagination.KeysetCursor;
 import org.kafka.examsystem.course_student.service.CourseEnrollmentService;
 import org.kafka.examsystem.exam.exception.domain.ExamDomainException;
 import org.kafka.examsystem.exam.model.Exam;
 import org.kafka.examsystem.exam.service.ExamService;
 import org.kafka.examsystem.exam_submission.dto.ExamSubmissionCreateRequest;
 import org.kafka.examsystem.exam_submission.dto.ExamSubmissionResponse;
+import org.kafka.examsystem.exam_submission.event.ExamSubmittedEvent;
 import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainErrorCode;
 import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainException;
 import org.kafka.examsystem.exam_submission.mapper.ExamSubmissionMapper;
 import org.kafka.examsystem.exam_submission.model.ExamSubmission;
+import org.kafka.examsystem.exam_submission.progress.ExamProgressMonitor;
 import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
 import org.kafka.examsystem.parent.model.Parent;
-import org.kafka.examsystem.parent.service.ParentService;
-import org.kafka.examsystem.student.model.Student;
 import org.kafka.examsystem.student.service.StudentService;
-import org.kafka.examsystem.teacher.service.TeacherService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Öğrencilerin sınav girişlerini yöneten servis sınıfı.
@@ -40,9 +46,11 @@ public class ExamSubmissionService {
     private final ExamSubmissionMapper examSubmissionMapper;
     private final ExamService examService;
     private final CourseEnrollmentService courseEnrollmentService;
-    private final TeacherService teacherService;
-    private final ParentService parentService;
     private final StudentService studentService;
+    private final AccessContext accessContext;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExamProgressMonitor examProgressMonitor;
+    private final CourseAuthorizationService courseAuthorizationService;
 
     /**
      * Öğrencinin yeni bir sınava girişini oluşturur.
@@ -54,7 +62,7 @@ public class ExamSubmissionService {
      */
     @Transactional
     public ExamSubmissionResponse createSubmission(ExamSubmissionCreateRequest request) {
-        Long currentUserId = AuthUtil.getCurrentUserId();
+        Long currentUserId = accessContext.getUserId();
 
         // 1. Sınavın varlığını ve durumunu kontrol et
         Exam exam = examService.getExamByIdWithCourse(request.getExamId());
@@ -68,8 +76,8 @@ public class ExamSubmissionService {
         }
 
         // 4. Öğrencinin bu sınava daha önce aktif bir girişinin olup olmadığını kontrol et
-        // Student'ın ID'sini almak için StudentService kullanıldı.
-        Long currentStudentId = studentService.getStudentByUserId(currentUserId).getId();
+        // Öğrenci ID'si erişim bağlamından alınır; istek içinde tekrar sorgulanmaz.
+        Long currentStudentId = accessContext.requireStudentId();
         Optional<ExamSubmission> existingSubmission = examSubmissionRepository.findByStudentIdAndExamIdAndSubmittedAtIsNull(currentStudentId, request.getExamId());
         if (existingSubmission.isPresent()) {
             throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.ACTIVE_SUBMISSION_ALREADY_EXISTS);
@@ -78,11 +86,12 @@ public class ExamSubmissionService {
         // 5. Yeni sınav girişini oluştur
         ExamSubmission submission = new ExamSubmission();
         submission.setExam(exam);
-        // Düzeltme: User yerine Student nesnesi atandı.
-        submission.setStudent(studentService.getStudentByUserId(currentUserId));
+        // Düzeltme: User yerine Student nesnesi atandı. Öğrenci tekrar sorgulanmaz, referans olarak bağlanır.
+        submission.setStudent(studentService.getStudentReference(currentStudentId));
         // submittedAt ve totalScore başlangıçta null olarak kalır.
 
         ExamSubmission savedSubmission = examSubmissionRepository.save(submission);
+        examProgressMonitor.started(exam.getId(), savedSubmission.getId(), currentStudentId);
         return examSubmissionMapper.toExamSubmissionResponse(savedSubmission);
     }
 
@@ -95,24 +104,24 @@ public class ExamSubmissionService {
      */
     @Transactional(readOnly = true)
     public ExamSubmissionResponse getSubmissionById(Long submissionId) {
-        Long currentUserId = AuthUtil.getCurrentUserId();
+        Long currentUserId = accessContext.getUserId();
 
         ExamSubmission submission = examSubmissionRepository.findByIdWithDetails(submissionId)
                 .orElseThrow(() -> new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.SUBMISSION_NOT_FOUND));
 
         boolean isAuthorized = false;
-        if (AuthUtil.hasRole("ROLE_ADMIN")) {
+        if (accessContext.isAdmin()) {
             isAuthorized = true;
-        } else if (AuthUtil.hasRole("ROLE_STUDENT") && submission.getStudent().getUser().getId().equals(currentUserId)) {
+        } else if (accessContext.isStudent() && submission.getStudent().getUser().getId().equals(currentUserId)) {
             isAuthorized = true;
-        } else if (AuthUtil.hasRole("ROLE_TEACHER") && submission.getExam().getCourse().getTeacher().getUser().getId().equals(currentUserId)) {
+        } else if (accessContext.isTeacher() && submission.getExam().getCourse().getTeacher().getUser().getId().equals(currentUserId)) {
             isAuthorized = true;
-        } else if (AuthUtil.hasRole("ROLE_PARENT")) {
-            Parent parent = parentService.getParentByUserId(currentUserId);
-            List<Student> students = studentService.getStudentsByParent(parent);
-            if (students.stream().anyMatch(student -> student.getId().equals(submission.getStudent().getId()))) {
-                isAuthorized = true;
-            }
+        } else if (accessContext.isParent()) {
+            // Öğrencinin veli ID'si proxy üzerinden okunur; veli veya çocukları için ek sorgu yapılmaz.
+            // Velisi olmayan öğrencinin girişine hiçbir veli erişemez.
+            Long parentId = accessContext.requireParentId();
+            Parent parent = submission.getStudent().getParent();
+            isAuthorized = parent != null && parentId.equals(parent.getId());
         }
 
         if (!isAuthorized) {
@@ -134,32 +143,27 @@ public class ExamSubmissionService {
      */
     @Transactional(readOnly = true)
     public PageResponse<ExamSubmissionResponse> searchSubmissions(Long examId, Long courseId, Long studentId, Pageable pageable) {
-        Long currentUserId = AuthUtil.getCurrentUserId();
         Long teacherId = null;
         List<Long> studentIds = null;
         Long studentIdFilter = studentId;
 
-        if (AuthUtil.hasRole("ROLE_ADMIN")) {
+        if (accessContext.isAdmin()) {
             // Admin için ek filtreleme gerekmez.
-        } else if (AuthUtil.hasRole("ROLE_TEACHER")) {
-            try {
-                teacherId = teacherService.getTeacherByUserId(currentUserId).getId();
-            } catch (Exception e) {
+        } else if (accessContext.isTeacher()) {
+            teacherId = accessContext.getTeacherId();
+            if (teacherId == null) {
                 // Öğretmen bulunamadıysa boş liste döndür
                 return PageResponse.fromPage(Page.empty(pageable), List.of());
             }
-        } else if (AuthUtil.hasRole("ROLE_STUDENT")) {
-            try {
-                studentIdFilter = studentService.getStudentByUserId(currentUserId).getId();
-            } catch (Exception e) {
+        } else if (accessContext.isStudent()) {
+            studentIdFilter = accessContext.getStudentId();
+            if (studentIdFilter == null) {
                 // Öğrenci bulunamadıysa boş liste döndür
                 return PageResponse.fromPage(Page.empty(pageable), List.of());
             }
-        } else if (AuthUtil.hasRole("ROLE_PARENT")) {
-            Parent parent = parentService.getParentByUserId(currentUserId);
-            studentIds = studentService.getStudentsByParent(parent).stream()
-                    .map(Student::getId)
-                    .collect(Collectors.toList());
+        } else if (accessContext.isParent()) {
+            accessContext.requireParentId();
+            studentIds = accessContext.getChildStudentIds();
             if (studentIds.isEmpty()) {
                 return PageResponse.fromPage(Page.empty(pageable), List.of());
             }
@@ -167,7 +171,7 @@ public class ExamSubmissionService {
             throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.UNAUTHORIZED_SUBMISSION_ACCESS);
         }
 
-        Page<ExamSubmission> submissionsPage = examSubmissionRepository.searchAllSubmissions(
+        Page<ExamSubmissionResponse> submissionsPage = examSubmissionRepository.searchSubmissionResponses(
                 examId,
                 courseId,
                 studentIdFilter,
@@ -175,10 +179,80 @@ public class ExamSubmissionService {
                 studentIds,
                 pageable
         );
+        return PageResponse.fromPage(submissionsPage, submissionsPage.getContent());
+    }
+
+    /**
+     * Sınav girişlerini kullanıcının rolüne göre filtreleyerek imleç (keyset) tabanlı olarak listeler.
+     * searchSubmissions ile aynı yetkilendirme kurallarını uygular; toplam sayım yapılmaz ve en yeni girişler önce gelir.
+     *
+     * @param examId Filtrelemek için sınav ID'si (isteğe bağlı).
+     * @param courseId Filtrelemek için ders ID'si (isteğe bağlı).
+     * @param studentId Filtrelemek için öğrenci ID'si (isteğe bağlı).
+     * @param cursor Önceki yanıttaki nextCursor değeri (ilk sayfa için null).
+     * @param size Sayfa boyutu.
+     * @return Sınav girişlerinin imleçli listesi.
+     * @throws ExamSubmissionDomainException Yetkilendirme hatası oluşursa.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<ExamSubmissionResponse> searchSubmissionsByCursor(Long examId, Long courseId, Long studentId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorResponse.normalizeSize(size);
+        Long teacherId = null;
+        List<Long> studentIds = null;
+        Long studentIdFilter = studentId;
+
+        if (accessContext.isAdmin()) {
+            // Admin için ek filtreleme gerekmez.
+        } else if (accessContext.isTeacher()) {
+            teacherId = accessContext.getTeacherId();
+            if (teacherId == null) {
+                return CursorResponse.empty(pageSize);
+            }
+        } else if (accessContext.isStudent()) {
+            studentIdFilter = accessContext.getStudentId();
+            if (studentIdFilter == null) {
+                return CursorResponse.empty(pageSize);
+            }
+        } else if (accessContext.isParent()) {
+            accessContext.requireParentId();
+            studentIds = accessContext.getChildStudentIds();
+            if (studentIds.isEmpty()) {
+                return CursorResponse.empty(pageSize);
+            }
+        } else {
+            throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.UNAUTHORIZED_SUBMISSION_ACCESS);
+        }
 
-        // Düzeltme: Page'in kendi `map` metodu kullanılarak DTO dönüşümü yapıldı.
-        Page<ExamSubmissionResponse> responsePage = submissionsPage.map(examSubmissionMapper::toExamSubmissionResponse);
-        return PageResponse.fromPage(submissionsPage, responsePage.getContent());
+        List<ExamSubmissionResponse> submissions = examSubmissionRepository.searchSubmissionResponsesAfter(
+                examId,
+                courseId,
+                studentIdFilter,
+                teacherId,
+                studentIds,
+                after == null ? Long.MAX_VALUE : after.id(),
+                CursorResponse.limitFor(pageSize)
+        );
+        return CursorResponse.fromRows(submissions, pageSize, Function.identity(),
+                submission -> KeysetCursor.ofId(submission.getId()));
+    }
+
+    /**
+     * Bir sınavın canlı takibine abone olur; başlatılan, cevaplanan ve gönderilen giriş sayıları SSE ile akar.
+     * Sadece **dersin öğretmeni** veya **ADMIN** izleyebilir. Yetki bağlanırken bir kez kontrol edilir; sonraki
+     * çerçeveler veritabanına gitmeden bellekten üretilir.
+     *
+     * @param examId Sınav ID'si.
+     * @return SSE bağlantısı.
+     * @throws ExamSubmissionDomainException Yetki yoksa veya izleyici sınırına ulaşıldıysa.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToExamProgress(Long examId) {
+        Exam exam = examService.getExamByIdWithCourse(examId);
+        if (!courseAuthorizationService.canModifyCourse(exam.getCourse(), accessContext.getUserId())) {
+            throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.UNAUTHORIZED_SUBMISSION_ACCESS);
+        }
+        return examProgressMonitor.subscribe(examId);
     }
 
     /**
@@ -193,19 +267,59 @@ public class ExamSubmissionService {
     }
 
     /**
-     * Belirli bir sınav gönderiminin toplam puanını günceller.
-     * @param submission Güncellenecek sınav gönderimi.
+     * Belirli bir ID'ye sahip sınav gönderimini sınav, ders ve öğrenci bilgileriyle tek sorguda getirir.
+     * @param submissionId Sınav gönderim ID'si.
+     * @return Sınav gönderimi entity'si.
+     */
+    @Transactional(readOnly = true)
+    public ExamSubmission getExamSubmissionWithDetailsById(Long submissionId) {
+        return examSubmissionRepository.findByIdWithDetails(submissionId)
+                .orElseThrow(() -> new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.SUBMISSION_NOT_FOUND));
+    }
+
+    /**
+     * Belirli bir sınav gönderiminin toplam puanını atomik olarak artırır.
+     * Puan sıfırsa (yanlış cevap) veritabanına yazılmaz.
+     * @param submissionId Güncellenecek sınav gönderiminin ID'si.
      * @param score Eklenecek puan miktarı.
      */
     @Transactional
-    public void updateTotalScore(ExamSubmission submission, int score) {
-        submission.setTotalScore(submission.getTotalScore() + score);
-        examSubmissionRepository.save(submission);
+    public void addToTotalScore(Long submissionId, int score) {
+        if (score == 0) {
+            return;
+        }
+        examSubmissionRepository.incrementTotalScore(submissionId, score);
+    }
+
+    /**
+     * Gönderilmemiş sınav girişinin satırını çağıran transaction sonuna kadar kilitler.
+     * Kilit tutulurken giriş gönderilemez; böylece yazılan cevaplar puanlamadan kaçmaz.
+     * @param submissionId Sınav gönderim ID'si.
+     * @throws ExamSubmissionDomainException Giriş gönderildiyse.
+     */
+    @Transactional
+    public void lockOpenSubmission(Long submissionId) {
+        if (examSubmissionRepository.lockOpenSubmission(submissionId).isEmpty()) {
+            throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.SUBMISSION_ALREADY_COMPLETED);
+        }
+    }
+
+    /**
+     * Sınav gönderiminin veritabanındaki güncel toplam puanını getirir.
+     * @param submissionId Sınav gönderim ID'si.
+     * @return Toplam puan.
+     */
+    @Transactional(readOnly = true)
+    public int getTotalScore(Long submissionId) {
+        return examSubmissionRepository.findTotalScoreById(submissionId)
+                .orElseThrow(() -> new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.SUBMISSION_NOT_FOUND));
     }
 
     /**
      * Öğrencinin sınavını tamamlamasını sağlar.
      * Sadece sınavı başlatan öğrenci sınavı tamamlayabilir.
+     * Toplam puan bu istekte hesaplanmaz; sınav girişi puanlama kuyruğuna alınır ve puan
+     * {@link org.kafka.examsystem.exam_submission.grading.GradingPipeline} tarafından kesinleştirilir.
      * 
      * @param submissionId Tamamlanacak sınav girişinin ID'si.
      * @return Tamamlanan sınav girişinin yanıt DTO'su.
@@ -213,7 +327,7 @@ public class ExamSubmissionService {
      */
     @Transactional
     public ExamSubmissionResponse submitExam(Long submissionId) {
-        Long currentUserId = AuthUtil.getCurrentUserId();
+        Long currentUserId = accessContext.getUserId();
         
         // Sınav girişini getir
         ExamSubmission submission = examSubmissionRepository.findByIdWithDetails(submissionId)
@@ -229,10 +343,18 @@ public class ExamSubmissionService {
             throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.SUBMISSION_ALREADY_COMPLETED);
         }
         
-        // Sınavı tamamla - submittedAt alanını güncelle
-        submission.setSubmittedAt(java.time.LocalDateTime.now());
-        ExamSubmission savedSubmission = examSubmissionRepository.save(submission);
-        
-        return examSubmissionMapper.toExamSubmissionResponse(savedSubmission);
+        // Sınavı koşullu olarak tamamla: eşzamanlı ikinci gönderim veya süre dolumu girişi gönderilmiş bulur.
+        // Toplam puan, cevaplardan arka planda kesinleştirilir. İş kaydı aynı ifadede yazıldığı için
+        // commit edilen her gönderim, uygulama yeniden başlatılsa bile puanlanır.
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS); // PostgreSQL hassasiyeti
+        if (examSubmissionRepository.submitOpenSubmission(submissionId, now).isEmpty()) {
+            throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.SUBMISSION_ALREADY_COMPLETED);
+        }
+        eventPublisher.publishEvent(new ExamSubmittedEvent(submissionId));
+
+        // Yanıttaki puan o ana kadarki cevaplardan hesaplanan ara puandır; gradedAt dolduğunda kesinleşir
+        ExamSubmissionResponse response = examSubmissionMapper.toExamSubmissionResponse(submission);
+        response.setSubmittedAt(now);
+        return response;
     }
 }
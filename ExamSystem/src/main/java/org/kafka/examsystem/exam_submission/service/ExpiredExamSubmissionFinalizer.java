@@ -0,0 +1,49 @@
+package org.kafka.examsystem.exam_submission.service;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.exam.event.ExamsExpiredEvent;
+import org.kafka.examsystem.exam_submission.event.ExamSubmittedEvent;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Süresi dolan sınavlarda açık kalan sınav girişlerini sunucu tarafında gönderen bileşen.
+ * Öğrenci sekmeyi kapattıysa istemcideki sayaç gönderimi hiç tetiklemez; bu girişler sınav bitiminde tek bir
+ * ifadeyle gönderilmiş olarak işaretlenir ve öğrencinin kendi gönderdiği sınavlar gibi puanlama kuyruğuna alınır.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpiredExamSubmissionFinalizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredExamSubmissionFinalizer.class);
+
+    private final ExamSubmissionRepository examSubmissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Süresi dolan sınavların açık girişlerini gönderir.
+     * Her giriş için {@link ExamSubmittedEvent} yayınlanır: taslak cevaplar bu transaction'da yazılır, giriş commit
+     * sonrasında puanlama kuyruğuna alınır. Sınav saatine bağlı öğrencilere "closed" olayı bu dinleyici commit
+     * edildikten sonra gönderilsin diye ilk sırada çalışır.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void onExamsExpired(ExamsExpiredEvent event) {
+        List<Long> submissionIds = examSubmissionRepository.submitOpenSubmissions(event.examIds(), LocalDateTime.now());
+        submissionIds.forEach(submissionId -> eventPublisher.publishEvent(new ExamSubmittedEvent(submissionId)));
+        if (!submissionIds.isEmpty()) {
+            logger.info("Süresi dolan {} sınavda açık kalan {} giriş gönderildi.", event.examIds().size(), submissionIds.size());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.kafka.examsystem.export.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.export.service.ExportService;
+import org.kafka.examsystem.export.writer.ExportFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Sınav ve kurs verilerini CSV veya NDJSON olarak akış halinde dışa aktaran REST kontrolcü sınıfı.
+ * Yanıt gövdesi satır satır yazılır; satır sayısı ne olursa olsun sunucu belleğinde biriktirilmez.
+ * Sadece ADMIN ve ilgili kursun öğretmeni erişebilir.
+ */
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * Bir sınava ait tüm öğrenci cevaplarını dışa aktarır.
+     * @param examId Sınav ID'si.
+     * @param format Dışa aktarım biçimi: csv (varsayılan) veya ndjson.
+     * @return Akış halinde yazılan dosya.
+     */
+    @GetMapping("/exams/{examId}/answers")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportExamAnswers(@PathVariable Long examId,
+                                                                   @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        exportService.checkExamExportAccess(examId);
+        return attachment("exam-" + examId + "-answers", exportFormat,
+                out -> exportService.writeExamAnswers(examId, exportFormat, out));
+    }
+
+    /**
+     * Bir sınava ait tüm girişleri ve puanlarını dışa aktarır.
+     * @param examId Sınav ID'si.
+     * @param format Dışa aktarım biçimi: csv (varsayılan) veya ndjson.
+     * @return Akış halinde yazılan dosya.
+     */
+    @GetMapping("/exams/{examId}/submissions")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportExamSubmissions(@PathVariable Long examId,
+                                                                       @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        exportService.checkExamExportAccess(examId);
+        return attachment("exam-" + examId + "-submissions", exportFormat,
+                out -> exportService.writeExamSubmissions(examId, exportFormat, out));
+    }
+
+    /**
+     * Bir kursun tüm sınavlarına ait öğrenci cevaplarını dışa aktarır.
+     * @param courseId Kurs ID'si.
+     * @param format Dışa aktarım biçimi: csv (varsayılan) veya ndjson.
+     * @return Akış halinde yazılan dosya.
+     */
+    @GetMapping("/courses/{courseId}/answers")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportCourseAnswers(@PathVariable Long courseId,
+                                                                     @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        exportService.checkCourseExportAccess(courseId);
+        return attachment("course-" + courseId + "-answers", exportFormat,
+                out -> exportService.writeCourseAnswers(courseId, exportFormat, out));
+    }
+
+    /**
+     * Bir kursun tüm sınavlarına ait girişleri ve puanlarını dışa aktarır.
+     * @param courseId Kurs ID'si.
+     * @param format Dışa aktarım biçimi: csv (varsayılan) veya ndjson.
+     * @return Akış halinde yazılan dosya.
+     */
+    @GetMapping("/courses/{courseId}/submissions")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportCourseSubmissions(@PathVariable Long courseId,
+                                                                         @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        exportService.checkCourseExportAccess(courseId);
+        return attachment("course-" + courseId + "-submissions", exportFormat,
+                out -> exportService.writeCourseSubmissions(courseId, exportFormat, out));
+    }
+
+    /**
+     * Bir kurstaki öğrencilerin toplu sonuçlarını dışa aktarır.
+     * @param courseId Kurs ID'si.
+     * @param format Dışa aktarım biçimi: csv (varsayılan) veya ndjson.
+     * @return Akış halinde yazılan dosya.
+     */
+    @GetMapping("/courses/{courseId}/results")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER')")
+    public ResponseEntity<StreamingResponseBody> exportCourseResults(@PathVariable Long courseId,
+                                                                     @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        exportService.checkCourseExportAccess(courseId);
+        return attachment("course-" + courseId + "-results", exportFormat,
+                out -> exportService.writeCourseResults(courseId, exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(String baseName, ExportFormat format, StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(baseName + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,22 @@
+package org.kafka.examsystem.export.exception.domain;
+
+import lombok.Getter;
+import org.kafka.examsystem.common.exception.base.BaseErrorCode;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public enum ExportDomainErrorCode implements BaseErrorCode {
+
+    UNAUTHORIZED_EXPORT_ACCESS("EXPORT-DOMAIN-001", "Bu verileri dışa aktarma yetkiniz yok.", HttpStatus.FORBIDDEN);
+
+    private final String code;
+    private final String message;
+    private final HttpStatus status;
+
+    ExportDomainErrorCode(String code, String message, HttpStatus status) {
+        this.code = code;
+        this.message = message;
+        this.status = status;
+    }
+
+}
@@ -0,0 +1,9 @@
+package org.kafka.examsystem.export.exception.domain;
+
+import org.kafka.examsystem.common.exception.base.BaseDomainException;
+
+public class ExportDomainException extends BaseDomainException {
+    public ExportDomainException(ExportDomainErrorCode errorCode) {
+        super(errorCode);
+    }
+}
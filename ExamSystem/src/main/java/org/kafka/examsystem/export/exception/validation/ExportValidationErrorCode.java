@@ -0,0 +1,22 @@
+package org.kafka.examsystem.export.exception.validation;
+
+import lombok.Getter;
+import org.kafka.examsystem.common.exception.base.BaseErrorCode;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public enum ExportValidationErrorCode implements BaseErrorCode {
+
+    UNSUPPORTED_EXPORT_FORMAT("EXPORT-VALID-001", "Desteklenmeyen dışa aktarım biçimi. Geçerli biçimler: csv, ndjson.", HttpStatus.BAD_REQUEST);
+
+    private final String code;
+    private final String message;
+    private final HttpStatus status;
+
+    ExportValidationErrorCode(String code, String message, HttpStatus status) {
+        this.code = code;
+        this.message = message;
+        this.status = status;
+    }
+
+}
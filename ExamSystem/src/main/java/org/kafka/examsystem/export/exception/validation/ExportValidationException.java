@@ -0,0 +1,9 @@
+package org.kafka.examsystem.export.exception.validation;
+
+import org.kafka.examsystem.common.exception.base.BaseValidationException;
+
+public class ExportValidationException extends BaseValidationException {
+    public ExportValidationException(ExportValidationErrorCode errorCode) {
+        super(errorCode);
+    }
+}
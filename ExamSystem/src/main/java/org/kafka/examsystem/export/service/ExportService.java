@@ -0,0 +1,121 @@
+package org.kafka.examsystem.export.service;
+
+import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.common.authorization.AccessContext;
+import org.kafka.examsystem.common.authorization.CourseAuthorizationService;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.service.CourseService;
+import org.kafka.examsystem.exam.service.ExamService;
+import org.kafka.examsystem.exam_submission.dto.CourseResultExportRow;
+import org.kafka.examsystem.exam_submission.dto.ExamSubmissionExportRow;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.export.exception.domain.ExportDomainErrorCode;
+import org.kafka.examsystem.export.exception.domain.ExportDomainException;
+import org.kafka.examsystem.export.writer.ExportFormat;
+import org.kafka.examsystem.export.writer.RecordExportWriter;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerExportRow;
+import org.kafka.examsystem.student_answer.repository.StudentAnswerRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Sınav ve kurs verilerinin (cevaplar, girişler, sonuçlar) akış halinde dışa aktarımını yöneten servis sınıfı.
+ *
+ * Yetkilendirme istek thread'inde {@code check...} metotlarıyla yapılır. Yazma metotları yanıt gövdesi yazılırken
+ * (başka bir thread'de) çağrılır; her biri kendi salt okunur transaction'ını açar, satırları ileri yönlü bir
+ * akıştan okuyup doğrudan çıktıya yazar. Satırlar DTO projeksiyonu olduğu için persistence context'te birikmez.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private final StudentAnswerRepository studentAnswerRepository;
+    private final ExamSubmissionRepository examSubmissionRepository;
+    private final ExamService examService;
+    private final CourseService courseService;
+    private final CourseAuthorizationService courseAuthorizationService;
+    private final AccessContext accessContext;
+    private final RecordExportWriter recordExportWriter;
+
+    /**
+     * Sınav verilerini dışa aktarma yetkisini kontrol eder. Sadece **kursun öğretmeni** veya **ADMIN** aktarabilir.
+     *
+     * @param examId Sınav ID'si.
+     * @throws ExportDomainException Yetki yoksa.
+     */
+    @Transactional(readOnly = true)
+    public void checkExamExportAccess(Long examId) {
+        checkCourseAccess(examService.getExamByIdWithCourse(examId).getCourse());
+    }
+
+    /**
+     * Kurs verilerini dışa aktarma yetkisini kontrol eder. Sadece **kursun öğretmeni** veya **ADMIN** aktarabilir.
+     *
+     * @param courseId Kurs ID'si.
+     * @throws ExportDomainException Yetki yoksa.
+     */
+    @Transactional(readOnly = true)
+    public void checkCourseExportAccess(Long courseId) {
+        checkCourseAccess(courseService.getCourseByIdWithTeacherAndUser(courseId));
+    }
+
+    /**
+     * Bir sınava ait tüm öğrenci cevaplarını yazar.
+     */
+    @Transactional(readOnly = true)
+    public long writeExamAnswers(Long examId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<StudentAnswerExportRow> rows = studentAnswerRepository.streamExportRowsByExamId(examId)) {
+            return recordExportWriter.write(rows, StudentAnswerExportRow.class, format, out);
+        }
+    }
+
+    /**
+     * Bir kursun tüm sınavlarına ait öğrenci cevaplarını yazar.
+     */
+    @Transactional(readOnly = true)
+    public long writeCourseAnswers(Long courseId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<StudentAnswerExportRow> rows = studentAnswerRepository.streamExportRowsByCourseId(courseId)) {
+            return recordExportWriter.write(rows, StudentAnswerExportRow.class, format, out);
+        }
+    }
+
+    /**
+     * Bir sınava ait tüm girişleri ve puanlarını yazar.
+     */
+    @Transactional(readOnly = true)
+    public long writeExamSubmissions(Long examId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<ExamSubmissionExportRow> rows = examSubmissionRepository.streamExportRowsByExamId(examId)) {
+            return recordExportWriter.write(rows, ExamSubmissionExportRow.class, format, out);
+        }
+    }
+
+    /**
+     * Bir kursun tüm sınavlarına ait girişleri ve puanlarını yazar.
+     */
+    @Transactional(readOnly = true)
+    public long writeCourseSubmissions(Long courseId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<ExamSubmissionExportRow> rows = examSubmissionRepository.streamExportRowsByCourseId(courseId)) {
+            return recordExportWriter.write(rows, ExamSubmissionExportRow.class, format, out);
+        }
+    }
+
+    /**
+     * Bir kurstaki öğrencilerin toplu sonuçlarını (tamamlanan sınav sayısı, toplam ve ortalama puan) yazar.
+     */
+    @Transactional(readOnly = true)
+    public long writeCourseResults(Long courseId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<CourseResultExportRow> rows = examSubmissionRepository.streamCourseResultRows(courseId)) {
+            return recordExportWriter.write(rows, CourseResultExportRow.class, format, out);
+        }
+    }
+
+    private void checkCourseAccess(Course course) {
+        if (!courseAuthorizationService.canModifyCourse(course, accessContext.getUserId())) {
+            throw new ExportDomainException(ExportDomainErrorCode.UNAUTHORIZED_EXPORT_ACCESS);
+        }
+    }
+}
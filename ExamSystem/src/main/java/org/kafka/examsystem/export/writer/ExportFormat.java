@@ -0,0 +1,47 @@
+package org.kafka.examsystem.export.writer;
+
+import org.kafka.examsystem.export.exception.validation.ExportValidationErrorCode;
+import org.kafka.examsystem.export.exception.validation.ExportValidationException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Dışa aktarım biçimleri.
+ */
+public enum ExportFormat {
+
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+    NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8), "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * İstekteki biçim adını (büyük/küçük harf duyarsız) çözer.
+     *
+     * @throws ExportValidationException Biçim desteklenmiyorsa.
+     */
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new ExportValidationException(ExportValidationErrorCode.UNSUPPORTED_EXPORT_FORMAT);
+    }
+}
@@ -0,0 +1,118 @@
+package org.kafka.examsystem.export.writer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Record tipindeki satır akışlarını CSV veya NDJSON olarak bir çıktı akışına yazan yardımcı.
+ * Satırlar tek tek yazılır ve bellekte biriktirilmez; böylece dışa aktarılan satır sayısından bağımsız olarak
+ * bellek kullanımı sabit kalır.
+ *
+ * CSV başlığı record bileşen adlarından üretilir. Metin hücreleri {@code = + - @} ile başlıyorsa
+ * hesap tablosu programlarında formül olarak çalıştırılmamaları için başına {@code '} eklenir.
+ */
+@Component
+public class RecordExportWriter {
+
+    private final ObjectWriter jsonWriter;
+
+    public RecordExportWriter(ObjectMapper objectMapper) {
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Satırları verilen biçimde yazar. Çıktı akışı kapatılmaz.
+     *
+     * @param rows   Yazılacak satırlar.
+     * @param type   Satırların record tipi.
+     * @param format Dışa aktarım biçimi.
+     * @param out    Hedef çıktı akışı.
+     * @return Yazılan satır sayısı.
+     */
+    public <T extends Record> long write(Stream<T> rows, Class<T> type, ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> writeCsv(rows, type, out);
+            case NDJSON -> writeNdjson(rows, out);
+        };
+    }
+
+    private <T extends Record> long writeCsv(Stream<T> rows, Class<T> type, OutputStream out) throws IOException {
+        RecordComponent[] components = type.getRecordComponents();
+        Method[] accessors = new Method[components.length];
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        for (int i = 0; i < components.length; i++) {
+            accessors[i] = components[i].getAccessor();
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(components[i].getName());
+        }
+        writer.write('\n');
+
+        long count = 0;
+        for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); count++) {
+            T row = iterator.next();
+            for (int i = 0; i < accessors.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvValue(writer, read(accessors[i], row));
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Stream<? extends Record> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = jsonWriter.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long count = 0;
+        for (Iterator<? extends Record> iterator = rows.iterator(); iterator.hasNext(); count++) {
+            jsonWriter.writeValue(generator, iterator.next());
+            generator.writeRaw('\n');
+        }
+        generator.close(); // Tamponu boşaltır; AUTO_CLOSE_TARGET kapalı olduğu için çıktı akışı açık kalır
+        return count;
+    }
+
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static Object read(Method accessor, Object row) {
+        try {
+            return accessor.invoke(row);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Dışa aktarım satırı okunamadı: " + accessor, e);
+        }
+    }
+}
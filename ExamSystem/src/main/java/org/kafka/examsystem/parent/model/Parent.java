@@ -14,7 +14,8 @@ import org.kafka.examsystem.user.model.User;
 @NoArgsConstructor
 public class Parent {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "parents_id_seq")
+    @SequenceGenerator(name = "parents_id_seq", sequenceName = "parents_id_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY) // Bir veli bir kullanıcıya karşılık gelir
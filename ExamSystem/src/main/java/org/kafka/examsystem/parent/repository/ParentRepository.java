@@ -2,6 +2,8 @@ package org.kafka.examsystem.parent.repository;
 
 import org.kafka.examsystem.parent.model.Parent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,4 +15,12 @@ import java.util.Optional;
 public interface ParentRepository extends JpaRepository<Parent, Long> {
 
     Optional<Parent> findByUserId(Long userId);
+
+    /**
+     * Kullanıcı ID'sine karşılık gelen veli profilinin yalnızca ID'sini getirir.
+     * @param userId Kullanıcı ID'si.
+     * @return Veli ID'si (Optional).
+     */
+    @Query("SELECT p.id FROM Parent p WHERE p.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
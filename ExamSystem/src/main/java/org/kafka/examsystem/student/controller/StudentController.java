@@ -1,6 +1,7 @@
 package org.kafka.examsystem.student.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.common.dto.CursorResponse;
 import org.kafka.examsystem.common.dto.PageResponse;
 import org.kafka.examsystem.student.dto.StudentMinimalResponse;
 import org.kafka.examsystem.student.service.StudentService;
@@ -41,4 +42,26 @@ public class StudentController {
         PageResponse<StudentMinimalResponse> students = studentService.searchStudents(firstName, lastName, gradeLevel, pageable);
         return ResponseEntity.ok(students);
     }
+
+    /**
+     * Öğrencileri ad, soyad veya sınıf düzeyine göre imleç (keyset) tabanlı olarak arar.
+     * Sonuçlar (ad, ID) sırasıyla döner; toplam sayım yapılmaz.
+     *
+     * @param firstName Öğrenci adının bir kısmı (isteğe bağlı).
+     * @param lastName Öğrenci soyadının bir kısmı (isteğe bağlı).
+     * @param gradeLevel Öğrencinin sınıf düzeyi (isteğe bağlı).
+     * @param cursor Önceki yanıttaki nextCursor değeri (ilk sayfa için gönderilmez).
+     * @param size Sayfa boyutu.
+     * @return Filtrelenmiş StudentMinimalResponse listesi ve sonraki sayfanın imleci.
+     */
+    @GetMapping("/search/cursor")
+    public ResponseEntity<CursorResponse<StudentMinimalResponse>> searchStudentsByCursor(
+            @RequestParam(required = false) String firstName,
+            @RequestParam(required = false) String lastName,
+            @RequestParam(required = false) Integer gradeLevel,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorResponse<StudentMinimalResponse> students = studentService.searchStudentsByCursor(firstName, lastName, gradeLevel, cursor, size);
+        return ResponseEntity.ok(students);
+    }
 }
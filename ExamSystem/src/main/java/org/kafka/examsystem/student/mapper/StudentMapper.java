@@ -6,8 +6,6 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
-import java.util.List;
-
 @Mapper(componentModel = "spring")
 public interface StudentMapper {
 
@@ -22,12 +20,4 @@ public interface StudentMapper {
     @Mapping(target = "firstName", source = "firstName")
     @Mapping(target = "lastName", source = "lastName")
     StudentMinimalResponse toMinimalResponse(Student student);
-
-    /**
-     * Student varlıklarının listesini StudentMinimalResponse DTO'larının listesine dönüştürür.
-     *
-     * @param students Dönüştürülecek öğrenci varlıklarının listesi.
-     * @return Dönüştürülmüş StudentMinimalResponse DTO'larının listesi.
-     */
-    List<StudentMinimalResponse> toMinimalResponseList(List<Student> students);
-}
+}
\ No newline at end of file
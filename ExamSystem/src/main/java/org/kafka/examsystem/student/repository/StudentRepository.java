@@ -1,7 +1,9 @@
 package org.kafka.examsystem.student.repository;
 
 import org.kafka.examsystem.parent.model.Parent;
+import org.kafka.examsystem.student.dto.StudentMinimalResponse;
 import org.kafka.examsystem.student.model.Student;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -18,8 +20,20 @@ import java.util.Optional;
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
+    String STUDENT_MINIMAL_SELECT = "SELECT new org.kafka.examsystem.student.dto.StudentMinimalResponse(" +
+            "s.id, s.firstName, s.lastName, s.gradeLevel) FROM Student s ";
+
     Optional<Student> findByUserId(Long userId);
 
+    /**
+     * Kullanıcı ID'sine karşılık gelen öğrenci profilinin yalnızca ID'sini getirir.
+     * Entity yüklemeden token claim'leri ve erişim bağlamı için kullanılır.
+     * @param userId Kullanıcı ID'si.
+     * @return Öğrenci ID'si (Optional).
+     */
+    @Query("SELECT s.id FROM Student s WHERE s.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
     /**
      * Belirli bir veliye ait tüm öğrencileri getirir.
      * Bu metot, veli rolüne sahip kullanıcıların çocuklarının sınav girişlerini görmesi için kullanılır.
@@ -28,10 +42,20 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      */
     List<Student> findByParent(Parent parent);
 
+    /**
+     * Belirli bir veliye ait öğrencilerin yalnızca ID'lerini getirir.
+     * Erişim bağlamında velinin çocuklarını entity yüklemeden belirlemek için kullanılır.
+     * @param parentId Veli ID'si.
+     * @return Veliye ait öğrenci ID'lerinin listesi.
+     */
+    @Query("SELECT s.id FROM Student s WHERE s.parent.id = :parentId")
+    List<Long> findIdsByParentId(@Param("parentId") Long parentId);
+
     /**
      * Öğrencileri ad, soyad ve sınıf düzeyine göre arar.
      * Parametreler null olabilir; COALESCE fonksiyonu null değerleri boş dizeye veya
      * kendi değerine dönüştürerek dinamik bir sorgu oluşturur.
+     * Entity yerine doğrudan yanıt DTO'su seçilir; persistence context'e nesne eklenmez.
      *
      * @param firstName Öğrenci adının bir kısmı (kısmi arama için, null olabilir).
      * @param lastName Öğrenci soyadının bir kısmı (kısmi arama için, null olabilir).
@@ -39,13 +63,43 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      * @param pageable Sayfalama ve sıralama bilgileri.
      * @return Arama kriterlerine uyan öğrencilerin sayfalı listesi.
      */
-    @Query("SELECT s FROM Student s WHERE " +
+    @Query(value = STUDENT_MINIMAL_SELECT + "WHERE " +
             "LOWER(s.firstName) LIKE LOWER(CONCAT('%', COALESCE(:firstName, ''), '%')) AND " +
             "LOWER(s.lastName) LIKE LOWER(CONCAT('%', COALESCE(:lastName, ''), '%')) AND " +
-            "s.gradeLevel = COALESCE(:gradeLevel, s.gradeLevel)")
-    Page<Student> searchStudents(
+            "s.gradeLevel = COALESCE(:gradeLevel, s.gradeLevel)",
+            countQuery = "SELECT COUNT(s) FROM Student s WHERE " +
+                    "LOWER(s.firstName) LIKE LOWER(CONCAT('%', COALESCE(:firstName, ''), '%')) AND " +
+                    "LOWER(s.lastName) LIKE LOWER(CONCAT('%', COALESCE(:lastName, ''), '%')) AND " +
+                    "s.gradeLevel = COALESCE(:gradeLevel, s.gradeLevel)")
+    Page<StudentMinimalResponse> searchStudentResponses(
             @Param("firstName") String firstName,
             @Param("lastName") String lastName,
             @Param("gradeLevel") Integer gradeLevel,
             Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Öğrencileri searchStudentResponses ile aynı filtrelerle, imleç (keyset) tabanlı olarak getirir.
+     * (ad, ID) sırasıyla sıralanır; sonraki sayfa OFFSET yerine satır değeri karşılaştırmasıyla okunur.
+     *
+     * @param firstName Öğrenci adının bir kısmı (kısmi arama için, null olabilir).
+     * @param lastName Öğrenci soyadının bir kısmı (kısmi arama için, null olabilir).
+     * @param gradeLevel Öğrencinin sınıf düzeyi (tam eşleşme için, null olabilir).
+     * @param afterFirstName Önceki sayfanın son öğrencisinin adı (ilk sayfa için boş dize).
+     * @param afterId Önceki sayfanın son öğrencisinin ID'si (ilk sayfa için 0).
+     * @param limit Okunacak en fazla satır sayısı.
+     * @return Arama kriterlerine uyan öğrenciler.
+     */
+    @Query(STUDENT_MINIMAL_SELECT + "WHERE " +
+            "LOWER(s.firstName) LIKE LOWER(CONCAT('%', COALESCE(:firstName, ''), '%')) AND " +
+            "LOWER(s.lastName) LIKE LOWER(CONCAT('%', COALESCE(:lastName, ''), '%')) AND " +
+            "s.gradeLevel = COALESCE(:gradeLevel, s.gradeLevel) AND " +
+            "(s.firstName, s.id) > (:afterFirstName, :afterId) " +
+            "ORDER BY s.firstName, s.id")
+    List<StudentMinimalResponse> searchStudentResponsesAfter(
+            @Param("firstName") String firstName,
+            @Param("lastName") String lastName,
+            @Param("gradeLevel") Integer gradeLevel,
+            @Param("afterFirstName") String afterFirstName,
+            @Param("afterId") Long afterId,
+            Limit limit);
+}
@@ -1,10 +1,11 @@
 package org.kafka.examsystem.student.service;
 
 import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.common.dto.CursorResponse;
 import org.kafka.examsystem.common.dto.PageResponse;
+import org.kafka.examsystem.common.pagination.KeysetCursor;
 import org.kafka.examsystem.parent.model.Parent;
 import org.kafka.examsystem.student.dto.StudentMinimalResponse;
-import org.kafka.examsystem.student.mapper.StudentMapper;
 import org.kafka.examsystem.student.model.Student;
 import org.kafka.examsystem.student.repository.StudentRepository;
 import org.springframework.data.domain.Page;
@@ -15,13 +16,13 @@ import org.kafka.examsystem.student.exception.domain.StudentDomainErrorCode;
 import org.kafka.examsystem.student.exception.domain.StudentDomainException;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class StudentService {
 
     private final StudentRepository studentRepository;
-    private final StudentMapper studentMapper;
 
     /**
      * Öğrenci ID'sine göre öğrenciyi getirir.
@@ -41,6 +42,15 @@ public class StudentService {
                 .orElseThrow(() -> new StudentDomainException(StudentDomainErrorCode.STUDENT_NOT_FOUND));
     }
 
+    /**
+     * Öğrenciyi veritabanına gitmeden referans (proxy) olarak döndürür.
+     * ID'si erişim bağlamından bilinen öğrenciyle ilişki kurmak veya sorgu parametresi olarak kullanmak içindir;
+     * alanlarına erişildiğinde öğrenci yüklenir.
+     */
+    public Student getStudentReference(Long studentId) {
+        return studentRepository.getReferenceById(studentId);
+    }
+
     /**
      * Belirli bir veliye ait tüm öğrencileri getirir.
      *
@@ -63,8 +73,27 @@ public class StudentService {
      */
     @Transactional(readOnly = true)
     public PageResponse<StudentMinimalResponse> searchStudents(String firstName, String lastName, Integer gradeLevel, Pageable pageable) {
-        Page<Student> studentsPage = studentRepository.searchStudents(firstName, lastName, gradeLevel, pageable);
-        List<StudentMinimalResponse> content = studentMapper.toMinimalResponseList(studentsPage.getContent());
-        return PageResponse.fromPage(studentsPage, content);
+        Page<StudentMinimalResponse> studentsPage = studentRepository.searchStudentResponses(firstName, lastName, gradeLevel, pageable);
+        return PageResponse.fromPage(studentsPage, studentsPage.getContent());
+    }
+
+    /**
+     * Öğrencileri ad, soyad ve sınıf düzeyine göre arar ve sonuçları imleç (keyset) tabanlı olarak, (ad, ID) sırasıyla getirir.
+     *
+     * @param firstName Öğrenci adının bir kısmı (null olabilir).
+     * @param lastName Öğrenci soyadının bir kısmı (null olabilir).
+     * @param gradeLevel Öğrencinin sınıf düzeyi (null olabilir).
+     * @param cursor Önceki yanıttaki nextCursor değeri (ilk sayfa için null).
+     * @param size Sayfa boyutu.
+     * @return Filtrelenmiş StudentMinimalResponse listesi ve sonraki sayfanın imleci.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<StudentMinimalResponse> searchStudentsByCursor(String firstName, String lastName, Integer gradeLevel, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorResponse.normalizeSize(size);
+        List<StudentMinimalResponse> students = studentRepository.searchStudentResponsesAfter(firstName, lastName, gradeLevel,
+                after == null ? "" : after.sortKey(), after == null ? 0L : after.id(), CursorResponse.limitFor(pageSize));
+        return CursorResponse.fromRows(students, pageSize, Function.identity(),
+                student -> new KeysetCursor(student.getFirstName(), student.getId()));
     }
 }
@@ -1,7 +1,10 @@
 package org.kafka.examsystem.student_answer.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.common.dto.CursorResponse;
 import org.kafka.examsystem.common.dto.PageResponse;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerBatchRequest;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerBatchResponse;
 import org.kafka.examsystem.student_answer.dto.StudentAnswerCreateRequest;
 import org.kafka.examsystem.student_answer.dto.StudentAnswerResponse;
 import org.kafka.examsystem.student_answer.service.StudentAnswerService;
@@ -32,6 +35,19 @@ public class StudentAnswerController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Bir sınav gönderimine ait tüm cevapları tek istekte kaydetmek için kullanılan RESTful endpoint'i.
+     *
+     * @param request Gönderim ID'si ve cevapları içeren DTO.
+     * @return Kaydedilen cevapların özeti ve HttpStatus.CREATED içeren ResponseEntity.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ROLE_STUDENT')")
+    public ResponseEntity<StudentAnswerBatchResponse> createStudentAnswersBatch(@RequestBody StudentAnswerBatchRequest request) {
+        StudentAnswerBatchResponse response = studentAnswerService.createStudentAnswersBatch(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
     /**
      * Bir öğrencinin belirli bir gönderime ait cevaplarını almak için kullanılan RESTful endpoint'i.
      *
@@ -64,4 +80,40 @@ public class StudentAnswerController {
         PageResponse<StudentAnswerResponse> response = studentAnswerService.getAnswersByExamId(examId, pageable);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Bir gönderime ait cevapları imleç (keyset) tabanlı olarak, ID sırasıyla almak için kullanılan RESTful endpoint'i.
+     *
+     * @param submissionId Gönderim ID'si.
+     * @param cursor Önceki yanıttaki nextCursor değeri (ilk sayfa için gönderilmez).
+     * @param size Sayfa boyutu.
+     * @return İmleçli cevap listesini içeren ResponseEntity.
+     */
+    @GetMapping("/submission/{submissionId}/cursor")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER')")
+    public ResponseEntity<CursorResponse<StudentAnswerResponse>> getAnswersBySubmissionIdByCursor(
+            @PathVariable Long submissionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorResponse<StudentAnswerResponse> response = studentAnswerService.getAnswersBySubmissionIdByCursor(submissionId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Bir sınava ait tüm öğrencilerin cevaplarını imleç (keyset) tabanlı olarak, ID sırasıyla almak için kullanılan RESTful endpoint'i.
+     *
+     * @param examId Sınav ID'si.
+     * @param cursor Önceki yanıttaki nextCursor değeri (ilk sayfa için gönderilmez).
+     * @param size Sayfa boyutu.
+     * @return İmleçli cevap listesini içeren ResponseEntity.
+     */
+    @GetMapping("/exam/{examId}/cursor")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_TEACHER')")
+    public ResponseEntity<CursorResponse<StudentAnswerResponse>> getAnswersByExamIdByCursor(
+            @PathVariable Long examId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorResponse<StudentAnswerResponse> response = studentAnswerService.getAnswersByExamIdByCursor(examId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 }
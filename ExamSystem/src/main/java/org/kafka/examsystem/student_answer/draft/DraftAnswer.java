@@ -0,0 +1,17 @@
+package org.kafka.examsystem.student_answer.draft;
+
+/**
+ * Bir sınav girişinde bir soruya verilen, henüz veritabanına yazılmamış son cevap.
+ * Cevap taslak tamponuna alınırken cevap anahtarıyla puanlanır; tampon yazılırken yeniden puanlanmaz.
+ *
+ * @param id             Cevap yazıldığında satırın alacağı ID; null ise yazılırken ayrılır.
+ * @param submissionId   Sınav girişi ID'si.
+ * @param questionId     Soru ID'si.
+ * @param givenAnswer    Öğrencinin verdiği cevap.
+ * @param correct        Cevap doğru mu.
+ * @param score          Cevaptan alınan puan.
+ * @param stagedAtNanos  Cevabın tampona alındığı an ({@link System#nanoTime()}); yazma gecikmesi metriği için kullanılır.
+ */
+public record DraftAnswer(Long id, Long submissionId, Long questionId, String givenAnswer, boolean correct, int score,
+                          long stagedAtNanos) {
+}
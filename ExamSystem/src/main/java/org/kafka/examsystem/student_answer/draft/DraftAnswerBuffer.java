@@ -0,0 +1,426 @@
+package org.kafka.examsystem.student_answer.draft;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.kafka.examsystem.exam_submission.event.ExamSubmittedEvent;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainErrorCode;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainException;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.student_answer.repository.StudentAnswerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sınav sırasında verilen cevapları bellekte toplayıp veritabanına periyodik olarak toplu yazan taslak tamponu.
+ *
+ * Öğrenciler sınav boyunca aynı soruya defalarca cevap verebilir. Tampon her (sınav girişi, soru) çifti için yalnızca
+ * son cevabı tutar; cevaplar belirli aralıklarla tek bir batch "upsert" ile yazılır ve yazılan girişlerin ara toplam
+ * puanları cevaplardan yeniden hesaplanır. Böylece veritabanı her yazma aralığında soru başına en fazla bir yazma görür.
+ * Sınav gönderildiğinde girişin taslakları gönderim transaction'ında yazılır; puanlama kuyruğu son cevapları görür.
+ *
+ * Tampona alınan her cevap önce yerel bir günlüğe ({@link DraftAnswerJournal}) eklenir; uygulama çökerse yazılmamış
+ * cevaplar bir sonraki başlatmada günlükten geri yüklenir. Tampon doluysa veya günlüğe yazılamıyorsa cevap beklemeden
+ * doğrudan veritabanına yazılır. Günlük dizini mutlak bir yol olmalıdır; göreli bir yol uygulamanın başlatıldığı
+ * dizine göre çözülür ve yeniden başlatmada başka bir dizin okunup cevaplar sessizce kaybolabilirdi. Dizin
+ * yazılabilir değilse uygulama başlamaz.
+ *
+ * Gönderimle yarış: periyodik yazma ve doğrudan yazma, cevapları yazmadan önce girişlerin gönderilmemiş satırlarını
+ * kilitler; gönderilmiş girişlerin cevapları yazılmaz, o anda gönderilen (kilitli) girişlerinkiler tampona geri konur.
+ * Bir girişin gönderim yazması, o girişin cevaplarını taşıyan süren bir yazmanın bitmesini bekler; böylece yazılmakta
+ * olan cevaplar puanlamadan kaçmaz. Gönderilen girişler için yeni cevap tampona alınmaz.
+ */
+@Component
+public class DraftAnswerBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DraftAnswerBuffer.class);
+
+    private final StudentAnswerRepository studentAnswerRepository;
+    private final ExamSubmissionRepository examSubmissionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DraftAnswerJournal journal;
+    private final int maxEntries;
+
+    private final Object lock = new Object();
+    private final Map<Long, Map<Long, DraftAnswer>> drafts = new HashMap<>(); // Sınav girişi -> soru -> son cevap
+    private final Map<Long, Integer> inFlight = new HashMap<>(); // Sınav girişi -> süren yazma sayısı
+    private final Map<Long, Long> submitted = new HashMap<>(); // Gönderilen sınav girişi -> gönderim anı (nanoTime)
+    private final long submittedRetentionNanos;
+    private volatile int size;
+
+    private final LongAdder staged = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder writtenThrough = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final Timer flushLag;
+
+    public DraftAnswerBuffer(
+            StudentAnswerRepository studentAnswerRepository,
+            ExamSubmissionRepository examSubmissionRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${application.answers.draft.max-entries:100000}") int maxEntries,
+            @Value("${application.answers.draft.journal-dir}") String journalDirectory,
+            @Value("${application.answers.draft.journal-fsync:false}") boolean journalFsync,
+            @Value("${application.answers.draft.submitted-retention-ms:600000}") long submittedRetentionMillis
+    ) {
+        this.studentAnswerRepository = studentAnswerRepository;
+        this.examSubmissionRepository = examSubmissionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Path journalPath = Path.of(journalDirectory);
+        if (!journalPath.isAbsolute()) {
+            throw new IllegalStateException("application.answers.draft.journal-dir mutlak bir yol olmalıdır: " + journalDirectory);
+        }
+        this.journal = new DraftAnswerJournal(journalPath, journalFsync);
+        this.maxEntries = maxEntries;
+        this.submittedRetentionNanos = TimeUnit.MILLISECONDS.toNanos(submittedRetentionMillis);
+
+        Gauge.builder("answers.draft.buffer.size", this, buffer -> buffer.size)
+                .description("Tamponda bekleyen, veritabanına yazılmamış taslak cevap sayısı")
+                .register(meterRegistry);
+        FunctionCounter.builder("answers.draft.writes", staged, LongAdder::sum)
+                .tag("result", "staged")
+                .description("Tampona alınan cevaplar")
+                .register(meterRegistry);
+        FunctionCounter.builder("answers.draft.writes", flushed, LongAdder::sum)
+                .tag("result", "flushed")
+                .description("Tampondan veritabanına yazılan cevaplar")
+                .register(meterRegistry);
+        FunctionCounter.builder("answers.draft.writes", writtenThrough, LongAdder::sum)
+                .tag("result", "write-through")
+                .description("Tampon dolu olduğu için doğrudan yazılan cevaplar")
+                .register(meterRegistry);
+        FunctionCounter.builder("answers.draft.writes", discarded, LongAdder::sum)
+                .tag("result", "discarded")
+                .description("Giriş gönderildiği için yazılmayan cevaplar")
+                .register(meterRegistry);
+        this.flushLag = Timer.builder("answers.draft.flush.lag")
+                .description("Cevabın tampona alınmasından veritabanına yazılmasına kadar geçen süre")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Günlükte kalan, önceki çalıştırmada yazılamamış cevapları tampona geri yükler.
+     */
+    @PostConstruct
+    void start() throws IOException {
+        List<DraftAnswer> recovered = journal.open();
+        synchronized (lock) {
+            recovered.forEach(this::put);
+        }
+        if (!recovered.isEmpty()) {
+            logger.info("Taslak cevap günlüğünden {} cevap geri yüklendi.", size);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        flush();
+        journal.close();
+    }
+
+    /**
+     * Cevabı tampona alır; aynı soru için tamponda bekleyen cevabın yerine geçer.
+     * Tampon doluysa veya günlüğe yazılamıyorsa cevap çağıran transaction'da doğrudan yazılır.
+     *
+     * @param answer Puanlanmış cevap.
+     * @throws ExamSubmissionDomainException Sınav girişi gönderildiyse.
+     */
+    public void stage(DraftAnswer answer) {
+        List<DraftAnswer> writeThrough = List.of(answer);
+        synchronized (lock) {
+            if (submitted.containsKey(answer.submissionId())) {
+                throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.SUBMISSION_ALREADY_COMPLETED);
+            }
+            Map<Long, DraftAnswer> answers = drafts.get(answer.submissionId());
+            boolean replacing = answers != null && answers.containsKey(answer.questionId());
+            if (replacing || size < maxEntries) {
+                try {
+                    journal.append(answer);
+                    put(answer);
+                    staged.increment();
+                    return;
+                } catch (IOException e) {
+                    logger.warn("Taslak cevap günlüğüne yazılamadı, cevap doğrudan yazılıyor.", e);
+                }
+            }
+            if (replacing) {
+                answers.remove(answer.questionId()); // Eski taslak yeni cevabın üzerine yazılmamalı
+                size--;
+            }
+            acquire(writeThrough);
+        }
+        writtenThrough.increment();
+        WriteOutcome outcome;
+        try {
+            outcome = writeOpen(writeThrough);
+            restore(outcome.deferred());
+        } finally {
+            release(writeThrough);
+        }
+        if (!outcome.discarded().isEmpty()) {
+            throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.SUBMISSION_ALREADY_COMPLETED);
+        }
+    }
+
+    /**
+     * Tampondaki tüm cevapları veritabanına yazar ve yazılan cevapların günlük segmentlerini siler.
+     * Gönderilmiş girişlerin cevapları atılır; o anda gönderilmekte olan girişlerinkiler tampona geri konur.
+     * Yazma başarısız olursa cevaplar tampona geri alınır ve bir sonraki çalıştırmada tekrar denenir.
+     */
+    @Scheduled(fixedDelayString = "${application.answers.draft.flush-interval-ms:5000}")
+    public void flush() {
+        long segment;
+        List<DraftAnswer> snapshot;
+        synchronized (lock) {
+            removeExpiredSubmitted(System.nanoTime());
+            if (size == 0) {
+                return;
+            }
+            try {
+                segment = journal.rotate();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Taslak cevap günlüğü döndürülemedi", e);
+            }
+            snapshot = new ArrayList<>(size);
+            drafts.values().forEach(answers -> snapshot.addAll(answers.values()));
+            drafts.clear();
+            size = 0;
+            acquire(snapshot);
+        }
+        try {
+            restore(writeOpen(snapshot).deferred());
+        } catch (RuntimeException e) {
+            restore(snapshot);
+            logger.error("{} taslak cevap veritabanına yazılamadı, tekrar denenecek.", snapshot.size(), e);
+            return;
+        } finally {
+            release(snapshot);
+        }
+        journal.deleteThrough(segment);
+    }
+
+    /**
+     * Bir sınav girişinin tampondaki cevaplarını çağıran transaction'da yazar.
+     * Girişin cevaplarını taşıyan süren bir yazma varsa önce onun bitmesi beklenir; yazılamayıp tampona geri konan
+     * cevaplar da bu yazmaya dahil olur. Transaction geri alınırsa cevaplar tampona geri konur.
+     *
+     * @param submissionId Sınav girişi ID'si.
+     */
+    public void flush(Long submissionId) {
+        List<DraftAnswer> snapshot;
+        synchronized (lock) {
+            awaitInFlight(submissionId);
+            Map<Long, DraftAnswer> answers = drafts.remove(submissionId);
+            if (answers == null) {
+                return;
+            }
+            size -= answers.size();
+            snapshot = new ArrayList<>(answers.values());
+        }
+        try {
+            write(snapshot);
+        } catch (RuntimeException e) {
+            restore(snapshot);
+            throw e;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(snapshot);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Sınav gönderilirken girişin taslaklarını gönderim transaction'ında yazar.
+     * Bu andan sonra giriş için cevap tampona alınmaz; gönderim geri alınırsa giriş yeniden cevap kabul eder.
+     */
+    @EventListener
+    public void onExamSubmitted(ExamSubmittedEvent event) {
+        Long submissionId = event.submissionId();
+        synchronized (lock) {
+            submitted.put(submissionId, System.nanoTime());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        synchronized (lock) {
+                            submitted.remove(submissionId);
+                        }
+                    }
+                }
+            });
+        }
+        flush(submissionId);
+    }
+
+    /**
+     * Tamponda bekleyen cevap sayısı.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void write(List<DraftAnswer> answers) {
+        transactionTemplate.executeWithoutResult(status -> {
+            studentAnswerRepository.upsertAll(answers);
+            examSubmissionRepository.recalculateTotalScores(
+                    answers.stream().map(DraftAnswer::submissionId).distinct().toList());
+        });
+        recordFlushed(answers);
+    }
+
+    /**
+     * Cevapları yalnızca gönderilmemiş girişlere yazar. Girişlerin satırları transaction sonuna kadar kilitlenir;
+     * yazma commit edilmeden giriş gönderilemez, gönderilmiş bir girişe de cevap yazılmaz.
+     *
+     * @return Başka bir transaction'ın kilitlediği, gönderilmemiş girişlerin cevapları (ertelenen) ve gönderilmiş
+     * ya da silinmiş girişlerin cevapları (atılan).
+     */
+    private WriteOutcome writeOpen(List<DraftAnswer> answers) {
+        List<Long> submissionIds = answers.stream().map(DraftAnswer::submissionId).distinct().toList();
+        WriteOutcome outcome = transactionTemplate.execute(status -> {
+            Set<Long> locked = new HashSet<>(examSubmissionRepository.lockOpenSubmissions(submissionIds));
+            List<Long> skipped = submissionIds.stream().filter(id -> !locked.contains(id)).toList();
+            Set<Long> busy = skipped.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(examSubmissionRepository.findOpenSubmissionIds(skipped));
+
+            List<DraftAnswer> writable = new ArrayList<>(answers.size());
+            List<DraftAnswer> deferred = new ArrayList<>();
+            List<DraftAnswer> rejected = new ArrayList<>();
+            for (DraftAnswer answer : answers) {
+                if (locked.contains(answer.submissionId())) {
+                    writable.add(answer);
+                } else if (busy.contains(answer.submissionId())) {
+                    deferred.add(answer);
+                } else {
+                    rejected.add(answer);
+                }
+            }
+            if (!writable.isEmpty()) {
+                studentAnswerRepository.upsertAll(writable);
+                examSubmissionRepository.recalculateTotalScores(locked);
+            }
+            return new WriteOutcome(writable, deferred, rejected);
+        });
+        recordFlushed(outcome.written());
+        if (!outcome.discarded().isEmpty()) {
+            discarded.add(outcome.discarded().size());
+            logger.info("Gönderilmiş sınav girişlerine ait {} taslak cevap yazılmadı.", outcome.discarded().size());
+        }
+        return outcome;
+    }
+
+    private void recordFlushed(List<DraftAnswer> answers) {
+        long now = System.nanoTime();
+        answers.forEach(answer -> flushLag.record(now - answer.stagedAtNanos(), TimeUnit.NANOSECONDS));
+        flushed.add(answers.size());
+    }
+
+    /**
+     * Cevapların girişlerini süren yazmaya alınmış olarak işaretler. Kilit tutulurken çağrılmalıdır.
+     */
+    private void acquire(List<DraftAnswer> answers) {
+        answers.stream().map(DraftAnswer::submissionId).distinct()
+                .forEach(submissionId -> inFlight.merge(submissionId, 1, Integer::sum));
+    }
+
+    /**
+     * Süren yazmanın işaretini kaldırır ve girişlerini bekleyen gönderimleri uyandırır.
+     */
+    private void release(List<DraftAnswer> answers) {
+        synchronized (lock) {
+            answers.stream().map(DraftAnswer::submissionId).distinct()
+                    .forEach(submissionId -> inFlight.computeIfPresent(submissionId, (id, count) -> count > 1 ? count - 1 : null));
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Girişin cevaplarını taşıyan süren yazmalar bitene kadar bekler. Kilit tutulurken çağrılmalıdır.
+     * Süren yazmalar gönderilmekte olan girişlerin satırlarını beklemeden atladığından, gönderim transaction'ı
+     * satırı kilitlemişken burada beklemek kilitlenmeye yol açmaz.
+     */
+    private void awaitInFlight(Long submissionId) {
+        while (inFlight.containsKey(submissionId)) {
+            try {
+                lock.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Taslak cevap yazmasının bitmesi beklenirken kesildi", e);
+            }
+        }
+    }
+
+    /**
+     * Gönderilen girişlerin kayıtlarını belirli süre sonra siler; o zamana kadar gönderim veritabanında görünür ve
+     * yeni cevaplar cevap servisinde reddedilir. Kilit tutulurken çağrılmalıdır.
+     */
+    private void removeExpiredSubmitted(long now) {
+        submitted.values().removeIf(submittedAt -> now - submittedAt > submittedRetentionNanos);
+    }
+
+    /**
+     * Yazılamayan cevapları tampona geri alır. Bu arada aynı soru için daha yeni bir cevap geldiyse o korunur.
+     * Cevaplar günlüğe yeniden eklenir; eski segmentler başka bir yazmadan sonra silinse de kaybolmazlar.
+     */
+    private void restore(List<DraftAnswer> answers) {
+        synchronized (lock) {
+            for (DraftAnswer answer : answers) {
+                Map<Long, DraftAnswer> existing = drafts.get(answer.submissionId());
+                if (existing != null && existing.containsKey(answer.questionId())) {
+                    continue;
+                }
+                try {
+                    journal.append(answer);
+                } catch (IOException e) {
+                    logger.warn("Geri alınan taslak cevap günlüğe yazılamadı.", e);
+                }
+                put(answer);
+            }
+        }
+    }
+
+    private void put(DraftAnswer answer) {
+        if (drafts.computeIfAbsent(answer.submissionId(), id -> new HashMap<>()).put(answer.questionId(), answer) == null) {
+            size++;
+        }
+    }
+
+    /**
+     * Gönderilmemiş girişlere yapılan bir yazmanın sonucu.
+     */
+    private record WriteOutcome(List<DraftAnswer> written, List<DraftAnswer> deferred, List<DraftAnswer> discarded) {
+    }
+}
@@ -0,0 +1,170 @@
+package org.kafka.examsystem.student_answer.draft;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Taslak cevap tamponunun yerel diskteki günlüğü (journal).
+ *
+ * Tampona alınan her cevap, numaralı bir segment dosyasına tek satır olarak eklenir. Tampon yazılmadan önce segment
+ * döndürülür; tampondaki cevaplar veritabanına yazıldıktan sonra o segmente kadar olan dosyalar silinir. Uygulama
+ * beklenmedik şekilde kapanırsa bir sonraki başlatmada kalan segmentler sırayla okunur ve cevaplar tampona geri alınır.
+ *
+ * Satırlar her eklemede işletim sistemine yazılır; uygulama çökmesinde kaybolmazlar. İşletim sistemi çökmesine karşı
+ * da dayanıklılık isteniyorsa her eklemede diske zorlanabilir (fsync), bu durumda ekleme maliyeti artar.
+ * Sınıf iş parçacığı güvenli değildir; çağıran senkronize eder.
+ */
+class DraftAnswerJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DraftAnswerJournal.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("drafts-(\\d+)\\.journal");
+
+    private final Path directory;
+    private final boolean fsync;
+    private long segment;
+    private FileChannel channel;
+
+    DraftAnswerJournal(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Önceki çalıştırmalardan kalan segmentleri sırayla okur ve yeni bir segment açar.
+     * Yarım yazılmış (bozuk) satırlar atlanır.
+     *
+     * @return Segmentlerdeki cevaplar, yazılma sırasıyla.
+     * @throws IOException Dizin oluşturulamıyor, okunamıyor veya yazılabilir değilse.
+     */
+    List<DraftAnswer> open() throws IOException {
+        Files.createDirectories(directory);
+        if (!Files.isWritable(directory)) {
+            throw new IOException("Taslak cevap günlüğü dizini yazılabilir değil: " + directory);
+        }
+        List<DraftAnswer> recovered = new ArrayList<>();
+        long nanos = System.nanoTime();
+        for (long existing : segments()) {
+            try (BufferedReader reader = Files.newBufferedReader(segmentPath(existing), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    DraftAnswer answer = decode(line, nanos);
+                    if (answer != null) {
+                        recovered.add(answer);
+                    }
+                }
+            }
+            segment = Math.max(segment, existing);
+        }
+        openSegment(segment + 1);
+        return recovered;
+    }
+
+    /**
+     * Cevabı geçerli segmente ekler.
+     */
+    void append(DraftAnswer answer) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap(encode(answer).getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Geçerli segmenti kapatıp yenisini açar.
+     *
+     * @return Kapatılan segmentin numarası; tampon yazıldıktan sonra {@link #deleteThrough(long)} ile silinir.
+     */
+    long rotate() throws IOException {
+        long closed = segment;
+        channel.close();
+        openSegment(closed + 1);
+        return closed;
+    }
+
+    /**
+     * Verilen numaraya kadar (dahil) olan segmentleri siler.
+     */
+    void deleteThrough(long lastSegment) {
+        try {
+            for (long existing : segments()) {
+                if (existing <= lastSegment) {
+                    Files.deleteIfExists(segmentPath(existing));
+                }
+            }
+        } catch (IOException e) {
+            // Kalan segmentler bir sonraki silmede veya başlatmada işlenir; tekrar yazmak sonucu değiştirmez
+            logger.warn("Taslak cevap günlüğü segmentleri silinemedi: {}", directory, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        segment = number;
+        channel = FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve("drafts-" + number + ".journal");
+    }
+
+    private static String encode(DraftAnswer answer) {
+        return answer.submissionId() + "\t" + answer.questionId() + "\t" + (answer.correct() ? 1 : 0) + "\t"
+                + answer.score() + "\t"
+                + Base64.getEncoder().encodeToString(answer.givenAnswer().getBytes(StandardCharsets.UTF_8))
+                + (answer.id() != null ? "\t" + answer.id() : "") + "\n";
+    }
+
+    /**
+     * Günlük satırını çözer. ID alanı olmayan (eski sürümün yazdığı) satırların ID'si yazılırken ayrılır.
+     */
+    private static DraftAnswer decode(String line, long stagedAtNanos) {
+        String[] fields = line.split("\t");
+        if (fields.length != 5 && fields.length != 6) {
+            return null;
+        }
+        try {
+            Long id = fields.length == 6 ? Long.parseLong(fields[5]) : null;
+            return new DraftAnswer(id, Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                    new String(Base64.getDecoder().decode(fields[4]), StandardCharsets.UTF_8),
+                    "1".equals(fields[2]), Integer.parseInt(fields[3]), stagedAtNanos);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
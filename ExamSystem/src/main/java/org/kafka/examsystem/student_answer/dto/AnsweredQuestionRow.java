@@ -0,0 +1,8 @@
+package org.kafka.examsystem.student_answer.dto;
+
+/**
+ * Bir sınav girişinde cevaplanmış bir soru. Canlı sınav takibinde cevaplanan soru sayılarını yüklemek için
+ * JPQL constructor projeksiyonu olarak okunur.
+ */
+public record AnsweredQuestionRow(Long submissionId, Long questionId) {
+}
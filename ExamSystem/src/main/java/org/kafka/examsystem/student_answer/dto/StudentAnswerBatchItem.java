@@ -0,0 +1,14 @@
+package org.kafka.examsystem.student_answer.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Toplu cevap gönderimindeki tek bir sorunun cevabı.
+ */
+@Getter
+@Setter
+public class StudentAnswerBatchItem {
+    private Long questionId;
+    private String givenAnswer;
+}
@@ -0,0 +1,16 @@
+package org.kafka.examsystem.student_answer.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Bir sınav gönderimine ait tüm cevapları tek istekte göndermek için kullanılan veri transfer objesi.
+ */
+@Getter
+@Setter
+public class StudentAnswerBatchRequest {
+    private Long submissionId;
+    private List<StudentAnswerBatchItem> answers;
+}
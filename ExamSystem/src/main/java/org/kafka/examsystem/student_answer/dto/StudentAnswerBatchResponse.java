@@ -0,0 +1,22 @@
+package org.kafka.examsystem.student_answer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Toplu cevap gönderiminin özet sonucu.
+ * Doğru cevaplar istemciye dönülmez; yalnızca kaydedilen cevap sayısı ve puanlar bildirilir.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentAnswerBatchResponse {
+    private Long submissionId;
+    private int answeredCount;
+    private int correctCount;
+    private int earnedScore;
+    private Integer totalScore;
+}
@@ -0,0 +1,19 @@
+package org.kafka.examsystem.student_answer.dto;
+
+/**
+ * Dışa aktarımda bir öğrenci cevabını temsil eden satır.
+ * Entity grafiği yüklenmeden JPQL constructor projeksiyonu olarak akış halinde okunur.
+ */
+public record StudentAnswerExportRow(
+        Long answerId,
+        Long examId,
+        Long submissionId,
+        Long studentId,
+        String studentFirstName,
+        String studentLastName,
+        Long questionId,
+        String givenAnswer,
+        boolean correct,
+        int score
+) {
+}
@@ -1,6 +1,8 @@
 package org.kafka.examsystem.student_answer.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
@@ -9,6 +11,8 @@ import lombok.Setter;
  */
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class StudentAnswerResponse {
     private Long id;
     private String givenAnswer;
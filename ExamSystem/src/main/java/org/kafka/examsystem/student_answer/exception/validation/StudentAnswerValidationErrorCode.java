@@ -9,7 +9,9 @@ import org.springframework.http.HttpStatus;
 public enum StudentAnswerValidationErrorCode implements BaseErrorCode {
 
 
-    BOŞ("BOŞ", "BOŞ", HttpStatus.BAD_REQUEST);
+    EMPTY_ANSWER_BATCH("STUDENT-ANSWER-VALID-001", "Gönderim ID'si ve en az bir cevap belirtilmelidir.", HttpStatus.BAD_REQUEST),
+    DUPLICATE_QUESTION_IN_BATCH("STUDENT-ANSWER-VALID-002", "Aynı soru için birden fazla cevap gönderilemez.", HttpStatus.BAD_REQUEST),
+    QUESTION_NOT_IN_EXAM("STUDENT-ANSWER-VALID-003", "Cevaplanan sorulardan biri bu sınava ait değil.", HttpStatus.BAD_REQUEST);
 
     private final String code;
     private final String message;
@@ -2,10 +2,9 @@ package org.kafka.examsystem.student_answer.exception.validation;
 
 
 import org.kafka.examsystem.common.exception.base.BaseValidationException;
-import org.kafka.examsystem.exam_submission.exception.validation.ExamSubmissionValidationErrorCode;
 
 public class StudentAnswerValidationException extends BaseValidationException {
-    public StudentAnswerValidationException(ExamSubmissionValidationErrorCode errorCode) {
+    public StudentAnswerValidationException(StudentAnswerValidationErrorCode errorCode) {
         super(errorCode);
     }
 }
\ No newline at end of file
@@ -6,8 +6,6 @@ import org.kafka.examsystem.student_answer.model.StudentAnswer;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-import java.util.List;
-
 /**
  * StudentAnswer entity ile DTO'lar arasındaki dönüşümü sağlayan MapStruct arayüzü.
  */
@@ -25,6 +23,4 @@ public interface StudentAnswerMapper {
     @Mapping(target = "questionText", source = "studentAnswer.question.questionText")
     @Mapping(target = "correctAnswer", source = "studentAnswer.question.correctAnswer")
     StudentAnswerResponse toStudentAnswerResponse(StudentAnswer studentAnswer);
-
-    List<StudentAnswerResponse> toStudentAnswerResponseList(List<StudentAnswer> studentAnswers);
 }
@@ -10,13 +10,16 @@ import org.kafka.examsystem.exam_submission.model.ExamSubmission;
  * Öğrencilerin bir sınavdaki sorulara verdiği cevapları temsil eden JPA varlığı.
  */
 @Entity
-@Table(name = "student_answers")
+@Table(name = "student_answers", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"submission_id", "question_id"}, name = "uk_student_answer_submission_question")
+})
 @Getter
 @Setter
 public class StudentAnswer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_answers_id_seq")
+    @SequenceGenerator(name = "student_answers_id_seq", sequenceName = "student_answers_id_seq", allocationSize = 50)
     private Long id;
 
     // Cevabın ait olduğu sınav gönderimi (submission)
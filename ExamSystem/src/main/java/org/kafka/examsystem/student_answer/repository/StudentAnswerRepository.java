@@ -1,33 +1,125 @@
 package org.kafka.examsystem.student_answer.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.kafka.examsystem.student_answer.dto.AnsweredQuestionRow;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerExportRow;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerResponse;
 import org.kafka.examsystem.student_answer.model.StudentAnswer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface StudentAnswerRepository extends JpaRepository<StudentAnswer, Long> {
+public interface StudentAnswerRepository extends JpaRepository<StudentAnswer, Long>, StudentAnswerUpsertRepository {
+
+    String EXPORT_FETCH_SIZE = "1000"; // Dışa aktarım akışlarında tek seferde okunacak satır sayısı
+
+    String ANSWER_RESPONSE_SELECT = "SELECT new org.kafka.examsystem.student_answer.dto.StudentAnswerResponse(" +
+            "sa.id, sa.givenAnswer, sa.isCorrect, sa.score, q.questionText, q.correctAnswer) " +
+            "FROM StudentAnswer sa JOIN sa.question q ";
 
     /**
      * Belirli bir sınav gönderimine (submission) ait tüm cevapları getirir.
-     * Öğrencinin kendi cevaplarını görmesi için kullanılır.
+     * Öğrencinin kendi cevaplarını görmesi için kullanılır. Entity yerine doğrudan yanıt DTO'su seçilir.
      * @param submissionId Sınav gönderim ID'si.
      * @param pageable Sayfalama bilgileri.
      * @return Sayfalı öğrenci cevapları listesi.
      */
-    @Query("SELECT sa FROM StudentAnswer sa JOIN FETCH sa.question q WHERE sa.submission.id = :submissionId")
-    Page<StudentAnswer> findBySubmissionId(@Param("submissionId") Long submissionId, Pageable pageable);
+    @Query(value = ANSWER_RESPONSE_SELECT + "WHERE sa.submission.id = :submissionId",
+            countQuery = "SELECT COUNT(sa) FROM StudentAnswer sa WHERE sa.submission.id = :submissionId")
+    Page<StudentAnswerResponse> findResponsesBySubmissionId(@Param("submissionId") Long submissionId, Pageable pageable);
 
     /**
      * Belirli bir sınava ait tüm öğrencilerin cevaplarını getirir.
-     * Admin yetkisine sahip kullanıcılar için tüm cevapları listelemek amacıyla kullanılır.
+     * Admin yetkisine sahip kullanıcılar için tüm cevapları listelemek amacıyla kullanılır. Entity yerine doğrudan yanıt DTO'su seçilir.
      * @param examId Sınav ID'si.
      * @param pageable Sayfalama bilgileri.
      * @return Sayfalı öğrenci cevapları listesi.
      */
-    @Query("SELECT sa FROM StudentAnswer sa JOIN FETCH sa.submission s JOIN FETCH s.student WHERE s.exam.id = :examId")
-    Page<StudentAnswer> findByExamId(@Param("examId") Long examId, Pageable pageable);
+    @Query(value = ANSWER_RESPONSE_SELECT + "JOIN sa.submission s WHERE s.exam.id = :examId",
+            countQuery = "SELECT COUNT(sa) FROM StudentAnswer sa JOIN sa.submission s WHERE s.exam.id = :examId")
+    Page<StudentAnswerResponse> findResponsesByExamId(@Param("examId") Long examId, Pageable pageable);
+
+    /**
+     * Gönderimde verilen soruların kayıtlı cevaplarından alınan toplam puanı getirir.
+     * @param submissionId Sınav gönderim ID'si.
+     * @param questionIds Soru ID'leri.
+     * @return Cevaplanmış sorulardan alınan puanların toplamı; hiçbiri cevaplanmamışsa 0.
+     */
+    @Query("SELECT COALESCE(SUM(sa.score), 0) FROM StudentAnswer sa " +
+            "WHERE sa.submission.id = :submissionId AND sa.question.id IN :questionIds")
+    int sumScoreBySubmissionIdAndQuestionIdIn(@Param("submissionId") Long submissionId, @Param("questionIds") Collection<Long> questionIds);
+
+    /**
+     * Belirli bir sınav gönderimine ait cevapları imleç (keyset) tabanlı olarak, ID sırasıyla getirir.
+     * @param submissionId Sınav gönderim ID'si.
+     * @param afterId Önceki sayfanın son cevabının ID'si; bundan büyük ID'ler getirilir.
+     * @param limit Okunacak en fazla satır sayısı.
+     * @return Öğrenci cevapları.
+     */
+    @Query(ANSWER_RESPONSE_SELECT +
+            "WHERE sa.submission.id = :submissionId AND sa.id > :afterId ORDER BY sa.id")
+    List<StudentAnswerResponse> findResponsesBySubmissionIdAfter(@Param("submissionId") Long submissionId, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Belirli bir sınava ait tüm öğrencilerin cevaplarını imleç (keyset) tabanlı olarak, ID sırasıyla getirir.
+     * @param examId Sınav ID'si.
+     * @param afterId Önceki sayfanın son cevabının ID'si; bundan büyük ID'ler getirilir.
+     * @param limit Okunacak en fazla satır sayısı.
+     * @return Öğrenci cevapları.
+     */
+    @Query(ANSWER_RESPONSE_SELECT + "JOIN sa.submission s " +
+            "WHERE s.exam.id = :examId AND sa.id > :afterId ORDER BY sa.id")
+    List<StudentAnswerResponse> findResponsesByExamIdAfter(@Param("examId") Long examId, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Belirli bir sınava ait tüm cevapları dışa aktarım satırları olarak, ID sırasıyla akış halinde getirir.
+     * Sonuçlar JDBC fetch size ile parça parça okunur; çağıran taraf açık bir transaction içinde olmalı ve akışı kapatmalıdır.
+     * @param examId Sınav ID'si.
+     * @return Cevap satırlarının akışı.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.kafka.examsystem.student_answer.dto.StudentAnswerExportRow(" +
+            "sa.id, s.exam.id, s.id, st.id, st.firstName, st.lastName, sa.question.id, sa.givenAnswer, sa.isCorrect, sa.score) " +
+            "FROM StudentAnswer sa JOIN sa.submission s JOIN s.student st " +
+            "WHERE s.exam.id = :examId ORDER BY sa.id")
+    Stream<StudentAnswerExportRow> streamExportRowsByExamId(@Param("examId") Long examId);
+
+    /**
+     * Belirli bir kursun tüm sınavlarına ait cevapları dışa aktarım satırları olarak, ID sırasıyla akış halinde getirir.
+     * Sonuçlar JDBC fetch size ile parça parça okunur; çağıran taraf açık bir transaction içinde olmalı ve akışı kapatmalıdır.
+     * @param courseId Kurs ID'si.
+     * @return Cevap satırlarının akışı.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.kafka.examsystem.student_answer.dto.StudentAnswerExportRow(" +
+            "sa.id, e.id, s.id, st.id, st.firstName, st.lastName, sa.question.id, sa.givenAnswer, sa.isCorrect, sa.score) " +
+            "FROM StudentAnswer sa JOIN sa.submission s JOIN s.exam e JOIN s.student st " +
+            "WHERE e.course.id = :courseId ORDER BY sa.id")
+    Stream<StudentAnswerExportRow> streamExportRowsByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Bir sınavın girişlerinde cevaplanmış soruları, cevap satırlarını yüklemeden getirir.
+     * @param examId Sınav ID'si.
+     * @return (Sınav girişi, soru) çiftleri.
+     */
+    @Query("SELECT new org.kafka.examsystem.student_answer.dto.AnsweredQuestionRow(sa.submission.id, sa.question.id) " +
+            "FROM StudentAnswer sa WHERE sa.submission.exam.id = :examId")
+    List<AnsweredQuestionRow> findAnsweredQuestionsByExamId(@Param("examId") Long examId);
 }
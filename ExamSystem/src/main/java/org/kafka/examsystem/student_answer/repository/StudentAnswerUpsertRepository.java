@@ -0,0 +1,26 @@
+package org.kafka.examsystem.student_answer.repository;
+
+import org.kafka.examsystem.student_answer.draft.DraftAnswer;
+
+import java.util.Collection;
+
+/**
+ * Öğrenci cevaplarını (sınav girişi, soru) çiftine göre ekleyen veya güncelleyen toplu yazma işlemleri.
+ */
+public interface StudentAnswerUpsertRepository {
+
+    /**
+     * Cevapları tek bir JDBC batch'i ile yazar. Aynı soru için kayıtlı bir cevap varsa yerine yenisi yazılır ve
+     * satır yeni cevabın ID'sini alır. ID'si olmayan cevaplara yazılırken ID ayrılır. Çağıran transaction'a katılır.
+     *
+     * @param answers Yazılacak cevaplar; aynı (sınav girişi, soru) çifti en fazla bir kez bulunmalıdır.
+     */
+    void upsertAll(Collection<DraftAnswer> answers);
+
+    /**
+     * Yeni bir cevap satırı için ID ayırır; sequence her blokta bir kez çağrılır. Transaction içinde çağrılmalıdır.
+     *
+     * @return Ayrılan ID.
+     */
+    Long nextId();
+}
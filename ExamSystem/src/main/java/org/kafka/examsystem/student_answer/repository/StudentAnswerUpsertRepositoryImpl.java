@@ -0,0 +1,71 @@
+package org.kafka.examsystem.student_answer.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.kafka.examsystem.student_answer.draft.DraftAnswer;
+import org.kafka.examsystem.student_answer.model.StudentAnswer;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link StudentAnswerUpsertRepository} için PostgreSQL "insert ... on conflict" tabanlı uygulama.
+ * JPA ile yapılsaydı her cevap için önce bir SELECT gerekirdi; burada satır başına tek ifade, tek batch'te gönderilir.
+ *
+ * ID'ler entity'lerle aynı Hibernate ID üretecinden (pooled optimizer) alınır; sequence her 50 ID için bir kez
+ * çağrılır ve entity'lerle eklenen satırlarla çakışma olmaz. Güncellenen satır yeni cevabın ID'sini alır; böylece
+ * cevap tampona alınırken ayrılıp istemciye dönen ID, yazıldığında satırın ID'si olur. Cevap satırlarına başka
+ * tablolardan referans verilmez.
+ */
+public class StudentAnswerUpsertRepositoryImpl implements StudentAnswerUpsertRepository {
+
+    private static final String UPSERT_SQL =
+            "insert into student_answers (id, submission_id, question_id, given_answer, is_correct, score) " +
+            "values (?, ?, ?, ?, ?, ?) " +
+            "on conflict (submission_id, question_id) do update " +
+            "set id = excluded.id, given_answer = excluded.given_answer, is_correct = excluded.is_correct, score = excluded.score";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final BeforeExecutionGenerator idGenerator;
+
+    public StudentAnswerUpsertRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                             EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.idGenerator = (BeforeExecutionGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(StudentAnswer.class).getGenerator();
+    }
+
+    @Override
+    public void upsertAll(Collection<DraftAnswer> answers) {
+        List<Object[]> rows = new ArrayList<>(answers.size());
+        for (DraftAnswer answer : answers) {
+            Long id = answer.id() != null ? answer.id() : nextId();
+            rows.add(new Object[]{id, answer.submissionId(), answer.questionId(), answer.givenAnswer(),
+                    answer.correct(), answer.score()});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, BATCH_SIZE, (statement, row) -> {
+            statement.setLong(1, (Long) row[0]);
+            statement.setLong(2, (Long) row[1]);
+            statement.setLong(3, (Long) row[2]);
+            statement.setString(4, (String) row[3]);
+            statement.setBoolean(5, (Boolean) row[4]);
+            statement.setInt(6, (Integer) row[5]);
+        });
+    }
+
+    @Override
+    public Long nextId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        return (Long) idGenerator.generate(session, null, null, EventType.INSERT);
+    }
+}
@@ -1,17 +1,30 @@
 package org.kafka.examsystem.student_answer.service;
 
 import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.common.authorization.AccessContext;
+import org.kafka.examsystem.common.dto.CursorResponse;
 import org.kafka.examsystem.common.dto.PageResponse;
-import org.kafka.examsystem.common.util.AuthUtil;
+import org.kafka.examsystem.common.pagination.KeysetCursor;
 import org.kafka.examsystem.course_student.service.CourseEnrollmentService;
-import org.kafka.examsystem.exam_question.model.ExamQuestion;
+import org.kafka.examsystem.exam_question.grading.AnswerKey;
+import org.kafka.examsystem.exam_question.grading.AnswerKeyRegistry;
 import org.kafka.examsystem.exam_question.service.ExamQuestionService;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainErrorCode;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainException;
 import org.kafka.examsystem.exam_submission.model.ExamSubmission;
+import org.kafka.examsystem.exam_submission.progress.ExamProgressMonitor;
 import org.kafka.examsystem.exam_submission.service.ExamSubmissionService;
+import org.kafka.examsystem.student_answer.draft.DraftAnswer;
+import org.kafka.examsystem.student_answer.draft.DraftAnswerBuffer;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerBatchItem;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerBatchRequest;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerBatchResponse;
 import org.kafka.examsystem.student_answer.dto.StudentAnswerCreateRequest;
 import org.kafka.examsystem.student_answer.dto.StudentAnswerResponse;
 import org.kafka.examsystem.student_answer.exception.domain.StudentAnswerDomainErrorCode;
 import org.kafka.examsystem.student_answer.exception.domain.StudentAnswerDomainException;
+import org.kafka.examsystem.student_answer.exception.validation.StudentAnswerValidationErrorCode;
+import org.kafka.examsystem.student_answer.exception.validation.StudentAnswerValidationException;
 import org.kafka.examsystem.student_answer.mapper.StudentAnswerMapper;
 import org.kafka.examsystem.student_answer.model.StudentAnswer;
 import org.kafka.examsystem.student_answer.repository.StudentAnswerRepository;
@@ -20,7 +33,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Öğrenci cevaplarıyla ilgili iş mantığını yöneten servis sınıfı.
@@ -35,10 +52,19 @@ public class StudentAnswerService {
     private final ExamSubmissionService examSubmissionService;
     private final ExamQuestionService examQuestionService;
     private final CourseEnrollmentService courseEnrollmentService;
+    private final AnswerKeyRegistry answerKeyRegistry;
+    private final AccessContext accessContext;
+    private final DraftAnswerBuffer draftAnswerBuffer;
+    private final ExamProgressMonitor examProgressMonitor;
 
     /**
      * Yeni bir öğrenci cevabı oluşturur ve puanını hesaplar.
      * Sadece sınava giren öğrenci ve ilgili derse kayıtlıysa bu işlemi yapabilir.
+     * Cevap hemen yazılmaz; {@link DraftAnswerBuffer} tarafından toplu olarak yazılır. Aynı soruya tekrar cevap
+     * verilirse önceki cevabın yerine geçer.
+     *
+     * Yanıttaki ID cevaba tampona alınırken ayrılır ve cevap yazıldığında satırın ID'si olur. Aynı soruya sonradan
+     * verilen cevap yeni bir ID alır; önceki cevabın ID'si artık bir satırı göstermez.
      *
      * @param request Cevap oluşturma isteği DTO'su.
      * @return Oluşturulan cevabın yanıt DTO'su.
@@ -46,8 +72,7 @@ public class StudentAnswerService {
     @Transactional
     public StudentAnswerResponse createStudentAnswer(StudentAnswerCreateRequest request) {
         ExamSubmission submission = examSubmissionService.getExamSubmissionById(request.getSubmissionId());
-        ExamQuestion question = examQuestionService.getExamQuestionEntityById(request.getQuestionId());
-        Long currentUserId = AuthUtil.getCurrentUserId();
+        Long currentUserId = accessContext.getUserId();
 
         // Yetkilendirme kontrolü: Mevcut kullanıcı, sınavı gönderen öğrenci olmalı.
         if (!currentUserId.equals(submission.getStudent().getUser().getId())) {
@@ -59,22 +84,112 @@ public class StudentAnswerService {
             throw new StudentAnswerDomainException(StudentAnswerDomainErrorCode.UNAUTHORIZED_ANSWER_SUBMISSION);
         }
 
-        // Cevabın doğruluğunu kontrol et ve sorunun kendi puanını kullanarak puanı hesapla
-        boolean isCorrect = request.getGivenAnswer().equals(question.getCorrectAnswer());
-        int score = isCorrect ? question.getScore() : 0;
+        // Tamamlanmış bir sınava cevap eklenemez
+        if (submission.getSubmittedAt() != null) {
+            throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.SUBMISSION_ALREADY_COMPLETED);
+        }
+
+        // Cevabı sınavın derlenmiş cevap anahtarıyla puanla; soru sınava ait olmalı
+        AnswerKey answerKey = answerKeyRegistry.getAnswerKey(submission.getExam().getId());
+        int index = answerKey.indexOf(request.getQuestionId());
+        if (index < 0) {
+            throw new StudentAnswerValidationException(StudentAnswerValidationErrorCode.QUESTION_NOT_IN_EXAM);
+        }
+        boolean isCorrect = answerKey.isCorrect(index, request.getGivenAnswer());
+        int score = isCorrect ? answerKey.scoreAt(index) : 0;
 
         StudentAnswer studentAnswer = studentAnswerMapper.toStudentAnswer(request);
+        studentAnswer.setId(studentAnswerRepository.nextId());
         studentAnswer.setSubmission(submission);
-        studentAnswer.setQuestion(question);
+        studentAnswer.setQuestion(examQuestionService.getExamQuestionReference(request.getQuestionId()));
         studentAnswer.setCorrect(isCorrect);
         studentAnswer.setScore(score);
 
-        StudentAnswer savedAnswer = studentAnswerRepository.save(studentAnswer);
+        // Cevap taslak tamponuna alınır; aynı soruya verilen önceki cevabın yerine geçer ve toplu olarak yazılır.
+        // Girişin ara toplam puanı yazma sırasında cevaplardan yeniden hesaplanır.
+        draftAnswerBuffer.stage(new DraftAnswer(studentAnswer.getId(), submission.getId(), request.getQuestionId(),
+                request.getGivenAnswer(), isCorrect, score, System.nanoTime()));
+        examProgressMonitor.answered(submission.getExam().getId(), submission.getId(), submission.getStudent().getId(),
+                List.of(request.getQuestionId()));
+
+        return studentAnswerMapper.toStudentAnswerResponse(studentAnswer);
+    }
+
+    /**
+     * Bir sınav gönderimine ait tüm cevapları tek transaction'da kaydeder ve puanlar.
+     * Yetkilendirme bir kez yapılır, puanlama sınavın derlenmiş cevap anahtarıyla bellekte yapılır (soru yüklenmez),
+     * cevaplar tekil cevaplarla aynı batch upsert ile yazılır. Daha önce (örneğin otomatik kayıtla) cevaplanmış
+     * sorulara verilen cevaplar önceki cevabın yerine geçer; gönderimin toplam puanı eski ve yeni puanlar arasındaki
+     * fark kadar tek seferde güncellenir.
+     *
+     * @param request Gönderim ID'si ve cevapları içeren istek DTO'su.
+     * @return Kaydedilen cevap sayısı ve puanları içeren özet.
+     */
+    @Transactional
+    public StudentAnswerBatchResponse createStudentAnswersBatch(StudentAnswerBatchRequest request) {
+        Map<Long, String> answersByQuestionId = validateBatch(request);
+
+        ExamSubmission submission = examSubmissionService.getExamSubmissionWithDetailsById(request.getSubmissionId());
+
+        // Yetkilendirme kontrolü: Mevcut kullanıcı, sınavı gönderen öğrenci olmalı.
+        if (!submission.getStudent().getId().equals(accessContext.getStudentId())) {
+            throw new StudentAnswerDomainException(StudentAnswerDomainErrorCode.UNAUTHORIZED_ANSWER_SUBMISSION);
+        }
+
+        // Ek yetkilendirme kontrolü: Öğrenci, sınavın ait olduğu derse kayıtlı olmalı.
+        if (!courseEnrollmentService.isStudentEnrolledInCourse(submission.getExam().getCourse().getId(), accessContext.getUserId())) {
+            throw new StudentAnswerDomainException(StudentAnswerDomainErrorCode.UNAUTHORIZED_ANSWER_SUBMISSION);
+        }
+
+        // Tamamlanmış bir sınava cevap eklenemez
+        if (submission.getSubmittedAt() != null) {
+            throw new ExamSubmissionDomainException(ExamSubmissionDomainErrorCode.SUBMISSION_ALREADY_COMPLETED);
+        }
+
+        AnswerKey answerKey = answerKeyRegistry.getAnswerKey(submission.getExam().getId());
+        for (Long questionId : answersByQuestionId.keySet()) {
+            if (answerKey.indexOf(questionId) < 0) {
+                throw new StudentAnswerValidationException(StudentAnswerValidationErrorCode.QUESTION_NOT_IN_EXAM);
+            }
+        }
+
+        // Giriş kilitlenir: cevaplar yazılırken giriş gönderilemez, gönderilmiş bir girişe de cevap yazılmaz
+        examSubmissionService.lockOpenSubmission(submission.getId());
+
+        // Tamponda bekleyen taslaklar önce yazılır; aksi halde sonradan yazılıp bu cevapları ezebilirler
+        draftAnswerBuffer.flush(submission.getId());
+
+        // Bellekte puanla
+        long now = System.nanoTime();
+        List<DraftAnswer> gradedAnswers = new ArrayList<>(answersByQuestionId.size());
+        int earnedScore = 0;
+        int correctCount = 0;
+        for (Map.Entry<Long, String> answer : answersByQuestionId.entrySet()) {
+            int index = answerKey.indexOf(answer.getKey());
+            boolean isCorrect = answerKey.isCorrect(index, answer.getValue());
+            int score = isCorrect ? answerKey.scoreAt(index) : 0;
+
+            gradedAnswers.add(new DraftAnswer(studentAnswerRepository.nextId(), submission.getId(), answer.getKey(),
+                    answer.getValue(), isCorrect, score, now));
+
+            earnedScore += score;
+            if (isCorrect) {
+                correctCount++;
+            }
+        }
+
+        // Yerine geçilen cevapların puanı yazmadan önce okunur; giriş kilitli olduğundan arada değişmez
+        int replacedScore = studentAnswerRepository.sumScoreBySubmissionIdAndQuestionIdIn(submission.getId(),
+                answersByQuestionId.keySet());
+        studentAnswerRepository.upsertAll(gradedAnswers);
 
-        // ExamSubmission'ın toplam puanını güncelle
-        examSubmissionService.updateTotalScore(submission, score);
+        // ExamSubmission'ın toplam puanını fark kadar tek seferde, atomik olarak güncelle
+        examSubmissionService.addToTotalScore(submission.getId(), earnedScore - replacedScore);
+        examProgressMonitor.answered(submission.getExam().getId(), submission.getId(), submission.getStudent().getId(),
+                answersByQuestionId.keySet());
 
-        return studentAnswerMapper.toStudentAnswerResponse(savedAnswer);
+        return new StudentAnswerBatchResponse(submission.getId(), gradedAnswers.size(), correctCount, earnedScore,
+                examSubmissionService.getTotalScore(submission.getId()));
     }
 
     /**
@@ -88,17 +203,16 @@ public class StudentAnswerService {
     @Transactional(readOnly = true)
     public PageResponse<StudentAnswerResponse> getAnswersBySubmissionId(Long submissionId, Pageable pageable) {
         ExamSubmission submission = examSubmissionService.getExamSubmissionById(submissionId);
-        Long currentUserId = AuthUtil.getCurrentUserId();
+        Long currentUserId = accessContext.getUserId();
 
         // Yetkilendirme kontrolü
         if (!currentUserId.equals(submission.getStudent().getUser().getId()) && 
-            !AuthUtil.hasRole("ROLE_ADMIN") && !AuthUtil.hasRole("ROLE_TEACHER")) {
+            !accessContext.isAdmin() && !accessContext.isTeacher()) {
             throw new StudentAnswerDomainException(StudentAnswerDomainErrorCode.UNAUTHORIZED_ANSWER_ACCESS);
         }
 
-        Page<StudentAnswer> answersPage = studentAnswerRepository.findBySubmissionId(submissionId, pageable);
-        List<StudentAnswerResponse> responses = studentAnswerMapper.toStudentAnswerResponseList(answersPage.getContent());
-        return PageResponse.fromPage(answersPage, responses);
+        Page<StudentAnswerResponse> answersPage = studentAnswerRepository.findResponsesBySubmissionId(submissionId, pageable);
+        return PageResponse.fromPage(answersPage, answersPage.getContent());
     }
 
     /**
@@ -111,12 +225,82 @@ public class StudentAnswerService {
      */
     @Transactional(readOnly = true)
     public PageResponse<StudentAnswerResponse> getAnswersByExamId(Long examId, Pageable pageable) {
-        if (!AuthUtil.hasRole("ROLE_ADMIN") && !AuthUtil.hasRole("ROLE_TEACHER")) {
+        if (!accessContext.isAdmin() && !accessContext.isTeacher()) {
             throw new StudentAnswerDomainException(StudentAnswerDomainErrorCode.UNAUTHORIZED_ANSWER_ACCESS);
         }
 
-        Page<StudentAnswer> answersPage = studentAnswerRepository.findByExamId(examId, pageable);
-        List<StudentAnswerResponse> responses = studentAnswerMapper.toStudentAnswerResponseList(answersPage.getContent());
-        return PageResponse.fromPage(answersPage, responses);
+        Page<StudentAnswerResponse> answersPage = studentAnswerRepository.findResponsesByExamId(examId, pageable);
+        return PageResponse.fromPage(answersPage, answersPage.getContent());
+    }
+
+    /**
+     * Öğrencinin bir sınav gönderimine ait cevaplarını imleç (keyset) tabanlı olarak, ID sırasıyla getirir.
+     * Sadece öğrencinin kendisi veya ADMIN yetkisine sahip kullanıcılar erişebilir.
+     *
+     * @param submissionId Sınav gönderim ID'si.
+     * @param cursor Önceki yanıttaki nextCursor değeri (ilk sayfa için null).
+     * @param size Sayfa boyutu.
+     * @return Cevapların imleçli listesi.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<StudentAnswerResponse> getAnswersBySubmissionIdByCursor(Long submissionId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorResponse.normalizeSize(size);
+        ExamSubmission submission = examSubmissionService.getExamSubmissionById(submissionId);
+        Long currentUserId = accessContext.getUserId();
+
+        // Yetkilendirme kontrolü
+        if (!currentUserId.equals(submission.getStudent().getUser().getId()) &&
+            !accessContext.isAdmin() && !accessContext.isTeacher()) {
+            throw new StudentAnswerDomainException(StudentAnswerDomainErrorCode.UNAUTHORIZED_ANSWER_ACCESS);
+        }
+
+        List<StudentAnswerResponse> answers = studentAnswerRepository.findResponsesBySubmissionIdAfter(
+                submissionId, after == null ? 0L : after.id(), CursorResponse.limitFor(pageSize));
+        return CursorResponse.fromRows(answers, pageSize, Function.identity(),
+                answer -> KeysetCursor.ofId(answer.getId()));
+    }
+
+    /**
+     * Belirli bir sınava ait tüm öğrencilerin cevaplarını imleç (keyset) tabanlı olarak, ID sırasıyla getirir.
+     * Sadece ADMIN veya TEACHER yetkisine sahip kullanıcılar erişebilir.
+     *
+     * @param examId Sınav ID'si.
+     * @param cursor Önceki yanıttaki nextCursor değeri (ilk sayfa için null).
+     * @param size Sayfa boyutu.
+     * @return Cevapların imleçli listesi.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<StudentAnswerResponse> getAnswersByExamIdByCursor(Long examId, String cursor, int size) {
+        if (!accessContext.isAdmin() && !accessContext.isTeacher()) {
+            throw new StudentAnswerDomainException(StudentAnswerDomainErrorCode.UNAUTHORIZED_ANSWER_ACCESS);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorResponse.normalizeSize(size);
+
+        List<StudentAnswerResponse> answers = studentAnswerRepository.findResponsesByExamIdAfter(
+                examId, after == null ? 0L : after.id(), CursorResponse.limitFor(pageSize));
+        return CursorResponse.fromRows(answers, pageSize, Function.identity(),
+                answer -> KeysetCursor.ofId(answer.getId()));
+    }
+
+    /**
+     * Toplu cevap isteğini doğrular ve soru ID'sine göre cevap haritasına dönüştürür.
+     * Sıra korunur; aynı soru için birden fazla cevap kabul edilmez.
+     */
+    private Map<Long, String> validateBatch(StudentAnswerBatchRequest request) {
+        if (request.getSubmissionId() == null || request.getAnswers() == null || request.getAnswers().isEmpty()) {
+            throw new StudentAnswerValidationException(StudentAnswerValidationErrorCode.EMPTY_ANSWER_BATCH);
+        }
+        Map<Long, String> answersByQuestionId = new LinkedHashMap<>();
+        for (StudentAnswerBatchItem item : request.getAnswers()) {
+            if (item == null || item.getQuestionId() == null || item.getGivenAnswer() == null) {
+                throw new StudentAnswerValidationException(StudentAnswerValidationErrorCode.EMPTY_ANSWER_BATCH);
+            }
+            if (answersByQuestionId.put(item.getQuestionId(), item.getGivenAnswer()) != null) {
+                throw new StudentAnswerValidationException(StudentAnswerValidationErrorCode.DUPLICATE_QUESTION_IN_BATCH);
+            }
+        }
+        return answersByQuestionId;
     }
 }
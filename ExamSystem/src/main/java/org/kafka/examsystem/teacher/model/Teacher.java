@@ -1,6 +1,8 @@
 package org.kafka.examsystem.teacher.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.kafka.examsystem.user.model.User;
@@ -10,11 +12,13 @@ import org.kafka.examsystem.user.model.User;
  */
 @Entity
 @Table(name = "teachers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teachers")
 @Data
 @NoArgsConstructor
 public class Teacher {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teachers_id_seq")
+    @SequenceGenerator(name = "teachers_id_seq", sequenceName = "teachers_id_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
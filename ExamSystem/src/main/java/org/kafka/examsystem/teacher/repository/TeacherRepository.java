@@ -2,6 +2,8 @@ package org.kafka.examsystem.teacher.repository;
 
 import org.kafka.examsystem.teacher.model.Teacher;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +14,12 @@ import java.util.Optional;
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByUserId(Long userId);
+
+    /**
+     * Kullanıcı ID'sine karşılık gelen öğretmen profilinin yalnızca ID'sini getirir.
+     * @param userId Kullanıcı ID'si.
+     * @return Öğretmen ID'si (Optional).
+     */
+    @Query("SELECT t.id FROM Teacher t WHERE t.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
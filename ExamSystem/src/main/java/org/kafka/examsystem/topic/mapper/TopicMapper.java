@@ -6,8 +6,6 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
-import java.util.List;
-
 /**
  * Topic varlığı ile DTO'lar arasında dönüşüm sağlayan MapStruct Mapper.
  */
@@ -17,6 +15,4 @@ public interface TopicMapper {
     @Mapping(target = "courseId", source = "course.id")
     @Mapping(target = "courseName", source = "course.name")
     TopicResponse toTopicResponse(Topic topic);
-
-    List<TopicResponse> toTopicResponseList(List<Topic> topics);
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package org.kafka.examsystem.topic.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import org.kafka.examsystem.course.model.Course;
@@ -11,12 +13,14 @@ import org.kafka.examsystem.course.model.Course;
  */
 @Entity
 @Table(name = "topics")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "topics")
 @Getter
 @Setter
 public class Topic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topics_id_seq")
+    @SequenceGenerator(name = "topics_id_seq", sequenceName = "topics_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -1,10 +1,14 @@
 package org.kafka.examsystem.topic.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.kafka.examsystem.topic.dto.TopicResponse;
 import org.kafka.examsystem.topic.model.Topic;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -21,23 +25,35 @@ public interface TopicRepository extends JpaRepository<Topic, Long> {
     @Query("SELECT t FROM Topic t JOIN FETCH t.course c WHERE t.id = :id")
     Optional<Topic> findByIdWithCourse(@Param("id") Long id);
 
+    String TOPIC_RESPONSE_SELECT = "SELECT new org.kafka.examsystem.topic.dto.TopicResponse(t.id, t.name, c.id, c.name) " +
+            "FROM Topic t JOIN t.course c ";
+
     /**
      * Konu adı ve kurs ID'sine göre filtrelenmiş, sayfalı konu listesini getirir.
-     * Sorgu, N+1 problemini önlemek için JOIN FETCH kullanır.
+     * Entity yerine doğrudan yanıt DTO'su seçilir; persistence context'e nesne eklenmez.
      * @param name Konu adının bir kısmı (kısmi arama için, null olabilir).
      * @param courseId Kurs ID'si (tam eşleşme için, null olabilir).
      * @param pageable Sayfalama bilgileri.
      * @return Filtrelenmiş konuların sayfalı listesi.
      */
-    @Query("SELECT t FROM Topic t JOIN FETCH t.course c WHERE " +
+    @Query(value = TOPIC_RESPONSE_SELECT + "WHERE " +
             "LOWER(t.name) LIKE LOWER(CONCAT('%', COALESCE(:name, ''), '%')) AND " +
-            "(:courseId IS NULL OR t.course.id = :courseId)")
-    Page<Topic> searchTopics(@Param("name") String name, @Param("courseId") Long courseId, Pageable pageable);
+            "(:courseId IS NULL OR c.id = :courseId)",
+            countQuery = "SELECT COUNT(t) FROM Topic t WHERE " +
+                    "LOWER(t.name) LIKE LOWER(CONCAT('%', COALESCE(:name, ''), '%')) AND " +
+                    "(:courseId IS NULL OR t.course.id = :courseId)")
+    Page<TopicResponse> searchTopicResponses(@Param("name") String name, @Param("courseId") Long courseId, Pageable pageable);
 
     /**
-     * Belirli bir kursa ait tüm konuları getirir.
+     * Belirli bir kursa ait konuları yanıt DTO'su olarak sayfalı getirir.
+     * Soru ekleme ekranlarında sık çağrıldığından sonuç sorgu önbelleğinde tutulur; konu veya kurs tablosuna
+     * yazıldığında önbellekteki sonuç geçersiz olur.
      * @param courseId Kurs ID'si.
+     * @param pageable Sayfalama bilgileri.
      * @return Konu listesi.
      */
-    Page<Topic> findByCourseId(Long courseId, Pageable pageable);
+    @Query(value = TOPIC_RESPONSE_SELECT + "WHERE c.id = :courseId",
+            countQuery = "SELECT COUNT(t) FROM Topic t WHERE t.course.id = :courseId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<TopicResponse> findTopicResponsesByCourseId(@Param("courseId") Long courseId, Pageable pageable);
 }
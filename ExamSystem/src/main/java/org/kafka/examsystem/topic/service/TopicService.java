@@ -142,13 +142,13 @@ public class TopicService {
      */
     @Transactional(readOnly = true)
     public PageResponse<TopicResponse> searchTopics(String name, Long courseId, Pageable pageable) {
-        Page<Topic> topicsPage = topicRepository.searchTopics(name, courseId, pageable);
-        return PageResponse.fromPage(topicsPage, topicMapper.toTopicResponseList(topicsPage.getContent()));
+        Page<TopicResponse> topicsPage = topicRepository.searchTopicResponses(name, courseId, pageable);
+        return PageResponse.fromPage(topicsPage, topicsPage.getContent());
     }
 
     /**
      * Belirli bir kursa ait tüm konuları sayfalı olarak listeler. Herkes erişebilir.
-     * Bu metot, `TopicRepository.findByCourseId`'yi kullanır.
+     * Bu metot, `TopicRepository.findTopicResponsesByCourseId`'yi kullanır.
      *
      * @param courseId Kurs ID'si.
      * @param pageable Sayfalama bilgileri.
@@ -157,7 +157,7 @@ public class TopicService {
     @Transactional(readOnly = true)
     public PageResponse<TopicResponse> getTopicsByCourseId(Long courseId, Pageable pageable) {
         courseService.validateCourseExistence(courseId);
-        Page<Topic> topicsPage = topicRepository.findByCourseId(courseId, pageable);
-        return PageResponse.fromPage(topicsPage, topicMapper.toTopicResponseList(topicsPage.getContent()));
+        Page<TopicResponse> topicsPage = topicRepository.findTopicResponsesByCourseId(courseId, pageable);
+        return PageResponse.fromPage(topicsPage, topicsPage.getContent());
     }
 }
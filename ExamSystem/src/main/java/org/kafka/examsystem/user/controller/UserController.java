@@ -0,0 +1,39 @@
+package org.kafka.examsystem.user.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.user.dto.ChangeUserRoleRequest;
+import org.kafka.examsystem.user.service.UserService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Kullanıcı hesaplarıyla ilgili yönetim isteklerini yöneten REST kontrolcü sınıfı.
+ */
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserService userService;
+
+    /**
+     * Bir kullanıcının rolünü değiştirir. Sadece ADMIN rolüne sahip kullanıcılar tarafından erişilebilir.
+     * Kullanıcının mevcut erişim tokenları iptal edilir; yeni rol bir sonraki girişte veya token yenilemede geçerli olur.
+     *
+     * @param userId Rolü değiştirilecek kullanıcının ID'si.
+     * @param request Yeni rol adı.
+     * @return İçeriksiz yanıt.
+     */
+    @PutMapping("/{userId}/role")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<Void> changeUserRole(@PathVariable Long userId, @Valid @RequestBody ChangeUserRoleRequest request) {
+        userService.changeUserRole(userId, request.getRoleName());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,17 @@
+package org.kafka.examsystem.user.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bir kullanıcının rolünü değiştirmek için istek gövdesi DTO'su.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeUserRoleRequest {
+    @NotBlank(message = "Rol adı boş bırakılamaz.")
+    private String roleName; // Örn. "ROLE_TEACHER"
+}
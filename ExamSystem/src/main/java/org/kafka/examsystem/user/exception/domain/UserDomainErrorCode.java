@@ -7,7 +7,8 @@ import org.springframework.http.HttpStatus;
 @Getter
 public enum UserDomainErrorCode implements BaseErrorCode {
 
-    USER_NOT_FOUND("USER-DOMAIN-001", "Belirtilen kullanıcı bulunamadı.", HttpStatus.NOT_FOUND);
+    USER_NOT_FOUND("USER-DOMAIN-001", "Belirtilen kullanıcı bulunamadı.", HttpStatus.NOT_FOUND),
+    ROLE_NOT_FOUND("USER-DOMAIN-002", "Belirtilen rol bulunamadı.", HttpStatus.NOT_FOUND);
 
     private final String code;
     private final String message;
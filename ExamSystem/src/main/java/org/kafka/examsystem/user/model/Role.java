@@ -1,6 +1,9 @@
 package org.kafka.examsystem.user.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,15 +11,20 @@ import lombok.NoArgsConstructor;
 /**
  * Kullanıcı rolleri için JPA varlığı.
  * Sistemdeki farklı kullanıcı türlerini (ADMIN, TEACHER, PARENT) temsil eder.
+ * Roller yalnızca başlangıçta eklenir, hiç güncellenmez; bu yüzden değişmez olarak işaretlenir ve
+ * READ_ONLY önbellek stratejisiyle tutulur.
  */
 @Entity
+@Immutable
 @Table(name = "roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Role {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_id_seq")
+    @SequenceGenerator(name = "roles_id_seq", sequenceName = "roles_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,12 +21,18 @@ import java.util.*;
 public class User implements UserDetails, OAuth2User { // Hem UserDetails hem de OAuth2User implemente ediyor
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
     private String email;
     private String password;
     private String googleId; // Google OAuth2 için eklendi
 
+    // Token iptali için güvenlik sürümü; yalnızca UserRepository.incrementSecurityVersion ile artırılır
+    @ColumnDefault("0")
+    @Column(name = "security_version", nullable = false, updatable = false)
+    private int securityVersion;
+
     @ManyToOne
     @JoinColumn(name = "role_id")
     private Role role;
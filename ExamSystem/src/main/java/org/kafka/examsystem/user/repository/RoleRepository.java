@@ -1,7 +1,10 @@
 package org.kafka.examsystem.user.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.kafka.examsystem.user.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,5 +15,9 @@ import java.util.Optional;
  */
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
-    Optional<Role> findByName(String name); // Rol adına göre rol bulma
+    /**
+     * Rol adına göre rolü bulur. Her kayıtta çağrıldığından sonuç sorgu önbelleğinde tutulur.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Role> findByName(String name);
 }
\ No newline at end of file
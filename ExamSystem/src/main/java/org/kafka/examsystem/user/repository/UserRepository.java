@@ -2,7 +2,11 @@ package org.kafka.examsystem.user.repository;
 
 import org.kafka.examsystem.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -14,4 +18,22 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
+
+    /**
+     * Kullanıcının güvenlik sürümünü döndürür. Salt okunur transaction'lar replikaya yönlendirildiğinden
+     * ve geride kalan bir replika iptal edilmiş tokenları kabul ettirebileceğinden sorgu birincil veritabanında çalışır.
+     */
+    @Transactional
+    @Query("SELECT u.securityVersion FROM User u WHERE u.id = :userId")
+    Optional<Integer> findSecurityVersionById(@Param("userId") Long userId);
+
+    /**
+     * Kullanıcının güvenlik sürümünü veritabanında atomik olarak bir artırır.
+     * Aynı transaction'da değiştirilen kullanıcı entity'si önce yazılır.
+     *
+     * @return Güncellenen satır sayısı; kullanıcı yoksa 0.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.securityVersion = u.securityVersion + 1 WHERE u.id = :userId")
+    int incrementSecurityVersion(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package org.kafka.examsystem.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.kafka.examsystem.auth.service.SecurityVersionService;
 import org.kafka.examsystem.user.exception.domain.UserDomainErrorCode;
 import org.kafka.examsystem.user.exception.domain.UserDomainException;
+import org.kafka.examsystem.user.model.Role;
 import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.RoleRepository;
 import org.kafka.examsystem.user.repository.UserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +16,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final SecurityVersionService securityVersionService;
 
     @Transactional(readOnly = true)
     public User getUserById(Long userId) {
@@ -25,4 +30,19 @@ public class UserService {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserDomainException(UserDomainErrorCode.USER_NOT_FOUND));
     }
+
+    /**
+     * Kullanıcının rolünü değiştirir ve güvenlik sürümünü artırır.
+     * Böylece eski rolü taşıyan token'lar bir sonraki istekte reddedilir ve kullanıcı yeniden giriş yapmalıdır.
+     */
+    @Transactional
+    public User changeUserRole(Long userId, String roleName) {
+        User user = getUserById(userId);
+        Role role = roleRepository.findByName(roleName)
+                .orElseThrow(() -> new UserDomainException(UserDomainErrorCode.ROLE_NOT_FOUND));
+        user.setRole(role);
+        User saved = userRepository.save(user);
+        securityVersionService.bump(userId);
+        return saved;
+    }
 }
@@ -0,0 +1,149 @@
+-- Başlangıç şeması: Flyway'e geçilmeden önce Hibernate'in (ddl-auto=update) ürettiği şemanın birebir karşılığı.
+-- Kısıt adları Hibernate'in ürettiği adlarla aynı tutulur; böylece yeni kurulan ve baseline alınan
+-- mevcut veritabanlarında sonraki migration'lar aynı adları hedefleyebilir.
+-- Mevcut veritabanlarında bu dosya çalışmaz (spring.flyway.baseline-on-migrate, baseline-version = 1).
+
+create sequence users_id_seq start with 1 increment by 50;
+create sequence roles_id_seq start with 1 increment by 50;
+create sequence refresh_tokens_id_seq start with 1 increment by 50;
+create sequence parents_id_seq start with 1 increment by 50;
+create sequence teachers_id_seq start with 1 increment by 50;
+create sequence students_id_seq start with 1 increment by 50;
+create sequence courses_id_seq start with 1 increment by 50;
+create sequence course_students_id_seq start with 1 increment by 50;
+create sequence topics_id_seq start with 1 increment by 50;
+create sequence exams_id_seq start with 1 increment by 50;
+create sequence exam_questions_id_seq start with 1 increment by 50;
+create sequence exam_submissions_id_seq start with 1 increment by 50;
+create sequence student_answers_id_seq start with 1 increment by 50;
+
+create table roles (
+    id bigint not null,
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table users (
+    id bigint not null,
+    role_id bigint,
+    email varchar(255),
+    google_id varchar(255),
+    password varchar(255),
+    primary key (id),
+    constraint FKp56c1712k691lhsyewcssf40f foreign key (role_id) references roles
+);
+
+create table refresh_tokens (
+    id bigint not null,
+    user_id bigint unique,
+    token varchar(255) not null unique,
+    expiry_date timestamp(6) with time zone not null,
+    primary key (id),
+    constraint FK1lih5y2npsf8u5o3vhdb9y0os foreign key (user_id) references users
+);
+
+create table parents (
+    id bigint not null,
+    user_id bigint not null unique,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    primary key (id),
+    constraint FKchh8tf8w072tapgqoijrahojk foreign key (user_id) references users
+);
+
+create table teachers (
+    id bigint not null,
+    user_id bigint not null unique,
+    branch varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    primary key (id),
+    constraint FKb8dct7w2j1vl1r2bpstw5isc0 foreign key (user_id) references users
+);
+
+create table students (
+    id bigint not null,
+    user_id bigint not null unique,
+    parent_id bigint not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    grade_level integer not null,
+    primary key (id),
+    constraint FKdt1cjx5ve5bdabmuuf3ibrwaq foreign key (user_id) references users,
+    constraint FK7bbpphkk8f0aoav3iiih3mh4e foreign key (parent_id) references parents
+);
+
+create table courses (
+    id bigint not null,
+    teacher_id bigint not null,
+    name varchar(255) not null unique,
+    grade_level integer not null,
+    primary key (id),
+    constraint FK468oyt88pgk2a0cxrvxygadqg foreign key (teacher_id) references teachers
+);
+
+create table course_students (
+    id bigint not null,
+    course_id bigint not null,
+    student_id bigint not null,
+    primary key (id),
+    unique (course_id, student_id),
+    constraint FKj5fbpmgy0y0es0gvk0311jor3 foreign key (course_id) references courses,
+    constraint FKm3befe0jxxln54ulu74nn9gr0 foreign key (student_id) references students
+);
+
+create table topics (
+    id bigint not null,
+    course_id bigint not null,
+    name varchar(255) not null,
+    primary key (id),
+    constraint FKhn8u5k2hlwgftn6xkk7i2vh1o foreign key (course_id) references courses
+);
+
+create table exams (
+    id bigint not null,
+    course_id bigint not null,
+    name varchar(255) not null,
+    start_time timestamp(6),
+    duration_in_minutes integer not null,
+    is_active boolean not null,
+    primary key (id),
+    constraint FKr1qm93flajdaclug2fg8i7bcg foreign key (course_id) references courses
+);
+
+create table exam_questions (
+    id bigint not null,
+    exam_id bigint not null,
+    topic_id bigint not null,
+    question_text varchar(1000) not null,
+    options text,
+    correct_answer varchar(255) not null,
+    score integer not null,
+    primary key (id),
+    constraint FK5cd6sjmccb11rrwpyabyc81c0 foreign key (exam_id) references exams,
+    constraint FKqcy9f7ap24d2cdd69o53d1chv foreign key (topic_id) references topics
+);
+
+create table exam_submissions (
+    id bigint not null,
+    exam_id bigint not null,
+    student_id bigint not null,
+    submitted_at timestamp(6),
+    total_score integer not null,
+    primary key (id),
+    constraint uk_exam_submission_exam_student unique (exam_id, student_id),
+    constraint FK3vnq59u82d1f5advlfpw14q2b foreign key (exam_id) references exams,
+    constraint FKg9k1eim8xh3x3ws1wxqa4pnwk foreign key (student_id) references students
+);
+
+create table student_answers (
+    id bigint not null,
+    submission_id bigint not null,
+    question_id bigint not null,
+    given_answer varchar(1000) not null,
+    is_correct boolean not null,
+    score integer not null,
+    primary key (id),
+    constraint FKmwyg0ae81n40wynjmcthdndjv foreign key (submission_id) references exam_submissions,
+    constraint FKk5qjchs3r9eqp0vhjyvjc0q50 foreign key (question_id) references exam_questions
+);
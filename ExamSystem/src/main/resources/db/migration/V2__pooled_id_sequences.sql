@@ -0,0 +1,23 @@
+-- IDENTITY'den SEQUENCE (pooled optimizer) tabanlı ID üretimine geçiş.
+-- Varlıklar, IDENTITY kolonlarının zaten sahip olduğu <tablo>_id_seq sequence'larını allocationSize = 50 ile kullanır.
+-- Mevcut bir veritabanında bu sequence'ların artışı 1'dir; Hibernate oturum fabrikası kurulurken artış uyuşmazlığını
+-- hata olarak raporlayacağı için bu betik JPA başlatılmadan önce çalışır.
+--
+-- Artış 50 yapıldığında bir sonraki nextval, son verilen ID + 50 döner; pooled optimizer bu değeri aralığın üst sınırı
+-- kabul edip (son ID + 1 .. son ID + 50) aralığını kullandığından mevcut satırlarla çakışma olmaz.
+-- Kolonların IDENTITY varsayılanı yerinde kalır; doğrudan SQL ile eklenen satırlar da aynı sequence'tan pay alır.
+-- Yeni kurulan bir veritabanında sequence'lar V1 ile zaten artış 50 olarak oluşturulur; bu adım orada etkisizdir.
+
+ALTER SEQUENCE IF EXISTS users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS roles_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS refresh_tokens_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS parents_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS teachers_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS students_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS courses_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS course_students_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS topics_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS exams_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS exam_questions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS exam_submissions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS student_answers_id_seq INCREMENT BY 50;
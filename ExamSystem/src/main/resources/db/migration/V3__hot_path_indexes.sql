@@ -0,0 +1,44 @@
+-- Sık çalışan sorguların kullandığı yabancı anahtar ve filtre kolonları için indeksler.
+-- Büyük tablolarda yazmaları kilitlememek için indeksler CONCURRENTLY oluşturulur;
+-- Flyway bu dosyayı transaction dışında çalıştırır. Yarıda kalan bir çalıştırma geçersiz (INVALID) bir indeks
+-- bırakabilir; böyle bir durumda indeks elle silinip migration yeniden çalıştırılmalıdır.
+--
+-- Zaten indeksli olanlar burada tekrar tanımlanmaz:
+--   refresh_tokens(token)               -> unique kısıtı
+--   exam_submissions(exam_id, ...)      -> uk_exam_submission_exam_student
+--   course_students(course_id, ...)     -> unique (course_id, student_id)
+--   students/parents/teachers(user_id)  -> unique kısıtları
+
+-- Öğrencinin sınav girişleri: açık girişin bulunması, öğrenci bazlı listeleme ve sonuçlar
+create index concurrently if not exists idx_exam_submissions_student_exam_submitted
+    on exam_submissions (student_id, exam_id, submitted_at);
+
+-- Gönderime ait cevaplar; id ile sıralı keyset sayfalama ve dışa aktarım da aynı indeksi kullanır
+create index concurrently if not exists idx_student_answers_submission_id
+    on student_answers (submission_id, id);
+
+-- Sınavın soruları ve konuya göre süzme, cevap anahtarı derleme
+create index concurrently if not exists idx_exam_questions_exam_topic
+    on exam_questions (exam_id, topic_id);
+
+-- Öğrencinin kayıtlı olduğu kurslar
+create index concurrently if not exists idx_course_students_student_id
+    on course_students (student_id);
+
+-- Velinin çocukları
+create index concurrently if not exists idx_students_parent_id
+    on students (parent_id);
+
+-- Kursun sınavları ve konuları, öğretmenin kursları
+create index concurrently if not exists idx_exams_course_id
+    on exams (course_id);
+
+create index concurrently if not exists idx_topics_course_id
+    on topics (course_id);
+
+create index concurrently if not exists idx_courses_teacher_id
+    on courses (teacher_id);
+
+-- Girişte kullanıcının e-posta ile bulunması
+create index concurrently if not exists idx_users_email
+    on users (email);
@@ -0,0 +1,19 @@
+-- Gönderilen sınavların puanlama işleri için kalıcı kuyruk (outbox).
+-- Sınav gönderilirken iş satırı, submitted_at ile aynı transaction'da eklenir; puanlama arka planda toplu olarak
+-- yapılır ve tamamlanan işlerin satırları sonucu yazan transaction'da silinir. Uygulama yeniden başlatıldığında
+-- tabloda kalan satırlar tekrar kuyruğa alınır.
+
+-- Puanın cevaplardan kesinleştirildiği zaman; null ise puanlama henüz tamamlanmamıştır
+alter table exam_submissions add column graded_at timestamp(6);
+
+create sequence grading_tasks_id_seq start with 1 increment by 50;
+
+create table grading_tasks (
+    id bigint not null,
+    submission_id bigint not null,
+    attempts integer not null,
+    created_at timestamp(6) not null,
+    primary key (id),
+    constraint uk_grading_tasks_submission unique (submission_id),
+    constraint fk_grading_tasks_submission foreign key (submission_id) references exam_submissions on delete cascade
+);
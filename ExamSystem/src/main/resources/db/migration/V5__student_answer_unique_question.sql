@@ -0,0 +1,23 @@
+-- Bir sınav girişinde her soru için tek bir cevap satırı tutulur; taslak cevaplar bu kısıt üzerinden
+-- "insert ... on conflict do update" ile yazılır. Daha önce aynı soru için birden fazla kez eklenmiş cevaplardan
+-- yalnızca en son eklenen (en büyük ID) bırakılır ve etkilenen girişlerin toplam puanları yeniden hesaplanır.
+
+create temporary table duplicate_answer_submissions on commit drop as
+select distinct submission_id
+from student_answers
+group by submission_id, question_id
+having count(*) > 1;
+
+delete from student_answers sa
+using student_answers newer
+where newer.submission_id = sa.submission_id
+  and newer.question_id = sa.question_id
+  and newer.id > sa.id;
+
+update exam_submissions es
+set total_score = (select coalesce(sum(sa.score), 0) from student_answers sa where sa.submission_id = es.id)
+where es.id in (select submission_id from duplicate_answer_submissions);
+
+-- Kısıtın indeksi (submission_id, question_id) sorgularını da karşılar
+alter table student_answers
+    add constraint uk_student_answer_submission_question unique (submission_id, question_id);
@@ -0,0 +1,4 @@
+-- Kullanıcının güvenlik sürümü artık veritabanında tutulur; rol değişikliği, şifre değişikliği veya oturum kapatma
+-- ile artırılır ve daha eski sürümü taşıyan erişim tokenları uygulama yeniden başlasa da reddedilir.
+alter table users
+    add column security_version integer not null default 0;
@@ -0,0 +1,101 @@
+package org.kafka.examsystem.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.kafka.examsystem.auth.service.SecurityVersionService;
+import org.kafka.examsystem.auth.service.UserProfileResolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter'ın eski ve yeni token doğrulama yollarını karşılaştıran JMH benchmark'ı.
+ * <ul>
+ *     <li>legacyTriplePass: Eski yol. Token üç kez ayrıştırılır, her seferinde parser ve anahtar yeniden oluşturulur.</li>
+ *     <li>singlePassUncached: Önceden oluşturulmuş parser ile tek ayrıştırma, önbellek kapalı.</li>
+ *     <li>singlePassCached: Önbellekteki sıcak token; HMAC doğrulaması yapılmaz.</li>
+ * </ul>
+ * Çalıştırmak için {@code mvn test-compile} sonrası main metodu test classpath'i ile çalıştırılır
+ * (ya da {@code java -cp ... org.openjdk.jmh.Main JwtVerificationBenchmark}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService uncachedService;
+    private JwtService cachedService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncachedService = newService(0);
+        cachedService = newService(10_000);
+        userDetails = User.withUsername("student@example.com").password("x").authorities("ROLE_STUDENT").build();
+        token = cachedService.generateToken(userDetails);
+        cachedService.verify(token); // Önbelleği ısıt
+    }
+
+    @Benchmark
+    public boolean legacyTriplePass() {
+        String username = legacyExtractClaims(token).getSubject();
+        return username.equals(userDetails.getUsername())
+                && legacyExtractClaims(token).getSubject().equals(userDetails.getUsername())
+                && !legacyExtractClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean singlePassUncached() {
+        return isValid(uncachedService);
+    }
+
+    @Benchmark
+    public boolean singlePassCached() {
+        return isValid(cachedService);
+    }
+
+    private boolean isValid(JwtService service) {
+        return service.verify(token)
+                .map(verified -> verified.subject().equals(userDetails.getUsername()))
+                .orElse(false);
+    }
+
+    // Eski JwtService.extractAllClaims davranışının birebir kopyası
+    private static Claims legacyExtractClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    private static JwtService newService(int cacheSize) {
+        JwtService service = new JwtService(new UserProfileResolver(null, null, null), new SecurityVersionService(null, 0));
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(service, "verificationCacheMaxSize", cacheSize);
+        service.init();
+        return service;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,58 @@
+package org.kafka.examsystem.auth.service;
+
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.auth.exception.domain.AuthDomainErrorCode;
+import org.kafka.examsystem.auth.exception.domain.AuthDomainException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Başarısız giriş sınırını aşan hesabın kilitlendiğini, kilidin süre dolunca açıldığını ve başarılı girişin
+ * sayacı sıfırladığını doğrulayan testler.
+ */
+@SpringJUnitConfig(LoginAttemptGuard.class)
+@TestPropertySource(properties = {
+        "application.security.login-attempts.max-failures=3",
+        "application.security.login-attempts.lock-duration-ms=500",
+        "application.security.login-attempts.sweep-interval-ms=3600000"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class LoginAttemptGuardTest {
+
+    @Autowired private LoginAttemptGuard guard;
+
+    @Test
+    void accountIsLockedAfterTooManyFailuresUntilTheLockExpires() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            guard.checkAllowed("ogrenci@example.com");
+            guard.recordFailure("ogrenci@example.com");
+        }
+
+        // E-posta büyük/küçük harf farkıyla da aynı hesaptır
+        assertThatThrownBy(() -> guard.checkAllowed("Ogrenci@Example.com"))
+                .isInstanceOfSatisfying(AuthDomainException.class, e ->
+                        assertThat(e.getErrorCode()).isEqualTo(AuthDomainErrorCode.LOGIN_TEMPORARILY_LOCKED));
+        assertThatCode(() -> guard.checkAllowed("veli@example.com")).doesNotThrowAnyException();
+
+        Thread.sleep(600);
+
+        assertThatCode(() -> guard.checkAllowed("ogrenci@example.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void successfulLoginResetsTheFailureCount() {
+        guard.recordFailure("ogrenci@example.com");
+        guard.recordFailure("ogrenci@example.com");
+        guard.recordSuccess("ogrenci@example.com");
+        guard.recordFailure("ogrenci@example.com");
+        guard.recordFailure("ogrenci@example.com");
+
+        assertThatCode(() -> guard.checkAllowed("ogrenci@example.com")).doesNotThrowAnyException();
+    }
+}
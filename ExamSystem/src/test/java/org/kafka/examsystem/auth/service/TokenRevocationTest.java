@@ -0,0 +1,116 @@
+package org.kafka.examsystem.auth.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.auth.jwt.JwtService;
+import org.kafka.examsystem.auth.jwt.VerifiedToken;
+import org.kafka.examsystem.auth.token.RefreshToken;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.RoleRepository;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.kafka.examsystem.user.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rol değişikliği ve oturum kapatmanın kullanıcının elindeki erişim tokenlarını iptal ettiğini ve iptalin
+ * veritabanında saklandığı için uygulama yeniden başlasa da geçerli kaldığını doğrulayan testler.
+ * PostgreSQL'e özgü migration'lar H2'de çalışmadığı için şema Hibernate tarafından oluşturulur.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({JwtService.class, SecurityVersionService.class, UserProfileResolver.class, UserService.class,
+        RefreshTokenService.class})
+class TokenRevocationTest {
+
+    @Autowired private JwtService jwtService;
+    @Autowired private SecurityVersionService securityVersionService;
+    @Autowired private UserService userService;
+    @Autowired private RefreshTokenService refreshTokenService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private RoleRepository roleRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("student-" + UUID.randomUUID() + "@example.com")
+                .role(roleRepository.findByName("ROLE_STUDENT").orElseThrow())
+                .build());
+    }
+
+    @Test
+    void roleChangeRevokesAccessTokensIssuedWithTheOldRole() {
+        String oldToken = jwtService.generateToken(user);
+        assertThat(isRevoked(oldToken)).isFalse();
+
+        User promoted = userService.changeUserRole(user.getId(), "ROLE_TEACHER");
+
+        assertThat(isRevoked(oldToken)).isTrue();
+        assertThat(isRevoked(jwtService.generateToken(promoted))).isFalse();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getRole().getName()).isEqualTo("ROLE_TEACHER");
+    }
+
+    @Test
+    void logoutRevokesAccessTokenAndDeletesRefreshToken() {
+        String accessToken = jwtService.generateToken(user);
+        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
+
+        refreshTokenService.deleteByUserId(user.getId());
+
+        assertThat(isRevoked(accessToken)).isTrue();
+        assertThat(refreshTokenService.findByToken(refreshToken.getToken())).isEmpty();
+    }
+
+    @Test
+    void revocationSurvivesRestart() {
+        String oldToken = jwtService.generateToken(user);
+        securityVersionService.bump(user.getId());
+
+        // Yeni örnek boş önbellekle başlar; sürüm veritabanından okunur
+        SecurityVersionService restarted = new SecurityVersionService(userRepository, 30_000);
+        VerifiedToken verified = jwtService.verify(oldToken).orElseThrow();
+
+        assertThat(restarted.isCurrent(user.getId(), verified.intClaim(JwtService.CLAIM_SECURITY_VERSION))).isFalse();
+        assertThat(restarted.currentVersion(user.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void tokensWithoutSecurityVersionOrOfDeletedUsersAreRejected() {
+        assertThat(securityVersionService.isCurrent(user.getId(), null)).isFalse();
+        assertThat(securityVersionService.isCurrent(null, 0)).isFalse();
+        assertThat(securityVersionService.isCurrent(-1L, 0)).isFalse();
+    }
+
+    private boolean isRevoked(String token) {
+        return jwtService.isRevoked(jwtService.verify(token).orElseThrow());
+    }
+
+    @TestConfiguration
+    static class TokenRevocationTestConfig {
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
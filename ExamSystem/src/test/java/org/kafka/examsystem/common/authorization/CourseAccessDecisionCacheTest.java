@@ -0,0 +1,73 @@
+package org.kafka.examsystem.common.authorization;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kurs erişim kararlarının önbellekten karşılandığını, geçersiz kılınan ve süresi dolan kararların yeniden
+ * okunduğunu doğrulayan testler. Süre dolumu, başka bir uygulama örneğinde yapılan kayıt değişikliklerinin
+ * görülmesini sağlar.
+ */
+@SpringJUnitConfig({CourseAccessDecisionCache.class, CourseAccessDecisionCacheTest.DecisionCacheTestConfig.class})
+@TestPropertySource(properties = "application.authorization.decision-cache.ttl-ms=200")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CourseAccessDecisionCacheTest {
+
+    @Autowired private CourseAccessDecisionCache decisionCache;
+
+    @Test
+    void cachedDecisionIsReloadedAfterInvalidation() {
+        AtomicInteger loads = new AtomicInteger();
+
+        decisionCache.getOrCompute(1L, 10L, () -> loads.incrementAndGet() > 0);
+        decisionCache.getOrCompute(1L, 10L, () -> loads.incrementAndGet() > 0);
+        assertThat(loads).hasValue(1);
+
+        decisionCache.invalidate(10L, List.of(1L));
+        assertThat(decisionCache.getOrCompute(1L, 10L, () -> loads.incrementAndGet() < 0)).isFalse();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void decisionExpiresWithoutLocalInvalidation() throws InterruptedException {
+        assertThat(decisionCache.getOrCompute(1L, 10L, () -> true)).isTrue();
+
+        // Kayıt başka bir uygulama örneğinde silinir; bu örnekte geçersiz kılma çalışmaz
+        Thread.sleep(300);
+
+        assertThat(decisionCache.getOrCompute(1L, 10L, () -> false)).isFalse();
+        assertThat(decisionCache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void decisionReadOutsidePrimaryIsNotStored() {
+        // Salt okunur transaction'da (replikada) okunan karar önbelleğe yazılmaz
+        assertThat(decisionCache.getOrCompute(1L, 10L, () -> true, false)).isTrue();
+        assertThat(decisionCache.size()).isZero();
+
+        assertThat(decisionCache.getOrCompute(1L, 10L, () -> false)).isFalse();
+        assertThat(decisionCache.getOrCompute(1L, 10L, () -> true, false)).isFalse();
+        assertThat(decisionCache.missCount()).isEqualTo(2);
+    }
+
+    @Configuration
+    static class DecisionCacheTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package org.kafka.examsystem.common.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.common.authorization.CourseAuthorizationService;
+import org.kafka.examsystem.course.dto.CourseUpdateRequest;
+import org.kafka.examsystem.course.exception.domain.CourseDomainException;
+import org.kafka.examsystem.course.mapper.CourseMapperImpl;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.course.service.CourseService;
+import org.kafka.examsystem.exam.clock.ExamClock;
+import org.kafka.examsystem.exam.dto.ExamUpdateRequest;
+import org.kafka.examsystem.exam.mapper.ExamMapperImpl;
+import org.kafka.examsystem.exam.model.Exam;
+import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.kafka.examsystem.exam.service.ExamExpiryScheduler;
+import org.kafka.examsystem.exam.service.ExamService;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.kafka.examsystem.teacher.service.TeacherService;
+import org.kafka.examsystem.topic.dto.TopicResponse;
+import org.kafka.examsystem.topic.model.Topic;
+import org.kafka.examsystem.topic.repository.TopicRepository;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * İkinci seviye ve sorgu önbelleğinin servisler üzerinden yapılan güncellemelerden sonra eski veri döndürmediğini
+ * doğrulayan testler. Her servis çağrısı kendi transaction'ını commit eder; önbelleğe yazma commit sırasında yapılır.
+ * PostgreSQL'e özgü migration'lar H2'de çalışmadığı için şema Hibernate tarafından oluşturulur.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CourseService.class, ExamService.class, CourseMapperImpl.class, ExamMapperImpl.class, SecondLevelCacheInvalidator.class})
+class SecondLevelCacheEvictionTest {
+
+    @Autowired private CourseService courseService;
+    @Autowired private ExamService examService;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private ExamRepository examRepository;
+    @Autowired private TopicRepository topicRepository;
+    @Autowired private TeacherRepository teacherRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private SecondLevelCacheInvalidator invalidator;
+    @Autowired private RecordingPublisher publisher;
+
+    @MockBean private TeacherService teacherService;
+    @MockBean private CourseAuthorizationService courseAuthorizationService;
+    @MockBean private ExamExpiryScheduler examExpiryScheduler;
+    @MockBean private ExamClock examClock;
+
+    private Statistics statistics;
+    private Course course;
+    private Exam exam;
+    private Topic topic;
+
+    @BeforeEach
+    void setUp() {
+        when(courseAuthorizationService.canModifyCourse(any(), any())).thenReturn(true);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = UUID.randomUUID().toString();
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(userRepository.save(User.builder().email("teacher-" + suffix + "@example.com").build()));
+        teacher.setFirstName("Ayşe");
+        teacher.setLastName("Yılmaz");
+        teacher.setBranch("Matematik");
+        teacher = teacherRepository.save(teacher);
+
+        course = new Course();
+        course.setName("Matematik-" + suffix);
+        course.setTeacher(teacher);
+        course.setGradeLevel(9);
+        course = courseRepository.save(course);
+
+        exam = new Exam();
+        exam.setName("Ara Sınav");
+        exam.setDurationInMinutes(40);
+        exam.setCourse(course);
+        exam = examRepository.save(exam);
+
+        topic = new Topic();
+        topic.setName("Türev");
+        topic.setCourse(course);
+        topic = topicRepository.save(topic);
+
+        publisher.invalidations.clear();
+    }
+
+    @Test
+    void courseReadsAreServedFromSecondLevelCache() {
+        courseService.getCourseById(course.getId()); // Yüklenen kurs önbelleğe yazılır
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        courseRepository.findById(course.getId());
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(hits);
+        assertThat(entityManagerFactory.getCache().contains(Course.class, course.getId())).isTrue();
+    }
+
+    @Test
+    void courseUpdateThroughServiceIsVisibleToCachedReads() {
+        courseService.getCourseById(course.getId());
+
+        courseService.updateCourse(course.getId(), new CourseUpdateRequest("Fizik-" + course.getId(), 10));
+
+        assertThat(courseRepository.findById(course.getId())).get()
+                .satisfies(reloaded -> {
+                    assertThat(reloaded.getName()).isEqualTo("Fizik-" + course.getId());
+                    assertThat(reloaded.getGradeLevel()).isEqualTo(10);
+                });
+        assertThat(courseService.getCourseById(course.getId()).getName()).isEqualTo("Fizik-" + course.getId());
+    }
+
+    @Test
+    void courseUpdateThroughServiceInvalidatesCachedTopicQueries() {
+        PageRequest page = PageRequest.of(0, 10);
+        topicRepository.findTopicResponsesByCourseId(course.getId(), page);
+        long queryCacheHits = statistics.getQueryCacheHitCount();
+        assertThat(topicRepository.findTopicResponsesByCourseId(course.getId(), page).getContent())
+                .extracting(TopicResponse::getCourseName).containsExactly(course.getName());
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThan(queryCacheHits);
+
+        courseService.updateCourse(course.getId(), new CourseUpdateRequest("Biyoloji-" + course.getId(), 9));
+
+        assertThat(topicRepository.findTopicResponsesByCourseId(course.getId(), page).getContent())
+                .extracting(TopicResponse::getCourseName).containsExactly("Biyoloji-" + course.getId());
+    }
+
+    @Test
+    void courseDeleteThroughServiceIsVisibleToCachedReads() {
+        examRepository.delete(exam);
+        topicRepository.delete(topic);
+        courseService.getCourseById(course.getId());
+
+        courseService.deleteCourse(course.getId());
+
+        // READ_WRITE stratejisi silinen kaydın yerine bir kilit bırakır; okuma önbellekten değil veritabanından yapılır
+        assertThat(courseRepository.findById(course.getId())).isEmpty();
+        assertThatThrownBy(() -> courseService.getCourseById(course.getId())).isInstanceOf(CourseDomainException.class);
+    }
+
+    @Test
+    void examUpdateThroughServiceIsVisibleToCachedReads() {
+        examService.getExamById(exam.getId());
+
+        examService.updateExam(exam.getId(), new ExamUpdateRequest("Final", 90));
+
+        assertThat(examRepository.findById(exam.getId())).get()
+                .satisfies(reloaded -> {
+                    assertThat(reloaded.getName()).isEqualTo("Final");
+                    assertThat(reloaded.getDurationInMinutes()).isEqualTo(90);
+                });
+    }
+
+    @Test
+    void bulkDeactivationEvictsCachedExams() {
+        examService.startExam(exam.getId());
+        assertThat(examRepository.findById(exam.getId())).get().extracting(Exam::isActive).isEqualTo(true);
+
+        examRepository.deactivateExams(List.of(exam.getId()), LocalDateTime.now().plusMinutes(41));
+
+        assertThat(examRepository.findById(exam.getId())).get().extracting(Exam::isActive).isEqualTo(false);
+    }
+
+    @Test
+    void bulkDeactivationSkipsExamsWhoseDeadlineHasNotPassed() {
+        examService.startExam(exam.getId());
+
+        // Bellekteki bitiş zamanı eski olan bir uygulama örneği sınavı süresi dolmadan pasifize etmeye çalışır
+        int updated = examRepository.deactivateExams(List.of(exam.getId()), LocalDateTime.now().plusMinutes(39));
+
+        assertThat(updated).isZero();
+        assertThat(examRepository.findById(exam.getId())).get().extracting(Exam::isActive).isEqualTo(true);
+    }
+
+    @Test
+    void committedUpdatesArePublishedAndRemoteInvalidationsEvict() {
+        courseService.updateCourse(course.getId(), new CourseUpdateRequest("Kimya-" + course.getId(), 11));
+
+        EntityCacheInvalidation invalidation = new EntityCacheInvalidation(Course.class.getName(), course.getId());
+        assertThat(publisher.invalidations).containsExactly(invalidation);
+        assertThat(entityManagerFactory.getCache().contains(Course.class, course.getId())).isTrue();
+
+        invalidator.evict(invalidation);
+
+        assertThat(entityManagerFactory.getCache().contains(Course.class, course.getId())).isFalse();
+    }
+
+    static class RecordingPublisher implements EntityCacheInvalidationPublisher {
+
+        final List<EntityCacheInvalidation> invalidations = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(EntityCacheInvalidation invalidation) {
+            invalidations.add(invalidation);
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        RecordingPublisher recordingPublisher() {
+            return new RecordingPublisher();
+        }
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.kafka.examsystem.common.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Salt okunur transaction'ların replikaya, diğerlerinin birincil veritabanına yönlendirildiğini doğrulayan testler.
+ *
+ * İki gömülü PostgreSQL örneği kullanılır; ikisinin şeması da Flyway ile kurulur. Replika yerine geçen örnek gerçek
+ * bir replikasyonla beslenmez: yalnızca replikada bulunan bir kullanıcı satırı, okumanın hangi veritabanından
+ * yapıldığını gösterir. Gecikme sorgusu replikadaki bir tablodan okunur, böylece gecikme testten ayarlanabilir.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "application.datasource.replica.max-lag-ms=5000",
+        "application.datasource.replica.lag-query=SELECT lag_ms FROM replication_lag_stub",
+        "application.datasource.replica.lag-check-interval-ms=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ReadReplicaDataSourceConfiguration.class)
+class ReadReplicaRoutingTest {
+
+    private static final String REPLICA_ONLY_EMAIL = "replica-only@example.com";
+
+    private static EmbeddedPostgres primary;
+    private static EmbeddedPostgres replica;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private ReplicaRoutingDataSource replicaRoutingDataSource;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replicaJdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @DynamicPropertySource
+    static void dataSources(DynamicPropertyRegistry registry) {
+        try {
+            primary = EmbeddedPostgres.builder().start();
+            replica = EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Flyway.configure()
+                .dataSource(replica.getPostgresDatabase())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(replica.getPostgresDatabase());
+        jdbc.execute("CREATE TABLE replication_lag_stub (lag_ms BIGINT NOT NULL)");
+        jdbc.update("INSERT INTO replication_lag_stub VALUES (0)");
+        jdbc.update("INSERT INTO users (id, email) VALUES (nextval('users_id_seq'), ?)", REPLICA_ONLY_EMAIL);
+
+        registry.add("spring.datasource.url", () -> primary.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("application.datasource.replica.urls", () -> replica.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopDatabases() throws IOException {
+        primary.close();
+        replica.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        replicaJdbc = new JdbcTemplate(replica.getPostgresDatabase());
+        replicaJdbc.update("UPDATE replication_lag_stub SET lag_ms = 0");
+        replicaRoutingDataSource.refreshReplicaState();
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromReplica() {
+        double replicaReads = readConnections("replica-1");
+
+        assertThat(findReplicaOnlyUser(readOnly)).isPresent();
+        assertThat(findReplicaOnlyUser(readWrite)).isEmpty();
+        assertThat(findReplicaOnlyUser()).isEmpty(); // Transaction dışı okumalar birincil veritabanına gider
+        assertThat(readConnections("replica-1")).isEqualTo(replicaReads + 1);
+    }
+
+    @Test
+    void writesGoToPrimaryEvenWhenReplicaIsAvailable() {
+        String email = "primary-" + System.nanoTime() + "@example.com";
+
+        readWrite.executeWithoutResult(status -> userRepository.save(User.builder().email(email).build()));
+
+        assertThat(userRepository.findByEmail(email)).isPresent();
+        assertThat(replicaJdbc.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Long.class, email)).isZero();
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replicaJdbc.update("UPDATE replication_lag_stub SET lag_ms = 60000");
+        replicaRoutingDataSource.refreshReplicaState();
+        double fallbacks = readConnections("primary");
+
+        assertThat(findReplicaOnlyUser(readOnly)).isEmpty();
+        assertThat(readConnections("primary")).isEqualTo(fallbacks + 1);
+        assertThat(meterRegistry.get("datasource.replica.available").tag("pool", "replica-1").gauge().value()).isZero();
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("pool", "replica-1").gauge().value()).isEqualTo(60000);
+
+        replicaJdbc.update("UPDATE replication_lag_stub SET lag_ms = 100");
+        replicaRoutingDataSource.refreshReplicaState();
+
+        assertThat(findReplicaOnlyUser(readOnly)).isPresent();
+    }
+
+    @Test
+    void replicaFailingHealthCheckFallsBackToPrimary() {
+        replicaJdbc.execute("ALTER TABLE replication_lag_stub RENAME TO replication_lag_stub_offline");
+        try {
+            replicaRoutingDataSource.refreshReplicaState();
+
+            assertThat(findReplicaOnlyUser(readOnly)).isEmpty();
+            assertThat(meterRegistry.get("datasource.replica.lag").tag("pool", "replica-1").gauge().value()).isNaN();
+        } finally {
+            replicaJdbc.execute("ALTER TABLE replication_lag_stub_offline RENAME TO replication_lag_stub");
+        }
+    }
+
+    private Optional<User> findReplicaOnlyUser() {
+        return userRepository.findByEmail(REPLICA_ONLY_EMAIL);
+    }
+
+    private Optional<User> findReplicaOnlyUser(TransactionTemplate transaction) {
+        return transaction.execute(status -> findReplicaOnlyUser());
+    }
+
+    private double readConnections(String pool) {
+        return meterRegistry.get("datasource.read.connections").tag("pool", pool).functionCounter().count();
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
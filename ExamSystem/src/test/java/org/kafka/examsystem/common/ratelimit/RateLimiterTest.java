@@ -0,0 +1,77 @@
+package org.kafka.examsystem.common.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * İstek sınırlayıcının her anahtar ve politika için ayrı kova kullandığını, sınırı aşan isteğe tekrar deneme
+ * süresini döndürdüğünü ve kova sayısını üst sınırda tuttuğunu doğrulayan testler.
+ * Her test kovaları dolu bulsun diye bağlam testten sonra yenilenir.
+ */
+@SpringJUnitConfig({RateLimiter.class, RateLimiterTest.RateLimiterTestConfig.class})
+@TestPropertySource(properties = {
+        "application.security.rate-limit.max-buckets=3",
+        "application.security.rate-limit.sweep-interval-ms=3600000"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RateLimiterTest {
+
+    private static final RateLimitPolicy POLICY = new RateLimitPolicy("test", 1, 2);
+
+    @Autowired private RateLimiter rateLimiter;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void burstIsAllowedAndTheNextRequestIsRejected() {
+        RateLimitDecision first = rateLimiter.tryAcquire(POLICY, "user:1");
+        RateLimitDecision second = rateLimiter.tryAcquire(POLICY, "user:1");
+        RateLimitDecision third = rateLimiter.tryAcquire(POLICY, "user:1");
+
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.limit()).isEqualTo(2);
+        assertThat(first.remaining()).isEqualTo(1);
+        assertThat(second.allowed()).isTrue();
+        assertThat(second.remaining()).isZero();
+        assertThat(third.allowed()).isFalse();
+        assertThat(third.retryAfterSeconds()).isEqualTo(1);
+        assertThat(third.resetSeconds()).isEqualTo(2);
+        assertThat(meterRegistry.get("rate.limit.rejected").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void eachKeyAndPolicyHasItsOwnBucket() {
+        rateLimiter.tryAcquire(POLICY, "user:1");
+        rateLimiter.tryAcquire(POLICY, "user:1");
+
+        assertThat(rateLimiter.tryAcquire(POLICY, "user:2").allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire(new RateLimitPolicy("other", 1, 2), "user:1").allowed()).isTrue();
+    }
+
+    @Test
+    void bucketCountStaysWithinTheLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire(POLICY, "ip:10.0.0." + i).allowed()).isTrue();
+        }
+
+        assertThat(rateLimiter.size()).isLessThanOrEqualTo(3);
+        assertThat(meterRegistry.get("rate.limit.buckets").gauge().value()).isLessThanOrEqualTo(3);
+    }
+
+    @Configuration
+    static class RateLimiterTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
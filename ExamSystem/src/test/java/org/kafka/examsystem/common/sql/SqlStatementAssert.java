@@ -0,0 +1,72 @@
+package org.kafka.examsystem.common.sql;
+
+import org.assertj.core.api.AbstractAssert;
+
+import java.util.Map;
+
+/**
+ * Bir kod bloğunun çalıştırdığı SQL ifadeleri için AssertJ doğrulamaları.
+ * Sorgu sayısı gerilemelerinin testte yakalanması için kullanılır:
+ * <pre>{@code
+ * assertThatSql(() -> courseService.getCourseById(id))
+ *         .hasAtMostStatements(1)
+ *         .hasNoRepeatedSelects();
+ * }</pre>
+ */
+public class SqlStatementAssert extends AbstractAssert<SqlStatementAssert, SqlStatementStatistics> {
+
+    /** Uygulamadaki varsayılan eşikle aynı: aynı SELECT'in bu kadar tekrarı N+1 sayılır. */
+    private static final int DEFAULT_REPEATED_SELECT_THRESHOLD = 5;
+
+    private SqlStatementAssert(SqlStatementStatistics actual) {
+        super(actual, SqlStatementAssert.class);
+    }
+
+    /**
+     * Bloğu çalıştırır ve çalıştırdığı SQL ifadeleri için doğrulama nesnesi döndürür.
+     */
+    public static SqlStatementAssert assertThatSql(Runnable action) {
+        return new SqlStatementAssert(SqlStatementRecorder.record(action));
+    }
+
+    public static SqlStatementAssert assertThat(SqlStatementStatistics statistics) {
+        return new SqlStatementAssert(statistics);
+    }
+
+    public SqlStatementAssert hasAtMostStatements(int max) {
+        isNotNull();
+        if (actual.statementCount() > max) {
+            failWithMessage("En fazla <%d> SQL ifadesi bekleniyordu ama <%d> ifade çalıştı:%n%s",
+                    max, actual.statementCount(), describeStatements());
+        }
+        return this;
+    }
+
+    public SqlStatementAssert hasStatementCount(int expected) {
+        isNotNull();
+        if (actual.statementCount() != expected) {
+            failWithMessage("<%d> SQL ifadesi bekleniyordu ama <%d> ifade çalıştı:%n%s",
+                    expected, actual.statementCount(), describeStatements());
+        }
+        return this;
+    }
+
+    public SqlStatementAssert hasNoRepeatedSelects() {
+        return hasNoRepeatedSelects(DEFAULT_REPEATED_SELECT_THRESHOLD);
+    }
+
+    public SqlStatementAssert hasNoRepeatedSelects(int threshold) {
+        isNotNull();
+        Map<String, Integer> repeated = actual.repeatedSelects(threshold);
+        if (!repeated.isEmpty()) {
+            failWithMessage("Aynı SELECT en az <%d> kez çalıştı (olası N+1): %s", threshold, repeated);
+        }
+        return this;
+    }
+
+    private String describeStatements() {
+        StringBuilder description = new StringBuilder();
+        actual.statementsBySql().forEach((sql, count) -> description.append(count).append(" x ").append(sql).append('\n'));
+        return description.toString();
+    }
+}
@@ -0,0 +1,127 @@
+package org.kafka.examsystem.common.sql;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kafka.examsystem.common.sql.SqlStatementAssert.assertThatSql;
+
+/**
+ * SQL ifade sayacının Hibernate kancalarıyla doğru saydığını ve tekrarlanan SELECT'leri N+1 olarak işaretlediğini
+ * doğrulayan testler. PostgreSQL'e özgü migration'lar H2'de çalışmadığı için şema Hibernate tarafından oluşturulur.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SqlStatementRecorderTest {
+
+    private static final int TEACHERS = 6;
+
+    @Autowired private TeacherRepository teacherRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private final List<Long> teacherIds = new ArrayList<>();
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        String suffix = UUID.randomUUID().toString();
+
+        Teacher teacher = null;
+        for (int i = 0; i < TEACHERS; i++) {
+            teacher = new Teacher();
+            teacher.setUser(userRepository.save(User.builder().email("teacher-" + i + "-" + suffix + "@example.com").build()));
+            teacher.setFirstName("Öğretmen" + i);
+            teacher.setLastName("Yılmaz");
+            teacher.setBranch("Matematik");
+            teacherIds.add(teacherRepository.save(teacher).getId());
+        }
+
+        course = new Course();
+        course.setName("Matematik-" + suffix);
+        course.setTeacher(teacher);
+        course.setGradeLevel(9);
+        course = courseRepository.save(course);
+
+        // Önbellekten gelen entity'ler SQL çalıştırmaz; sayımlar veritabanı yolunu ölçsün
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void lazyAssociationLoadsAreReportedAsRepeatedSelects() {
+        SqlStatementStatistics statistics = SqlStatementRecorder.record(() -> readOnly.executeWithoutResult(status ->
+                teacherRepository.findAllById(teacherIds).forEach(teacher -> teacher.getUser().getEmail())));
+
+        assertThat(statistics.statementCount()).isEqualTo(1 + TEACHERS);
+        assertThat(statistics.loadedEntityCount()).isEqualTo(2 * TEACHERS);
+        assertThat(statistics.repeatedSelects(TEACHERS)).hasSize(1)
+                .allSatisfy((sql, count) -> {
+                    assertThat(sql).containsIgnoringCase("from users");
+                    assertThat(count).isEqualTo(TEACHERS);
+                });
+    }
+
+    @Test
+    void fetchJoinLookupUsedForAuthorizationIssuesOneStatement() {
+        assertThatSql(() -> readOnly.executeWithoutResult(status ->
+                courseRepository.findByIdWithTeacherAndUser(course.getId()).orElseThrow().getTeacher().getUser().getEmail()))
+                .hasStatementCount(1)
+                .hasNoRepeatedSelects();
+    }
+
+    @Test
+    void nestedScopesAlsoCountIntoEnclosingScope() {
+        try (SqlStatementRecorder.Scope outer = SqlStatementRecorder.open()) {
+            readOnly.executeWithoutResult(status -> teacherRepository.findById(teacherIds.get(0)));
+
+            SqlStatementStatistics inner = SqlStatementRecorder.record(() ->
+                    readOnly.executeWithoutResult(status -> courseRepository.findById(course.getId())));
+
+            assertThat(inner.statementCount()).isEqualTo(1);
+            assertThat(outer.statistics().statementCount()).isEqualTo(2);
+        }
+        assertThat(SqlStatementRecorder.isActive()).isFalse();
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.kafka.examsystem.course.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.kafka.examsystem.auth.token.RefreshToken;
+import org.kafka.examsystem.course.dto.CourseResponse;
+import org.kafka.examsystem.course.mapper.CourseMapper;
+import org.kafka.examsystem.course.mapper.CourseMapperImpl;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course_student.model.CourseStudent;
+import org.kafka.examsystem.exam.model.Exam;
+import org.kafka.examsystem.exam_question.model.ExamQuestion;
+import org.kafka.examsystem.exam_submission.dto.ExamSubmissionResponse;
+import org.kafka.examsystem.exam_submission.mapper.ExamSubmissionMapper;
+import org.kafka.examsystem.exam_submission.mapper.ExamSubmissionMapperImpl;
+import org.kafka.examsystem.exam_submission.model.ExamSubmission;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.parent.model.Parent;
+import org.kafka.examsystem.student.model.Student;
+import org.kafka.examsystem.student_answer.model.StudentAnswer;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.topic.model.Topic;
+import org.kafka.examsystem.user.model.Role;
+import org.kafka.examsystem.user.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listeleme uç noktalarında entity grafiği yükleyip mapper ile dönüştürme (eski yol) ile doğrudan DTO projeksiyonu
+ * seçmeyi (yeni yol) 100 satırlık bir sayfa için karşılaştıran JMH benchmark'ı.
+ * <ul>
+ *     <li>*EntityPage: Eski sorgular. Kurs için öğretmen ve kullanıcı, giriş için sınav, öğrenci ve ders JOIN FETCH ile
+ *     yüklenir; MapStruct ile yanıt DTO'suna çevrilir.</li>
+ *     <li>*ProjectionPage: Repository'deki constructor projeksiyonları. Yalnızca yanıt kolonları seçilir,
+ *     persistence context'e entity eklenmez.</li>
+ * </ul>
+ * Her çağrı servislerdeki gibi salt okunur bir transaction açar; sayım sorguları iki yolda da aynı olduğundan ölçülmez.
+ * Sonuçlar sayfa başına ortalama süredir; {@link GCProfiler} çıktısındaki {@code gc.alloc.rate.norm} sayfa başına
+ * ayrılan bellek miktarını (byte) verir. Gömülü H2 üzerinde, gerçek entity eşlemeleriyle çalışır.
+ * Çalıştırmak için {@code mvn test-compile} sonrası main metodu test classpath'i ile çalıştırılır.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListProjectionBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int PAGE_OFFSET = 5 * PAGE_SIZE;
+
+    private static final String COURSE_ENTITY_QUERY =
+            "SELECT c FROM Course c JOIN FETCH c.teacher t JOIN FETCH t.user u ORDER BY c.id";
+
+    private static final String SUBMISSION_ENTITY_QUERY = "SELECT es FROM ExamSubmission es " +
+            "JOIN FETCH es.exam e " +
+            "JOIN FETCH es.student s " +
+            "JOIN FETCH e.course c " +
+            "ORDER BY es.id";
+
+    // Tablolar Hibernate tarafından oluşturulduktan sonra yüklenen veri: 1.000 kurs, 20.000 sınav girişi
+    private static final List<String> SEED = List.of(
+            "insert into roles (id, name) values (1, 'ROLE_ADMIN'), (2, 'ROLE_TEACHER'), (3, 'ROLE_PARENT'), (4, 'ROLE_STUDENT')",
+            "insert into users (id, role_id, email, password, google_id) " +
+                    "select x, case when x <= 1000 then 2 when x <= 2000 then 3 else 4 end, " +
+                    "'user' || x || '@example.com', '$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Pq5y0h5lO9Sx8V6sQwq7ZK', 'google-' || x " +
+                    "from system_range(1, 4000)",
+            "insert into teachers (id, user_id, branch, first_name, last_name) " +
+                    "select x, x, 'Matematik', 'Öğretmen' || x, 'Soyad' || x from system_range(1, 1000)",
+            "insert into parents (id, user_id, first_name, last_name) " +
+                    "select x, 1000 + x, 'Veli' || x, 'Soyad' || x from system_range(1, 1000)",
+            "insert into students (id, user_id, parent_id, first_name, last_name, grade_level) " +
+                    "select x, 2000 + x, mod(x - 1, 1000) + 1, 'Öğrenci' || x, 'Soyad' || x, 9 + mod(x, 4) from system_range(1, 2000)",
+            "insert into courses (id, teacher_id, name, grade_level) " +
+                    "select x, x, 'Kurs ' || x, 9 + mod(x, 4) from system_range(1, 1000)",
+            "insert into exams (id, course_id, name, start_time, duration_in_minutes, is_active) " +
+                    "select x, x, 'Sınav ' || x, null, 40, false from system_range(1, 1000)",
+            "insert into exam_submissions (id, exam_id, student_id, submitted_at, total_score) " +
+                    "select x, mod(x - 1, 1000) + 1, (x - 1) / 1000 + 1, current_timestamp, 20 from system_range(1, 20000)");
+
+    private SessionFactory sessionFactory;
+    private final CourseMapper courseMapper = new CourseMapperImpl();
+    private final ExamSubmissionMapper examSubmissionMapper = new ExamSubmissionMapperImpl();
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Role.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(RefreshToken.class)
+                .addAnnotatedClass(Parent.class)
+                .addAnnotatedClass(Teacher.class)
+                .addAnnotatedClass(Student.class)
+                .addAnnotatedClass(Course.class)
+                .addAnnotatedClass(CourseStudent.class)
+                .addAnnotatedClass(Topic.class)
+                .addAnnotatedClass(Exam.class)
+                .addAnnotatedClass(ExamQuestion.class)
+                .addAnnotatedClass(ExamSubmission.class)
+                .addAnnotatedClass(StudentAnswer.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:list-projection-benchmark;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy()) // Spring Boot'un kolon adlandırması
+                .buildSessionFactory();
+        sessionFactory.inTransaction(session -> SEED.forEach(sql -> session.createNativeMutationQuery(sql).executeUpdate()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<CourseResponse> courseEntityPage() {
+        return sessionFactory.fromTransaction(session -> {
+            session.setDefaultReadOnly(true);
+            return session.createSelectionQuery(COURSE_ENTITY_QUERY, Course.class)
+                    .setFirstResult(PAGE_OFFSET)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList()
+                    .stream()
+                    .map(courseMapper::toCourseResponse)
+                    .toList();
+        });
+    }
+
+    @Benchmark
+    public List<CourseResponse> courseProjectionPage() {
+        return sessionFactory.fromTransaction(session -> {
+            session.setDefaultReadOnly(true);
+            return session.createSelectionQuery(CourseRepository.COURSE_RESPONSE_SELECT + "ORDER BY c.id", CourseResponse.class)
+                    .setFirstResult(PAGE_OFFSET)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+        });
+    }
+
+    @Benchmark
+    public List<ExamSubmissionResponse> submissionEntityPage() {
+        return sessionFactory.fromTransaction(session -> {
+            session.setDefaultReadOnly(true);
+            return session.createSelectionQuery(SUBMISSION_ENTITY_QUERY, ExamSubmission.class)
+                    .setFirstResult(PAGE_OFFSET)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList()
+                    .stream()
+                    .map(examSubmissionMapper::toExamSubmissionResponse)
+                    .toList();
+        });
+    }
+
+    @Benchmark
+    public List<ExamSubmissionResponse> submissionProjectionPage() {
+        return sessionFactory.fromTransaction(session -> {
+            session.setDefaultReadOnly(true);
+            return session.createSelectionQuery(
+                            ExamSubmissionRepository.SUBMISSION_RESPONSE_SELECT + "ORDER BY es.id", ExamSubmissionResponse.class)
+                    .setFirstResult(PAGE_OFFSET)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ListProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
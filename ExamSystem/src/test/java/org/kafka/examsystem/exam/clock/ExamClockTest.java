@@ -0,0 +1,111 @@
+package org.kafka.examsystem.exam.clock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.exam.dto.ExamClockFrame;
+import org.kafka.examsystem.exam.event.ExamDeadlineChangedEvent;
+import org.kafka.examsystem.exam.event.ExamsExpiredEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Sınav saatinin kalan süreyi sunucu saatine göre hesapladığını, süre uzatmalarını bağlı öğrencilere yansıttığını
+ * ve sınav kapandığında ya da bağlantısız kaldığında sınavın saatini durdurduğunu doğrulayan testler.
+ * Saat veritabanı kullanmadığı için testler yalnızca saat bileşeniyle çalışır.
+ */
+@SpringJUnitConfig({ExamClock.class, ExamClockTest.ClockTestConfig.class})
+class ExamClockTest {
+
+    private static final AtomicLong EXAM_IDS = new AtomicLong();
+
+    @Autowired private ExamClock examClock;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void subscriberReceivesRemainingTimeFromServerClock() {
+        Long examId = EXAM_IDS.incrementAndGet();
+        LocalDateTime endTime = LocalDateTime.now().plusMinutes(10);
+
+        examClock.subscribe(examId, endTime);
+
+        ExamClockFrame frame = examClock.currentFrame(examId);
+        assertThat(frame.endTime()).isEqualTo(endTime);
+        assertThat(frame.remainingMillis()).isCloseTo(10 * 60 * 1000L, within(5_000L));
+        assertThat(frame.closed()).isFalse();
+        assertThat(meterRegistry.get("exam.clock.subscribers").gauge().value()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void deadlineChangeIsAppliedToConnectedExam() {
+        Long examId = EXAM_IDS.incrementAndGet();
+        LocalDateTime endTime = LocalDateTime.now().plusMinutes(10);
+        examClock.subscribe(examId, endTime);
+
+        eventPublisher.publishEvent(new ExamDeadlineChangedEvent(examId, endTime.plusMinutes(15)));
+
+        assertThat(examClock.currentFrame(examId).endTime()).isEqualTo(endTime.plusMinutes(15));
+    }
+
+    @Test
+    void laterSubscriptionWithNewerDeadlineExtendsExam() {
+        Long examId = EXAM_IDS.incrementAndGet();
+        LocalDateTime endTime = LocalDateTime.now().plusMinutes(10);
+        examClock.subscribe(examId, endTime);
+
+        // Süre başka bir uygulama örneğinde uzatıldı; yeni bağlanan öğrenci veritabanındaki bitiş zamanını getirir
+        examClock.subscribe(examId, endTime.plusMinutes(5));
+
+        assertThat(examClock.currentFrame(examId).endTime()).isEqualTo(endTime.plusMinutes(5));
+    }
+
+    @Test
+    void expiredExamStopsItsClock() {
+        Long examId = EXAM_IDS.incrementAndGet();
+        Long otherExamId = EXAM_IDS.incrementAndGet();
+        examClock.subscribe(examId, LocalDateTime.now().plusSeconds(1));
+        examClock.subscribe(otherExamId, LocalDateTime.now().plusMinutes(10));
+
+        eventPublisher.publishEvent(new ExamsExpiredEvent(List.of(examId)));
+
+        assertThat(examClock.currentFrame(examId)).isNull();
+        assertThat(examClock.currentFrame(otherExamId)).isNotNull();
+    }
+
+    @Test
+    void examThatNeverExpiresIsClosedAfterGracePeriod() {
+        Long examId = EXAM_IDS.incrementAndGet();
+        // Bitişi kapanma payından (1 dakika) daha önce geçmiş, örneğin silinmiş bir sınav
+        examClock.subscribe(examId, LocalDateTime.now().minusMinutes(2));
+
+        examClock.tick();
+
+        assertThat(examClock.currentFrame(examId)).isNull();
+    }
+
+    @Configuration
+    static class ClockTestConfig {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.kafka.examsystem.exam.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.exam.dto.ExamListView;
+import org.kafka.examsystem.exam.model.Exam;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sınav aramasındaki aktiflik filtresinin kayıtlı bayrağa değil, {@link Exam#isActiveAt(LocalDateTime)} ile aynı
+ * kurala göre çalıştığını doğrulayan testler. Süresi dolmuş ancak arka plan görevi tarafından henüz pasifize
+ * edilmemiş sınav, aktif aramada dönmemeli ve pasif aramada dönmelidir.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ExamSearchViewsTest {
+
+    @Autowired private ExamRepository examRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private TeacherRepository teacherRepository;
+    @Autowired private UserRepository userRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private Course course;
+    private Exam runningExam;
+    private Exam expiredExam;
+    private Exam notStartedExam;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(userRepository.save(User.builder().email("teacher-" + suffix + "@example.com").build()));
+        teacher.setFirstName("Ayşe");
+        teacher.setLastName("Yılmaz");
+        teacher.setBranch("Matematik");
+        teacher = teacherRepository.save(teacher);
+
+        course = new Course();
+        course.setName("Matematik-" + suffix);
+        course.setTeacher(teacher);
+        course.setGradeLevel(9);
+        course = courseRepository.save(course);
+
+        runningExam = exam("Ara Sınav", true, now.minusMinutes(10));
+        expiredExam = exam("Quiz", true, now.minusMinutes(50)); // Bitiş zamanı geçti, bayrak hâlâ aktif
+        notStartedExam = exam("Final", false, null);
+    }
+
+    @Test
+    void activeSearchExcludesExamsPastTheirEndTime() {
+        assertThat(search(true)).extracting(ExamListView::id).containsExactly(runningExam.getId());
+    }
+
+    @Test
+    void inactiveSearchIncludesExpiredAndNotStartedExams() {
+        assertThat(search(false)).extracting(ExamListView::id)
+                .containsExactlyInAnyOrder(expiredExam.getId(), notStartedExam.getId());
+        assertThat(search(null)).hasSize(3);
+    }
+
+    private List<ExamListView> search(Boolean isActive) {
+        return examRepository.searchExamViews(null, isActive, course.getId(), now, PageRequest.of(0, 20)).getContent();
+    }
+
+    private Exam exam(String name, boolean active, LocalDateTime startTime) {
+        Exam exam = new Exam();
+        exam.setName(name);
+        exam.setDurationInMinutes(40);
+        exam.setActive(active);
+        exam.setStartTime(startTime);
+        exam.setCourse(course);
+        return examRepository.save(exam);
+    }
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package org.kafka.examsystem.exam.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.common.authorization.AccessContext;
+import org.kafka.examsystem.common.authorization.CourseAccessDecisionCache;
+import org.kafka.examsystem.common.authorization.CourseAuthorizationService;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.course_student.model.CourseStudent;
+import org.kafka.examsystem.course_student.repository.CourseStudentRepository;
+import org.kafka.examsystem.exam.model.Exam;
+import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.kafka.examsystem.exam.service.ExamService;
+import org.kafka.examsystem.exam_question.grading.AnswerKeyRegistry;
+import org.kafka.examsystem.exam_question.mapper.ExamQuestionMapperImpl;
+import org.kafka.examsystem.exam_question.model.ExamQuestion;
+import org.kafka.examsystem.exam_question.paper.ExamPaperSnapshotCache;
+import org.kafka.examsystem.exam_question.repository.ExamQuestionRepository;
+import org.kafka.examsystem.parent.model.Parent;
+import org.kafka.examsystem.parent.repository.ParentRepository;
+import org.kafka.examsystem.student.model.Student;
+import org.kafka.examsystem.student.repository.StudentRepository;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.kafka.examsystem.topic.model.Topic;
+import org.kafka.examsystem.topic.repository.TopicRepository;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kafka.examsystem.common.sql.SqlStatementAssert.assertThatSql;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sınav başlatıldığında yapılan hazırlığın sınav kağıdını, cevap anahtarını ve derse kayıtlı öğrencilerin kayıt
+ * kararlarını önbelleğe aldığını, böylece öğrencilerin ilk isteklerinin veritabanına gitmediğini doğrulayan testler.
+ * PostgreSQL'e özgü migration'lar H2'de çalışmadığı için şema Hibernate tarafından oluşturulur.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ExamWarmUp.class, ExamPaperSnapshotCache.class, AnswerKeyRegistry.class, ExamQuestionMapperImpl.class,
+        CourseAuthorizationService.class, CourseAccessDecisionCache.class})
+class ExamWarmUpTest {
+
+    @Autowired private ExamWarmUp examWarmUp;
+    @Autowired private ExamPaperSnapshotCache examPaperSnapshotCache;
+    @Autowired private AnswerKeyRegistry answerKeyRegistry;
+    @Autowired private CourseAuthorizationService courseAuthorizationService;
+    @Autowired private CourseAccessDecisionCache decisionCache;
+    @Autowired private CourseStudentRepository courseStudentRepository;
+    @Autowired private ExamQuestionRepository examQuestionRepository;
+    @Autowired private TopicRepository topicRepository;
+    @Autowired private ExamRepository examRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private ParentRepository parentRepository;
+    @Autowired private TeacherRepository teacherRepository;
+    @Autowired private UserRepository userRepository;
+
+    @MockBean private ExamService examService;
+    @MockBean private AccessContext accessContext;
+
+    private Course course;
+    private Exam exam;
+    private final List<Long> enrolledUserIds = new ArrayList<>();
+    private Long notEnrolledUserId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(userRepository.save(User.builder().email("teacher-" + suffix + "@example.com").build()));
+        teacher.setFirstName("Ayşe");
+        teacher.setLastName("Yılmaz");
+        teacher.setBranch("Matematik");
+        teacher = teacherRepository.save(teacher);
+
+        Parent parent = new Parent();
+        parent.setUser(userRepository.save(User.builder().email("parent-" + suffix + "@example.com").build()));
+        parent.setFirstName("Mehmet");
+        parent.setLastName("Demir");
+        parent = parentRepository.save(parent);
+
+        course = new Course();
+        course.setName("Matematik-" + suffix);
+        course.setTeacher(teacher);
+        course.setGradeLevel(9);
+        course = courseRepository.save(course);
+
+        exam = new Exam();
+        exam.setName("Ara Sınav");
+        exam.setDurationInMinutes(40);
+        exam.setCourse(course);
+        exam = examRepository.save(exam);
+        when(examService.getExamByIdWithCourse(exam.getId())).thenReturn(exam);
+
+        Topic topic = new Topic();
+        topic.setName("Kesirler");
+        topic.setCourse(course);
+        topic = topicRepository.save(topic);
+
+        for (int i = 1; i <= 3; i++) {
+            ExamQuestion question = new ExamQuestion();
+            question.setQuestionText("Soru " + i);
+            question.setOptions("[\"A\",\"B\"]");
+            question.setCorrectAnswer("A");
+            question.setScore(10);
+            question.setExam(exam);
+            question.setTopic(topic);
+            examQuestionRepository.save(question);
+        }
+
+        for (int i = 0; i < 4; i++) {
+            Student student = new Student();
+            student.setUser(userRepository.save(User.builder().email("student-" + i + "-" + suffix + "@example.com").build()));
+            student.setParent(parent);
+            student.setFirstName("Öğrenci " + i);
+            student.setLastName("Demir");
+            student.setGradeLevel(9);
+            student = studentRepository.save(student);
+            if (i < 3) {
+                courseStudentRepository.save(new CourseStudent(course, student));
+                enrolledUserIds.add(student.getUser().getId());
+            } else {
+                notEnrolledUserId = student.getUser().getId();
+            }
+        }
+    }
+
+    @Test
+    void firstRequestsAfterWarmUpDoNotHitTheDatabase() {
+        examWarmUp.warmUp(exam.getId(), course.getId());
+
+        assertThatSql(() -> {
+            assertThat(examPaperSnapshotCache.getSnapshot(exam.getId()).courseId()).isEqualTo(course.getId());
+            assertThat(answerKeyRegistry.getAnswerKey(exam.getId())).isNotNull();
+            enrolledUserIds.forEach(userId ->
+                    assertThat(courseAuthorizationService.isStudentEnrolled(course.getId(), userId)).isTrue());
+        }).hasStatementCount(0);
+    }
+
+    @Test
+    void studentsOutsideTheCourseAreStillCheckedAgainstTheDatabase() {
+        examWarmUp.warmUp(exam.getId(), course.getId());
+
+        assertThatSql(() -> assertThat(courseAuthorizationService.isStudentEnrolled(course.getId(), notEnrolledUserId)).isFalse())
+                .hasStatementCount(1);
+    }
+
+    @Test
+    void preloadRacingWithEnrollmentChangeIsDiscarded() {
+        int written = decisionCache.preload(course.getId(), () -> {
+            // Kayıtlar okunurken bir öğrencinin kaydı silinir ve commit sonrası önbellek geçersiz kılınır
+            decisionCache.invalidate(course.getId(), List.of(enrolledUserIds.get(0)));
+            return enrolledUserIds;
+        });
+
+        assertThat(written).isZero();
+        assertThatSql(() -> courseAuthorizationService.isStudentEnrolled(course.getId(), enrolledUserIds.get(0)))
+                .hasStatementCount(1);
+    }
+
+    @TestConfiguration
+    static class WarmUpTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
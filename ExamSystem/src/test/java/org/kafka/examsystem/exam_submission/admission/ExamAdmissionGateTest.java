@@ -0,0 +1,127 @@
+package org.kafka.examsystem.exam_submission.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamAdmissionQueuedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kabul kapısının izinleri belirlenen hızla verdiğini, sırası gelmeyen öğrenciye sıradaki yerini döndürdüğünü,
+ * tekrar denemelerde yerin korunduğunu ve aynı sınavda önce geleni önce geçirdiğini doğrulayan testler.
+ * Her test kovayı dolu bulsun diye bağlam testten sonra yenilenir.
+ */
+@SpringJUnitConfig({ExamAdmissionGate.class, ExamAdmissionGateTest.GateTestConfig.class})
+@TestPropertySource(properties = {
+        "application.exam.admission.permits-per-second=1",
+        "application.exam.admission.burst=2",
+        "application.exam.admission.max-retry-after-seconds=5",
+        "application.exam.admission.sweep-interval-ms=3600000"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ExamAdmissionGateTest {
+
+    private static final AtomicLong IDS = new AtomicLong();
+
+    @Autowired private ExamAdmissionGate gate;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void burstIsAdmittedAndTheRestIsQueuedInOrder() {
+        Long examId = IDS.incrementAndGet();
+        gate.admit(examId, 1L);
+        gate.admit(examId, 2L);
+
+        assertThatThrownBy(() -> gate.admit(examId, 3L))
+                .isInstanceOfSatisfying(ExamAdmissionQueuedException.class, e -> {
+                    assertThat(e.getPosition()).isEqualTo(1);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(1);
+                });
+        assertThatThrownBy(() -> gate.admit(examId, 4L))
+                .isInstanceOfSatisfying(ExamAdmissionQueuedException.class, e -> {
+                    assertThat(e.getPosition()).isEqualTo(2);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(2);
+                });
+        assertThat(meterRegistry.get("exam.admission.queue.depth").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void retryKeepsThePlaceInTheQueue() {
+        Long examId = IDS.incrementAndGet();
+        gate.admit(examId, 1L);
+        gate.admit(examId, 2L);
+        assertThatThrownBy(() -> gate.admit(examId, 3L)).isInstanceOf(ExamAdmissionQueuedException.class);
+        assertThatThrownBy(() -> gate.admit(examId, 4L)).isInstanceOf(ExamAdmissionQueuedException.class);
+
+        assertThatThrownBy(() -> gate.admit(examId, 4L))
+                .isInstanceOfSatisfying(ExamAdmissionQueuedException.class, e -> assertThat(e.getPosition()).isEqualTo(2));
+    }
+
+    @Test
+    void earlierStudentIsAdmittedFirstEvenIfLaterOneRetriesFirst() throws InterruptedException {
+        Long examId = IDS.incrementAndGet();
+        gate.admit(examId, 1L);
+        gate.admit(examId, 2L);
+        assertThatThrownBy(() -> gate.admit(examId, 3L)).isInstanceOf(ExamAdmissionQueuedException.class);
+        assertThatThrownBy(() -> gate.admit(examId, 4L)).isInstanceOf(ExamAdmissionQueuedException.class);
+
+        Thread.sleep(1_100); // Bir izin üretilir
+
+        // Sonraki öğrencinin denemesi üretilen izni sıradaki ilk öğrenciye açar
+        try {
+            gate.admit(examId, 4L);
+        } catch (ExamAdmissionQueuedException e) {
+            assertThat(e.getPosition()).isEqualTo(1);
+        }
+        assertThatCode(() -> gate.admit(examId, 3L)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void retryAfterIsCappedSoThatPositionStaysFresh() {
+        Long examId = IDS.incrementAndGet();
+        gate.admit(examId, 1L);
+        gate.admit(examId, 2L);
+        for (long userId = 3; userId < 12; userId++) {
+            long student = userId;
+            assertThatThrownBy(() -> gate.admit(examId, student)).isInstanceOf(ExamAdmissionQueuedException.class);
+        }
+
+        assertThatThrownBy(() -> gate.admit(examId, 12L))
+                .isInstanceOfSatisfying(ExamAdmissionQueuedException.class, e -> {
+                    assertThat(e.getPosition()).isEqualTo(10);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(5);
+                });
+    }
+
+    @Test
+    void eachExamHasItsOwnQueue() {
+        Long examId = IDS.incrementAndGet();
+        Long otherExamId = IDS.incrementAndGet();
+        gate.admit(examId, 1L);
+        gate.admit(examId, 2L);
+        assertThatThrownBy(() -> gate.admit(examId, 3L)).isInstanceOf(ExamAdmissionQueuedException.class);
+
+        assertThatThrownBy(() -> gate.admit(otherExamId, 4L))
+                .isInstanceOfSatisfying(ExamAdmissionQueuedException.class, e -> assertThat(e.getPosition()).isEqualTo(1));
+    }
+
+    @Configuration
+    static class GateTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
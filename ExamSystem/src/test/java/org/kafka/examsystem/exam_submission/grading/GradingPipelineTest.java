@@ -0,0 +1,251 @@
+package org.kafka.examsystem.exam_submission.grading;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.exam.model.Exam;
+import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.kafka.examsystem.exam_question.model.ExamQuestion;
+import org.kafka.examsystem.exam_question.repository.ExamQuestionRepository;
+import org.kafka.examsystem.exam_submission.event.ExamSubmissionsGradedEvent;
+import org.kafka.examsystem.exam_submission.event.ExamSubmittedEvent;
+import org.kafka.examsystem.exam_submission.model.ExamSubmission;
+import org.kafka.examsystem.exam_submission.model.GradingTask;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.exam_submission.repository.GradingTaskRepository;
+import org.kafka.examsystem.parent.model.Parent;
+import org.kafka.examsystem.parent.repository.ParentRepository;
+import org.kafka.examsystem.student.model.Student;
+import org.kafka.examsystem.student.repository.StudentRepository;
+import org.kafka.examsystem.student_answer.model.StudentAnswer;
+import org.kafka.examsystem.student_answer.repository.StudentAnswerRepository;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.kafka.examsystem.topic.model.Topic;
+import org.kafka.examsystem.topic.repository.TopicRepository;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gönderilen sınav girişlerinin puanlama kuyruğu tarafından cevaplardan kesinleştirildiğini, iş kayıtlarının
+ * silindiğini ve tabloda kalan işlerin kurtarma taramasıyla tamamlandığını doğrulayan testler.
+ * PostgreSQL'e özgü migration'lar H2'de çalışmadığı için şema Hibernate tarafından oluşturulur.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "application.grading.pipeline.workers=2",
+        "application.grading.pipeline.batch-size=8",
+        "application.grading.pipeline.recovery-interval-ms=3600000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(GradingPipeline.class)
+class GradingPipelineTest {
+
+    private static final int STUDENTS = 30;
+    private static final long TIMEOUT_MS = 10_000;
+
+    @Autowired private GradingPipeline gradingPipeline;
+    @Autowired private GradingTaskRepository gradingTaskRepository;
+    @Autowired private ExamSubmissionRepository examSubmissionRepository;
+    @Autowired private StudentAnswerRepository studentAnswerRepository;
+    @Autowired private ExamQuestionRepository examQuestionRepository;
+    @Autowired private TopicRepository topicRepository;
+    @Autowired private ExamRepository examRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private ParentRepository parentRepository;
+    @Autowired private TeacherRepository teacherRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private GradedEvents gradedEvents;
+
+    private TransactionTemplate transactionTemplate;
+    private final Map<Long, Integer> expectedScores = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        String suffix = UUID.randomUUID().toString();
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(userRepository.save(User.builder().email("teacher-" + suffix + "@example.com").build()));
+        teacher.setFirstName("Ayşe");
+        teacher.setLastName("Yılmaz");
+        teacher.setBranch("Matematik");
+        teacher = teacherRepository.save(teacher);
+
+        Parent parent = new Parent();
+        parent.setUser(userRepository.save(User.builder().email("parent-" + suffix + "@example.com").build()));
+        parent.setFirstName("Mehmet");
+        parent.setLastName("Demir");
+        parent = parentRepository.save(parent);
+
+        Course course = new Course();
+        course.setName("Matematik-" + suffix);
+        course.setTeacher(teacher);
+        course.setGradeLevel(9);
+        course = courseRepository.save(course);
+
+        Exam exam = new Exam();
+        exam.setName("Final");
+        exam.setDurationInMinutes(40);
+        exam.setCourse(course);
+        exam = examRepository.save(exam);
+
+        Topic topic = new Topic();
+        topic.setName("Kesirler");
+        topic.setCourse(course);
+        topic = topicRepository.save(topic);
+
+        ExamQuestion question = new ExamQuestion();
+        question.setQuestionText("Soru");
+        question.setCorrectAnswer("A");
+        question.setScore(10);
+        question.setExam(exam);
+        question.setTopic(topic);
+        question = examQuestionRepository.save(question);
+
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student();
+            student.setUser(userRepository.save(User.builder().email("student-" + i + "-" + suffix + "@example.com").build()));
+            student.setParent(parent);
+            student.setFirstName("Öğrenci " + i);
+            student.setLastName("Demir");
+            student.setGradeLevel(9);
+            student = studentRepository.save(student);
+
+            ExamSubmission submission = new ExamSubmission();
+            submission.setExam(exam);
+            submission.setStudent(student);
+            submission = examSubmissionRepository.save(submission);
+
+            int score = (i % 3) * 5;
+            StudentAnswer answer = new StudentAnswer();
+            answer.setSubmission(submission);
+            answer.setQuestion(question);
+            answer.setGivenAnswer("A");
+            answer.setCorrect(score > 0);
+            answer.setScore(score);
+            studentAnswerRepository.save(answer);
+            expectedScores.put(submission.getId(), score);
+        }
+    }
+
+    @Test
+    void submittedExamsAreGradedFromAnswersAfterCommit() {
+        for (Long submissionId : expectedScores.keySet()) {
+            // Ara puan kaymış olsa da kesinleşen puan cevaplardan hesaplanmalı
+            examSubmissionRepository.incrementTotalScore(submissionId, 999);
+            transactionTemplate.executeWithoutResult(status -> submit(submissionId, LocalDateTime.now()));
+        }
+
+        assertGraded();
+    }
+
+    @Test
+    void tasksLeftInTheOutboxAreRecovered() {
+        LocalDateTime beforeRestart = LocalDateTime.now().minusMinutes(1);
+        transactionTemplate.executeWithoutResult(status -> expectedScores.keySet().forEach(submissionId -> {
+            ExamSubmission submission = examSubmissionRepository.findById(submissionId).orElseThrow();
+            submission.setSubmittedAt(beforeRestart);
+            gradingTaskRepository.save(new GradingTask(submissionId, beforeRestart)); // Kuyruğa alınmadan kalmış işler
+        }));
+
+        gradingPipeline.recoverPendingTasks();
+
+        assertGraded();
+    }
+
+    private void submit(Long submissionId, LocalDateTime now) {
+        ExamSubmission submission = examSubmissionRepository.findById(submissionId).orElseThrow();
+        submission.setSubmittedAt(now);
+        gradingTaskRepository.save(new GradingTask(submissionId, now));
+        eventPublisher.publishEvent(new ExamSubmittedEvent(submissionId));
+    }
+
+    private void assertGraded() {
+        waitUntil(() -> gradedEvents.submissionIds.containsAll(expectedScores.keySet()));
+
+        assertThat(gradingTaskRepository.count()).isZero();
+        List<ExamSubmission> submissions = examSubmissionRepository.findAllById(expectedScores.keySet());
+        assertThat(submissions).hasSize(STUDENTS).allSatisfy(submission -> {
+            assertThat(submission.getGradedAt()).isNotNull();
+            assertThat(submission.getTotalScore()).isEqualTo(expectedScores.get(submission.getId()));
+        });
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("puanlama zaman aşımı").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    static class GradedEvents {
+
+        final Set<Long> submissionIds = ConcurrentHashMap.newKeySet();
+
+        @EventListener
+        void onGraded(ExamSubmissionsGradedEvent event) {
+            submissionIds.addAll(event.submissionIds());
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        GradedEvents gradedEvents() {
+            return new GradedEvents();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package org.kafka.examsystem.exam_submission.progress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.exam.model.Exam;
+import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.kafka.examsystem.exam_question.model.ExamQuestion;
+import org.kafka.examsystem.exam_question.repository.ExamQuestionRepository;
+import org.kafka.examsystem.exam_submission.dto.ExamProgressFrame;
+import org.kafka.examsystem.exam_submission.dto.ExamProgressFrame.StudentProgressView;
+import org.kafka.examsystem.exam_submission.event.ExamSubmittedEvent;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainErrorCode;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainException;
+import org.kafka.examsystem.exam_submission.model.ExamSubmission;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.parent.model.Parent;
+import org.kafka.examsystem.parent.repository.ParentRepository;
+import org.kafka.examsystem.student.model.Student;
+import org.kafka.examsystem.student.repository.StudentRepository;
+import org.kafka.examsystem.student_answer.model.StudentAnswer;
+import org.kafka.examsystem.student_answer.repository.StudentAnswerRepository;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.kafka.examsystem.topic.model.Topic;
+import org.kafka.examsystem.topic.repository.TopicRepository;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.kafka.examsystem.common.sql.SqlStatementAssert.assertThatSql;
+
+/**
+ * Canlı sınav takibinin durumu ilk izleyicide veritabanından bir kez yüklediğini, sonraki izleyiciler ve güncellemeler
+ * için veritabanına gitmediğini, güncellemeleri yalnızca commit sonrasında uyguladığını ve izleyici sınırını
+ * uyguladığını doğrulayan testler.
+ * PostgreSQL'e özgü migration'lar H2'de çalışmadığı için şema Hibernate tarafından oluşturulur.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "application.exam.progress.max-subscribers=" + ExamProgressMonitorTest.MAX_SUBSCRIBERS,
+        "application.exam.progress.frame-interval-ms=3600000",
+        "application.exam.progress.resync-interval-ms=3600000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ExamProgressMonitor.class)
+class ExamProgressMonitorTest {
+
+    static final int MAX_SUBSCRIBERS = 5;
+
+    @Autowired private ExamProgressMonitor monitor;
+    @Autowired private ExamSubmissionRepository examSubmissionRepository;
+    @Autowired private StudentAnswerRepository studentAnswerRepository;
+    @Autowired private ExamQuestionRepository examQuestionRepository;
+    @Autowired private TopicRepository topicRepository;
+    @Autowired private ExamRepository examRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private ParentRepository parentRepository;
+    @Autowired private TeacherRepository teacherRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Exam exam;
+    private final List<ExamQuestion> questions = new ArrayList<>();
+    private final List<ExamSubmission> submissions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(userRepository.save(User.builder().email("teacher-" + suffix + "@example.com").build()));
+        teacher.setFirstName("Ayşe");
+        teacher.setLastName("Yılmaz");
+        teacher.setBranch("Matematik");
+        teacher = teacherRepository.save(teacher);
+
+        Parent parent = new Parent();
+        parent.setUser(userRepository.save(User.builder().email("parent-" + suffix + "@example.com").build()));
+        parent.setFirstName("Mehmet");
+        parent.setLastName("Demir");
+        parent = parentRepository.save(parent);
+
+        Course course = new Course();
+        course.setName("Matematik-" + suffix);
+        course.setTeacher(teacher);
+        course.setGradeLevel(9);
+        course = courseRepository.save(course);
+
+        exam = new Exam();
+        exam.setName("Ara Sınav");
+        exam.setDurationInMinutes(40);
+        exam.setCourse(course);
+        exam = examRepository.save(exam);
+
+        Topic topic = new Topic();
+        topic.setName("Kesirler");
+        topic.setCourse(course);
+        topic = topicRepository.save(topic);
+
+        for (int i = 1; i <= 3; i++) {
+            ExamQuestion question = new ExamQuestion();
+            question.setQuestionText("Soru " + i);
+            question.setCorrectAnswer("A");
+            question.setScore(10);
+            question.setExam(exam);
+            question.setTopic(topic);
+            questions.add(examQuestionRepository.save(question));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            Student student = new Student();
+            student.setUser(userRepository.save(User.builder().email("student-" + i + "-" + suffix + "@example.com").build()));
+            student.setParent(parent);
+            student.setFirstName("Öğrenci " + i);
+            student.setLastName("Demir");
+            student.setGradeLevel(9);
+            student = studentRepository.save(student);
+
+            ExamSubmission submission = new ExamSubmission();
+            submission.setExam(exam);
+            submission.setStudent(student);
+            if (i == 0) {
+                submission.setSubmittedAt(LocalDateTime.now());
+            }
+            submissions.add(examSubmissionRepository.save(submission));
+        }
+
+        // İlk öğrenci iki soruyu cevaplamış ve sınavı göndermiş
+        for (ExamQuestion question : questions.subList(0, 2)) {
+            StudentAnswer answer = new StudentAnswer();
+            answer.setSubmission(submissions.get(0));
+            answer.setQuestion(question);
+            answer.setGivenAnswer("A");
+            answer.setCorrect(true);
+            answer.setScore(10);
+            studentAnswerRepository.save(answer);
+        }
+    }
+
+    @Test
+    void firstSubscriberLoadsStateOnceAndFurtherViewersCostNoQueries() {
+        assertThatSql(() -> monitor.subscribe(exam.getId())).hasStatementCount(2);
+
+        ExamProgressFrame frame = monitor.currentFrame(exam.getId());
+        assertThat(frame.started()).isEqualTo(3);
+        assertThat(frame.answeredQuestions()).isEqualTo(2);
+        assertThat(frame.submitted()).isEqualTo(1);
+        assertThat(frame.online()).isZero();
+
+        assertThatSql(() -> monitor.subscribe(exam.getId())).hasStatementCount(0);
+        assertThatSql(() -> {
+            monitor.answered(exam.getId(), submissions.get(1).getId(), studentId(1), List.of(questions.get(0).getId()));
+            monitor.publishFrames();
+        }).hasStatementCount(0);
+    }
+
+    @Test
+    void updatesAreCountedOncePerQuestionAndAppliedAfterCommit() {
+        monitor.subscribe(exam.getId());
+        Long submissionId = submissions.get(1).getId();
+
+        // Geri alınan transaction'daki cevap sayılmaz
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            monitor.answered(exam.getId(), submissionId, studentId(1), List.of(questions.get(0).getId()));
+            status.setRollbackOnly();
+        });
+        assertThat(monitor.currentFrame(exam.getId()).answeredQuestions()).isEqualTo(2);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            monitor.answered(exam.getId(), submissionId, studentId(1), List.of(questions.get(0).getId()));
+            assertThat(monitor.currentFrame(exam.getId()).answeredQuestions()).isEqualTo(2); // Henüz commit edilmedi
+        });
+        monitor.answered(exam.getId(), submissionId, studentId(1), List.of(questions.get(0).getId(), questions.get(1).getId()));
+
+        ExamProgressFrame frame = monitor.currentFrame(exam.getId());
+        assertThat(frame.answeredQuestions()).isEqualTo(4);
+        assertThat(frame.online()).isEqualTo(1);
+        assertThat(student(frame, submissionId)).satisfies(student -> {
+            assertThat(student.answeredQuestions()).isEqualTo(2);
+            assertThat(student.online()).isTrue();
+        });
+
+        monitor.onExamSubmitted(new ExamSubmittedEvent(submissionId));
+        frame = monitor.currentFrame(exam.getId());
+        assertThat(frame.submitted()).isEqualTo(2);
+        assertThat(frame.online()).isZero();
+    }
+
+    @Test
+    void framesArePublishedOnlyWhenStateChanges() {
+        ExamProgress progress = new ExamProgress(exam.getId());
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime onlineSince = now.minusMinutes(1);
+
+        progress.started(1L, 10L, now);
+        assertThat(progress.publishableFrame(now, onlineSince)).isNotNull();
+        assertThat(progress.publishableFrame(now, onlineSince)).isNull();
+
+        progress.answered(1L, 10L, List.of(100L), now);
+        progress.answered(1L, 10L, List.of(100L), now);
+        assertThat(progress.publishableFrame(now, onlineSince)).isNotNull();
+        assertThat(progress.publishableFrame(now, onlineSince)).isNull();
+
+        // Öğrencinin son etkinliği çevrim içi süresinin dışına düştü
+        assertThat(progress.publishableFrame(now, now.plusSeconds(1)))
+                .extracting(ExamProgressFrame::online)
+                .isEqualTo(0);
+    }
+
+    @Test
+    void unwatchedExamsAreIgnored() {
+        monitor.answered(exam.getId(), submissions.get(1).getId(), studentId(1), List.of(questions.get(0).getId()));
+
+        assertThat(monitor.currentFrame(exam.getId())).isNull();
+    }
+
+    @Test
+    @DirtiesContext
+    void subscribersBeyondTheLimitAreRejected() {
+        assertThatThrownBy(() -> {
+            for (int i = 0; i <= MAX_SUBSCRIBERS; i++) {
+                monitor.subscribe(exam.getId());
+            }
+        }).isInstanceOfSatisfying(ExamSubmissionDomainException.class, e ->
+                assertThat(e.getErrorCode()).isEqualTo(ExamSubmissionDomainErrorCode.PROGRESS_SUBSCRIBER_LIMIT_REACHED));
+    }
+
+    private Long studentId(int index) {
+        return submissions.get(index).getStudent().getId();
+    }
+
+    private static StudentProgressView student(ExamProgressFrame frame, Long submissionId) {
+        return frame.students().stream()
+                .filter(student -> student.submissionId().equals(submissionId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @TestConfiguration
+    static class MonitorTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
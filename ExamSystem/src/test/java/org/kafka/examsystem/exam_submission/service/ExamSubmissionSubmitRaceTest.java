@@ -0,0 +1,267 @@
+package org.kafka.examsystem.exam_submission.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.common.authorization.AccessContext;
+import org.kafka.examsystem.common.authorization.CourseAuthorizationService;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.course_student.service.CourseEnrollmentService;
+import org.kafka.examsystem.exam.event.ExamsExpiredEvent;
+import org.kafka.examsystem.exam.model.Exam;
+import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.kafka.examsystem.exam.service.ExamService;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainErrorCode;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainException;
+import org.kafka.examsystem.exam_submission.mapper.ExamSubmissionMapperImpl;
+import org.kafka.examsystem.exam_submission.model.ExamSubmission;
+import org.kafka.examsystem.exam_submission.model.GradingTask;
+import org.kafka.examsystem.exam_submission.progress.ExamProgressMonitor;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.exam_submission.repository.GradingTaskRepository;
+import org.kafka.examsystem.parent.model.Parent;
+import org.kafka.examsystem.parent.repository.ParentRepository;
+import org.kafka.examsystem.student.model.Student;
+import org.kafka.examsystem.student.repository.StudentRepository;
+import org.kafka.examsystem.student.service.StudentService;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Aynı sınav girişinin eşzamanlı olarak iki kez veya süre dolumuyla aynı anda gönderilmesinin girişi bir kez
+ * gönderdiğini, tek bir puanlama işi oluşturduğunu ve kaybeden gönderime hata (500) yerine "zaten tamamlandı"
+ * döndürdüğünü doğrulayan testler. Gönderim PostgreSQL'e özgü tek bir ifadeyle yapıldığından testler gömülü
+ * PostgreSQL'de çalışır. Yarışı garanti etmek için girişin satırı başka bir transaction'da kilitlenir, iki işlem de
+ * kilidi beklerken kilit bırakılır.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ExamSubmissionService.class, ExamSubmissionMapperImpl.class, ExpiredExamSubmissionFinalizer.class})
+class ExamSubmissionSubmitRaceTest {
+
+    private static final long TIMEOUT_MS = 30_000;
+
+    @Autowired private ExamSubmissionService examSubmissionService;
+    @Autowired private ExpiredExamSubmissionFinalizer expiredExamSubmissionFinalizer;
+    @Autowired private ExamSubmissionRepository examSubmissionRepository;
+    @Autowired private GradingTaskRepository gradingTaskRepository;
+    @Autowired private ExamRepository examRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private ParentRepository parentRepository;
+    @Autowired private TeacherRepository teacherRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @MockBean private AccessContext accessContext;
+    @MockBean private ExamService examService;
+    @MockBean private CourseEnrollmentService courseEnrollmentService;
+    @MockBean private StudentService studentService;
+    @MockBean private ExamProgressMonitor examProgressMonitor;
+    @MockBean private CourseAuthorizationService courseAuthorizationService;
+
+    private Exam exam;
+    private ExamSubmission submission;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(userRepository.save(User.builder().email("teacher-" + suffix + "@example.com").build()));
+        teacher.setFirstName("Ayşe");
+        teacher.setLastName("Yılmaz");
+        teacher.setBranch("Matematik");
+        teacher = teacherRepository.save(teacher);
+
+        Parent parent = new Parent();
+        parent.setUser(userRepository.save(User.builder().email("parent-" + suffix + "@example.com").build()));
+        parent.setFirstName("Mehmet");
+        parent.setLastName("Demir");
+        parent = parentRepository.save(parent);
+
+        Student student = new Student();
+        student.setUser(userRepository.save(User.builder().email("student-" + suffix + "@example.com").build()));
+        student.setParent(parent);
+        student.setFirstName("Ali");
+        student.setLastName("Demir");
+        student.setGradeLevel(9);
+        student = studentRepository.save(student);
+
+        Course course = new Course();
+        course.setName("Matematik-" + suffix);
+        course.setTeacher(teacher);
+        course.setGradeLevel(9);
+        course = courseRepository.save(course);
+
+        // Süresi dolmuş ama henüz pasifize edilmemiş sınav: öğrenci gönderirken zamanlayıcı da girişi gönderebilir
+        exam = new Exam();
+        exam.setName("Final");
+        exam.setDurationInMinutes(40);
+        exam.setCourse(course);
+        exam.setActive(true);
+        exam.setStartTime(LocalDateTime.now().minusMinutes(41));
+        exam = examRepository.save(exam);
+
+        submission = new ExamSubmission();
+        submission.setExam(exam);
+        submission.setStudent(student);
+        submission = examSubmissionRepository.save(submission);
+
+        when(accessContext.getUserId()).thenReturn(student.getUser().getId());
+    }
+
+    @Test
+    void concurrentDoubleSubmitCompletesOnceAndQueuesOneGradingTask() throws Exception {
+        List<Object> outcomes = raceOnLockedSubmission(List.of(
+                () -> examSubmissionService.submitExam(submission.getId()),
+                () -> examSubmissionService.submitExam(submission.getId())));
+
+        assertThat(outcomes).filteredOn(outcome -> !(outcome instanceof Throwable)).hasSize(1);
+        assertThat(outcomes).filteredOn(Throwable.class::isInstance).singleElement()
+                .isInstanceOfSatisfying(ExamSubmissionDomainException.class, e ->
+                        assertThat(e.getErrorCode()).isEqualTo(ExamSubmissionDomainErrorCode.SUBMISSION_ALREADY_COMPLETED));
+        assertSubmittedOnceWithOneGradingTask();
+    }
+
+    @Test
+    void submitRacingWithExpiryFinalizerCompletesOnceAndQueuesOneGradingTask() throws Exception {
+        List<Object> outcomes = raceOnLockedSubmission(List.of(
+                () -> examSubmissionService.submitExam(submission.getId()),
+                () -> {
+                    expiredExamSubmissionFinalizer.onExamsExpired(new ExamsExpiredEvent(List.of(exam.getId())));
+                    return "finalized";
+                }));
+
+        // Hangisi önce kilidi alırsa girişi o gönderir; öğrencinin isteği kaybederse "zaten tamamlandı" alır
+        assertThat(outcomes.get(1)).isEqualTo("finalized");
+        if (outcomes.get(0) instanceof Throwable failure) {
+            assertThat(failure).isInstanceOfSatisfying(ExamSubmissionDomainException.class, e ->
+                    assertThat(e.getErrorCode()).isEqualTo(ExamSubmissionDomainErrorCode.SUBMISSION_ALREADY_COMPLETED));
+        }
+        assertSubmittedOnceWithOneGradingTask();
+    }
+
+    private void assertSubmittedOnceWithOneGradingTask() {
+        assertThat(examSubmissionRepository.findById(submission.getId())).get()
+                .extracting(ExamSubmission::getSubmittedAt).isNotNull();
+        assertThat(gradingTaskRepository.findAll()).extracting(GradingTask::getSubmissionId)
+                .containsOnlyOnce(submission.getId());
+    }
+
+    /**
+     * Girişin satırını kilitler, işlemleri başlatır ve hepsi kilidi beklemeye başlayınca kilidi bırakır.
+     *
+     * @return Her işlemin sonucu veya fırlattığı hata, işlemlerle aynı sırada.
+     */
+    private List<Object> raceOnLockedSubmission(List<Callable<Object>> actions) throws Exception {
+        CountDownLatch rowLocked = new CountDownLatch(1);
+        CountDownLatch releaseRow = new CountDownLatch(1);
+        CompletableFuture<Void> rowLock = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.queryForList("SELECT id FROM exam_submissions WHERE id = ? FOR UPDATE", submission.getId());
+                    rowLocked.countDown();
+                    try {
+                        releaseRow.await(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(rowLocked.await(TIMEOUT_MS, TimeUnit.MILLISECONDS)).isTrue();
+
+        ExecutorService executor = Executors.newFixedThreadPool(actions.size());
+        List<Future<Object>> futures = new ArrayList<>();
+        try {
+            actions.forEach(action -> futures.add(executor.submit(action)));
+
+            long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+            while (waitingForLock() < actions.size()) {
+                assertThat(System.currentTimeMillis()).as("işlemler satır kilidini beklemeye başlamadı").isLessThan(deadline);
+                Thread.sleep(20);
+            }
+            releaseRow.countDown();
+            rowLock.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+            List<Object> outcomes = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                try {
+                    outcomes.add(future.get(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+                } catch (ExecutionException e) {
+                    outcomes.add(e.getCause());
+                }
+            }
+            return outcomes;
+        } finally {
+            releaseRow.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private int waitingForLock() {
+        Integer waiting = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_stat_activity WHERE datname = current_database() AND wait_event_type = 'Lock'",
+                Integer.class);
+        return waiting == null ? 0 : waiting;
+    }
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.kafka.examsystem.exam_submission.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.exam.model.Exam;
+import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.kafka.examsystem.exam.service.ExamExpiryScheduler;
+import org.kafka.examsystem.exam_submission.event.ExamSubmittedEvent;
+import org.kafka.examsystem.exam_submission.model.ExamSubmission;
+import org.kafka.examsystem.exam_submission.model.GradingTask;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.exam_submission.repository.GradingTaskRepository;
+import org.kafka.examsystem.parent.model.Parent;
+import org.kafka.examsystem.parent.repository.ParentRepository;
+import org.kafka.examsystem.student.model.Student;
+import org.kafka.examsystem.student.repository.StudentRepository;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Süresi dolan bir sınavda açık kalan girişlerin zamanlayıcı tarafından gönderildiğini ve puanlama kuyruğuna
+ * alındığını, öğrencinin kendi gönderdiği girişlere dokunulmadığını ve işlemin tekrar çalıştırılmaya dayanıklı
+ * olduğunu doğrulayan testler. Gönderim tek bir PostgreSQL ifadesiyle yapıldığından testler gömülü PostgreSQL'de çalışır.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "application.exam.expiry.poll-interval-ms=3600000",
+        "application.exam.expiry.resync-interval-ms=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ExamExpiryScheduler.class, ExpiredExamSubmissionFinalizer.class})
+class ExpiredExamSubmissionFinalizerTest {
+
+    @Autowired private ExamExpiryScheduler examExpiryScheduler;
+    @Autowired private ExamSubmissionRepository examSubmissionRepository;
+    @Autowired private GradingTaskRepository gradingTaskRepository;
+    @Autowired private ExamRepository examRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private ParentRepository parentRepository;
+    @Autowired private TeacherRepository teacherRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private SubmittedEvents submittedEvents;
+
+    private Exam exam;
+    private final List<ExamSubmission> openSubmissions = new ArrayList<>();
+    private ExamSubmission submittedByStudent;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(userRepository.save(User.builder().email("teacher-" + suffix + "@example.com").build()));
+        teacher.setFirstName("Ayşe");
+        teacher.setLastName("Yılmaz");
+        teacher.setBranch("Matematik");
+        teacher = teacherRepository.save(teacher);
+
+        Parent parent = new Parent();
+        parent.setUser(userRepository.save(User.builder().email("parent-" + suffix + "@example.com").build()));
+        parent.setFirstName("Mehmet");
+        parent.setLastName("Demir");
+        parent = parentRepository.save(parent);
+
+        Course course = new Course();
+        course.setName("Matematik-" + suffix);
+        course.setTeacher(teacher);
+        course.setGradeLevel(9);
+        course = courseRepository.save(course);
+
+        exam = new Exam();
+        exam.setName("Final");
+        exam.setDurationInMinutes(40);
+        exam.setCourse(course);
+        exam.setActive(true);
+        exam.setStartTime(LocalDateTime.now().minusMinutes(41));
+        exam = examRepository.save(exam);
+
+        for (int i = 0; i < 3; i++) {
+            Student student = new Student();
+            student.setUser(userRepository.save(User.builder().email("student-" + i + "-" + suffix + "@example.com").build()));
+            student.setParent(parent);
+            student.setFirstName("Öğrenci " + i);
+            student.setLastName("Demir");
+            student.setGradeLevel(9);
+            student = studentRepository.save(student);
+
+            ExamSubmission submission = new ExamSubmission();
+            submission.setExam(exam);
+            submission.setStudent(student);
+            if (i == 0) {
+                submission.setSubmittedAt(LocalDateTime.now().minusMinutes(10).truncatedTo(ChronoUnit.MICROS)); // PostgreSQL hassasiyeti
+                submittedByStudent = examSubmissionRepository.save(submission);
+                gradingTaskRepository.save(new GradingTask(submittedByStudent.getId(), submittedByStudent.getSubmittedAt()));
+            } else {
+                openSubmissions.add(examSubmissionRepository.save(submission));
+            }
+        }
+    }
+
+    @Test
+    void expiredExamSubmitsOpenSubmissionsAndQueuesThemForGrading() {
+        examExpiryScheduler.schedule(exam.getId(), exam.calculateEndTime());
+
+        examExpiryScheduler.deactivateExpiredExams();
+
+        List<Long> openIds = openSubmissions.stream().map(ExamSubmission::getId).toList();
+        assertThat(examSubmissionRepository.findAllById(openIds))
+                .allSatisfy(submission -> assertThat(submission.getSubmittedAt()).isNotNull());
+        assertThat(examSubmissionRepository.findById(submittedByStudent.getId())).get()
+                .extracting(ExamSubmission::getSubmittedAt)
+                .isEqualTo(submittedByStudent.getSubmittedAt());
+        assertThat(gradingTaskRepository.findAll()).extracting(GradingTask::getSubmissionId)
+                .contains(submittedByStudent.getId())
+                .containsAll(openIds);
+        assertThat(submittedEvents.submissionIds).containsAll(openIds).doesNotContain(submittedByStudent.getId());
+        assertThat(examRepository.findById(exam.getId())).get().extracting(Exam::isActive).isEqualTo(false);
+    }
+
+    @Test
+    void repeatedExpiryOnAnotherNodeChangesNothing() {
+        examExpiryScheduler.schedule(exam.getId(), exam.calculateEndTime());
+        examExpiryScheduler.deactivateExpiredExams();
+        long tasks = gradingTaskRepository.count();
+
+        // Başka bir uygulama örneği aynı sınavın süre dolumunu işler
+        List<Long> submitted = examSubmissionRepository.submitOpenSubmissions(List.of(exam.getId()), LocalDateTime.now());
+
+        assertThat(submitted).isEmpty();
+        assertThat(gradingTaskRepository.count()).isEqualTo(tasks);
+    }
+
+    @Test
+    void examExtendedOnAnotherNodeIsRescheduledInsteadOfSubmitted() {
+        LocalDateTime staleEndTime = exam.calculateEndTime();
+        examExpiryScheduler.schedule(exam.getId(), staleEndTime);
+
+        // Başka bir uygulama örneği süreyi uzatır; bu örneğin kuyruğunda eski bitiş zamanı durur
+        exam.setDurationInMinutes(60);
+        examRepository.save(exam);
+
+        examExpiryScheduler.deactivateExpiredExams();
+
+        List<Long> openIds = openSubmissions.stream().map(ExamSubmission::getId).toList();
+        assertThat(examSubmissionRepository.findAllById(openIds))
+                .allSatisfy(submission -> assertThat(submission.getSubmittedAt()).isNull());
+        assertThat(submittedEvents.submissionIds).doesNotContainAnyElementsOf(openIds);
+        assertThat(examRepository.findById(exam.getId())).get().extracting(Exam::isActive).isEqualTo(true);
+    }
+
+    @Test
+    void openSubmissionsOfRunningExamAreNotSubmittedWithStaleDeadline() {
+        exam.setDurationInMinutes(60);
+        examRepository.save(exam);
+        long tasks = gradingTaskRepository.count();
+
+        List<Long> submitted = examSubmissionRepository.submitOpenSubmissions(List.of(exam.getId()), LocalDateTime.now());
+
+        assertThat(submitted).isEmpty();
+        assertThat(gradingTaskRepository.count()).isEqualTo(tasks);
+    }
+
+    static class SubmittedEvents {
+
+        final Set<Long> submissionIds = ConcurrentHashMap.newKeySet();
+
+        @EventListener
+        void onSubmitted(ExamSubmittedEvent event) {
+            submissionIds.add(event.submissionId());
+        }
+    }
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+
+        @Bean
+        SubmittedEvents submittedEvents() {
+            return new SubmittedEvents();
+        }
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package org.kafka.examsystem.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.exam.model.Exam;
+import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.kafka.examsystem.exam_submission.model.ExamSubmission;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.export.writer.ExportFormat;
+import org.kafka.examsystem.export.writer.RecordExportWriter;
+import org.kafka.examsystem.parent.model.Parent;
+import org.kafka.examsystem.parent.repository.ParentRepository;
+import org.kafka.examsystem.student.model.Student;
+import org.kafka.examsystem.student.repository.StudentRepository;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerExportRow;
+import org.kafka.examsystem.student_answer.repository.StudentAnswerRepository;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.kafka.examsystem.topic.model.Topic;
+import org.kafka.examsystem.topic.repository.TopicRepository;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Bir milyon cevabın küçük, sabit bir heap (-Xmx128m, bkz. pom.xml) altında akış halinde dışa aktarılabildiğini doğrular.
+ * Satırlar bellekte biriktirilseydi test OutOfMemoryError ile düşerdi. Veritabanı satırları belleği doldurmasın diye
+ * gömülü veritabanı dosya modunda çalışır.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/export-heap-test/db;LAZY_QUERY_EXECUTION=TRUE;CACHE_SIZE=8192",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentAnswerExportHeapTest {
+
+    private static final int ANSWER_COUNT = 1_000_000;
+    private static final long QUESTION_ID_OFFSET = 1_000_000; // Entity'lerin aldığı sequence ID'leriyle çakışmaz
+    private static final long MAX_HEAP_BYTES = 160L * 1024 * 1024;
+
+    @Autowired private StudentAnswerRepository studentAnswerRepository;
+    @Autowired private ExamSubmissionRepository examSubmissionRepository;
+    @Autowired private TopicRepository topicRepository;
+    @Autowired private ExamRepository examRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private ParentRepository parentRepository;
+    @Autowired private TeacherRepository teacherRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void exportsOneMillionAnswersWithFlatMemory() {
+        assumeTrue(Runtime.getRuntime().maxMemory() <= MAX_HEAP_BYTES, "Test yalnızca kısıtlı heap ile anlamlıdır");
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(userRepository.save(User.builder().email("teacher@example.com").build()));
+        teacher.setFirstName("Ayşe");
+        teacher.setLastName("Yılmaz");
+        teacher.setBranch("Matematik");
+        teacher = teacherRepository.save(teacher);
+
+        Parent parent = new Parent();
+        parent.setUser(userRepository.save(User.builder().email("parent@example.com").build()));
+        parent.setFirstName("Mehmet");
+        parent.setLastName("Demir");
+        parent = parentRepository.save(parent);
+
+        Student student = new Student();
+        student.setUser(userRepository.save(User.builder().email("student@example.com").build()));
+        student.setParent(parent);
+        student.setFirstName("Ali");
+        student.setLastName("Demir");
+        student.setGradeLevel(9);
+        student = studentRepository.save(student);
+
+        Course course = new Course();
+        course.setName("Matematik");
+        course.setTeacher(teacher);
+        course.setGradeLevel(9);
+        course = courseRepository.save(course);
+
+        Exam exam = new Exam();
+        exam.setName("Final");
+        exam.setDurationInMinutes(40);
+        exam.setCourse(course);
+        exam = examRepository.save(exam);
+
+        Topic topic = new Topic();
+        topic.setName("Kesirler");
+        topic.setCourse(course);
+        topic = topicRepository.save(topic);
+
+        ExamSubmission submission = new ExamSubmission();
+        submission.setExam(exam);
+        submission.setStudent(student);
+        submission = examSubmissionRepository.save(submission);
+
+        // Sentetik sorular ve cevaplar veritabanı içinde üretilir; test JVM'i bunları hiç tutmaz.
+        // Her cevap metni farklıdır: bir milyon satır bellekte toplansaydı 128 MB heap'e sığmazdı.
+        // Bir girişte her soruya tek cevap verilebildiği için her cevap ayrı bir soruya aittir.
+        jdbcTemplate.update("INSERT INTO exam_questions (id, question_text, correct_answer, score, exam_id, topic_id) " +
+                        "SELECT ? + X, CONCAT('Soru ', X), 'A', 10, ?, ? FROM SYSTEM_RANGE(1, ?)",
+                QUESTION_ID_OFFSET, exam.getId(), topic.getId(), ANSWER_COUNT);
+        jdbcTemplate.update("INSERT INTO student_answers (id, submission_id, question_id, given_answer, is_correct, score) " +
+                        "SELECT X, ?, ? + X, CONCAT('Öğrencinin verdiği açık uçlu cevap #', X), MOD(X, 3) = 0, CASEWHEN(MOD(X, 3) = 0, 10, 0) " +
+                        "FROM SYSTEM_RANGE(1, ?)",
+                submission.getId(), QUESTION_ID_OFFSET, ANSWER_COUNT);
+
+        RecordExportWriter writer = new RecordExportWriter(new ObjectMapper().findAndRegisterModules());
+        LineCountingOutputStream out = new LineCountingOutputStream();
+        Long examId = exam.getId();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Long exported = readOnly.execute(status -> {
+            try (Stream<StudentAnswerExportRow> rows = studentAnswerRepository.streamExportRowsByExamId(examId)) {
+                return writer.write(rows, StudentAnswerExportRow.class, ExportFormat.CSV, out);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(exported).isEqualTo(ANSWER_COUNT);
+        assertThat(out.lines).isEqualTo(ANSWER_COUNT + 1L); // Başlık satırı + cevaplar
+    }
+
+    /**
+     * Yazılan baytları saklamadan satır sayan çıktı akışı.
+     */
+    private static final class LineCountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+     */
+    @TestConfiguration
+    static class PasswordEncoderConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
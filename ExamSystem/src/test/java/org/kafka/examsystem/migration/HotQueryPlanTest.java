@@ -0,0 +1,205 @@
+package org.kafka.examsystem.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.kafka.examsystem.auth.token.RefreshTokenRepository;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.course_student.repository.CourseStudentRepository;
+import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.kafka.examsystem.exam_question.repository.ExamQuestionRepository;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.parent.repository.ParentRepository;
+import org.kafka.examsystem.student.repository.StudentRepository;
+import org.kafka.examsystem.student_answer.repository.StudentAnswerRepository;
+import org.kafka.examsystem.topic.repository.TopicRepository;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sık çalışan repository sorgularının, migration'larla oluşturulan şema üzerinde indeks kullandığını doğrulayan
+ * sorgu planı regresyon testleri.
+ *
+ * Testler gömülü bir PostgreSQL üzerinde çalışır; şema Flyway migration'larıyla kurulur ve Hibernate tarafından
+ * doğrulanır (ddl-auto=validate). Ardından büyük bir sentetik veri seti yüklenir ve istatistikler toplanır.
+ * Her sorgu gerçek parametreleriyle çalıştırılırken planı {@link QueryPlanRecorder} ile alınır; büyük tablolardan
+ * biri sıralı taramayla okunuyorsa test başarısız olur.
+ *
+ * Serbest metin aramaları (LIKE) ve filtresiz listelemeler kapsam dışıdır; bu sorgular tasarımı gereği tarama yapar.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HotQueryPlanTest {
+
+    // Sıralı taranmaması gereken, veri setinde büyük olan tablolar
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "users", "parents", "students", "refresh_tokens", "courses", "course_students",
+            "topics", "exams", "exam_questions", "exam_submissions", "student_answers");
+
+    private static final long STUDENT_ID = 12_345;
+    private static final long PARENT_ID = 2_345;
+    private static final long STUDENT_USER_ID = 20_500 + STUDENT_ID;
+    private static final long TEACHER_ID = 123;
+    private static final long COURSE_ID = 777;
+    private static final long EXAM_ID = 4_321;
+    private static final long TOPIC_ID = 2_321; // Sınavın kursuna ait konulardan biri
+    private static final long SUBMISSION_ID = 123_456;
+
+    @Autowired private QueryPlanRecorder recorder;
+    @Autowired private DataSource dataSource;
+
+    @Autowired private ExamSubmissionRepository examSubmissionRepository;
+    @Autowired private StudentAnswerRepository studentAnswerRepository;
+    @Autowired private ExamQuestionRepository examQuestionRepository;
+    @Autowired private ExamRepository examRepository;
+    @Autowired private TopicRepository topicRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private CourseStudentRepository courseStudentRepository;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private ParentRepository parentRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private RefreshTokenRepository refreshTokenRepository;
+
+    @BeforeAll
+    void seed() throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/query-plan-seed.sql"));
+        }
+    }
+
+    @Test
+    void examSubmissionQueriesUseIndexes() {
+        assertNoSequentialScan(() -> {
+            examSubmissionRepository.findByStudentIdAndExamIdAndSubmittedAtIsNull(STUDENT_ID, EXAM_ID);
+            examSubmissionRepository.findByIdWithDetails(SUBMISSION_ID);
+            examSubmissionRepository.findTotalScoreById(SUBMISSION_ID);
+            examSubmissionRepository.incrementTotalScore(SUBMISSION_ID, 10);
+            examSubmissionRepository.recalculateTotalScores(List.of(SUBMISSION_ID));
+            examSubmissionRepository.searchSubmissionResponses(null, null, STUDENT_ID, null, null, PageRequest.of(0, 20));
+            examSubmissionRepository.searchSubmissionResponsesAfter(null, null, STUDENT_ID, null, null, Long.MAX_VALUE, Limit.of(21));
+        });
+    }
+
+    @Test
+    void studentAnswerQueriesUseIndexes() {
+        assertNoSequentialScan(() -> {
+            studentAnswerRepository.findResponsesBySubmissionId(SUBMISSION_ID, PageRequest.of(0, 20));
+            studentAnswerRepository.findResponsesByExamId(EXAM_ID, PageRequest.of(0, 20));
+            studentAnswerRepository.sumScoreBySubmissionIdAndQuestionIdIn(SUBMISSION_ID, List.of(1L, 2L, 3L));
+            studentAnswerRepository.findResponsesBySubmissionIdAfter(SUBMISSION_ID, 0L, Limit.of(21));
+            studentAnswerRepository.findResponsesByExamIdAfter(EXAM_ID, 0L, Limit.of(21));
+        });
+    }
+
+    @Test
+    void exportQueriesUseIndexes() {
+        assertNoSequentialScan(() -> {
+            drain(studentAnswerRepository.streamExportRowsByExamId(EXAM_ID));
+            drain(studentAnswerRepository.streamExportRowsByCourseId(COURSE_ID));
+            drain(examSubmissionRepository.streamExportRowsByExamId(EXAM_ID));
+            drain(examSubmissionRepository.streamExportRowsByCourseId(COURSE_ID));
+            drain(examSubmissionRepository.streamCourseResultRows(COURSE_ID));
+        });
+    }
+
+    @Test
+    void examContentQueriesUseIndexes() {
+        assertNoSequentialScan(() -> {
+            examQuestionRepository.findViewsByExamIdAndTopicId(EXAM_ID, TOPIC_ID, PageRequest.of(0, 20));
+            examQuestionRepository.findViewsByExamIdAndTopicId(EXAM_ID, null, PageRequest.of(0, 20));
+            examQuestionRepository.findAnswerKeyRowsByExamId(EXAM_ID);
+            examQuestionRepository.findByExamIdWithTopicOrderById(EXAM_ID);
+            examRepository.findViewsByCourseId(COURSE_ID, PageRequest.of(0, 20));
+            topicRepository.findTopicResponsesByCourseId(COURSE_ID, PageRequest.of(0, 20));
+        });
+    }
+
+    @Test
+    void enrollmentQueriesUseIndexes() {
+        assertNoSequentialScan(() -> {
+            courseStudentRepository.findEnrolledCourseResponsesByStudentId(STUDENT_ID, PageRequest.of(0, 20));
+            courseStudentRepository.findStudentSummariesByCourseId(COURSE_ID, PageRequest.of(0, 20));
+            courseStudentRepository.existsByCourseIdAndStudentParentId(COURSE_ID, PARENT_ID);
+            courseStudentRepository.existsByCourseIdAndStudentUserId(COURSE_ID, STUDENT_USER_ID);
+            courseRepository.findCourseResponsesByTeacherId(TEACHER_ID, PageRequest.of(0, 20));
+        });
+    }
+
+    @Test
+    void identityQueriesUseIndexes() {
+        assertNoSequentialScan(() -> {
+            userRepository.findByEmail("user" + STUDENT_USER_ID + "@example.com");
+            refreshTokenRepository.findByToken("c20ad4d76fe97759aa27a0c99bff6710");
+            studentRepository.findIdByUserId(STUDENT_USER_ID);
+            studentRepository.findIdsByParentId(PARENT_ID);
+            studentRepository.findByParent(parentRepository.getReferenceById(PARENT_ID));
+            parentRepository.findIdByUserId(500 + PARENT_ID);
+        });
+    }
+
+    private void assertNoSequentialScan(Runnable queries) {
+        List<QueryPlanRecorder.QueryPlan> plans = recorder.record(queries);
+        assertThat(plans).isNotEmpty();
+        for (QueryPlanRecorder.QueryPlan plan : plans) {
+            assertThat(plan.sequentialScans())
+                    .as("Sıralı tarama yapan sorgu:%n%s", plan)
+                    .doesNotContainAnyElementsOf(LARGE_TABLES);
+        }
+    }
+
+    private static void drain(Stream<?> rows) {
+        try (rows) {
+            rows.forEach(row -> {
+            });
+        }
+    }
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().start();
+        }
+
+        @Bean
+        QueryPlanRecorder queryPlanRecorder() {
+            return new QueryPlanRecorder();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres, QueryPlanRecorder recorder) {
+            return recorder.wrap(embeddedPostgres.getPostgresDatabase());
+        }
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.kafka.examsystem.migration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Kayıt sırasında çalışan her SQL ifadesinin PostgreSQL sorgu planını toplayan DataSource sarmalayıcısı.
+ * Hazırlanan ifadeye bağlanan parametreler kaydedilir; ifade çalıştırılmadan hemen önce aynı parametrelerle
+ * {@code EXPLAIN (FORMAT JSON)} çalıştırılır. Böylece JPQL sorgularının Hibernate'in ürettiği SQL ve gerçek parametre
+ * değerleriyle nasıl planlandığı görülür.
+ */
+class QueryPlanRecorder {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final List<QueryPlan> plans = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+
+    /**
+     * Verilen işlem sırasında çalışan ifadelerin planlarını döndürür.
+     */
+    List<QueryPlan> record(Runnable action) {
+        plans.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        return List.copyOf(plans);
+    }
+
+    DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return method.getName().equals("getConnection") ? wrap((Connection) result) : result;
+        });
+    }
+
+    private Connection wrap(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+                return wrap((PreparedStatement) result, target, sql);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrap(PreparedStatement target, Connection connection, String sql) {
+        Map<Integer, Binding> bindings = new TreeMap<>();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bindings.put(index, new Binding(method, args));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (recording && (name.equals("executeQuery") || name.equals("execute") || name.equals("executeUpdate"))
+                    && (args == null || args.length == 0)) {
+                plans.add(explain(connection, sql, bindings));
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    private static QueryPlan explain(Connection connection, String sql, Map<Integer, Binding> bindings) throws Exception {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+            for (Binding binding : bindings.values()) {
+                binding.method().invoke(explain, binding.args());
+            }
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return new QueryPlan(sql, OBJECT_MAPPER.readTree(resultSet.getString(1)).get(0).get("Plan"));
+            }
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryPlanRecorder.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+
+    /**
+     * Tek bir SQL ifadesinin planı.
+     *
+     * @param sql  Çalıştırılan SQL.
+     * @param plan EXPLAIN çıktısının kök plan düğümü.
+     */
+    record QueryPlan(String sql, JsonNode plan) {
+
+        /**
+         * Planda sıralı taramayla (Seq Scan) okunan tabloları döndürür.
+         */
+        Set<String> sequentialScans() {
+            Set<String> relations = new LinkedHashSet<>();
+            List<JsonNode> pending = new ArrayList<>(List.of(plan));
+            while (!pending.isEmpty()) {
+                JsonNode node = pending.remove(pending.size() - 1);
+                if ("Seq Scan".equals(node.path("Node Type").asText())) {
+                    relations.add(node.path("Relation Name").asText());
+                }
+                node.path("Plans").forEach(pending::add);
+            }
+            return relations;
+        }
+
+        @Override
+        public String toString() {
+            return sql + System.lineSeparator() + plan.toPrettyString();
+        }
+    }
+}
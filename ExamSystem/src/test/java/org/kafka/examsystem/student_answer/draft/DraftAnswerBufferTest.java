@@ -0,0 +1,394 @@
+package org.kafka.examsystem.student_answer.draft;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.exam.model.Exam;
+import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.kafka.examsystem.exam_question.model.ExamQuestion;
+import org.kafka.examsystem.exam_question.repository.ExamQuestionRepository;
+import org.kafka.examsystem.exam_submission.event.ExamSubmittedEvent;
+import org.kafka.examsystem.exam_submission.exception.domain.ExamSubmissionDomainException;
+import org.kafka.examsystem.exam_submission.model.ExamSubmission;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.parent.model.Parent;
+import org.kafka.examsystem.parent.repository.ParentRepository;
+import org.kafka.examsystem.student.model.Student;
+import org.kafka.examsystem.student.repository.StudentRepository;
+import org.kafka.examsystem.student_answer.model.StudentAnswer;
+import org.kafka.examsystem.student_answer.repository.StudentAnswerRepository;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.kafka.examsystem.topic.model.Topic;
+import org.kafka.examsystem.topic.repository.TopicRepository;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Taslak cevap tamponunun aynı soruya verilen cevapları tek satırda birleştirdiğini, yazılmamış cevapları
+ * günlükten geri yüklediğini, geri alınan transaction'larda cevapları kaybetmediğini ve gönderilen girişlere cevap
+ * yazmadığını doğrulayan testler.
+ * Upsert PostgreSQL'e özgü olduğundan testler gömülü PostgreSQL üzerinde, Flyway şemasıyla çalışır.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "application.answers.draft.flush-interval-ms=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(DraftAnswerBuffer.class)
+class DraftAnswerBufferTest {
+
+    private static final Path JOURNAL_DIRECTORY = createJournalDirectory();
+
+    @Autowired private DraftAnswerBuffer buffer;
+    @Autowired private StudentAnswerRepository studentAnswerRepository;
+    @Autowired private ExamSubmissionRepository examSubmissionRepository;
+    @Autowired private ExamQuestionRepository examQuestionRepository;
+    @Autowired private TopicRepository topicRepository;
+    @Autowired private ExamRepository examRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private ParentRepository parentRepository;
+    @Autowired private TeacherRepository teacherRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private ExamSubmission submission;
+    private final List<ExamQuestion> questions = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) {
+        registry.add("application.answers.draft.journal-dir", JOURNAL_DIRECTORY::toString);
+    }
+
+    @BeforeEach
+    void setUp() {
+        buffer.flush(); // Önceki testten kalan taslaklar bu testin kayıtlarını etkilemesin
+        String suffix = UUID.randomUUID().toString();
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(userRepository.save(User.builder().email("teacher-" + suffix + "@example.com").build()));
+        teacher.setFirstName("Ayşe");
+        teacher.setLastName("Yılmaz");
+        teacher.setBranch("Matematik");
+        teacher = teacherRepository.save(teacher);
+
+        Parent parent = new Parent();
+        parent.setUser(userRepository.save(User.builder().email("parent-" + suffix + "@example.com").build()));
+        parent.setFirstName("Mehmet");
+        parent.setLastName("Demir");
+        parent = parentRepository.save(parent);
+
+        Student student = new Student();
+        student.setUser(userRepository.save(User.builder().email("student-" + suffix + "@example.com").build()));
+        student.setParent(parent);
+        student.setFirstName("Ali");
+        student.setLastName("Demir");
+        student.setGradeLevel(9);
+        student = studentRepository.save(student);
+
+        Course course = new Course();
+        course.setName("Matematik-" + suffix);
+        course.setTeacher(teacher);
+        course.setGradeLevel(9);
+        course = courseRepository.save(course);
+
+        Exam exam = new Exam();
+        exam.setName("Ara Sınav");
+        exam.setDurationInMinutes(40);
+        exam.setCourse(course);
+        exam = examRepository.save(exam);
+
+        Topic topic = new Topic();
+        topic.setName("Kesirler");
+        topic.setCourse(course);
+        topic = topicRepository.save(topic);
+
+        for (int i = 1; i <= 3; i++) {
+            ExamQuestion question = new ExamQuestion();
+            question.setQuestionText("Soru " + i);
+            question.setCorrectAnswer("A");
+            question.setScore(i * 10);
+            question.setExam(exam);
+            question.setTopic(topic);
+            questions.add(examQuestionRepository.save(question));
+        }
+
+        submission = new ExamSubmission();
+        submission.setExam(exam);
+        submission.setStudent(student);
+        submission = examSubmissionRepository.save(submission);
+    }
+
+    @Test
+    void repeatedAnswersAreWrittenAsOneRowPerQuestion() {
+        for (int round = 0; round < 20; round++) {
+            for (ExamQuestion question : questions) {
+                stage(question, round % 2 == 0 ? "B" : "A"); // Son tur (19) doğru cevap
+            }
+        }
+        assertThat(buffer.size()).isEqualTo(questions.size());
+        assertThat(answers()).isEmpty();
+
+        buffer.flush();
+
+        assertThat(buffer.size()).isZero();
+        assertThat(answers()).hasSize(questions.size()).allSatisfy(answer -> {
+            assertThat(answer.getGivenAnswer()).isEqualTo("A");
+            assertThat(answer.isCorrect()).isTrue();
+        });
+        assertThat(examSubmissionRepository.findTotalScoreById(submission.getId())).contains(60);
+    }
+
+    @Test
+    void laterFlushesUpdateExistingRows() {
+        stage(questions.get(0), "A");
+        buffer.flush();
+
+        stage(questions.get(0), "C");
+        buffer.flush();
+
+        assertThat(answers()).singleElement().satisfies(answer -> {
+            assertThat(answer.getGivenAnswer()).isEqualTo("C");
+            assertThat(answer.getScore()).isZero();
+        });
+        assertThat(examSubmissionRepository.findTotalScoreById(submission.getId())).contains(0);
+    }
+
+    @Test
+    void upsertTakesIdsFromPooledBlocksInsteadOfOneSequenceValuePerRow() {
+        long before = studentAnswerSequenceValue();
+        questions.forEach(question -> stage(question, "A"));
+
+        buffer.flush();
+
+        // Sequence 50'lik bloklar verir; üç satır için en fazla bir blok alınmalı
+        assertThat(studentAnswerSequenceValue() - before).isLessThanOrEqualTo(50);
+        assertThat(answers()).extracting(StudentAnswer::getId).doesNotHaveDuplicates().hasSize(questions.size());
+    }
+
+    @Test
+    void writtenRowTakesIdOfItsLatestAnswer() throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long firstId = transaction.execute(status -> studentAnswerRepository.nextId());
+        stage(firstId, questions.get(0), "A");
+        buffer.flush();
+        assertThat(answers()).extracting(StudentAnswer::getId).containsExactly(firstId);
+
+        // Yeni cevabın ID'si günlükten geri yüklenirken de korunur
+        Long secondId = transaction.execute(status -> studentAnswerRepository.nextId());
+        stage(secondId, questions.get(0), "C");
+        DraftAnswerBuffer restarted = new DraftAnswerBuffer(studentAnswerRepository, examSubmissionRepository,
+                transactionManager, new SimpleMeterRegistry(), 1000, JOURNAL_DIRECTORY.toString(), false, 600_000);
+        restarted.start();
+        restarted.stop();
+
+        assertThat(answers()).singleElement().satisfies(answer -> {
+            assertThat(answer.getId()).isEqualTo(secondId);
+            assertThat(answer.getGivenAnswer()).isEqualTo("C");
+        });
+    }
+
+    @Test
+    void unflushedAnswersAreRecoveredFromJournalAfterRestart() throws IOException {
+        stage(questions.get(0), "B");
+        stage(questions.get(0), "A");
+        stage(questions.get(1), "A");
+
+        // Çöken uygulamanın yerine aynı günlük dizinini kullanan yeni bir tampon başlatılır
+        DraftAnswerBuffer restarted = new DraftAnswerBuffer(studentAnswerRepository, examSubmissionRepository,
+                transactionManager, new SimpleMeterRegistry(), 1000, JOURNAL_DIRECTORY.toString(), false, 600_000);
+        restarted.start();
+        assertThat(restarted.size()).isEqualTo(2);
+        restarted.stop();
+
+        assertThat(answers()).extracting(StudentAnswer::getGivenAnswer).containsExactly("A", "A");
+        assertThat(examSubmissionRepository.findTotalScoreById(submission.getId())).contains(30);
+    }
+
+    @Test
+    void relativeJournalDirectoryIsRejected() {
+        assertThatThrownBy(() -> new DraftAnswerBuffer(studentAnswerRepository, examSubmissionRepository,
+                transactionManager, new SimpleMeterRegistry(), 1000, "data/draft-answers", false, 600_000))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rolledBackSubmissionFlushKeepsAnswersBuffered() {
+        stage(questions.get(0), "A");
+        stage(questions.get(1), "A");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            buffer.flush(submission.getId());
+            assertThat(buffer.size()).isZero();
+            status.setRollbackOnly();
+        });
+
+        assertThat(answers()).isEmpty();
+        assertThat(buffer.size()).isEqualTo(2);
+
+        buffer.flush();
+        assertThat(answers()).hasSize(2);
+    }
+
+    @Test
+    void answersAreRejectedOnceSubmissionIsSubmitted() {
+        stage(questions.get(0), "A");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                buffer.onExamSubmitted(new ExamSubmittedEvent(submission.getId())));
+
+        assertThat(answers()).hasSize(1);
+        assertThatThrownBy(() -> stage(questions.get(1), "A")).isInstanceOf(ExamSubmissionDomainException.class);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void periodicFlushDiscardsAnswersOfSubmissionSubmittedElsewhere() {
+        stage(questions.get(0), "A");
+
+        // Giriş başka bir uygulama örneğinde gönderilir; bu tampon gönderimi görmez
+        submission.setSubmittedAt(LocalDateTime.now());
+        submission = examSubmissionRepository.save(submission);
+
+        buffer.flush();
+
+        assertThat(answers()).isEmpty();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void submissionFlushWaitsForInFlightPeriodicWrite() throws Exception {
+        stage(questions.get(0), "A");
+        stage(questions.get(1), "A");
+
+        // Cevap tablosu kilitlenerek periyodik yazma, girişin satırını kilitledikten sonra bekletilir
+        CountDownLatch tableLocked = new CountDownLatch(1);
+        CountDownLatch releaseTable = new CountDownLatch(1);
+        CompletableFuture<Void> tableLock = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.execute("LOCK TABLE student_answers IN SHARE MODE");
+                    tableLocked.countDown();
+                    try {
+                        releaseTable.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(tableLocked.await(30, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> periodicFlush = CompletableFuture.runAsync(() -> buffer.flush());
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (buffer.size() > 0) { // Yazma cevapları tampondan alana kadar beklenir
+            assertThat(System.currentTimeMillis()).as("periyodik yazma zaman aşımı").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+
+        CompletableFuture<Integer> submissionFlush = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    buffer.flush(submission.getId());
+                    return answers().size(); // Gönderim transaction'ının gördüğü cevaplar
+                }));
+        Thread.sleep(300);
+        assertThat(submissionFlush).isNotDone();
+
+        releaseTable.countDown();
+        tableLock.get(30, TimeUnit.SECONDS);
+        periodicFlush.get(30, TimeUnit.SECONDS);
+
+        assertThat(submissionFlush.get(30, TimeUnit.SECONDS)).isEqualTo(2);
+    }
+
+    private void stage(ExamQuestion question, String givenAnswer) {
+        stage(null, question, givenAnswer);
+    }
+
+    private void stage(Long id, ExamQuestion question, String givenAnswer) {
+        boolean correct = question.getCorrectAnswer().equals(givenAnswer);
+        buffer.stage(new DraftAnswer(id, submission.getId(), question.getId(), givenAnswer, correct,
+                correct ? question.getScore() : 0, System.nanoTime()));
+    }
+
+    private List<StudentAnswer> answers() {
+        return studentAnswerRepository.findAll().stream()
+                .filter(answer -> answer.getSubmission().getId().equals(submission.getId()))
+                .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                .toList();
+    }
+
+    private long studentAnswerSequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT last_value FROM student_answers_id_seq", Long.class);
+    }
+
+    private static Path createJournalDirectory() {
+        try {
+            return Files.createTempDirectory("draft-answers");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
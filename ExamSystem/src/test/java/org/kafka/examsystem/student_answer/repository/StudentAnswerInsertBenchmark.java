@@ -0,0 +1,147 @@
+package org.kafka.examsystem.student_answer.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Toplu cevap kaydında IDENTITY ile SEQUENCE (pooled optimizer) ID üretimini karşılaştıran JMH benchmark'ı.
+ * Sonuçlar saniyede yazılan satır sayısıdır.
+ * <ul>
+ *     <li>identityInsert: Eski yol. Her persist anında tek bir INSERT çalıştırır; Hibernate batching devre dışıdır.</li>
+ *     <li>pooledSequenceInsert: Yeni yol. ID'ler sequence'tan 50'şerlik bloklar halinde alınır, INSERT'ler batch'lenir.</li>
+ * </ul>
+ * Varsayılan olarak gömülü H2 üzerinde çalışır. Ağ gecikmesinin etkisini görmek için PostgreSQL'e karşı çalıştırılabilir:
+ * {@code -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/ExamSystemBench?reWriteBatchedInserts=true
+ * -Dbenchmark.jdbc.username=postgres -Dbenchmark.jdbc.password=postgres}.
+ * Çalıştırmak için {@code mvn test-compile} sonrası main metodu test classpath'i ile çalıştırılır.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentAnswerInsertBenchmark {
+
+    private static final int ROWS_PER_SUBMISSION = 1_000; // Tek transaction'da kaydedilen cevap sayısı
+
+    private static final String COLUMNS = """
+            <basic name="submissionId"/>
+            <basic name="questionId"/>
+            <basic name="givenAnswer"><column length="1000"/></basic>
+            <basic name="isCorrect"/>
+            <basic name="score"/>
+            """;
+
+    // Eski ve yeni ID üretim stratejileri; kolonlar student_answers ile aynıdır
+    private static final String MAPPING = """
+            <entity-mappings xmlns="https://jakarta.ee/xml/ns/persistence/orm" version="3.1">
+              <access>FIELD</access>
+              <entity class="%1$s$IdentityAnswer">
+                <table name="bench_identity_answers"/>
+                <attributes>
+                  <id name="id"><generated-value strategy="IDENTITY"/></id>
+                  %2$s
+                </attributes>
+              </entity>
+              <entity class="%1$s$PooledSequenceAnswer">
+                <table name="bench_sequence_answers"/>
+                <sequence-generator name="bench_sequence_answers_id_seq" sequence-name="bench_sequence_answers_id_seq" allocation-size="50"/>
+                <attributes>
+                  <id name="id"><generated-value strategy="SEQUENCE" generator="bench_sequence_answers_id_seq"/></id>
+                  %2$s
+                </attributes>
+              </entity>
+            </entity-mappings>
+            """.formatted(StudentAnswerInsertBenchmark.class.getName(), COLUMNS);
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addInputStream(new ByteArrayInputStream(MAPPING.getBytes(StandardCharsets.UTF_8)))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:insert-benchmark;DB_CLOSE_DELAY=-1"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.jdbc.username", "sa"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("benchmark.jdbc.password", ""))
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_SUBMISSION)
+    public void identityInsert() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS_PER_SUBMISSION; i++) {
+                IdentityAnswer answer = new IdentityAnswer();
+                fill(answer, i);
+                session.persist(answer);
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_SUBMISSION)
+    public void pooledSequenceInsert() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS_PER_SUBMISSION; i++) {
+                PooledSequenceAnswer answer = new PooledSequenceAnswer();
+                fill(answer, i);
+                session.persist(answer);
+            }
+        });
+    }
+
+    private static void fill(AnswerColumns answer, int i) {
+        answer.submissionId = 1L;
+        answer.questionId = (long) i;
+        answer.givenAnswer = "Cevap " + i;
+        answer.isCorrect = i % 2 == 0;
+        answer.score = answer.isCorrect ? 10 : 0;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(StudentAnswerInsertBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * student_answers tablosunun ID dışındaki kolonları.
+     * Benchmark sınıfları anotasyonsuzdur ve {@link #MAPPING} ile eşlenir; böylece uygulama testlerinin entity taramasına girmezler.
+     */
+    public abstract static class AnswerColumns {
+        Long submissionId;
+        Long questionId;
+        String givenAnswer;
+        boolean isCorrect;
+        int score;
+    }
+
+    public static class IdentityAnswer extends AnswerColumns {
+        Long id;
+    }
+
+    public static class PooledSequenceAnswer extends AnswerColumns {
+        Long id;
+    }
+}
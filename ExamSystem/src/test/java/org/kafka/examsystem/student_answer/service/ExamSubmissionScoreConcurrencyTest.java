@@ -0,0 +1,320 @@
+package org.kafka.examsystem.student_answer.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.examsystem.common.authorization.AccessContext;
+import org.kafka.examsystem.common.authorization.CourseAuthorizationService;
+import org.kafka.examsystem.course.model.Course;
+import org.kafka.examsystem.course.repository.CourseRepository;
+import org.kafka.examsystem.course_student.service.CourseEnrollmentService;
+import org.kafka.examsystem.exam.model.Exam;
+import org.kafka.examsystem.exam.repository.ExamRepository;
+import org.kafka.examsystem.exam.service.ExamService;
+import org.kafka.examsystem.exam_question.grading.AnswerKeyRegistry;
+import org.kafka.examsystem.exam_question.model.ExamQuestion;
+import org.kafka.examsystem.exam_question.repository.ExamQuestionRepository;
+import org.kafka.examsystem.exam_question.service.ExamQuestionService;
+import org.kafka.examsystem.exam_submission.mapper.ExamSubmissionMapperImpl;
+import org.kafka.examsystem.exam_submission.model.ExamSubmission;
+import org.kafka.examsystem.exam_submission.progress.ExamProgressMonitor;
+import org.kafka.examsystem.exam_submission.repository.ExamSubmissionRepository;
+import org.kafka.examsystem.exam_submission.service.ExamSubmissionService;
+import org.kafka.examsystem.parent.model.Parent;
+import org.kafka.examsystem.parent.repository.ParentRepository;
+import org.kafka.examsystem.student.model.Student;
+import org.kafka.examsystem.student.repository.StudentRepository;
+import org.kafka.examsystem.student.service.StudentService;
+import org.kafka.examsystem.student_answer.draft.DraftAnswerBuffer;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerBatchItem;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerBatchRequest;
+import org.kafka.examsystem.student_answer.dto.StudentAnswerCreateRequest;
+import org.kafka.examsystem.student_answer.mapper.StudentAnswerMapperImpl;
+import org.kafka.examsystem.student_answer.model.StudentAnswer;
+import org.kafka.examsystem.student_answer.repository.StudentAnswerRepository;
+import org.kafka.examsystem.teacher.model.Teacher;
+import org.kafka.examsystem.teacher.repository.TeacherRepository;
+import org.kafka.examsystem.topic.model.Topic;
+import org.kafka.examsystem.topic.repository.TopicRepository;
+import org.kafka.examsystem.user.model.User;
+import org.kafka.examsystem.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sınav girişi toplam puanının eşzamanlı cevap gönderimleri altında cevapların puanlarıyla tutarlı kaldığını
+ * doğrulayan stres testi. Cevaplar servis üzerinden, tekil (taslak tamponu) ve toplu olarak aynı sorulara tekrar
+ * tekrar gönderilir; her iş parçacığı kendi transaction'ını commit eder. Cevaplar PostgreSQL'e özgü upsert ile
+ * yazıldığından testler gömülü PostgreSQL'de, Flyway şemasıyla çalışır.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "application.answers.draft.flush-interval-ms=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({StudentAnswerService.class, StudentAnswerMapperImpl.class, ExamSubmissionService.class,
+        ExamSubmissionMapperImpl.class, DraftAnswerBuffer.class, AnswerKeyRegistry.class})
+class ExamSubmissionScoreConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS_PER_THREAD = 25;
+    private static final int QUESTIONS = 6;
+
+    @Autowired private StudentAnswerService studentAnswerService;
+    @Autowired private DraftAnswerBuffer draftAnswerBuffer;
+    @Autowired private ExamSubmissionRepository examSubmissionRepository;
+    @Autowired private StudentAnswerRepository studentAnswerRepository;
+    @Autowired private ExamQuestionRepository examQuestionRepository;
+    @Autowired private TopicRepository topicRepository;
+    @Autowired private ExamRepository examRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private ParentRepository parentRepository;
+    @Autowired private TeacherRepository teacherRepository;
+    @Autowired private UserRepository userRepository;
+
+    @MockBean private AccessContext accessContext;
+    @MockBean private CourseEnrollmentService courseEnrollmentService;
+    @MockBean private ExamQuestionService examQuestionService;
+    @MockBean private ExamProgressMonitor examProgressMonitor;
+    @MockBean private ExamService examService;
+    @MockBean private StudentService studentService;
+    @MockBean private CourseAuthorizationService courseAuthorizationService;
+
+    private ExamSubmission submission;
+    private final List<ExamQuestion> questions = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("draft-answers").toString();
+        registry.add("application.answers.draft.journal-dir", () -> directory);
+    }
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        Teacher teacher = new Teacher();
+        teacher.setUser(userRepository.save(User.builder().email("teacher-" + suffix + "@example.com").build()));
+        teacher.setFirstName("Ayşe");
+        teacher.setLastName("Yılmaz");
+        teacher.setBranch("Matematik");
+        teacher = teacherRepository.save(teacher);
+
+        Parent parent = new Parent();
+        parent.setUser(userRepository.save(User.builder().email("parent-" + suffix + "@example.com").build()));
+        parent.setFirstName("Mehmet");
+        parent.setLastName("Demir");
+        parent = parentRepository.save(parent);
+
+        Student student = new Student();
+        student.setUser(userRepository.save(User.builder().email("student-" + suffix + "@example.com").build()));
+        student.setParent(parent);
+        student.setFirstName("Ali");
+        student.setLastName("Demir");
+        student.setGradeLevel(9);
+        student = studentRepository.save(student);
+
+        Course course = new Course();
+        course.setName("Matematik-" + suffix);
+        course.setTeacher(teacher);
+        course.setGradeLevel(9);
+        course = courseRepository.save(course);
+
+        Exam exam = new Exam();
+        exam.setName("Ara Sınav");
+        exam.setDurationInMinutes(40);
+        exam.setCourse(course);
+        exam = examRepository.save(exam);
+
+        Topic topic = new Topic();
+        topic.setName("Kesirler");
+        topic.setCourse(course);
+        topic = topicRepository.save(topic);
+
+        for (int i = 1; i <= QUESTIONS; i++) {
+            ExamQuestion question = new ExamQuestion();
+            question.setQuestionText("Soru " + i);
+            question.setCorrectAnswer("A");
+            question.setScore(i * 10);
+            question.setExam(exam);
+            question.setTopic(topic);
+            questions.add(examQuestionRepository.save(question));
+        }
+
+        submission = new ExamSubmission();
+        submission.setExam(exam);
+        submission.setStudent(student);
+        submission = examSubmissionRepository.save(submission);
+
+        when(accessContext.getUserId()).thenReturn(student.getUser().getId());
+        when(accessContext.getStudentId()).thenReturn(student.getId());
+        when(courseEnrollmentService.isStudentEnrolledInCourse(anyLong(), any())).thenReturn(true);
+    }
+
+    @Test
+    void concurrentBatchesReplacingAnswersKeepTotalEqualToAnswerScores() throws Exception {
+        // Her toplu gönderim tüm soruları yeniden cevaplar; önceki cevapların yerine geçer
+        runConcurrently(() -> {
+            for (int round = 0; round < ROUNDS_PER_THREAD; round++) {
+                studentAnswerService.createStudentAnswersBatch(batch(questions));
+            }
+            return null;
+        });
+
+        assertTotalMatchesAnswers();
+        assertThat(answers()).hasSize(QUESTIONS);
+    }
+
+    @Test
+    void concurrentSingleAndBatchAnswersKeepTotalEqualToAnswerScores() throws Exception {
+        AtomicBoolean answering = new AtomicBoolean(true);
+        ExecutorService flusher = Executors.newSingleThreadExecutor();
+        Future<?> periodicFlush = flusher.submit(() -> {
+            while (answering.get()) {
+                draftAnswerBuffer.flush();
+                Thread.sleep(5);
+            }
+            return null;
+        });
+        try {
+            runConcurrently(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int round = 0; round < ROUNDS_PER_THREAD; round++) {
+                    if (random.nextBoolean()) {
+                        ExamQuestion question = questions.get(random.nextInt(QUESTIONS));
+                        StudentAnswerCreateRequest request = new StudentAnswerCreateRequest();
+                        request.setSubmissionId(submission.getId());
+                        request.setQuestionId(question.getId());
+                        request.setGivenAnswer(randomAnswer());
+                        assertThat(studentAnswerService.createStudentAnswer(request).getId()).isNotNull();
+                    } else {
+                        int from = random.nextInt(QUESTIONS);
+                        studentAnswerService.createStudentAnswersBatch(batch(questions.subList(from, QUESTIONS)));
+                    }
+                }
+                return null;
+            });
+        } finally {
+            answering.set(false);
+            periodicFlush.get(30, TimeUnit.SECONDS);
+            flusher.shutdown();
+        }
+
+        // Son toplu gönderimden sonra tamponda kalan tekil cevaplar yazılır
+        draftAnswerBuffer.flush();
+
+        assertTotalMatchesAnswers();
+        assertThat(answers()).extracting(answer -> answer.getQuestion().getId()).doesNotHaveDuplicates();
+    }
+
+    private void runConcurrently(Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private StudentAnswerBatchRequest batch(List<ExamQuestion> answered) {
+        List<StudentAnswerBatchItem> items = new ArrayList<>();
+        for (ExamQuestion question : answered) {
+            StudentAnswerBatchItem item = new StudentAnswerBatchItem();
+            item.setQuestionId(question.getId());
+            item.setGivenAnswer(randomAnswer());
+            items.add(item);
+        }
+        StudentAnswerBatchRequest request = new StudentAnswerBatchRequest();
+        request.setSubmissionId(submission.getId());
+        request.setAnswers(items);
+        return request;
+    }
+
+    private static String randomAnswer() {
+        return ThreadLocalRandom.current().nextBoolean() ? "A" : "B";
+    }
+
+    private void assertTotalMatchesAnswers() {
+        int answerScores = answers().stream().mapToInt(StudentAnswer::getScore).sum();
+        assertThat(examSubmissionRepository.findTotalScoreById(submission.getId())).contains(answerScores);
+    }
+
+    private List<StudentAnswer> answers() {
+        return studentAnswerRepository.findAll().stream()
+                .filter(answer -> answer.getSubmission().getId().equals(submission.getId()))
+                .toList();
+    }
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        /**
+         * Uygulama sınıfındaki başlangıç verisi bean'i PasswordEncoder ister; JPA test diliminde güvenlik yapılandırması yüklenmez.
+         */
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+-- HotQueryPlanTest için sentetik veri seti. Tablolar, planlayıcının indeks kullanmayı tercih edeceği
+-- (ve indeks yoksa sıralı taramaya düşeceği) büyüklüktedir. ID'ler açıkça verilir; test hiç INSERT yapmaz.
+
+-- Uygulamanın başlangıçta eklediği roller ve admin kullanıcısı yerine sabit ID'li veri kullanılır
+truncate table roles, users cascade;
+
+insert into roles (id, name) values (1, 'ROLE_ADMIN'), (2, 'ROLE_TEACHER'), (3, 'ROLE_PARENT'), (4, 'ROLE_STUDENT');
+
+-- 500 öğretmen, 20.000 veli, 50.000 öğrenci kullanıcısı
+insert into users (id, role_id, email, password)
+select g, case when g <= 500 then 2 when g <= 20500 then 3 else 4 end, 'user' || g || '@example.com', 'x'
+from generate_series(1, 70500) g;
+
+insert into teachers (id, user_id, branch, first_name, last_name)
+select g, g, 'Matematik', 'Öğretmen' || g, 'Soyad' || g
+from generate_series(1, 500) g;
+
+insert into parents (id, user_id, first_name, last_name)
+select g, 500 + g, 'Veli' || g, 'Soyad' || g
+from generate_series(1, 20000) g;
+
+insert into students (id, user_id, parent_id, first_name, last_name, grade_level)
+select g, 20500 + g, (g - 1) % 20000 + 1, 'Öğrenci' || g, 'Soyad' || g, 9 + g % 4
+from generate_series(1, 50000) g;
+
+insert into refresh_tokens (id, user_id, token, expiry_date)
+select g, 20500 + g, md5(g::text), now() + interval '7 days'
+from generate_series(1, 20000) g;
+
+-- 2.000 kurs, her öğrenci 4 kursa kayıtlı
+insert into courses (id, teacher_id, name, grade_level)
+select g, (g - 1) % 500 + 1, 'Kurs ' || g, 9 + g % 4
+from generate_series(1, 2000) g;
+
+insert into course_students (id, course_id, student_id)
+select (s - 1) * 4 + k + 1, (s * 7 + k * 501) % 2000 + 1, s
+from generate_series(1, 50000) s, generate_series(0, 3) k;
+
+-- Kurs başına 5 konu, 10 sınav; sınav başına 10 soru
+insert into topics (id, course_id, name)
+select g, (g - 1) % 2000 + 1, 'Konu ' || g
+from generate_series(1, 10000) g;
+
+insert into exams (id, course_id, name, start_time, duration_in_minutes, is_active)
+select g, (g - 1) % 2000 + 1, 'Sınav ' || g, now() - interval '1 day', 40, false
+from generate_series(1, 20000) g;
+
+insert into exam_questions (id, exam_id, topic_id, question_text, options, correct_answer, score)
+select g, (g - 1) % 20000 + 1, ((g - 1) % 20000) % 2000 + 1 + 2000 * (((g - 1) / 20000) % 5),
+       'Soru ' || g, '["A","B","C","D"]', 'A', 10
+from generate_series(1, 200000) g;
+
+-- Öğrenci başına 6 sınav girişi (sonuncusu açık), giriş başına 4 cevap
+insert into exam_submissions (id, exam_id, student_id, submitted_at, total_score)
+select g, ((g - 1) % 50000 * 13 + (g - 1) / 50000 * 3331) % 20000 + 1, (g - 1) % 50000 + 1,
+       case when (g - 1) / 50000 < 5 then now() end, 20
+from generate_series(1, 300000) g;
+
+insert into student_answers (id, submission_id, question_id, given_answer, is_correct, score)
+select g, (g - 1) / 4 + 1, (g - 1) % 200000 + 1, 'A', g % 2 = 0, case when g % 2 = 0 then 10 else 0 end
+from generate_series(1, 1200000) g;
+
+analyze;
@@ -72,6 +72,7 @@ const ExamDetailPage = () => {
   const [hasActiveSubmission, setHasActiveSubmission] = useState(false);
   const [activeSubmissionId, setActiveSubmissionId] = useState(null);
   const [checkingSubmission, setCheckingSubmission] = useState(false);
+  const [queuePosition, setQueuePosition] = useState(null);
 
   // Modal states
   const [editModalOpen, setEditModalOpen] = useState(false);
@@ -356,7 +357,7 @@ const ExamDetailPage = () => {
         examId: exam.id
       };
 
-      const response = await apiService.post('/exam-submissions', submissionData);
+      const response = await createSubmissionWhenAdmitted(submissionData);
       
       // Navigate to exam taking page
       navigate(`/take-exam/${exam.id}`, { 
@@ -384,6 +385,25 @@ const ExamDetailPage = () => {
       }
     } finally {
       setCheckingSubmission(false);
+      setQueuePosition(null);
+    }
+  };
+
+  // Sınav başlangıcındaki yoğunlukta sunucu girişleri sıraya alır (429); sıra gelene kadar belirtilen sürede tekrar denenir
+  const createSubmissionWhenAdmitted = async (submissionData) => {
+    while (true) {
+      try {
+        return await apiService.post('/exam-submissions', submissionData);
+      } catch (err) {
+        if (err.status !== 429) {
+          throw err;
+        }
+        setQueuePosition(err.data?.position ?? null);
+        const retryAfterSeconds = err.data?.retryAfterSeconds ?? 1;
+        // Aynı anda sıraya giren öğrenciler aynı anda tekrar denemesin diye küçük bir rastgele sapma eklenir
+        const delay = retryAfterSeconds * 1000 + Math.random() * 500;
+        await new Promise(resolve => setTimeout(resolve, delay));
+      }
     }
   };
 
@@ -1068,7 +1088,9 @@ const ExamDetailPage = () => {
                           transition: 'all 0.3s ease'
                         }}
                       >
-                        {checkingSubmission ? 'Kontrol Ediliyor...' : 'Sınava Başla'}
+                        {checkingSubmission
+                          ? (queuePosition ? `Sıradasınız (${queuePosition}. sıra)...` : 'Kontrol Ediliyor...')
+                          : 'Sınava Başla'}
                       </Button>
                     )}
                   </>
@@ -50,6 +50,11 @@ const TakeExamPage = () => {
   const [submitting, setSubmitting] = useState(false);
   const [showSubmitDialog, setShowSubmitDialog] = useState(false);
   const submitButtonRef = useRef(null);
+  // Sınav bitişi performance.now() cinsinden; sunucu saatinden gelen kalan süreyle güncellenir
+  const deadlineRef = useRef(null);
+  const clockConnectedRef = useRef(false);
+  const examClosedRef = useRef(false);
+  const autoSubmitTimeoutRef = useRef(null);
 
   // Get submission data from navigation state
   const submissionId = location.state?.submissionId;
@@ -64,26 +69,74 @@ const TakeExamPage = () => {
   }, [examId]);
 
   useEffect(() => {
-    if (durationInMinutes) {
-      setTimeLeft(durationInMinutes * 60); // Convert to seconds
+    // Sunucu saatine bağlanana kadar süre sınav süresinden tahmin edilir
+    if (durationInMinutes && deadlineRef.current === null) {
+      deadlineRef.current = performance.now() + durationInMinutes * 60 * 1000;
+      setTimeLeft(durationInMinutes * 60);
     }
   }, [durationInMinutes]);
 
+  // Kalan süre sunucudan gelir; yerel sayaç yalnızca ekrandaki süreyi günceller
   useEffect(() => {
-    if (timeLeft > 0) {
-      const timer = setInterval(() => {
-        setTimeLeft(prev => {
-          if (prev <= 1) {
-            handleSubmitExam();
-            return 0;
-          }
-          return prev - 1;
-        });
-      }, 1000);
-
-      return () => clearInterval(timer);
-    }
-  }, [timeLeft]);
+    if (!examId) return;
+    const controller = new AbortController();
+
+    const handleClockEvent = (event, data) => {
+      const frame = JSON.parse(data);
+      clockConnectedRef.current = true;
+      if (event === 'closed') {
+        // Açık girişler sunucuda gönderildi; ayrıca gönderim yapılmaz
+        handleExamClosed();
+        return;
+      }
+      deadlineRef.current = performance.now() + frame.remainingMillis;
+    };
+
+    const connect = async () => {
+      let attempt = 0;
+      while (!controller.signal.aborted && !examClosedRef.current) {
+        try {
+          await apiService.stream(`/exams/${examId}/clock`, (event, data) => {
+            attempt = 0;
+            handleClockEvent(event, data);
+          }, controller.signal);
+        } catch (err) {
+          if (controller.signal.aborted) return;
+          console.error('Sınav saatine bağlanırken hata:', err);
+        }
+        clockConnectedRef.current = false;
+        if (controller.signal.aborted || examClosedRef.current) return;
+
+        // Bütün öğrenciler aynı anda yeniden bağlanmasın diye üstel bekleme ve rastgele sapma
+        const delay = Math.min(30000, 1000 * 2 ** attempt) * (0.5 + Math.random());
+        attempt += 1;
+        await new Promise(resolve => setTimeout(resolve, delay));
+      }
+    };
+
+    connect();
+    return () => {
+      controller.abort();
+      clearTimeout(autoSubmitTimeoutRef.current);
+    };
+  }, [examId]);
+
+  useEffect(() => {
+    const timer = setInterval(() => {
+      if (deadlineRef.current === null) return;
+      const remainingSeconds = Math.max(0, Math.ceil((deadlineRef.current - performance.now()) / 1000));
+      setTimeLeft(remainingSeconds);
+
+      if (remainingSeconds === 0 && autoSubmitTimeoutRef.current === null && !examClosedRef.current) {
+        // Sunucu süresi dolan girişleri kendisi gönderir ve "closed" olayını yollar. Olay gelmezse (bağlantı yoksa
+        // hemen, bağlıysa bir süre bekleyip) istemci gönderir; istekler rastgele sapmayla yayılır.
+        const delay = (clockConnectedRef.current ? 15000 : 0) + Math.random() * 5000;
+        autoSubmitTimeoutRef.current = setTimeout(() => handleSubmitExam(true), delay);
+      }
+    }, 1000);
+
+    return () => clearInterval(timer);
+  }, []);
 
   const fetchExamDetails = async () => {
     try {
@@ -96,15 +149,8 @@ const TakeExamPage = () => {
 
   const fetchQuestions = async () => {
     try {
-      const params = new URLSearchParams({
-        examId: examId,
-        page: '0',
-        size: '100',
-        sort: 'id,asc'
-      });
-      
-      const response = await apiService.get(`/exam-questions?${params.toString()}`);
-      setQuestions(Array.isArray(response.content) ? response.content : []);
+      const response = await apiService.get(`/exam-questions/paper?examId=${examId}`);
+      setQuestions(Array.isArray(response.questions) ? response.questions : []);
     } catch (err) {
       setError('Sınav soruları yüklenirken bir hata oluştu');
     } finally {
@@ -150,7 +196,19 @@ const TakeExamPage = () => {
     }
   };
 
-  const handleSubmitExam = async () => {
+  const handleExamClosed = () => {
+    examClosedRef.current = true;
+    clearTimeout(autoSubmitTimeoutRef.current);
+    navigate('/exam-search', {
+      state: {
+        message: 'Sınav süresi doldu, cevaplarınız otomatik olarak gönderildi.',
+        examName: examName
+      }
+    });
+  };
+
+  const handleSubmitExam = async (timeUp = false) => {
+    if (examClosedRef.current) return;
     setSubmitting(true);
     
     try {
@@ -166,6 +224,11 @@ const TakeExamPage = () => {
       });
       
     } catch (err) {
+      if (timeUp) {
+        // Süre dolduğunda giriş sunucu tarafından da gönderilir (zaten gönderilmiş olabilir)
+        handleExamClosed();
+        return;
+      }
       console.error('Sınav gönderilirken hata:', err);
       setError('Sınav gönderilirken bir hata oluştu');
     } finally {
@@ -590,7 +653,7 @@ const TakeExamPage = () => {
             İptal
           </Button>
           <Button
-            onClick={handleSubmitExam}
+            onClick={() => handleSubmitExam()}
             variant="contained"
             disabled={submitting}
             startIcon={submitting ? <CircularProgress size={20} /> : null}
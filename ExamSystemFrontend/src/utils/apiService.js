@@ -150,4 +150,50 @@ export const apiService = {
     });
     return handleHttpResponse(response);
   },
+
+  // Server-Sent Events akışını okur; her olay için onEvent(olayAdı, veri) çağrılır.
+  // EventSource Authorization başlığı gönderemediği için akış fetch ile okunur. Bağlantı kapanınca döner.
+  async stream(endpoint, onEvent, signal) {
+    const response = await makeRequest(`${API_BASE_URL}${endpoint}`, {
+      method: 'GET',
+      headers: { Accept: 'text/event-stream' },
+      signal,
+    });
+    if (!response.ok) {
+      await handleHttpResponse(response);
+      return;
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    let eventName = 'message';
+    let data = [];
+
+    while (true) {
+      const { value, done } = await reader.read();
+      if (done) {
+        return;
+      }
+      buffer += decoder.decode(value, { stream: true });
+      const lines = buffer.split(/\r?\n/);
+      buffer = lines.pop();
+
+      for (const line of lines) {
+        if (line === '') {
+          // Boş satır olayı bitirir
+          if (data.length > 0) {
+            onEvent(eventName, data.join('\n'));
+          }
+          eventName = 'message';
+          data = [];
+        } else if (line.startsWith('event:')) {
+          eventName = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+          data.push(line.slice(5).replace(/^ /, ''));
+        }
+        // ':' ile başlayan satırlar kalp atışıdır, yok sayılır
+      }
+    }
+  },
 };
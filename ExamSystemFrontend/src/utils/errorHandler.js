@@ -59,7 +59,11 @@ export const handleHttpResponse = async (response) => {
       }
 
       const errorMessage = handleErrorResponse(errorData);
-      throw new Error(errorMessage);
+      const error = new Error(errorMessage);
+      // Çağıran taraf duruma göre davranabilsin diye (örneğin 429'da sıradaki yer) yanıt da taşınır
+      error.status = response.status;
+      error.data = errorData;
+      throw error;
     } catch (error) {
       if (error instanceof Error) {
         throw error;